@@ -0,0 +1,20 @@
+package com.smarttech.analytics;
+
+import com.smarttech.enums.CubeDimension;
+import com.smarttech.enums.CustomerTier;
+import com.smarttech.enums.ProductStatus;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Group-by and filters for a {@link SalesCube} scan. Null filters match everything.
+ */
+public record CubeQuery(
+        Set<CubeDimension> groupBy,
+        LocalDate fromDate,
+        LocalDate toDate,
+        Set<Long> categoryIds,
+        Set<CustomerTier> customerTiers,
+        Set<ProductStatus> productStatuses) {
+}
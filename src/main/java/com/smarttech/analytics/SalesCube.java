@@ -0,0 +1,483 @@
+package com.smarttech.analytics;
+
+import com.smarttech.dto.response.SalesCubeRow;
+import com.smarttech.enums.CubeDimension;
+import com.smarttech.enums.CustomerTier;
+import com.smarttech.enums.ProductStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory sales cube over delivered order lines. Facts are stored column-wise in primitive arrays:
+ * dimensions as small int codes (epoch day, dictionary-encoded category, tier and product status ordinals)
+ * and measures as long cents and units. Queries scan the columns in parallel on a fork/join pool, each
+ * leaf aggregating into a primitive hash table, and merge the partial results.
+ * Tier and product status are captured when a fact is loaded, not re-read on every query.
+ */
+@Component
+@Slf4j
+public class SalesCube {
+
+    private static final int LEAF_SIZE = 1 << 16;
+    private static final int UNCATEGORIZED = 0;
+
+    // Group key layout: day (24 bits) | category code (24 bits) | tier (8 bits) | product status (8 bits)
+    private static final int DAY_SHIFT = 40;
+    private static final int CATEGORY_SHIFT = 16;
+    private static final int TIER_SHIFT = 8;
+    private static final long BYTE_MASK = 0xFFL;
+    private static final long CODE_MASK = 0xFFFFFFL;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ForkJoinPool pool;
+
+    // Guarded by lock
+    private Columns columns = new Columns(1024);
+
+    private volatile boolean ready;
+
+    public SalesCube(@Value("${app.analytics.cube.parallelism:0}") int parallelism) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public static Columns newColumns(int expectedFacts) {
+        return new Columns(Math.max(expectedFacts, 1024));
+    }
+
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return columns.liveCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Swaps in a fully built set of columns, so queries never see a half-loaded cube.
+     */
+    public void replace(Columns rebuilt) {
+        lock.writeLock().lock();
+        try {
+            columns = rebuilt;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addAll(List<SalesFact> facts) {
+        lock.writeLock().lock();
+        try {
+            facts.forEach(columns::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Tombstones every fact of an order, e.g. when a delivered order is refunded. Returns the facts removed.
+     */
+    public int removeOrder(long orderId) {
+        lock.writeLock().lock();
+        try {
+            return columns.removeOrder(orderId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<SalesCubeRow> query(CubeQuery query) {
+        lock.readLock().lock();
+        try {
+            Scan scan = new Scan(columns, query);
+            Buckets buckets = pool.invoke(new ScanTask(scan, 0, columns.size));
+            return scan.decode(buckets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static final class Columns {
+        private int size;
+        private long[] orderIds;
+        private int[] days;
+        private int[] categories;
+        private byte[] tiers;
+        private byte[] statuses;
+        private long[] revenueCents;
+        private int[] units;
+        // Rows of the same order are chained from the newest back, so removing an order never scans the columns
+        private int[] previousOfOrder;
+        private final OrderRows orderRows = new OrderRows();
+        private final BitSet deleted = new BitSet();
+        private int deletedCount;
+
+        private final Map<Long, Integer> categoryCodes = new HashMap<>();
+        private final List<Long> categoryIds = new ArrayList<>();
+        private final List<String> categoryNames = new ArrayList<>();
+
+        private Columns(int capacity) {
+            orderIds = new long[capacity];
+            days = new int[capacity];
+            categories = new int[capacity];
+            tiers = new byte[capacity];
+            statuses = new byte[capacity];
+            revenueCents = new long[capacity];
+            units = new int[capacity];
+            previousOfOrder = new int[capacity];
+            categoryIds.add(null);
+            categoryNames.add("Uncategorized");
+        }
+
+        public void add(SalesFact fact) {
+            if (size == orderIds.length) {
+                grow();
+            }
+            orderIds[size] = fact.orderId();
+            days[size] = (int) fact.orderCreatedAt().toLocalDate().toEpochDay();
+            categories[size] = encodeCategory(fact.categoryId(), fact.categoryName());
+            tiers[size] = (byte) (fact.customerTier() != null ? fact.customerTier() : CustomerTier.BRONZE).ordinal();
+            statuses[size] = (byte) (fact.productStatus() != null ? fact.productStatus() : ProductStatus.ACTIVE).ordinal();
+            revenueCents[size] = fact.totalPrice().setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+            units[size] = fact.quantity() != null ? fact.quantity() : 0;
+            previousOfOrder[size] = orderRows.put(fact.orderId(), size);
+            size++;
+        }
+
+        private long liveCount() {
+            return (long) size - deletedCount;
+        }
+
+        private int removeOrder(long orderId) {
+            int removed = 0;
+            for (int i = orderRows.get(orderId); i >= 0; i = previousOfOrder[i]) {
+                if (!deleted.get(i)) {
+                    deleted.set(i);
+                    removed++;
+                }
+            }
+            deletedCount += removed;
+            return removed;
+        }
+
+        private int encodeCategory(Long categoryId, String categoryName) {
+            if (categoryId == null) {
+                return UNCATEGORIZED;
+            }
+            return categoryCodes.computeIfAbsent(categoryId, id -> {
+                categoryIds.add(id);
+                categoryNames.add(categoryName);
+                return categoryIds.size() - 1;
+            });
+        }
+
+        private void grow() {
+            int capacity = orderIds.length + (orderIds.length >> 1);
+            orderIds = Arrays.copyOf(orderIds, capacity);
+            days = Arrays.copyOf(days, capacity);
+            categories = Arrays.copyOf(categories, capacity);
+            tiers = Arrays.copyOf(tiers, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            revenueCents = Arrays.copyOf(revenueCents, capacity);
+            units = Arrays.copyOf(units, capacity);
+            previousOfOrder = Arrays.copyOf(previousOfOrder, capacity);
+        }
+    }
+
+    /**
+     * Open-addressing hash table from order id to the newest row of that order, without boxing.
+     */
+    private static final class OrderRows {
+        private static final long EMPTY = Long.MIN_VALUE;
+        private static final int NONE = -1;
+
+        private long[] keys = newKeys(1024);
+        private int[] rows = new int[1024];
+        private int count;
+
+        private static long[] newKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+
+        /**
+         * Records row as the newest for the order and returns the previous newest, or -1.
+         */
+        private int put(long orderId, int row) {
+            int slot = slot(orderId);
+            if (keys[slot] == EMPTY) {
+                keys[slot] = orderId;
+                rows[slot] = row;
+                if (++count * 2 > keys.length) {
+                    resize();
+                }
+                return NONE;
+            }
+            int previous = rows[slot];
+            rows[slot] = row;
+            return previous;
+        }
+
+        private int get(long orderId) {
+            int slot = slot(orderId);
+            return keys[slot] == EMPTY ? NONE : rows[slot];
+        }
+
+        private int slot(long key) {
+            int mask = keys.length - 1;
+            int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldRows = rows;
+            keys = newKeys(oldKeys.length * 2);
+            rows = new int[keys.length];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    int slot = slot(oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    rows[slot] = oldRows[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * A query compiled against one set of columns: filters become masks indexed by code.
+     */
+    private static final class Scan {
+        private final Columns columns;
+        private final int fromDay;
+        private final int toDay;
+        private final boolean[] categoryMask;
+        private final boolean[] tierMask;
+        private final boolean[] statusMask;
+        private final boolean byDay;
+        private final boolean byCategory;
+        private final boolean byTier;
+        private final boolean byStatus;
+
+        private Scan(Columns columns, CubeQuery query) {
+            this.columns = columns;
+            this.fromDay = query.fromDate() != null ? (int) query.fromDate().toEpochDay() : Integer.MIN_VALUE;
+            this.toDay = query.toDate() != null ? (int) query.toDate().toEpochDay() : Integer.MAX_VALUE;
+
+            if (query.categoryIds() != null) {
+                categoryMask = new boolean[columns.categoryIds.size()];
+                for (Long categoryId : query.categoryIds()) {
+                    Integer code = columns.categoryCodes.get(categoryId);
+                    if (code != null) {
+                        categoryMask[code] = true;
+                    }
+                }
+            } else {
+                categoryMask = null;
+            }
+            tierMask = query.customerTiers() != null ? mask(query.customerTiers(), CustomerTier.values().length) : null;
+            statusMask = query.productStatuses() != null ? mask(query.productStatuses(), ProductStatus.values().length) : null;
+
+            Set<CubeDimension> groupBy = query.groupBy() != null ? query.groupBy() : Set.of();
+            byDay = groupBy.contains(CubeDimension.DAY);
+            byCategory = groupBy.contains(CubeDimension.CATEGORY);
+            byTier = groupBy.contains(CubeDimension.CUSTOMER_TIER);
+            byStatus = groupBy.contains(CubeDimension.PRODUCT_STATUS);
+        }
+
+        private static boolean[] mask(Set<? extends Enum<?>> values, int length) {
+            boolean[] mask = new boolean[length];
+            values.forEach(value -> mask[value.ordinal()] = true);
+            return mask;
+        }
+
+        private Buckets scan(int from, int to) {
+            Columns c = columns;
+            Buckets buckets = new Buckets();
+            boolean checkDeleted = c.deletedCount > 0;
+            for (int i = from; i < to; i++) {
+                int day = c.days[i];
+                if (day < fromDay || day > toDay
+                        || (categoryMask != null && !categoryMask[c.categories[i]])
+                        || (tierMask != null && !tierMask[c.tiers[i]])
+                        || (statusMask != null && !statusMask[c.statuses[i]])
+                        || (checkDeleted && c.deleted.get(i))) {
+                    continue;
+                }
+                long key = 0;
+                if (byDay) {
+                    key |= (day & CODE_MASK) << DAY_SHIFT;
+                }
+                if (byCategory) {
+                    key |= (c.categories[i] & CODE_MASK) << CATEGORY_SHIFT;
+                }
+                if (byTier) {
+                    key |= (c.tiers[i] & BYTE_MASK) << TIER_SHIFT;
+                }
+                if (byStatus) {
+                    key |= c.statuses[i] & BYTE_MASK;
+                }
+                buckets.add(key, c.revenueCents[i], c.units[i]);
+            }
+            return buckets;
+        }
+
+        private List<SalesCubeRow> decode(Buckets buckets) {
+            CustomerTier[] tiers = CustomerTier.values();
+            ProductStatus[] statuses = ProductStatus.values();
+            List<long[]> cells = buckets.entries();
+            cells.sort(Comparator.comparingLong(cell -> cell[0]));
+
+            List<SalesCubeRow> rows = new ArrayList<>(cells.size());
+            for (long[] cell : cells) {
+                long key = cell[0];
+                int category = (int) ((key >>> CATEGORY_SHIFT) & CODE_MASK);
+                rows.add(SalesCubeRow.builder()
+                        .day(byDay ? LocalDate.ofEpochDay((key >>> DAY_SHIFT) & CODE_MASK) : null)
+                        .categoryId(byCategory ? columns.categoryIds.get(category) : null)
+                        .categoryName(byCategory ? columns.categoryNames.get(category) : null)
+                        .customerTier(byTier ? tiers[(int) ((key >>> TIER_SHIFT) & BYTE_MASK)] : null)
+                        .productStatus(byStatus ? statuses[(int) (key & BYTE_MASK)] : null)
+                        .revenue(BigDecimal.valueOf(cell[1], 2))
+                        .unitsSold(cell[2])
+                        .orderLines(cell[3])
+                        .build());
+            }
+            return rows;
+        }
+    }
+
+    private static final class ScanTask extends RecursiveTask<Buckets> {
+        private final Scan scan;
+        private final int from;
+        private final int to;
+
+        private ScanTask(Scan scan, int from, int to) {
+            this.scan = scan;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Buckets compute() {
+            if (to - from <= LEAF_SIZE) {
+                return scan.scan(from, to);
+            }
+            int mid = (from + to) >>> 1;
+            ScanTask left = new ScanTask(scan, from, mid);
+            left.fork();
+            Buckets right = new ScanTask(scan, mid, to).compute();
+            return left.join().mergeFrom(right);
+        }
+    }
+
+    /**
+     * Open-addressing hash table from group key to (revenue cents, units, order lines), without boxing.
+     */
+    private static final class Buckets {
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private long[] keys = newKeys(16);
+        private long[] revenue = new long[16];
+        private long[] unitCounts = new long[16];
+        private long[] lines = new long[16];
+        private int count;
+
+        private static long[] newKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+
+        private void add(long key, long revenueCents, long units) {
+            add(key, revenueCents, units, 1);
+        }
+
+        private void add(long key, long revenueCents, long units, long lineCount) {
+            int slot = slot(key);
+            if (keys[slot] == EMPTY) {
+                keys[slot] = key;
+                if (++count * 2 > keys.length) {
+                    resize();
+                    slot = slot(key);
+                }
+            }
+            revenue[slot] += revenueCents;
+            unitCounts[slot] += units;
+            lines[slot] += lineCount;
+        }
+
+        private int slot(long key) {
+            int mask = keys.length - 1;
+            int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            long[] oldRevenue = revenue;
+            long[] oldUnits = unitCounts;
+            long[] oldLines = lines;
+            keys = newKeys(oldKeys.length * 2);
+            revenue = new long[keys.length];
+            unitCounts = new long[keys.length];
+            lines = new long[keys.length];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    int slot = slot(oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    revenue[slot] = oldRevenue[i];
+                    unitCounts[slot] = oldUnits[i];
+                    lines[slot] = oldLines[i];
+                }
+            }
+        }
+
+        private Buckets mergeFrom(Buckets other) {
+            for (int i = 0; i < other.keys.length; i++) {
+                if (other.keys[i] != EMPTY) {
+                    add(other.keys[i], other.revenue[i], other.unitCounts[i], other.lines[i]);
+                }
+            }
+            return this;
+        }
+
+        private List<long[]> entries() {
+            List<long[]> entries = new ArrayList<>(count);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != EMPTY) {
+                    entries.add(new long[]{keys[i], revenue[i], unitCounts[i], lines[i]});
+                }
+            }
+            return entries;
+        }
+    }
+}
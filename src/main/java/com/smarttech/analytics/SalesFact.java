@@ -0,0 +1,22 @@
+package com.smarttech.analytics;
+
+import com.smarttech.enums.CustomerTier;
+import com.smarttech.enums.ProductStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One delivered order line as loaded into {@link SalesCube}.
+ */
+public record SalesFact(
+        Long orderItemId,
+        Long orderId,
+        LocalDateTime orderCreatedAt,
+        Long categoryId,
+        String categoryName,
+        CustomerTier customerTier,
+        ProductStatus productStatus,
+        BigDecimal totalPrice,
+        Integer quantity) {
+}
@@ -0,0 +1,186 @@
+package com.smarttech.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache backed by a bounded Caffeine near-cache in front of a shared Redis tier.
+ * Evictions are broadcast so other nodes drop their local copies. Redis failures are
+ * logged and treated as misses, so a Redis outage degrades to local caching only.
+ */
+@Slf4j
+public class TwoTierCache extends AbstractValueAdaptingCache {
+
+    private static final int CLEAR_BATCH_SIZE = 500;
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> localCache;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Duration redisTtl;
+    private final TwoTierCacheManager cacheManager;
+
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder remoteMisses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+
+    public TwoTierCache(String name,
+                        com.github.benmanes.caffeine.cache.Cache<String, Object> localCache,
+                        RedisTemplate<String, Object> redisTemplate,
+                        Duration redisTtl,
+                        TwoTierCacheManager cacheManager) {
+        super(false);
+        this.name = name;
+        this.localCache = localCache;
+        this.redisTemplate = redisTemplate;
+        this.redisTtl = redisTtl;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return localCache;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String storeKey = storeKey(key);
+        Object value = localCache.getIfPresent(storeKey);
+        if (value != null) {
+            return value;
+        }
+
+        value = readRemote(storeKey);
+        if (value != null) {
+            remoteHits.increment();
+            localCache.put(storeKey, value);
+        } else {
+            remoteMisses.increment();
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        String storeKey = storeKey(key);
+        localCache.put(storeKey, value);
+        puts.increment();
+        try {
+            redisTemplate.opsForValue().set(redisKey(storeKey), value, redisTtl);
+        } catch (Exception e) {
+            log.warn("Failed to write cache entry {} to Redis: {}", redisKey(storeKey), e.getMessage());
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        String storeKey = storeKey(key);
+        localCache.invalidate(storeKey);
+        try {
+            redisTemplate.delete(redisKey(storeKey));
+        } catch (Exception e) {
+            log.warn("Failed to delete cache entry {} from Redis: {}", redisKey(storeKey), e.getMessage());
+        }
+        cacheManager.publishEviction(name, storeKey);
+    }
+
+    @Override
+    public void clear() {
+        localCache.invalidateAll();
+        try {
+            ScanOptions options = ScanOptions.scanOptions().match(redisKey("*")).count(CLEAR_BATCH_SIZE).build();
+            List<String> batch = new ArrayList<>(CLEAR_BATCH_SIZE);
+            try (Cursor<String> cursor = redisTemplate.scan(options)) {
+                while (cursor.hasNext()) {
+                    batch.add(cursor.next());
+                    if (batch.size() == CLEAR_BATCH_SIZE) {
+                        redisTemplate.unlink(batch);
+                        batch.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                redisTemplate.unlink(batch);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to clear Redis entries for cache {}: {}", name, e.getMessage());
+        }
+        cacheManager.publishClear(name);
+    }
+
+    void evictLocal(String storeKey) {
+        localCache.invalidate(storeKey);
+    }
+
+    void clearLocal() {
+        localCache.invalidateAll();
+    }
+
+    com.github.benmanes.caffeine.cache.Cache<String, Object> getLocalCache() {
+        return localCache;
+    }
+
+    long getRemoteHits() {
+        return remoteHits.sum();
+    }
+
+    long getRemoteMisses() {
+        return remoteMisses.sum();
+    }
+
+    long getPuts() {
+        return puts.sum();
+    }
+
+    private Object readRemote(String storeKey) {
+        try {
+            return redisTemplate.opsForValue().get(redisKey(storeKey));
+        } catch (Exception e) {
+            log.warn("Failed to read cache entry {} from Redis: {}", redisKey(storeKey), e.getMessage());
+            return null;
+        }
+    }
+
+    private String redisKey(String storeKey) {
+        return cacheManager.getKeyPrefix() + name + "::" + storeKey;
+    }
+
+    private static String storeKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,123 @@
+package com.smarttech.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates {@link TwoTierCache} instances and keeps them coherent across nodes by
+ * exchanging eviction messages over a Redis pub/sub channel.
+ * Caches are transaction aware, so evictions issued inside a transaction happen after commit.
+ */
+@Slf4j
+public class TwoTierCacheManager extends AbstractTransactionSupportingCacheManager implements MessageListener {
+
+    private static final String EVICT = "E";
+    private static final String CLEAR = "C";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Collection<String> initialCacheNames;
+    private final long localMaxSize;
+    private final Duration localTtl;
+    private final Duration redisTtl;
+    private final String keyPrefix;
+    private final String invalidationChannel;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<String, TwoTierCache> twoTierCaches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(RedisTemplate<String, Object> redisTemplate,
+                               StringRedisTemplate stringRedisTemplate,
+                               Collection<String> initialCacheNames,
+                               long localMaxSize,
+                               Duration localTtl,
+                               Duration redisTtl,
+                               String keyPrefix,
+                               String invalidationChannel) {
+        this.redisTemplate = redisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.initialCacheNames = initialCacheNames;
+        this.localMaxSize = localMaxSize;
+        this.localTtl = localTtl;
+        this.redisTtl = redisTtl;
+        this.keyPrefix = keyPrefix;
+        this.invalidationChannel = invalidationChannel;
+        setTransactionAware(true);
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return initialCacheNames.stream()
+                .map(this::createCache)
+                .toList();
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        return createCache(name);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 4);
+        if (parts.length < 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+
+        TwoTierCache cache = twoTierCaches.get(parts[2]);
+        if (cache == null) {
+            return;
+        }
+        if (CLEAR.equals(parts[1])) {
+            cache.clearLocal();
+        } else if (EVICT.equals(parts[1]) && parts.length == 4) {
+            cache.evictLocal(parts[3]);
+        }
+    }
+
+    String getKeyPrefix() {
+        return keyPrefix;
+    }
+
+    void publishEviction(String cacheName, String storeKey) {
+        publish(String.join("|", nodeId, EVICT, cacheName, storeKey));
+    }
+
+    void publishClear(String cacheName) {
+        publish(String.join("|", nodeId, CLEAR, cacheName));
+    }
+
+    private void publish(String message) {
+        try {
+            stringRedisTemplate.convertAndSend(invalidationChannel, message);
+        } catch (Exception e) {
+            log.warn("Failed to publish cache invalidation '{}': {}", message, e.getMessage());
+        }
+    }
+
+    private TwoTierCache createCache(String name) {
+        return twoTierCaches.computeIfAbsent(name, cacheName -> new TwoTierCache(
+                cacheName,
+                Caffeine.newBuilder()
+                        .maximumSize(localMaxSize)
+                        .expireAfterWrite(localTtl)
+                        .recordStats()
+                        .build(),
+                redisTemplate,
+                redisTtl,
+                this));
+    }
+}
@@ -0,0 +1,77 @@
+package com.smarttech.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+
+/**
+ * Publishes the standard cache.gets/puts/evictions/size meters for {@link TwoTierCache},
+ * plus per-tier hit and miss counters.
+ */
+public class TwoTierCacheMeterBinderProvider implements CacheMeterBinderProvider<TwoTierCache> {
+
+    @Override
+    public MeterBinder getMeterBinder(TwoTierCache cache, Iterable<Tag> tags) {
+        return new TwoTierCacheMetrics(cache, tags);
+    }
+
+    static class TwoTierCacheMetrics extends CacheMeterBinder<TwoTierCache> {
+
+        TwoTierCacheMetrics(TwoTierCache cache, Iterable<Tag> tags) {
+            super(cache, cache.getName(), tags);
+        }
+
+        @Override
+        protected Long size() {
+            return getCache().getLocalCache().estimatedSize();
+        }
+
+        @Override
+        protected long hitCount() {
+            return localStats().hitCount() + getCache().getRemoteHits();
+        }
+
+        @Override
+        protected Long missCount() {
+            return getCache().getRemoteMisses();
+        }
+
+        @Override
+        protected Long evictionCount() {
+            return localStats().evictionCount();
+        }
+
+        @Override
+        protected long putCount() {
+            return getCache().getPuts();
+        }
+
+        @Override
+        protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+            FunctionCounter.builder("cache.tier.gets", getCache(), cache -> cache.getLocalCache().stats().hitCount())
+                    .tags(getTagsWithCacheName()).tags("tier", "local", "result", "hit")
+                    .description("Cache lookups by tier")
+                    .register(registry);
+            FunctionCounter.builder("cache.tier.gets", getCache(), cache -> cache.getLocalCache().stats().missCount())
+                    .tags(getTagsWithCacheName()).tags("tier", "local", "result", "miss")
+                    .description("Cache lookups by tier")
+                    .register(registry);
+            FunctionCounter.builder("cache.tier.gets", getCache(), TwoTierCache::getRemoteHits)
+                    .tags(getTagsWithCacheName()).tags("tier", "redis", "result", "hit")
+                    .description("Cache lookups by tier")
+                    .register(registry);
+            FunctionCounter.builder("cache.tier.gets", getCache(), TwoTierCache::getRemoteMisses)
+                    .tags(getTagsWithCacheName()).tags("tier", "redis", "result", "miss")
+                    .description("Cache lookups by tier")
+                    .register(registry);
+        }
+
+        private CacheStats localStats() {
+            return getCache().getLocalCache().stats();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.smarttech.config;
+
+import com.smarttech.entity.IdGenerators;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Moves the pooled ID generators past IDs already issued by AUTO_INCREMENT, so switching
+ * existing tables from IDENTITY never hands out a taken ID. Runs during context startup
+ * (after Hibernate has created the generator table) and only ever raises stored values.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdGeneratorTableInitializer {
+
+    private static final List<String> TABLES = List.of("orders", "order_items", "payments", "invoices", "products");
+
+    private final JdbcTemplate jdbcTemplate;
+    // Injected so this runs after schema update has created the id_generators table
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void alignWithExistingIds() {
+        for (String table : TABLES) {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+
+            // The pooled optimizer hands out (next_val - allocationSize, next_val], so this block starts at maxId + 1
+            long floor = maxId + IdGenerators.ALLOCATION_SIZE;
+            jdbcTemplate.update("INSERT INTO " + IdGenerators.TABLE + " (" + IdGenerators.PK_COLUMN + ", " + IdGenerators.VALUE_COLUMN + ") " +
+                            "VALUES (?, ?) ON DUPLICATE KEY UPDATE " +
+                            IdGenerators.VALUE_COLUMN + " = GREATEST(" + IdGenerators.VALUE_COLUMN + ", VALUES(" + IdGenerators.VALUE_COLUMN + "))",
+                    table, floor);
+            log.debug("ID generator for {} aligned to at least {}", table, floor);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.smarttech.config;
+
+import com.smarttech.event.listener.MaintenanceQueueListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+public class MaintenanceQueueConfig {
+
+    @Value("${app.maintenance.queue.channel:smarttech:maintenance:queue}")
+    private String channel;
+
+    @Bean
+    public RedisMessageListenerContainer maintenanceQueueListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                           MaintenanceQueueListener maintenanceQueueListener) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(maintenanceQueueListener, new ChannelTopic(channel));
+        return container;
+    }
+}
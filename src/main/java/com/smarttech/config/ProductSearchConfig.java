@@ -0,0 +1,25 @@
+package com.smarttech.config;
+
+import com.smarttech.event.listener.ProductSearchIndexListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+public class ProductSearchConfig {
+
+    @Value("${app.search.channel:smarttech:search:products}")
+    private String channel;
+
+    @Bean
+    public RedisMessageListenerContainer productSearchListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                        ProductSearchIndexListener productSearchIndexListener) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(productSearchIndexListener, new ChannelTopic(channel));
+        return container;
+    }
+}
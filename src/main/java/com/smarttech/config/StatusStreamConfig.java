@@ -0,0 +1,25 @@
+package com.smarttech.config;
+
+import com.smarttech.service.impl.StatusStreamServiceImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+public class StatusStreamConfig {
+
+    @Value("${app.sse.channel:smarttech:sse:status}")
+    private String channel;
+
+    @Bean
+    public RedisMessageListenerContainer statusStreamListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       StatusStreamServiceImpl statusStreamService) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(statusStreamService, new ChannelTopic(channel));
+        return container;
+    }
+}
@@ -33,6 +33,8 @@ public class StorageProperties {
     @Data
     public static class Local {
         private String baseDirectory = "./uploads";
+        // Never served by FileController; private objects are only read back through the application
+        private String privateDirectory = "./private-files";
         private boolean createDirectories = true;
         private String urlPattern = "http://localhost:9090/api/v1/files/download";
         private String allowedExtensions = "jpg,jpeg,png,gif,pdf,doc,docx,xls,xlsx,txt,zip";
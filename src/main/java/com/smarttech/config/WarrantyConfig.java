@@ -0,0 +1,25 @@
+package com.smarttech.config;
+
+import com.smarttech.service.impl.WarrantyServiceImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+public class WarrantyConfig {
+
+    @Value("${app.warranty.channel:smarttech:warranty:serials}")
+    private String channel;
+
+    @Bean
+    public RedisMessageListenerContainer warrantyListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                   WarrantyServiceImpl warrantyService) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(warrantyService, new ChannelTopic(channel));
+        return container;
+    }
+}
@@ -1,19 +1,36 @@
 package com.smarttech.controller;
 
+import com.smarttech.dto.request.SalesCubeQueryRequest;
 import com.smarttech.dto.response.DashboardStatsResponse;
+import com.smarttech.dto.response.OrderSummaryResponse;
+import com.smarttech.dto.response.ReportJobResponse;
+import com.smarttech.dto.response.SalesCubeResponse;
 import com.smarttech.dto.response.SalesReportResponse;
+import com.smarttech.dto.response.TopProductResponse;
+import com.smarttech.enums.ReportJobStatus;
+import com.smarttech.enums.TopProductMetric;
 import com.smarttech.service.AnalyticsService;
+import com.smarttech.service.ReportJobService;
+import com.smarttech.service.SalesCubeService;
+import com.smarttech.service.SalesRollupService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequestMapping("/analytics")
@@ -23,6 +40,9 @@ import java.time.LocalDateTime;
 public class AnalyticsController {
 
     private final AnalyticsService analyticsService;
+    private final SalesRollupService salesRollupService;
+    private final SalesCubeService salesCubeService;
+    private final ReportJobService reportJobService;
 
     @GetMapping("/dashboard")
     @Operation(summary = "Get dashboard statistics", description = "Get comprehensive dashboard statistics")
@@ -40,19 +60,86 @@ public class AnalyticsController {
         return ResponseEntity.ok(report);
     }
 
-    @GetMapping("/tax-report/{year}/{month}")
-    @Operation(summary = "Generate monthly tax report", description = "Generate Excel tax report for ERCA")
-    public ResponseEntity<byte[]> generateMonthlyTaxReport(
+    @GetMapping("/sales-report/orders")
+    @Operation(summary = "Get sales report orders", description = "Page through the orders in a sales report date range")
+    public ResponseEntity<Page<OrderSummaryResponse>> getSalesReportOrders(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            Pageable pageable) {
+        return ResponseEntity.ok(analyticsService.getSalesReportOrders(startDate, endDate, pageable));
+    }
+
+    @GetMapping("/top-products")
+    @Operation(summary = "Get top products", description = "Best-selling products by revenue or units for a period, optionally within a category")
+    public ResponseEntity<List<TopProductResponse>> getTopProducts(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(defaultValue = "REVENUE") TopProductMetric metric,
+            @RequestParam(defaultValue = "10") int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, 100));
+        return ResponseEntity.ok(analyticsService.getTopProducts(startDate, endDate, categoryId, metric, boundedLimit));
+    }
+
+    @PostMapping("/cube/query")
+    @Operation(summary = "Query sales cube", description = "Slice delivered sales by day, category, customer tier and product status")
+    public ResponseEntity<SalesCubeResponse> querySalesCube(@RequestBody SalesCubeQueryRequest request) {
+        return ResponseEntity.ok(salesCubeService.query(request));
+    }
+
+    @PostMapping("/report-jobs/tax-report/{year}/{month}")
+    @Operation(summary = "Generate monthly tax report", description = "Queue the Excel tax report for ERCA; poll the job for its file")
+    public ResponseEntity<ReportJobResponse> submitMonthlyTaxReport(
             @PathVariable int year,
             @PathVariable int month) {
-        byte[] reportData = analyticsService.generateMonthlyTaxReport(year, month);
-        
-        String filename = String.format("Monthly_Tax_Report_%d_%02d.xlsx", year, month);
-        
+        if (month < 1 || month > 12) {
+            return ResponseEntity.badRequest().build();
+        }
+        return toJobResponse(reportJobService.submitMonthlyTaxReport(year, month, null));
+    }
+
+    @PostMapping("/report-jobs/sales-report")
+    @Operation(summary = "Generate sales report file", description = "Queue a sales report for a date range; poll the job for its file")
+    public ResponseEntity<ReportJobResponse> submitSalesReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        if (startDate.isAfter(endDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return toJobResponse(reportJobService.submitSalesReport(startDate, endDate));
+    }
+
+    @GetMapping("/report-jobs/{id}")
+    @Operation(summary = "Get report job", description = "Get the status, progress and file of a report job")
+    public ResponseEntity<ReportJobResponse> getReportJob(@PathVariable Long id) {
+        return ResponseEntity.ok(reportJobService.getJob(id));
+    }
+
+    @GetMapping("/report-jobs/{id}/download")
+    @Operation(summary = "Download report", description = "Stream the file of a completed report job")
+    public ResponseEntity<?> downloadReport(@PathVariable Long id) {
+        ReportJobResponse job = reportJobService.getJob(id);
+        if (job.getStatus() != ReportJobStatus.COMPLETED) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(job);
+        }
+        // Streamed through this admin-only endpoint; the artifact itself is never publicly addressable
         return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
-                .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .body(reportData);
+                .contentType(MediaTypeFactory.getMediaType(job.getFileName()).orElse(MediaType.APPLICATION_OCTET_STREAM))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + job.getFileName() + "\"")
+                .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                .body(new InputStreamResource(reportJobService.openArtifact(id)));
+    }
+
+    @PostMapping("/sales-rollup/rebuild")
+    @Operation(summary = "Rebuild sales rollup", description = "Recompute daily sales rollups from orders for a date range (backfill)")
+    public ResponseEntity<String> rebuildSalesRollup(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+        if (fromDate.isAfter(toDate)) {
+            return ResponseEntity.badRequest().body("fromDate must not be after toDate");
+        }
+        salesRollupService.rebuild(fromDate, toDate);
+        return ResponseEntity.ok("Sales rollup rebuilt successfully");
     }
 
     @PostMapping("/send-low-stock-alerts")
@@ -61,4 +148,11 @@ public class AnalyticsController {
         analyticsService.sendLowStockAlerts();
         return ResponseEntity.ok("Low stock alerts sent successfully");
     }
+
+    private ResponseEntity<ReportJobResponse> toJobResponse(ReportJobResponse job) {
+        // Finished (or cached) jobs are ready to download; anything else is still being worked on
+        return job.getStatus() == ReportJobStatus.COMPLETED
+                ? ResponseEntity.ok(job)
+                : ResponseEntity.accepted().body(job);
+    }
 }
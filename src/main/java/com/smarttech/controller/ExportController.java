@@ -0,0 +1,93 @@
+package com.smarttech.controller;
+
+import com.smarttech.enums.ExportFormat;
+import com.smarttech.enums.MaintenanceStatus;
+import com.smarttech.enums.OrderStatus;
+import com.smarttech.enums.PaymentStatus;
+import com.smarttech.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/exports")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+@Tag(name = "Exports", description = "Streaming data export APIs (Admin only)")
+public class ExportController {
+
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    private final ExportService exportService;
+
+    @GetMapping("/orders")
+    @Operation(summary = "Export orders", description = "Stream orders created in the date range as NDJSON or CSV")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return export("orders", format, gzip,
+                out -> exportService.exportOrders(startDate, endDate, status, format, out));
+    }
+
+    @GetMapping("/payments")
+    @Operation(summary = "Export payments", description = "Stream payments created in the date range as NDJSON or CSV")
+    public ResponseEntity<StreamingResponseBody> exportPayments(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) PaymentStatus status,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return export("payments", format, gzip,
+                out -> exportService.exportPayments(startDate, endDate, status, format, out));
+    }
+
+    @GetMapping("/customers")
+    @Operation(summary = "Export customers", description = "Stream all customer accounts as NDJSON or CSV")
+    public ResponseEntity<StreamingResponseBody> exportCustomers(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return export("customers", format, gzip, out -> exportService.exportCustomers(format, out));
+    }
+
+    @GetMapping("/maintenance-requests")
+    @Operation(summary = "Export maintenance requests", description = "Stream maintenance requests created in the date range as NDJSON or CSV")
+    public ResponseEntity<StreamingResponseBody> exportMaintenanceRequests(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) MaintenanceStatus status,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return export("maintenance_requests", format, gzip,
+                out -> exportService.exportMaintenanceRequests(startDate, endDate, status, format, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(String name, ExportFormat format, boolean gzip,
+                                                         StreamingResponseBody body) {
+        String filename = name + "." + format.getExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody response = gzip
+                ? out -> {
+                    GZIPOutputStream compressed = new GZIPOutputStream(out, 8192);
+                    body.writeTo(compressed);
+                    compressed.finish();
+                }
+                : body;
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
+                .contentType(gzip ? GZIP : MediaType.parseMediaType(format.getContentType()))
+                .body(response);
+    }
+}
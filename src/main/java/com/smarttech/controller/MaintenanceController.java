@@ -1,11 +1,14 @@
 package com.smarttech.controller;
 
 import com.smarttech.dto.request.MaintenanceRequestCreate;
+import com.smarttech.dto.response.CursorPageResponse;
 import com.smarttech.dto.response.MaintenanceRequestResponse;
 import com.smarttech.dto.response.MaintenanceTicketResponse;
+import com.smarttech.dto.response.WarrantyCoverageResponse;
 import com.smarttech.enums.MaintenanceStatus;
 import com.smarttech.security.UserPrincipal;
 import com.smarttech.service.MaintenanceService;
+import com.smarttech.service.WarrantyService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -30,6 +33,7 @@ import java.util.List;
 public class MaintenanceController {
 
     private final MaintenanceService maintenanceService;
+    private final WarrantyService warrantyService;
 
     @PostMapping("/requests")
     @PreAuthorize("hasRole('CUSTOMER')")
@@ -72,6 +76,16 @@ public class MaintenanceController {
         return ResponseEntity.ok(requests);
     }
 
+    @GetMapping("/requests/cursor")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    @Operation(summary = "Get all maintenance requests by cursor", description = "Get all maintenance requests, newest first, using keyset pagination (Admin only)")
+    public ResponseEntity<CursorPageResponse<MaintenanceRequestResponse>> getAllMaintenanceRequestsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPageResponse<MaintenanceRequestResponse> requests = maintenanceService.getAllMaintenanceRequestsByCursor(cursor, size);
+        return ResponseEntity.ok(requests);
+    }
+
     @GetMapping("/requests/pending")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
     @Operation(summary = "Get pending requests", description = "Get pending maintenance requests (Admin only)")
@@ -134,4 +148,20 @@ public class MaintenanceController {
         List<MaintenanceRequestResponse> requests = maintenanceService.getOverdueRequests();
         return ResponseEntity.ok(requests);
     }
+
+    @GetMapping("/warranty/{serialNumber}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    @Operation(summary = "Check warranty coverage", description = "Look up the warranty registration for a serial number (Admin only)")
+    public ResponseEntity<WarrantyCoverageResponse> checkWarrantyCoverage(@PathVariable String serialNumber) {
+        WarrantyCoverageResponse response = warrantyService.checkCoverage(serialNumber);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/warranty/backfill")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    @Operation(summary = "Backfill warranty registrations", description = "Register warranted items from all delivered orders (Admin only)")
+    public ResponseEntity<String> backfillWarrantyRegistrations() {
+        int registered = warrantyService.backfill();
+        return ResponseEntity.ok("Registered " + registered + " warranted item(s)");
+    }
 }
@@ -1,6 +1,7 @@
 package com.smarttech.controller;
 
 import com.smarttech.dto.request.OrderCreateRequest;
+import com.smarttech.dto.response.CursorPageResponse;
 import com.smarttech.dto.response.OrderResponse;
 import com.smarttech.enums.OrderStatus;
 import com.smarttech.security.UserPrincipal;
@@ -68,6 +69,16 @@ public class OrderController {
         return ResponseEntity.ok(orders);
     }
 
+    @GetMapping("/cursor")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    @Operation(summary = "Get all orders by cursor", description = "Get all orders, newest first, using keyset pagination (Admin only)")
+    public ResponseEntity<CursorPageResponse<OrderResponse>> getAllOrdersByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPageResponse<OrderResponse> orders = orderService.getAllOrdersByCursor(cursor, size);
+        return ResponseEntity.ok(orders);
+    }
+
     @GetMapping("/status/{status}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
     @Operation(summary = "Get orders by status", description = "Get orders by status (Admin only)")
@@ -1,6 +1,7 @@
     package com.smarttech.controller;
 
     import com.smarttech.dto.request.ProductCreateRequest;
+    import com.smarttech.dto.response.CursorPageResponse;
     import com.smarttech.dto.response.ProductResponse;
     import com.smarttech.service.ProductService;
     import io.swagger.v3.oas.annotations.Operation;
@@ -32,6 +33,15 @@
             return ResponseEntity.ok(products);
         }
 
+        @GetMapping("/cursor")
+        @Operation(summary = "Get all products by cursor", description = "Retrieve available products using keyset pagination")
+        public ResponseEntity<CursorPageResponse<ProductResponse>> getAllProductsByCursor(
+                @RequestParam(required = false) String cursor,
+                @RequestParam(defaultValue = "20") int size) {
+            CursorPageResponse<ProductResponse> products = productService.getAllProductsByCursor(cursor, size);
+            return ResponseEntity.ok(products);
+        }
+
         @GetMapping("/{id}")
         @Operation(summary = "Get product by ID", description = "Retrieve product details by ID")
         public ResponseEntity<ProductResponse> getProductById(@PathVariable Long id) {
@@ -106,4 +116,13 @@
             ProductResponse product = productService.updateStock(id, quantity);
             return ResponseEntity.ok(product);
         }
+
+        @PutMapping("/{id}/flash-sale")
+        @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+        @Operation(summary = "Toggle flash-sale mode", description = "Move product stock to Redis-backed counters for high-volume sales (Admin only)")
+        public ResponseEntity<ProductResponse> setFlashSale(
+                @PathVariable Long id, @RequestParam boolean enabled) {
+            ProductResponse product = productService.setFlashSale(id, enabled);
+            return ResponseEntity.ok(product);
+        }
     }
@@ -0,0 +1,31 @@
+package com.smarttech.controller;
+
+import com.smarttech.security.UserPrincipal;
+import com.smarttech.service.StatusStreamService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/events")
+@RequiredArgsConstructor
+@Tag(name = "Events", description = "Server-Sent Events push APIs")
+public class StatusStreamController {
+
+    private final StatusStreamService statusStreamService;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream status updates", description = "Push order, payment and maintenance status changes for the authenticated user; send Last-Event-ID to resume")
+    public SseEmitter streamStatusUpdates(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return statusStreamService.subscribe(userPrincipal.getId(), lastEventId);
+    }
+}
@@ -0,0 +1,18 @@
+package com.smarttech.dto.export;
+
+import com.smarttech.enums.CustomerTier;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record CustomerExportRow(
+        Long id,
+        String email,
+        String firstName,
+        String lastName,
+        String phoneNumber,
+        CustomerTier customerTier,
+        BigDecimal totalPurchases,
+        Boolean isActive,
+        LocalDateTime createdAt) {
+}
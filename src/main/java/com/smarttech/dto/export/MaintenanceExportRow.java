@@ -0,0 +1,23 @@
+package com.smarttech.dto.export;
+
+import com.smarttech.enums.MaintenanceStatus;
+import com.smarttech.enums.MaintenanceType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record MaintenanceExportRow(
+        Long id,
+        String requestNumber,
+        String customerEmail,
+        String deviceType,
+        String deviceModel,
+        String serialNumber,
+        MaintenanceType maintenanceType,
+        MaintenanceStatus status,
+        BigDecimal estimatedCost,
+        BigDecimal actualCost,
+        Boolean isWarrantyCovered,
+        LocalDateTime createdAt,
+        LocalDateTime completedDate) {
+}
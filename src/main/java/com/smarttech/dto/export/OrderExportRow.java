@@ -0,0 +1,18 @@
+package com.smarttech.dto.export;
+
+import com.smarttech.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record OrderExportRow(
+        Long id,
+        String orderNumber,
+        Long customerId,
+        String customerEmail,
+        OrderStatus status,
+        BigDecimal subtotal,
+        BigDecimal vatAmount,
+        BigDecimal totalAmount,
+        LocalDateTime createdAt) {
+}
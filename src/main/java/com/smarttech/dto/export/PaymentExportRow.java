@@ -0,0 +1,19 @@
+package com.smarttech.dto.export;
+
+import com.smarttech.enums.PaymentMethod;
+import com.smarttech.enums.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record PaymentExportRow(
+        Long id,
+        String paymentReference,
+        String chapaReference,
+        String orderNumber,
+        BigDecimal amount,
+        PaymentMethod paymentMethod,
+        PaymentStatus status,
+        String failureReason,
+        LocalDateTime createdAt) {
+}
@@ -0,0 +1,15 @@
+package com.smarttech.dto.export;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record TaxReportRow(
+        String orderNumber,
+        LocalDateTime createdAt,
+        String customerFirstName,
+        String customerLastName,
+        String customerEmail,
+        BigDecimal subtotal,
+        BigDecimal vatAmount,
+        BigDecimal totalAmount) {
+}
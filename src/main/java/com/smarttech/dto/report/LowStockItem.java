@@ -0,0 +1,4 @@
+package com.smarttech.dto.report;
+
+public record LowStockItem(Long productId, String name, Integer stockQuantity, Integer minStockLevel) {
+}
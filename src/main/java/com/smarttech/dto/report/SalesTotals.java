@@ -0,0 +1,13 @@
+package com.smarttech.dto.report;
+
+import java.math.BigDecimal;
+
+public record SalesTotals(long orderCount, BigDecimal subtotal, BigDecimal vatAmount, BigDecimal totalAmount, long itemCount) {
+
+    public static final SalesTotals EMPTY = new SalesTotals(0, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, 0);
+
+    public SalesTotals plus(SalesTotals other) {
+        return new SalesTotals(orderCount + other.orderCount, subtotal.add(other.subtotal), vatAmount.add(other.vatAmount),
+                totalAmount.add(other.totalAmount), itemCount + other.itemCount);
+    }
+}
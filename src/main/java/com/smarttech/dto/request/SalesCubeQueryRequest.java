@@ -0,0 +1,19 @@
+package com.smarttech.dto.request;
+
+import com.smarttech.enums.CubeDimension;
+import com.smarttech.enums.CustomerTier;
+import com.smarttech.enums.ProductStatus;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+@Data
+public class SalesCubeQueryRequest {
+    private Set<CubeDimension> groupBy;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private Set<Long> categoryIds;
+    private Set<CustomerTier> customerTiers;
+    private Set<ProductStatus> productStatuses;
+}
@@ -0,0 +1,35 @@
+package com.smarttech.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+
+    public static <E, T> CursorPageResponse<T> of(Slice<E> slice, Function<E, T> mapper, Function<E, String> cursorOf) {
+        List<E> entities = slice.getContent();
+        String nextCursor = slice.hasNext() && !entities.isEmpty()
+                ? cursorOf.apply(entities.get(entities.size() - 1))
+                : null;
+
+        return CursorPageResponse.<T>builder()
+                .content(entities.stream().map(mapper).toList())
+                .size(entities.size())
+                .hasNext(slice.hasNext())
+                .nextCursor(nextCursor)
+                .build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.smarttech.dto.response;
+
+import com.smarttech.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSummaryResponse {
+    private Long id;
+    private String orderNumber;
+    private OrderStatus status;
+    private String customerFirstName;
+    private String customerLastName;
+    private String customerEmail;
+    private BigDecimal subtotal;
+    private BigDecimal vatAmount;
+    private BigDecimal totalAmount;
+    private LocalDateTime createdAt;
+}
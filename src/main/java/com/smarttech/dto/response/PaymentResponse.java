@@ -16,5 +16,6 @@ public class PaymentResponse {
     private PaymentMethod paymentMethod;
     private PaymentStatus status;
     private String failureReason;
+    private String checkoutUrl;
     private LocalDateTime createdAt;
 }
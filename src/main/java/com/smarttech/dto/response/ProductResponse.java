@@ -18,6 +18,7 @@ public class ProductResponse {
     private Integer stockQuantity;
     private Integer minStockLevel;
     private ProductStatus status;
+    private boolean flashSale;
     private List<String> imageUrls;
     private CategoryResponse category;
     private LocalDateTime createdAt;
@@ -0,0 +1,26 @@
+package com.smarttech.dto.response;
+
+import com.smarttech.enums.ReportJobStatus;
+import com.smarttech.enums.ReportJobType;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class ReportJobResponse {
+    private Long id;
+    private ReportJobType type;
+    private String parameters;
+    private ReportJobStatus status;
+    private Integer progress;
+    private Long rowsProcessed;
+    private Long totalRows;
+    private String fileName;
+    private String error;
+    private Boolean cached;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+}
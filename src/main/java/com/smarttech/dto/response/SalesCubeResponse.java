@@ -0,0 +1,14 @@
+package com.smarttech.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class SalesCubeResponse {
+    private List<SalesCubeRow> rows;
+    private Long factsScanned;
+    private Long queryMicros;
+}
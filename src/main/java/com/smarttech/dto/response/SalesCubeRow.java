@@ -0,0 +1,25 @@
+package com.smarttech.dto.response;
+
+import com.smarttech.enums.CustomerTier;
+import com.smarttech.enums.ProductStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One cell of a cube query; dimensions that were not grouped by are null.
+ */
+@Data
+@Builder
+public class SalesCubeRow {
+    private LocalDate day;
+    private Long categoryId;
+    private String categoryName;
+    private CustomerTier customerTier;
+    private ProductStatus productStatus;
+    private BigDecimal revenue;
+    private Long unitsSold;
+    private Long orderLines;
+}
@@ -15,6 +15,6 @@ public class SalesReportResponse {
     private Long totalOrders;
     private BigDecimal totalRevenue;
     private BigDecimal totalVat;
-    private List<OrderResponse> orders;
+    private List<OrderSummaryResponse> orders;
     private List<TopProductResponse> topProducts;
 }
@@ -0,0 +1,26 @@
+package com.smarttech.dto.response;
+
+import com.smarttech.enums.StatusUpdateType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pushed to a customer's event stream. {@code entityId} is the order ID for ORDER and PAYMENT updates and
+ * the maintenance request ID for MAINTENANCE; {@code reference} carries the payment reference.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusUpdate {
+    private StatusUpdateType type;
+    private Long entityId;
+    private String reference;
+    private String previousStatus;
+    private String status;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,19 @@
+package com.smarttech.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+public class WarrantyCoverageResponse {
+    private String serialNumber;
+    private Boolean registered;
+    private Boolean covered;
+    private Long productId;
+    private Long orderId;
+    private LocalDate purchaseDate;
+    private Integer warrantyMonths;
+    private LocalDate expiresOn;
+}
@@ -0,0 +1,17 @@
+package com.smarttech.entity;
+
+/**
+ * Shared settings for the pooled table-based ID generators. Unlike IDENTITY, these let Hibernate
+ * assign IDs before INSERT, so inserts can be JDBC-batched; each node reserves a block of
+ * ALLOCATION_SIZE IDs per round trip to the generator table.
+ */
+public final class IdGenerators {
+
+    public static final String TABLE = "id_generators";
+    public static final String PK_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGenerators() {
+    }
+}
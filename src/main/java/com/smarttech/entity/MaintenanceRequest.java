@@ -15,7 +15,9 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "maintenance_requests")
+@Table(name = "maintenance_requests", indexes = {
+        @Index(name = "idx_maintenance_requests_created_at_id", columnList = "created_at, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -14,14 +14,19 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = {
+        @Index(name = "idx_payments_order_id_status", columnList = "order_id, status")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Payment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "payments_id")
+    @TableGenerator(name = "payments_id", table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.PK_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = "payments", allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -48,6 +53,9 @@ public class Payment {
     @Column(name = "failure_reason")
     private String failureReason;
 
+    @Column(name = "checkout_url", length = 500)
+    private String checkoutUrl;
+
     @Column(name = "webhook_data", columnDefinition = "TEXT")
     private String webhookData;
 
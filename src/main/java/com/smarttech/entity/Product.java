@@ -14,14 +14,21 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_status_name_id", columnList = "status, name, id"),
+        @Index(name = "idx_products_low_stock", columnList = "low_stock"),
+        @Index(name = "idx_products_low_stock_alert_pending", columnList = "low_stock_alert_pending")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Product {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "products_id")
+    @TableGenerator(name = "products_id", table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.PK_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = "products", allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -48,6 +55,19 @@ public class Product {
     @Enumerated(EnumType.STRING)
     private ProductStatus status = ProductStatus.ACTIVE;
 
+    @Column(name = "flash_sale", nullable = false)
+    private boolean flashSale;
+
+    // Maintained by ProductRepository.refreshLowStockFlags after stock changes, never written through the entity
+    @Column(name = "low_stock", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "BOOLEAN NOT NULL DEFAULT FALSE")
+    private boolean lowStock;
+
+    // Set when the product newly drops to its minimum level, cleared once it is in a low-stock digest
+    @Column(name = "low_stock_alert_pending", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "BOOLEAN NOT NULL DEFAULT FALSE")
+    private boolean lowStockAlertPending;
+
     @ElementCollection
     @CollectionTable(name = "product_images", joinColumns = @JoinColumn(name = "product_id"))
     @Column(name = "image_url")
@@ -0,0 +1,87 @@
+package com.smarttech.entity;
+
+import com.smarttech.enums.ReportJobStatus;
+import com.smarttech.enums.ReportJobType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A report generation request, run by {@link com.smarttech.scheduler.ReportJobWorker}. While a job is queued or
+ * running its {@code activeKey} is set, so the unique key folds identical submissions onto it. A completed job's
+ * artifact is reused for as long as the {@code dataVersion} of the reported period is unchanged.
+ */
+@Entity
+@Table(name = "report_jobs",
+        uniqueConstraints = @UniqueConstraint(name = "uk_report_jobs_active_key", columnNames = "active_key"),
+        indexes = {
+                @Index(name = "idx_report_jobs_status_created_at", columnList = "status, created_at"),
+                @Index(name = "idx_report_jobs_type_parameters", columnList = "type, parameters, status")
+        })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 30)
+    private ReportJobType type;
+
+    @Column(name = "parameters", nullable = false, length = 100)
+    private String parameters;
+
+    @Column(name = "active_key", length = 150)
+    private String activeKey;
+
+    @Column(name = "data_version", nullable = false, length = 100)
+    private String dataVersion;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private ReportJobStatus status;
+
+    @Column(name = "progress", nullable = false)
+    private int progress;
+
+    @Column(name = "rows_processed", nullable = false)
+    private long rowsProcessed;
+
+    @Column(name = "total_rows")
+    private Long totalRows;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "notify_email", length = 100)
+    private String notifyEmail;
+
+    @Column(name = "file_name", length = 200)
+    private String fileName;
+
+    // Random key of the artifact in private storage; served only through the admin download endpoint
+    @Column(name = "storage_key", length = 200)
+    private String storageKey;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,33 @@
+package com.smarttech.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * The status row of {@code sales_daily_rollup} each order is currently counted in. Status changes move an
+ * order from this status to its current one, so a repeated or late change, or one a rebuild already counted,
+ * changes nothing. Written with native statements by {@link com.smarttech.service.SalesRollupService}.
+ */
+@Entity
+@Table(name = "sales_rollup_orders",
+        indexes = @Index(name = "idx_sales_rollup_orders_date", columnList = "sales_date"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesRollupOrder {
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+}
@@ -15,7 +15,9 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_role_created_at_id", columnList = "role, created_at, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
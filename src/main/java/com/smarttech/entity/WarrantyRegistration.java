@@ -0,0 +1,59 @@
+package com.smarttech.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One warranted unit sold: written when its order is delivered, with the warranty period of the product
+ * at that time, so coverage checks are a single indexed lookup by serial number.
+ */
+@Entity
+@Table(name = "warranty_registrations",
+        uniqueConstraints = @UniqueConstraint(name = "uk_warranty_registrations_order_item", columnNames = "order_item_id"),
+        indexes = {
+                @Index(name = "idx_warranty_registrations_serial_expires", columnList = "serial_number, expires_on"),
+                @Index(name = "idx_warranty_registrations_order", columnList = "order_id"),
+                @Index(name = "idx_warranty_registrations_created_at", columnList = "created_at")
+        })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WarrantyRegistration {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "serial_number", nullable = false, length = 100)
+    private String serialNumber;
+
+    @Column(name = "order_item_id", nullable = false)
+    private Long orderItemId;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Column(name = "purchase_date", nullable = false)
+    private LocalDate purchaseDate;
+
+    @Column(name = "warranty_months", nullable = false)
+    private Integer warrantyMonths;
+
+    @Column(name = "expires_on", nullable = false)
+    private LocalDate expiresOn;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
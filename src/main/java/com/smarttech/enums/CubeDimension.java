@@ -0,0 +1,8 @@
+package com.smarttech.enums;
+
+public enum CubeDimension {
+    DAY,
+    CATEGORY,
+    CUSTOMER_TIER,
+    PRODUCT_STATUS
+}
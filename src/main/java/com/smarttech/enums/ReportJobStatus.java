@@ -0,0 +1,8 @@
+package com.smarttech.enums;
+
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package com.smarttech.enums;
+
+public enum ReportJobType {
+    MONTHLY_TAX_REPORT,
+    SALES_REPORT
+}
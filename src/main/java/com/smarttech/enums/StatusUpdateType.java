@@ -0,0 +1,7 @@
+package com.smarttech.enums;
+
+public enum StatusUpdateType {
+    ORDER,
+    PAYMENT,
+    MAINTENANCE
+}
@@ -0,0 +1,6 @@
+package com.smarttech.enums;
+
+public enum TopProductMetric {
+    REVENUE,
+    UNITS
+}
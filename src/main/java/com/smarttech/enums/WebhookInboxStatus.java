@@ -0,0 +1,8 @@
+package com.smarttech.enums;
+
+public enum WebhookInboxStatus {
+    PENDING,
+    PROCESSING,
+    PROCESSED,
+    DEAD_LETTER
+}
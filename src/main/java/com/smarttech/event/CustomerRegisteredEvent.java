@@ -5,7 +5,6 @@ import lombok.Data;
 
 @Data
 @AllArgsConstructor
-public class PaymentFailureEvent {
-    private String paymentReference;
-    private String reason;
+public class CustomerRegisteredEvent {
+    private Long userId;
 }
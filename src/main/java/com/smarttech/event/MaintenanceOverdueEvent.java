@@ -0,0 +1,15 @@
+package com.smarttech.event;
+
+import com.smarttech.enums.MaintenanceStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Published once per missed deadline: the response SLA while PENDING, the estimated completion while IN_PROGRESS
+@Data
+@AllArgsConstructor
+public class MaintenanceOverdueEvent {
+    private Long requestId;
+    private String requestNumber;
+    private MaintenanceStatus status;
+    private Long customerId;
+}
@@ -0,0 +1,11 @@
+package com.smarttech.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Published for changes that leave the status as it was, such as a re-approval or a generated ticket
+@Data
+@AllArgsConstructor
+public class MaintenanceRequestUpdatedEvent {
+    private Long requestId;
+}
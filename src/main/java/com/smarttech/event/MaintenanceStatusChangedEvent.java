@@ -0,0 +1,14 @@
+package com.smarttech.event;
+
+import com.smarttech.enums.MaintenanceStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class MaintenanceStatusChangedEvent {
+    private Long requestId;
+    private MaintenanceStatus previousStatus; // null when the request was just created
+    private MaintenanceStatus newStatus;
+    private Long customerId;
+}
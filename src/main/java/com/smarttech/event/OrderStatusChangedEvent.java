@@ -0,0 +1,19 @@
+package com.smarttech.event;
+
+import com.smarttech.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class OrderStatusChangedEvent {
+    private Long orderId;
+    private OrderStatus previousStatus; // null when the order was just created
+    private OrderStatus newStatus;
+    private BigDecimal totalAmount;
+    private LocalDateTime orderCreatedAt;
+    private Long customerId;
+}
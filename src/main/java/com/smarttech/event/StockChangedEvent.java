@@ -0,0 +1,12 @@
+package com.smarttech.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Collection;
+
+@Data
+@AllArgsConstructor
+public class StockChangedEvent {
+    private Collection<Long> productIds;
+}
@@ -0,0 +1,42 @@
+package com.smarttech.event.listener;
+
+import com.smarttech.event.CustomerRegisteredEvent;
+import com.smarttech.event.MaintenanceStatusChangedEvent;
+import com.smarttech.event.OrderStatusChangedEvent;
+import com.smarttech.event.ProductChangedEvent;
+import com.smarttech.service.DashboardSnapshotService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Feeds committed changes into the in-memory dashboard counters; rolled-back work never reaches them.
+ */
+@Component
+@RequiredArgsConstructor
+public class DashboardSnapshotListener {
+
+    private final DashboardSnapshotService dashboardSnapshotService;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleOrderStatusChanged(OrderStatusChangedEvent event) {
+        dashboardSnapshotService.applyOrderStatusChange(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleMaintenanceStatusChanged(MaintenanceStatusChangedEvent event) {
+        dashboardSnapshotService.applyMaintenanceStatusChange(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleCustomerRegistered(CustomerRegisteredEvent event) {
+        dashboardSnapshotService.applyCustomerRegistered(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleProductChanged(ProductChangedEvent event) {
+        if (event.getChangeType() == ProductChangedEvent.ChangeType.CREATED) {
+            dashboardSnapshotService.applyProductCreated();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.smarttech.event.listener;
+
+import com.smarttech.event.StockChangedEvent;
+import com.smarttech.service.LowStockService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LowStockListener {
+
+    private final LowStockService lowStockService;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            lowStockService.reconcile();
+        } catch (Exception e) {
+            log.error("Failed to load low-stock products on startup", e);
+        }
+    }
+
+    // Flags are recomputed from the committed stock, so a late or repeated event is harmless
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleStockChanged(StockChangedEvent event) {
+        try {
+            lowStockService.refresh(event.getProductIds());
+        } catch (Exception e) {
+            log.error("Failed to refresh low-stock flags for product IDs: {}", event.getProductIds(), e);
+        }
+    }
+}
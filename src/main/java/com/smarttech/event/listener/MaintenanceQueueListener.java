@@ -0,0 +1,89 @@
+package com.smarttech.event.listener;
+
+import com.smarttech.event.MaintenanceRequestUpdatedEvent;
+import com.smarttech.event.MaintenanceStatusChangedEvent;
+import com.smarttech.service.MaintenanceQueueService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Refreshes the in-memory maintenance queue after committed changes. The request ID is also published on a
+ * Redis channel, so every other node re-reads the same request instead of waiting for its periodic rebuild.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MaintenanceQueueListener implements MessageListener {
+
+    private final MaintenanceQueueService maintenanceQueueService;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Value("${app.maintenance.queue.channel:smarttech:maintenance:queue}")
+    private String channel;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            maintenanceQueueService.rebuild();
+        } catch (Exception e) {
+            log.error("Failed to load maintenance queue on startup", e);
+        }
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleMaintenanceStatusChanged(MaintenanceStatusChangedEvent event) {
+        refreshEverywhere(event.getRequestId());
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleMaintenanceRequestUpdated(MaintenanceRequestUpdatedEvent event) {
+        refreshEverywhere(event.getRequestId());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|");
+        if (parts.length != 2 || nodeId.equals(parts[0])) {
+            return;
+        }
+        try {
+            refresh(Long.valueOf(parts[1]));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed maintenance queue message: {}", e.getMessage());
+        }
+    }
+
+    private void refreshEverywhere(Long requestId) {
+        refresh(requestId);
+        try {
+            stringRedisTemplate.convertAndSend(channel, nodeId + "|" + requestId);
+        } catch (Exception e) {
+            log.warn("Failed to publish maintenance queue change for request ID {}: {}", requestId, e.getMessage());
+        }
+    }
+
+    private void refresh(Long requestId) {
+        try {
+            maintenanceQueueService.refresh(requestId);
+        } catch (Exception e) {
+            log.error("Failed to refresh maintenance queue for request ID: {}", requestId, e);
+        }
+    }
+}
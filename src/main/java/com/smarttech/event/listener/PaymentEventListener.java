@@ -1,18 +1,24 @@
 package com.smarttech.event.listener;
 
 import com.smarttech.entity.Order;
+import com.smarttech.dto.response.StatusUpdate;
 import com.smarttech.entity.Payment;
-import com.smarttech.event.PaymentFailureEvent;
+import com.smarttech.enums.StatusUpdateType;
 import com.smarttech.event.PaymentSuccessEvent;
 import com.smarttech.service.EmailService;
 import com.smarttech.service.PaymentService;
 import com.smarttech.service.PdfGenerationService;
+import com.smarttech.service.StatusStreamService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
 
 @Component
 @RequiredArgsConstructor
@@ -22,50 +28,40 @@ public class PaymentEventListener {
     private final PaymentService paymentService;
     private final EmailService emailService;
     private final PdfGenerationService pdfGenerationService;
+    private final StatusStreamService statusStreamService;
 
-    @EventListener
+    // Published by PaymentService only when a payment actually transitions to SUCCESS
     @Async
-    @Transactional // Added @Transactional to fix LazyInitializationException
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void handlePaymentSuccess(PaymentSuccessEvent event) {
         log.info("Processing payment success event for reference: {}", event.getPaymentReference());
 
         try {
-            // Process payment success
-            paymentService.processPaymentSuccess(event.getPaymentReference(), event.getWebhookData());
-
-            // Get payment and order details with eager loading
             Payment payment = paymentService.findEntityByReference(event.getPaymentReference());
             Order order = payment.getOrder();
 
-            order.getOrderNumber();
-            order.getCustomer().getFirstName();
-            order.getOrderItems().size();
+            // Pushed first so a customer waiting on the payment page is not held up by the email and invoice
+            statusStreamService.publish(order.getCustomer().getId(), StatusUpdate.builder()
+                    .type(StatusUpdateType.PAYMENT)
+                    .entityId(order.getId())
+                    .reference(payment.getPaymentReference())
+                    .status(payment.getStatus().name())
+                    .occurredAt(LocalDateTime.now())
+                    .build());
 
             // Send confirmation email
             emailService.sendPaymentSuccessEmail(order);
 
-            // Generate invoice PDF
-            String invoicePdfUrl = pdfGenerationService.generateInvoicePdf(order);
-            pdfGenerationService.createInvoiceRecord(order, invoicePdfUrl);
+            // Generate invoice PDF once per order
+            if (order.getInvoice() == null) {
+                String invoicePdfUrl = pdfGenerationService.generateInvoicePdf(order);
+                pdfGenerationService.createInvoiceRecord(order, invoicePdfUrl);
+            }
 
             log.info("Payment success event processed successfully for reference: {}", event.getPaymentReference());
         } catch (Exception e) {
             log.error("Error processing payment success event for reference: {}", event.getPaymentReference(), e);
         }
     }
-
-    @EventListener
-    @Async
-    public void handlePaymentFailure(PaymentFailureEvent event) {
-        log.info("Processing payment failure event for reference: {}", event.getPaymentReference());
-
-        try {
-            // Process payment failure
-            paymentService.processPaymentFailure(event.getPaymentReference(), event.getReason());
-
-            log.info("Payment failure event processed successfully for reference: {}", event.getPaymentReference());
-        } catch (Exception e) {
-            log.error("Error processing payment failure event for reference: {}", event.getPaymentReference(), e);
-        }
-    }
 }
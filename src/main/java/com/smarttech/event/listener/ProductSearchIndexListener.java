@@ -0,0 +1,101 @@
+package com.smarttech.event.listener;
+
+import com.smarttech.event.ProductChangedEvent;
+import com.smarttech.repository.ProductRepository;
+import com.smarttech.search.ProductSearchDocument;
+import com.smarttech.search.ProductSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps this node's product search index in step with the products table. Changes committed here are applied
+ * directly and their product IDs published on a Redis channel, so every other node re-reads the same products.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSearchIndexListener implements MessageListener {
+
+    private static final int BUILD_BATCH_SIZE = 500;
+
+    private final ProductRepository productRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Value("${app.search.channel:smarttech:search:products}")
+    private String channel;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        log.info("Building product search index");
+        long start = System.currentTimeMillis();
+
+        try {
+            productSearchIndex.clear();
+            long lastId = 0L;
+            List<ProductSearchDocument> batch;
+            do {
+                batch = productRepository.findSearchDocumentsAfter(lastId, PageRequest.of(0, BUILD_BATCH_SIZE));
+                for (ProductSearchDocument document : batch) {
+                    productSearchIndex.index(document);
+                    lastId = document.getId();
+                }
+            } while (batch.size() == BUILD_BATCH_SIZE);
+
+            productSearchIndex.markReady();
+            log.info("Product search index built with {} products in {} ms",
+                    productSearchIndex.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Failed to build product search index, search will use the database", e);
+        }
+    }
+
+    /**
+     * Runs after the product change is committed so the index never sees rolled-back data.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleProductChanged(ProductChangedEvent event) {
+        refresh(event.getProductId());
+        try {
+            stringRedisTemplate.convertAndSend(channel, nodeId + "|" + event.getProductId());
+        } catch (Exception e) {
+            log.warn("Failed to publish search index change for product ID {}: {}", event.getProductId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|");
+        if (parts.length != 2 || nodeId.equals(parts[0])) {
+            return;
+        }
+        try {
+            refresh(Long.valueOf(parts[1]));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed search index message: {}", e.getMessage());
+        }
+    }
+
+    private void refresh(Long productId) {
+        try {
+            productRepository.findSearchDocumentById(productId)
+                    .ifPresentOrElse(productSearchIndex::index, () -> productSearchIndex.remove(productId));
+        } catch (Exception e) {
+            log.error("Failed to update search index for product ID: {}", productId, e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.smarttech.event.listener;
+
+import com.smarttech.event.OrderStatusChangedEvent;
+import com.smarttech.service.SalesCubeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SalesCubeListener {
+
+    private final SalesCubeService salesCubeService;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            salesCubeService.rebuild();
+        } catch (Exception e) {
+            log.error("Failed to load sales cube on startup", e);
+        }
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleOrderStatusChanged(OrderStatusChangedEvent event) {
+        try {
+            salesCubeService.applyStatusChange(event);
+        } catch (Exception e) {
+            log.error("Failed to update sales cube for order ID: {}", event.getOrderId(), e);
+        }
+    }
+}
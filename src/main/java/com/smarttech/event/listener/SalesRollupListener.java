@@ -0,0 +1,36 @@
+package com.smarttech.event.listener;
+
+import com.smarttech.event.OrderStatusChangedEvent;
+import com.smarttech.service.SalesRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SalesRollupListener {
+
+    private final SalesRollupService salesRollupService;
+
+    // Each change moves the order to its current status, so repeats and out-of-order delivery are harmless;
+    // anything lost is healed by the nightly rebuild
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleOrderStatusChanged(OrderStatusChangedEvent event) {
+        try {
+            try {
+                salesRollupService.applyStatusChange(event);
+            } catch (ConcurrencyFailureException e) {
+                // Usually a deadlock with a rebuild of the same day; safe to repeat
+                salesRollupService.applyStatusChange(event);
+            }
+        } catch (Exception e) {
+            log.error("Failed to update sales rollup for order ID: {}", event.getOrderId(), e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.smarttech.event.listener;
+
+import com.smarttech.dto.response.StatusUpdate;
+import com.smarttech.enums.StatusUpdateType;
+import com.smarttech.event.MaintenanceOverdueEvent;
+import com.smarttech.event.MaintenanceStatusChangedEvent;
+import com.smarttech.event.OrderStatusChangedEvent;
+import com.smarttech.service.StatusStreamService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pushes committed order and maintenance status changes, and missed maintenance deadlines, to the customer's
+ * event stream.
+ * Payment updates are pushed by {@link PaymentEventListener}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StatusStreamListener {
+
+    private final StatusStreamService statusStreamService;
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleOrderStatusChanged(OrderStatusChangedEvent event) {
+        try {
+            statusStreamService.publish(event.getCustomerId(), StatusUpdate.builder()
+                    .type(StatusUpdateType.ORDER)
+                    .entityId(event.getOrderId())
+                    .previousStatus(event.getPreviousStatus() != null ? event.getPreviousStatus().name() : null)
+                    .status(event.getNewStatus().name())
+                    .occurredAt(LocalDateTime.now())
+                    .build());
+        } catch (Exception e) {
+            log.error("Failed to push status update for order ID: {}", event.getOrderId(), e);
+        }
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleMaintenanceStatusChanged(MaintenanceStatusChangedEvent event) {
+        try {
+            statusStreamService.publish(event.getCustomerId(), StatusUpdate.builder()
+                    .type(StatusUpdateType.MAINTENANCE)
+                    .entityId(event.getRequestId())
+                    .previousStatus(event.getPreviousStatus() != null ? event.getPreviousStatus().name() : null)
+                    .status(event.getNewStatus().name())
+                    .occurredAt(LocalDateTime.now())
+                    .build());
+        } catch (Exception e) {
+            log.error("Failed to push status update for maintenance request ID: {}", event.getRequestId(), e);
+        }
+    }
+
+    // Sent as status OVERDUE with the request's actual status as the previous one
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleMaintenanceOverdue(MaintenanceOverdueEvent event) {
+        try {
+            statusStreamService.publish(event.getCustomerId(), StatusUpdate.builder()
+                    .type(StatusUpdateType.MAINTENANCE)
+                    .entityId(event.getRequestId())
+                    .reference(event.getRequestNumber())
+                    .previousStatus(event.getStatus().name())
+                    .status("OVERDUE")
+                    .occurredAt(LocalDateTime.now())
+                    .build());
+        } catch (Exception e) {
+            log.error("Failed to push overdue notice for maintenance request ID: {}", event.getRequestId(), e);
+        }
+    }
+}
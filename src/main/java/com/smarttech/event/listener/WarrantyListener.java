@@ -0,0 +1,41 @@
+package com.smarttech.event.listener;
+
+import com.smarttech.event.OrderStatusChangedEvent;
+import com.smarttech.service.WarrantyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WarrantyListener {
+
+    private final WarrantyService warrantyService;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            warrantyService.rebuildFilter();
+        } catch (Exception e) {
+            log.error("Failed to load warranty serial filter on startup", e);
+        }
+    }
+
+    // Registration is keyed on the order item, so a repeated delivery event is harmless
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleOrderStatusChanged(OrderStatusChangedEvent event) {
+        try {
+            warrantyService.applyStatusChange(event);
+        } catch (Exception e) {
+            log.error("Failed to update warranty registrations for order ID: {}", event.getOrderId(), e);
+        }
+    }
+}
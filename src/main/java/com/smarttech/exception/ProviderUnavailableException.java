@@ -0,0 +1,7 @@
+package com.smarttech.exception;
+
+public class ProviderUnavailableException extends RuntimeException {
+    public ProviderUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,31 +1,84 @@
 package com.smarttech.repository;
 
+import com.smarttech.dto.export.MaintenanceExportRow;
 import com.smarttech.entity.MaintenanceRequest;
 import com.smarttech.enums.MaintenanceStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface MaintenanceRequestRepository extends JpaRepository<MaintenanceRequest, Long> {
+
+    interface StatusCount {
+        MaintenanceStatus getStatus();
+        long getRequestCount();
+    }
     Optional<MaintenanceRequest> findByRequestNumber(String requestNumber);
+
+    // The inverse one-to-one ticket cannot be lazy, so it is joined rather than loaded row by row
+    @Override
+    @EntityGraph(attributePaths = {"customer", "maintenanceTicket"})
+    Page<MaintenanceRequest> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"customer", "maintenanceTicket"})
     Page<MaintenanceRequest> findByCustomerId(Long customerId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"customer", "maintenanceTicket"})
     List<MaintenanceRequest> findByStatus(MaintenanceStatus status);
+
+    @EntityGraph(attributePaths = {"customer", "maintenanceTicket", "imageUrls"})
+    List<MaintenanceRequest> findByStatusIn(Collection<MaintenanceStatus> statuses);
+
+    @EntityGraph(attributePaths = {"customer", "maintenanceTicket", "imageUrls"})
+    @Query("SELECT mr FROM MaintenanceRequest mr WHERE mr.id = :id")
+    Optional<MaintenanceRequest> findWithDetailsById(@Param("id") Long id);
+
     Long countByStatus(MaintenanceStatus status);
+
+    @Query("SELECT m.status AS status, COUNT(m) AS requestCount FROM MaintenanceRequest m GROUP BY m.status")
+    List<StatusCount> countGroupedByStatus();
+
+    @EntityGraph(attributePaths = {"customer", "maintenanceTicket"})
+    @Query("SELECT mr FROM MaintenanceRequest mr ORDER BY mr.createdAt DESC, mr.id DESC")
+    Slice<MaintenanceRequest> findLatestFirst(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"customer", "maintenanceTicket"})
+    @Query("SELECT mr FROM MaintenanceRequest mr WHERE mr.createdAt < :createdAt OR (mr.createdAt = :createdAt AND mr.id < :id) " +
+           "ORDER BY mr.createdAt DESC, mr.id DESC")
+    Slice<MaintenanceRequest> findLatestBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
     
     @Query("SELECT mr FROM MaintenanceRequest mr WHERE mr.serialNumber = :serialNumber")
     List<MaintenanceRequest> findBySerialNumber(@Param("serialNumber") String serialNumber);
     
+    @EntityGraph(attributePaths = {"customer", "maintenanceTicket"})
     @Query("SELECT mr FROM MaintenanceRequest mr WHERE mr.status = 'PENDING' ORDER BY mr.createdAt ASC")
     List<MaintenanceRequest> findPendingRequestsOrderByDate();
     
+    @EntityGraph(attributePaths = {"customer", "maintenanceTicket"})
     @Query("SELECT mr FROM MaintenanceRequest mr WHERE mr.estimatedCompletionDate < :currentDate AND mr.status = 'IN_PROGRESS'")
     List<MaintenanceRequest> findOverdueRequests(@Param("currentDate") LocalDateTime currentDate);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE))
+    @Query("SELECT new com.smarttech.dto.export.MaintenanceExportRow(mr.id, mr.requestNumber, c.email, mr.deviceType, " +
+           "mr.deviceModel, mr.serialNumber, mr.maintenanceType, mr.status, mr.estimatedCost, mr.actualCost, " +
+           "mr.isWarrantyCovered, mr.createdAt, mr.completedDate) FROM MaintenanceRequest mr JOIN mr.customer c " +
+           "WHERE mr.createdAt >= :startDate AND mr.createdAt < :endDate AND (:status IS NULL OR mr.status = :status) ORDER BY mr.id")
+    Stream<MaintenanceExportRow> streamForExport(@Param("startDate") LocalDateTime startDate,
+                                                 @Param("endDate") LocalDateTime endDate,
+                                                 @Param("status") MaintenanceStatus status);
 }
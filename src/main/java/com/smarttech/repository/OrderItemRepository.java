@@ -0,0 +1,63 @@
+package com.smarttech.repository;
+
+import com.smarttech.analytics.SalesFact;
+import com.smarttech.entity.OrderItem;
+import com.smarttech.enums.OrderStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+
+    interface ProductSales {
+        Long getProductId();
+        String getProductName();
+        Long getTotalSold();
+        BigDecimal getTotalRevenue();
+    }
+
+    @Query("SELECT p.id AS productId, p.name AS productName, SUM(oi.quantity) AS totalSold, SUM(oi.totalPrice) AS totalRevenue " +
+           "FROM OrderItem oi JOIN oi.order o JOIN oi.product p " +
+           "WHERE o.status IN :statuses AND o.createdAt BETWEEN :startDate AND :endDate " +
+           "AND (:categoryId IS NULL OR p.category.id = :categoryId) " +
+           "GROUP BY p.id, p.name ORDER BY SUM(oi.totalPrice) DESC, p.id")
+    List<ProductSales> findTopProductsByRevenue(@Param("statuses") Collection<OrderStatus> statuses,
+                                                @Param("startDate") LocalDateTime startDate,
+                                                @Param("endDate") LocalDateTime endDate,
+                                                @Param("categoryId") Long categoryId,
+                                                Pageable pageable);
+
+    @Query("SELECT p.id AS productId, p.name AS productName, SUM(oi.quantity) AS totalSold, SUM(oi.totalPrice) AS totalRevenue " +
+           "FROM OrderItem oi JOIN oi.order o JOIN oi.product p " +
+           "WHERE o.status IN :statuses AND o.createdAt BETWEEN :startDate AND :endDate " +
+           "AND (:categoryId IS NULL OR p.category.id = :categoryId) " +
+           "GROUP BY p.id, p.name ORDER BY SUM(oi.quantity) DESC, p.id")
+    List<ProductSales> findTopProductsByUnits(@Param("statuses") Collection<OrderStatus> statuses,
+                                              @Param("startDate") LocalDateTime startDate,
+                                              @Param("endDate") LocalDateTime endDate,
+                                              @Param("categoryId") Long categoryId,
+                                              Pageable pageable);
+
+    // Keyset batches for loading the sales cube; dimensions are read as of load time
+    @Query("SELECT new com.smarttech.analytics.SalesFact(oi.id, o.id, o.createdAt, c.id, c.name, u.customerTier, " +
+           "p.status, oi.totalPrice, oi.quantity) " +
+           "FROM OrderItem oi JOIN oi.order o JOIN o.customer u JOIN oi.product p LEFT JOIN p.category c " +
+           "WHERE o.status = :status AND oi.id > :lastId ORDER BY oi.id")
+    List<SalesFact> findSalesFactsAfter(@Param("status") OrderStatus status,
+                                        @Param("lastId") Long lastId,
+                                        Pageable pageable);
+
+    @Query("SELECT new com.smarttech.analytics.SalesFact(oi.id, o.id, o.createdAt, c.id, c.name, u.customerTier, " +
+           "p.status, oi.totalPrice, oi.quantity) " +
+           "FROM OrderItem oi JOIN oi.order o JOIN o.customer u JOIN oi.product p LEFT JOIN p.category c " +
+           "WHERE o.id = :orderId ORDER BY oi.id")
+    List<SalesFact> findSalesFactsByOrderId(@Param("orderId") Long orderId);
+}
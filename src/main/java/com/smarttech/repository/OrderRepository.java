@@ -1,11 +1,22 @@
 package com.smarttech.repository;
 
+import com.smarttech.dto.export.OrderExportRow;
+import com.smarttech.dto.export.TaxReportRow;
+import com.smarttech.dto.response.OrderSummaryResponse;
 import com.smarttech.entity.Order;
 import com.smarttech.enums.OrderStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -13,22 +24,125 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
+
+    interface PaymentTotals {
+        BigDecimal getTotalAmount();
+        BigDecimal getPaidAmount();
+    }
+
+    interface StatusTotals {
+        OrderStatus getStatus();
+        long getOrderCount();
+        BigDecimal getTotalAmount();
+        BigDecimal getTotalAmountSince();
+    }
+
+    interface DataVersion {
+        long getOrderCount();
+        Long getDeliveredCount();
+        LocalDateTime getLastUpdatedAt();
+    }
+
     Optional<Order> findByOrderNumber(String orderNumber);
+
+    // List views: customer and the inverse one-to-one invoice are joined, collections load via batch fetching
+    @Override
+    @EntityGraph(attributePaths = {"customer", "invoice"})
+    Page<Order> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"customer", "invoice"})
     Page<Order> findByCustomerId(Long customerId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"customer", "invoice"})
     List<Order> findByStatus(OrderStatus status);
+
+    // Detail view: only one bag (orderItems) can be join-fetched, payments load via batch fetching
+    @EntityGraph(attributePaths = {"customer", "invoice", "orderItems", "orderItems.product", "orderItems.product.category"})
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findWithDetailsById(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = {"customer", "invoice", "orderItems", "orderItems.product", "orderItems.product.category"})
+    @Query("SELECT o FROM Order o WHERE o.orderNumber = :orderNumber")
+    Optional<Order> findWithDetailsByOrderNumber(@Param("orderNumber") String orderNumber);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findByIdForUpdate(@Param("id") Long id);
+
     Long countByStatus(OrderStatus status);
+
+    @Query("SELECT o.status AS status, COUNT(o) AS orderCount, COALESCE(SUM(o.totalAmount), 0) AS totalAmount, " +
+           "COALESCE(SUM(CASE WHEN o.createdAt >= :since THEN o.totalAmount ELSE 0 END), 0) AS totalAmountSince " +
+           "FROM Order o GROUP BY o.status")
+    List<StatusTotals> summarizeByStatus(@Param("since") LocalDateTime since);
+
+    @Query("SELECT o.totalAmount AS totalAmount, o.paidAmount AS paidAmount FROM Order o WHERE o.id = :id")
+    Optional<PaymentTotals> findPaymentTotalsById(@Param("id") Long id);
+
+    // paid_amount is not updatable through the entity, so these native statements are its only writers
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE orders SET paid_amount = paid_amount + :amount WHERE id = :id AND paid_amount IS NOT NULL",
+           nativeQuery = true)
+    int addPaidAmount(@Param("id") Long id, @Param("amount") BigDecimal amount);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE orders SET paid_amount = (SELECT COALESCE(SUM(p.amount), 0) FROM payments p " +
+                   "WHERE p.order_id = :id AND p.status = 'SUCCESS') WHERE id = :id", nativeQuery = true)
+    int recalculatePaidAmount(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = {"customer", "invoice"})
+    @Query("SELECT o FROM Order o ORDER BY o.createdAt DESC, o.id DESC")
+    Slice<Order> findLatestFirst(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"customer", "invoice"})
+    @Query("SELECT o FROM Order o WHERE o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    Slice<Order> findLatestBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
     
+    @EntityGraph(attributePaths = {"customer", "invoice"})
     @Query("SELECT o FROM Order o WHERE o.createdAt BETWEEN :startDate AND :endDate")
     List<Order> findOrdersBetweenDates(@Param("startDate") LocalDateTime startDate, 
                                        @Param("endDate") LocalDateTime endDate);
     
+    @Query(value = "SELECT new com.smarttech.dto.response.OrderSummaryResponse(o.id, o.orderNumber, o.status, " +
+                   "c.firstName, c.lastName, c.email, o.subtotal, o.vatAmount, o.totalAmount, o.createdAt) " +
+                   "FROM Order o JOIN o.customer c WHERE o.createdAt BETWEEN :startDate AND :endDate",
+           countQuery = "SELECT COUNT(o) FROM Order o WHERE o.createdAt BETWEEN :startDate AND :endDate")
+    Page<OrderSummaryResponse> findSummariesBetweenDates(@Param("startDate") LocalDateTime startDate,
+                                                         @Param("endDate") LocalDateTime endDate,
+                                                         Pageable pageable);
+
     @Query("SELECT SUM(o.totalAmount) FROM Order o WHERE o.status = 'DELIVERED' AND o.createdAt BETWEEN :startDate AND :endDate")
     BigDecimal getTotalRevenueForPeriod(@Param("startDate") LocalDateTime startDate, 
                                         @Param("endDate") LocalDateTime endDate);
     
     @Query("SELECT COUNT(o) FROM Order o WHERE o.customer.id = :customerId AND o.status = 'DELIVERED'")
     Long countCompletedOrdersByCustomer(@Param("customerId") Long customerId);
+
+    // Any insert, update or delete of an order in the range changes the count or the latest update time
+    @Query("SELECT COUNT(o) AS orderCount, " +
+           "SUM(CASE WHEN o.status = com.smarttech.enums.OrderStatus.DELIVERED THEN 1 ELSE 0 END) AS deliveredCount, " +
+           "MAX(o.updatedAt) AS lastUpdatedAt FROM Order o WHERE o.createdAt >= :startDate AND o.createdAt < :endDate")
+    DataVersion findDataVersion(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+
+    // Streams for exports: projections keep the persistence context empty, the fetch size makes the driver stream rows instead of buffering them
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE))
+    @Query("SELECT new com.smarttech.dto.export.TaxReportRow(o.orderNumber, o.createdAt, c.firstName, c.lastName, c.email, " +
+           "o.subtotal, o.vatAmount, o.totalAmount) FROM Order o JOIN o.customer c " +
+           "WHERE o.status = :status AND o.createdAt >= :startDate AND o.createdAt < :endDate ORDER BY o.createdAt, o.id")
+    Stream<TaxReportRow> streamForTaxReport(@Param("status") OrderStatus status,
+                                            @Param("startDate") LocalDateTime startDate,
+                                            @Param("endDate") LocalDateTime endDate);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE))
+    @Query("SELECT new com.smarttech.dto.export.OrderExportRow(o.id, o.orderNumber, c.id, c.email, o.status, " +
+           "o.subtotal, o.vatAmount, o.totalAmount, o.createdAt) FROM Order o JOIN o.customer c " +
+           "WHERE o.createdAt >= :startDate AND o.createdAt < :endDate AND (:status IS NULL OR o.status = :status) ORDER BY o.id")
+    Stream<OrderExportRow> streamForExport(@Param("startDate") LocalDateTime startDate,
+                                           @Param("endDate") LocalDateTime endDate,
+                                           @Param("status") OrderStatus status);
 }
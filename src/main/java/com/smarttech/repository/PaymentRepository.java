@@ -1,9 +1,15 @@
 package com.smarttech.repository;
 
+import com.smarttech.dto.export.PaymentExportRow;
 import com.smarttech.entity.Payment;
 import com.smarttech.enums.PaymentStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -11,6 +17,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
@@ -18,8 +25,23 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     Optional<Payment> findByChapaReference(String chapaReference);
     List<Payment> findByOrderId(Long orderId);
     List<Payment> findByStatus(PaymentStatus status);
+
+    @Query("SELECT COALESCE(SUM(p.amount), 0) FROM Payment p WHERE p.order.id = :orderId AND p.status = 'SUCCESS'")
+    BigDecimal sumSuccessfulAmountByOrderId(@Param("orderId") Long orderId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Payment p WHERE p.paymentReference = :paymentReference")
+    Optional<Payment> findByPaymentReferenceForUpdate(@Param("paymentReference") String paymentReference);
     
     @Query("SELECT SUM(p.amount) FROM Payment p WHERE p.status = 'SUCCESS' AND p.createdAt BETWEEN :startDate AND :endDate")
     BigDecimal getTotalSuccessfulPaymentsForPeriod(@Param("startDate") LocalDateTime startDate, 
                                                    @Param("endDate") LocalDateTime endDate);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE))
+    @Query("SELECT new com.smarttech.dto.export.PaymentExportRow(p.id, p.paymentReference, p.chapaReference, o.orderNumber, " +
+           "p.amount, p.paymentMethod, p.status, p.failureReason, p.createdAt) FROM Payment p JOIN p.order o " +
+           "WHERE p.createdAt >= :startDate AND p.createdAt < :endDate AND (:status IS NULL OR p.status = :status) ORDER BY p.id")
+    Stream<PaymentExportRow> streamForExport(@Param("startDate") LocalDateTime startDate,
+                                             @Param("endDate") LocalDateTime endDate,
+                                             @Param("status") PaymentStatus status);
 }
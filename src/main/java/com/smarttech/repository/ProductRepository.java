@@ -1,37 +1,141 @@
 package com.smarttech.repository;
 
+import com.smarttech.dto.report.LowStockItem;
 import com.smarttech.entity.Product;
 import com.smarttech.enums.ProductStatus;
+import com.smarttech.search.ProductSearchDocument;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
+
+    interface StockSummary {
+        long getProductCount();
+    }
+
+    // Native SQL for "at or below minimum"; discontinued products are never reported
+    String LOW_STOCK_CONDITION = "(COALESCE(status, '') <> 'DISCONTINUED' AND COALESCE(stock_quantity, 0) <= COALESCE(min_stock_level, 0))";
+
+    // The pending flag is assigned first so it still sees the previous low_stock value
+    String LOW_STOCK_FLAGS = "low_stock_alert_pending = CASE WHEN " + LOW_STOCK_CONDITION +
+            " THEN (low_stock_alert_pending OR NOT low_stock) ELSE FALSE END, low_stock = " + LOW_STOCK_CONDITION;
     Optional<Product> findBySerialNumber(String serialNumber);
     List<Product> findByStatus(ProductStatus status);
+    List<Product> findByFlashSaleTrue();
+
+    @Override
+    @EntityGraph(attributePaths = "category")
+    List<Product> findAllById(Iterable<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id = :id")
+    Optional<Product> findByIdForUpdate(@Param("id") Long id);
 
+    @EntityGraph(attributePaths = "category")
     @Query("SELECT p FROM Product p WHERE p.category.id = :categoryId ORDER BY p.name ASC")
     Page<Product> findByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
 
+    @EntityGraph(attributePaths = "category")
     @Query("SELECT p FROM Product p WHERE p.status = 'ACTIVE' AND p.stockQuantity > 0")
     Page<Product> findAvailableProducts(Pageable pageable);
 
-    @Query("SELECT p FROM Product p WHERE p.stockQuantity <= p.minStockLevel")
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT p FROM Product p WHERE p.status = 'ACTIVE' AND p.stockQuantity > 0 ORDER BY p.name ASC, p.id ASC")
+    Slice<Product> findAvailableProductsFirst(Pageable pageable);
+
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT p FROM Product p WHERE p.status = 'ACTIVE' AND p.stockQuantity > 0 " +
+           "AND (p.name > :name OR (p.name = :name AND p.id > :id)) ORDER BY p.name ASC, p.id ASC")
+    Slice<Product> findAvailableProductsAfter(@Param("name") String name, @Param("id") Long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT p FROM Product p WHERE p.lowStock = true")
     List<Product> findLowStockProducts();
 
+    @Query("SELECT COUNT(p) AS productCount FROM Product p")
+    StockSummary summarizeStock();
+
+    @Modifying
+    @Query(value = "UPDATE products SET " + LOW_STOCK_FLAGS + " WHERE id IN (:ids)", nativeQuery = true)
+    int refreshLowStockFlags(@Param("ids") Collection<Long> ids);
+
+    // Full pass for changes that bypassed the stock events; only rows whose flag is wrong are written
+    @Modifying
+    @Query(value = "UPDATE products SET " + LOW_STOCK_FLAGS + " WHERE low_stock <> " + LOW_STOCK_CONDITION, nativeQuery = true)
+    int reconcileLowStockFlags();
+
+    @Query("SELECT p.id FROM Product p WHERE p.lowStock = true")
+    List<Long> findLowStockIds();
+
+    @Query("SELECT p.id FROM Product p WHERE p.id IN :ids AND p.lowStock = true")
+    List<Long> findLowStockIdsIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.smarttech.dto.report.LowStockItem(p.id, p.name, p.stockQuantity, p.minStockLevel) " +
+           "FROM Product p WHERE p.lowStockAlertPending = true ORDER BY p.stockQuantity ASC, p.id ASC")
+    List<LowStockItem> findPendingLowStockAlerts();
+
+    @Modifying
+    @Query("UPDATE Product p SET p.lowStockAlertPending = false WHERE p.id IN :ids")
+    int clearLowStockAlertPending(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "category")
     @Query("SELECT p FROM Product p WHERE p.name LIKE %:keyword% OR p.description LIKE %:keyword% ORDER BY p.name ASC")
     Page<Product> searchProducts(@Param("keyword") String keyword, Pageable pageable);
 
+    @EntityGraph(attributePaths = "category")
     @Query("SELECT p FROM Product p WHERE p.price BETWEEN :minPrice AND :maxPrice AND p.status = 'ACTIVE' ORDER BY p.name ASC")
     Page<Product> findByPriceRange(@Param("minPrice") BigDecimal minPrice,
                                    @Param("maxPrice") BigDecimal maxPrice,
                                    Pageable pageable);
+
+    // status is assigned before stockQuantity because MySQL evaluates SET assignments left to right
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Product p SET " +
+           "p.status = CASE WHEN p.stockQuantity - :quantity <= 0 THEN com.smarttech.enums.ProductStatus.OUT_OF_STOCK ELSE p.status END, " +
+           "p.stockQuantity = p.stockQuantity - :quantity " +
+           "WHERE p.id = :id AND p.status = 'ACTIVE' AND p.flashSale = false AND p.stockQuantity >= :quantity")
+    int decrementStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Product p SET " +
+           "p.status = CASE WHEN p.status = 'OUT_OF_STOCK' AND p.stockQuantity + :quantity > 0 THEN com.smarttech.enums.ProductStatus.ACTIVE ELSE p.status END, " +
+           "p.stockQuantity = p.stockQuantity + :quantity " +
+           "WHERE p.id = :id")
+    int incrementStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("UPDATE Product p SET " +
+           "p.status = CASE " +
+           "WHEN :quantity <= 0 AND p.status = 'ACTIVE' THEN com.smarttech.enums.ProductStatus.OUT_OF_STOCK " +
+           "WHEN :quantity > 0 AND p.status = 'OUT_OF_STOCK' THEN com.smarttech.enums.ProductStatus.ACTIVE " +
+           "ELSE p.status END, " +
+           "p.stockQuantity = :quantity " +
+           "WHERE p.id = :id AND p.flashSale = true")
+    int syncFlashSaleStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Query("SELECT p.id FROM Product p WHERE p.category.id = :categoryId")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Query("SELECT p.id AS id, p.name AS name, p.description AS description, c.name AS categoryName " +
+           "FROM Product p LEFT JOIN p.category c WHERE p.id = :id AND p.status <> 'DISCONTINUED'")
+    Optional<ProductSearchDocument> findSearchDocumentById(@Param("id") Long id);
+
+    @Query("SELECT p.id AS id, p.name AS name, p.description AS description, c.name AS categoryName " +
+           "FROM Product p LEFT JOIN p.category c WHERE p.id > :afterId AND p.status <> 'DISCONTINUED' ORDER BY p.id ASC")
+    List<ProductSearchDocument> findSearchDocumentsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -0,0 +1,79 @@
+package com.smarttech.repository;
+
+import com.smarttech.entity.ReportJob;
+import com.smarttech.enums.ReportJobStatus;
+import com.smarttech.enums.ReportJobType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, Long> {
+
+    // Returns 0 when an identical job is already queued or running
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO report_jobs (type, parameters, active_key, data_version, status, progress, " +
+                   "rows_processed, attempts, notify_email, created_at) " +
+                   "VALUES (:type, :parameters, :activeKey, :dataVersion, 'QUEUED', 0, 0, 0, :notifyEmail, :now)",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("type") String type,
+                       @Param("parameters") String parameters,
+                       @Param("activeKey") String activeKey,
+                       @Param("dataVersion") String dataVersion,
+                       @Param("notifyEmail") String notifyEmail,
+                       @Param("now") LocalDateTime now);
+
+    Optional<ReportJob> findByActiveKey(String activeKey);
+
+    // Jobs finished before artifacts moved to private storage have no key and are regenerated
+    Optional<ReportJob> findFirstByTypeAndParametersAndDataVersionAndStatusAndStorageKeyIsNotNullOrderByCompletedAtDesc(
+            ReportJobType type, String parameters, String dataVersion, ReportJobStatus status);
+
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.notifyEmail = :notifyEmail WHERE j.id = :id AND j.notifyEmail IS NULL")
+    int setNotifyEmailIfAbsent(@Param("id") Long id, @Param("notifyEmail") String notifyEmail);
+
+    // Queued jobs, plus running jobs whose worker stopped sending heartbeats
+    @Query("SELECT j.id FROM ReportJob j WHERE j.status = 'QUEUED' " +
+           "OR (j.status = 'RUNNING' AND j.heartbeatAt < :staleBefore AND j.attempts < :maxAttempts) ORDER BY j.id")
+    List<Long> findDueIds(@Param("staleBefore") LocalDateTime staleBefore,
+                          @Param("maxAttempts") int maxAttempts,
+                          Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = 'RUNNING', j.startedAt = :now, j.heartbeatAt = :now, " +
+           "j.attempts = j.attempts + 1, j.progress = 0, j.rowsProcessed = 0 " +
+           "WHERE j.id = :id AND (j.status = 'QUEUED' " +
+           "OR (j.status = 'RUNNING' AND j.heartbeatAt < :staleBefore AND j.attempts < :maxAttempts))")
+    int claim(@Param("id") Long id,
+              @Param("now") LocalDateTime now,
+              @Param("staleBefore") LocalDateTime staleBefore,
+              @Param("maxAttempts") int maxAttempts);
+
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.rowsProcessed = :rows, j.progress = :progress, j.heartbeatAt = :now " +
+           "WHERE j.id = :id AND j.status = 'RUNNING'")
+    int updateProgress(@Param("id") Long id,
+                       @Param("rows") long rows,
+                       @Param("progress") int progress,
+                       @Param("now") LocalDateTime now);
+
+    // Running jobs that went stale on their last allowed attempt; clearing the active key lets a resubmit start over
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = 'FAILED', j.activeKey = NULL, j.completedAt = :now, " +
+           "j.lastError = 'Abandoned after worker stopped responding' " +
+           "WHERE j.status = 'RUNNING' AND j.heartbeatAt < :staleBefore AND j.attempts >= :maxAttempts")
+    int failAbandoned(@Param("now") LocalDateTime now,
+                      @Param("staleBefore") LocalDateTime staleBefore,
+                      @Param("maxAttempts") int maxAttempts);
+
+    @Query("SELECT j FROM ReportJob j WHERE j.status IN ('COMPLETED', 'FAILED') AND j.completedAt < :cutoff")
+    List<ReportJob> findFinishedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+}
@@ -0,0 +1,80 @@
+package com.smarttech.repository;
+
+import com.smarttech.entity.SalesDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SalesDailyRollupRepository extends JpaRepository<SalesDailyRollup, Long> {
+
+    interface StatusTotals {
+        String getStatus();
+        Long getOrderCount();
+        BigDecimal getSubtotal();
+        BigDecimal getVatAmount();
+        BigDecimal getTotalAmount();
+        Long getItemCount();
+    }
+
+    // Adds (sign = 1) or removes (sign = -1) one order's figures from its day/status row
+    @Modifying
+    @Query(value = "INSERT INTO sales_daily_rollup (sales_date, status, order_count, subtotal, vat_amount, total_amount, " +
+                   "item_count, customer_count, updated_at) " +
+                   "SELECT DATE(o.created_at), :status, :sign, :sign * o.subtotal, :sign * o.vat_amount, :sign * o.total_amount, " +
+                   ":sign * (SELECT COALESCE(SUM(oi.quantity), 0) FROM order_items oi WHERE oi.order_id = o.id), 0, NOW() " +
+                   "FROM orders o WHERE o.id = :orderId " +
+                   "ON DUPLICATE KEY UPDATE order_count = order_count + VALUES(order_count), " +
+                   "subtotal = subtotal + VALUES(subtotal), vat_amount = vat_amount + VALUES(vat_amount), " +
+                   "total_amount = total_amount + VALUES(total_amount), item_count = item_count + VALUES(item_count), " +
+                   "updated_at = VALUES(updated_at)", nativeQuery = true)
+    int applyOrderDelta(@Param("orderId") Long orderId, @Param("status") String status, @Param("sign") int sign);
+
+    @Modifying
+    @Query(value = "UPDATE sales_daily_rollup r SET r.customer_count = (SELECT COUNT(DISTINCT o.customer_id) FROM orders o " +
+                   "WHERE o.created_at >= :dayStart AND o.created_at < :dayEnd AND o.status = r.status) " +
+                   "WHERE r.sales_date = :day AND r.status IN (:statuses)", nativeQuery = true)
+    int refreshCustomerCounts(@Param("day") LocalDate day,
+                              @Param("dayStart") LocalDateTime dayStart,
+                              @Param("dayEnd") LocalDateTime dayEnd,
+                              @Param("statuses") Collection<String> statuses);
+
+    @Modifying
+    @Query(value = "DELETE FROM sales_daily_rollup WHERE sales_date >= :fromDate AND sales_date <= :toDate", nativeQuery = true)
+    int deleteBetween(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+    @Modifying
+    @Query(value = "INSERT INTO sales_daily_rollup (sales_date, status, order_count, subtotal, vat_amount, total_amount, " +
+                   "item_count, customer_count, updated_at) " +
+                   "SELECT DATE(o.created_at), o.status, COUNT(*), SUM(o.subtotal), SUM(o.vat_amount), SUM(o.total_amount), " +
+                   "COALESCE(SUM(i.quantity), 0), COUNT(DISTINCT o.customer_id), NOW() " +
+                   "FROM orders o LEFT JOIN (SELECT oi.order_id, SUM(oi.quantity) AS quantity FROM order_items oi " +
+                   "JOIN orders io ON io.id = oi.order_id WHERE io.created_at >= :from AND io.created_at < :to " +
+                   "GROUP BY oi.order_id) i ON i.order_id = o.id " +
+                   "WHERE o.created_at >= :from AND o.created_at < :to GROUP BY DATE(o.created_at), o.status",
+           nativeQuery = true)
+    int insertFromOrders(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query(value = "SELECT status, SUM(order_count) AS orderCount, SUM(subtotal) AS subtotal, SUM(vat_amount) AS vatAmount, " +
+                   "SUM(total_amount) AS totalAmount, SUM(item_count) AS itemCount FROM sales_daily_rollup " +
+                   "WHERE sales_date >= :fromDate AND sales_date <= :toDate GROUP BY status", nativeQuery = true)
+    List<StatusTotals> sumBetween(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+    // Same figures straight from orders, for the partial days at either end of a report range
+    @Query(value = "SELECT o.status AS status, COUNT(*) AS orderCount, SUM(o.subtotal) AS subtotal, " +
+                   "SUM(o.vat_amount) AS vatAmount, SUM(o.total_amount) AS totalAmount, " +
+                   "COALESCE(SUM(i.quantity), 0) AS itemCount " +
+                   "FROM orders o LEFT JOIN (SELECT oi.order_id, SUM(oi.quantity) AS quantity FROM order_items oi " +
+                   "JOIN orders io ON io.id = oi.order_id WHERE io.created_at >= :from AND io.created_at <= :to " +
+                   "GROUP BY oi.order_id) i ON i.order_id = o.id " +
+                   "WHERE o.created_at >= :from AND o.created_at <= :to GROUP BY o.status", nativeQuery = true)
+    List<StatusTotals> sumOrdersBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,39 @@
+package com.smarttech.repository;
+
+import com.smarttech.entity.SalesRollupOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface SalesRollupOrderRepository extends JpaRepository<SalesRollupOrder, Long> {
+
+    @Query(value = "SELECT status FROM sales_rollup_orders WHERE order_id = :orderId FOR UPDATE", nativeQuery = true)
+    Optional<String> findCountedStatusForUpdate(@Param("orderId") Long orderId);
+
+    // Locking read, so it sees the latest committed status rather than the transaction's snapshot
+    @Query(value = "SELECT status FROM orders WHERE id = :orderId FOR SHARE", nativeQuery = true)
+    Optional<String> findOrderStatusForShare(@Param("orderId") Long orderId);
+
+    @Modifying
+    @Query(value = "INSERT INTO sales_rollup_orders (order_id, sales_date, status) " +
+                   "SELECT o.id, DATE(o.created_at), :status FROM orders o WHERE o.id = :orderId " +
+                   "ON DUPLICATE KEY UPDATE status = VALUES(status)", nativeQuery = true)
+    int markCounted(@Param("orderId") Long orderId, @Param("status") String status);
+
+    @Modifying
+    @Query(value = "DELETE FROM sales_rollup_orders WHERE sales_date >= :fromDate AND sales_date <= :toDate", nativeQuery = true)
+    int deleteBetween(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+    @Modifying
+    @Query(value = "INSERT INTO sales_rollup_orders (order_id, sales_date, status) " +
+                   "SELECT o.id, DATE(o.created_at), o.status FROM orders o " +
+                   "WHERE o.created_at >= :from AND o.created_at < :to", nativeQuery = true)
+    int insertFromOrders(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,17 @@
+package com.smarttech.repository;
+
+/**
+ * Query hint values for the export streams.
+ */
+public final class StreamingQueries {
+
+    /**
+     * Fetch size that makes MySQL Connector/J stream a result set row by row instead of buffering all of it.
+     * Scoped to the queries that use it, unlike {@code useCursorFetch}, which changes every statement on the pool.
+     * The connection cannot run other statements until the stream is closed.
+     */
+    public static final String FETCH_SIZE = "-2147483648";
+
+    private StreamingQueries() {
+    }
+}
@@ -1,20 +1,34 @@
 package com.smarttech.repository;
 
+import com.smarttech.dto.export.CustomerExportRow;
 import com.smarttech.entity.User;
 import com.smarttech.enums.CustomerTier;
 import com.smarttech.enums.UserRole;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    interface TierCount {
+        CustomerTier getTier();
+        long getUserCount();
+    }
+
     Optional<User> findByEmail(String email);
     Optional<User> findByPhoneNumber(String phoneNumber);
     boolean existsByEmail(String email);
@@ -24,10 +38,64 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByCustomerTier(CustomerTier customerTier);
     Long countByRole(UserRole role);
     Long countByCustomerTier(CustomerTier customerTier);
+
+    @Query("SELECT u.customerTier AS tier, COUNT(u) AS userCount FROM User u WHERE u.role = :role GROUP BY u.customerTier")
+    List<TierCount> countByRoleGroupedByTier(@Param("role") UserRole role);
     
     @Query("SELECT u FROM User u WHERE u.role = :role AND u.isActive = true")
     Page<User> findActiveUsersByRole(@Param("role") UserRole role, Pageable pageable);
+
+    @Query("SELECT u FROM User u WHERE u.role = :role AND u.isActive = true ORDER BY u.createdAt DESC, u.id DESC")
+    Slice<User> findActiveUsersByRoleLatestFirst(@Param("role") UserRole role, Pageable pageable);
+
+    @Query("SELECT u FROM User u WHERE u.role = :role AND u.isActive = true " +
+           "AND (u.createdAt < :createdAt OR (u.createdAt = :createdAt AND u.id < :id)) ORDER BY u.createdAt DESC, u.id DESC")
+    Slice<User> findActiveUsersByRoleLatestBefore(@Param("role") UserRole role,
+                                                  @Param("createdAt") java.time.LocalDateTime createdAt,
+                                                  @Param("id") Long id,
+                                                  Pageable pageable);
     
     @Query("SELECT u FROM User u WHERE u.emailVerified = false AND u.createdAt < :cutoffDate")
     List<User> findUnverifiedUsersOlderThan(@Param("cutoffDate") java.time.LocalDateTime cutoffDate);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE))
+    @Query("SELECT new com.smarttech.dto.export.CustomerExportRow(u.id, u.email, u.firstName, u.lastName, u.phoneNumber, " +
+           "u.customerTier, u.totalPurchases, u.isActive, u.createdAt) FROM User u WHERE u.role = :role ORDER BY u.id")
+    Stream<CustomerExportRow> streamForExport(@Param("role") UserRole role);
+
+    @Query("SELECT COALESCE(MAX(u.id), 0) FROM User u")
+    long findMaxId();
+
+    // Tier is assigned first so it is computed from the pre-update total plus the amount
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE users SET customer_tier = CASE " +
+                   "WHEN COALESCE(total_purchases, 0) + :amount >= :diamond THEN 'DIAMOND' " +
+                   "WHEN COALESCE(total_purchases, 0) + :amount >= :gold THEN 'GOLD' " +
+                   "WHEN COALESCE(total_purchases, 0) + :amount >= :silver THEN 'SILVER' ELSE 'BRONZE' END, " +
+                   "total_purchases = COALESCE(total_purchases, 0) + :amount WHERE id = :id", nativeQuery = true)
+    int addPurchase(@Param("id") Long id,
+                    @Param("amount") BigDecimal amount,
+                    @Param("silver") BigDecimal silver,
+                    @Param("gold") BigDecimal gold,
+                    @Param("diamond") BigDecimal diamond);
+
+    // Rebuilds totals and tiers for one ID range from successful payments; only drifted rows are written
+    @Modifying
+    @Query(value = "UPDATE users u LEFT JOIN (SELECT o.customer_id, SUM(p.amount) AS total FROM payments p " +
+                   "JOIN orders o ON o.id = p.order_id WHERE p.status = 'SUCCESS' " +
+                   "AND o.customer_id BETWEEN :fromId AND :toId GROUP BY o.customer_id) t ON t.customer_id = u.id " +
+                   "SET u.total_purchases = COALESCE(t.total, 0), u.customer_tier = CASE " +
+                   "WHEN COALESCE(t.total, 0) >= :diamond THEN 'DIAMOND' " +
+                   "WHEN COALESCE(t.total, 0) >= :gold THEN 'GOLD' " +
+                   "WHEN COALESCE(t.total, 0) >= :silver THEN 'SILVER' ELSE 'BRONZE' END " +
+                   "WHERE u.id BETWEEN :fromId AND :toId " +
+                   "AND (u.total_purchases IS NULL OR u.total_purchases <> COALESCE(t.total, 0) OR u.customer_tier IS NULL " +
+                   "OR u.customer_tier <> CASE WHEN COALESCE(t.total, 0) >= :diamond THEN 'DIAMOND' " +
+                   "WHEN COALESCE(t.total, 0) >= :gold THEN 'GOLD' " +
+                   "WHEN COALESCE(t.total, 0) >= :silver THEN 'SILVER' ELSE 'BRONZE' END)", nativeQuery = true)
+    int recalculatePurchases(@Param("fromId") long fromId,
+                             @Param("toId") long toId,
+                             @Param("silver") BigDecimal silver,
+                             @Param("gold") BigDecimal gold,
+                             @Param("diamond") BigDecimal diamond);
 }
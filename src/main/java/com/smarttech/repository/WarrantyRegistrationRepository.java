@@ -0,0 +1,59 @@
+package com.smarttech.repository;
+
+import com.smarttech.entity.WarrantyRegistration;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WarrantyRegistrationRepository extends JpaRepository<WarrantyRegistration, Long> {
+
+    interface SerialEntry {
+        Long getId();
+        String getSerialNumber();
+    }
+
+    String REGISTRATION_SELECT = "SELECT oi.serial_number, oi.id, o.id, p.id, o.customer_id, DATE(o.created_at), " +
+            "p.warranty_months, DATE_ADD(DATE(o.created_at), INTERVAL p.warranty_months MONTH), NOW() " +
+            "FROM order_items oi JOIN orders o ON o.id = oi.order_id JOIN products p ON p.id = oi.product_id " +
+            "WHERE o.status = 'DELIVERED' AND oi.serial_number IS NOT NULL AND oi.serial_number <> '' " +
+            "AND p.warranty_months > 0";
+
+    String REGISTRATION_INSERT = "INSERT IGNORE INTO warranty_registrations (serial_number, order_item_id, order_id, " +
+            "product_id, customer_id, purchase_date, warranty_months, expires_on, created_at) ";
+
+    // Idempotent: the unique order_item_id key skips lines registered before
+    @Modifying
+    @Query(value = REGISTRATION_INSERT + REGISTRATION_SELECT + " AND o.id = :orderId", nativeQuery = true)
+    int registerOrder(@Param("orderId") Long orderId);
+
+    @Modifying
+    @Query(value = REGISTRATION_INSERT + REGISTRATION_SELECT + " AND oi.id BETWEEN :fromId AND :toId", nativeQuery = true)
+    int registerOrderItemRange(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    @Modifying
+    @Query("DELETE FROM WarrantyRegistration w WHERE w.orderId = :orderId")
+    int deleteByOrderId(@Param("orderId") Long orderId);
+
+    @Query(value = "SELECT COALESCE(MAX(id), 0) FROM order_items", nativeQuery = true)
+    long findMaxOrderItemId();
+
+    // A serial can be sold more than once; the registration that runs longest decides coverage
+    Optional<WarrantyRegistration> findFirstBySerialNumberOrderByExpiresOnDesc(String serialNumber);
+
+    @Query("SELECT w.serialNumber FROM WarrantyRegistration w WHERE w.orderId = :orderId")
+    List<String> findSerialNumbersByOrderId(@Param("orderId") Long orderId);
+
+    @Query("SELECT w.serialNumber FROM WarrantyRegistration w WHERE w.createdAt >= :since")
+    List<String> findSerialNumbersCreatedSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT w.id AS id, w.serialNumber AS serialNumber FROM WarrantyRegistration w WHERE w.id > :lastId ORDER BY w.id")
+    List<SerialEntry> findSerialsAfter(@Param("lastId") Long lastId, Pageable pageable);
+}
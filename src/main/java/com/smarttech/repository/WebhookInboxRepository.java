@@ -0,0 +1,46 @@
+package com.smarttech.repository;
+
+import com.smarttech.entity.WebhookInbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface WebhookInboxRepository extends JpaRepository<WebhookInbox, Long> {
+
+    // Returns 0 when the (tx_ref, event_type) pair was already received
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO webhook_inbox (tx_ref, event_type, payload, status, attempts, next_attempt_at, received_at) " +
+                   "VALUES (:txRef, :eventType, :payload, 'PENDING', 0, :now, :now)", nativeQuery = true)
+    int insertIfAbsent(@Param("txRef") String txRef,
+                       @Param("eventType") String eventType,
+                       @Param("payload") String payload,
+                       @Param("now") LocalDateTime now);
+
+    // Due retries, plus claims whose worker died before finishing
+    @Query("SELECT w.id FROM WebhookInbox w WHERE (w.status = 'PENDING' AND w.nextAttemptAt <= :now) " +
+           "OR (w.status = 'PROCESSING' AND w.claimedAt < :staleBefore) ORDER BY w.id")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE WebhookInbox w SET w.status = 'PROCESSING', w.claimedAt = :now, w.attempts = w.attempts + 1 " +
+           "WHERE w.id = :id AND ((w.status = 'PENDING' AND w.nextAttemptAt <= :now) " +
+           "OR (w.status = 'PROCESSING' AND w.claimedAt < :staleBefore))")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore);
+
+    // Hands back claims that were never started, without counting them as an attempt
+    @Modifying
+    @Query("UPDATE WebhookInbox w SET w.status = 'PENDING', w.claimedAt = null, w.attempts = w.attempts - 1 " +
+           "WHERE w.id IN :ids AND w.status = 'PROCESSING'")
+    int release(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM WebhookInbox w WHERE w.status = 'PROCESSED' AND w.processedAt < :cutoff")
+    int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
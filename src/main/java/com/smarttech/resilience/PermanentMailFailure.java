@@ -0,0 +1,38 @@
+package com.smarttech.resilience;
+
+import jakarta.mail.SendFailedException;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
+
+import java.util.Collection;
+import java.util.function.Predicate;
+
+/**
+ * Matches mail failures caused by the message rather than the SMTP server: addresses the server rejected
+ * and messages that could not be built. Retrying them fails the same way whatever the server's health, so
+ * the smtp circuit breaker ignores them instead of counting them towards opening.
+ */
+public class PermanentMailFailure implements Predicate<Throwable> {
+
+    @Override
+    public boolean test(Throwable throwable) {
+        if (throwable instanceof MailParseException || throwable instanceof MailPreparationException) {
+            return true;
+        }
+        if (throwable instanceof MailSendException e) {
+            Collection<Exception> failures = e.getFailedMessages().values();
+            return !failures.isEmpty() && failures.stream().allMatch(PermanentMailFailure::isRejectedRecipient);
+        }
+        return false;
+    }
+
+    private static boolean isRejectedRecipient(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SendFailedException e && e.getInvalidAddresses() != null && e.getInvalidAddresses().length > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
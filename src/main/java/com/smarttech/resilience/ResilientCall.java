@@ -0,0 +1,56 @@
+package com.smarttech.resilience;
+
+import com.smarttech.exception.ProviderUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Runs calls to an external provider behind that provider's bulkhead and circuit breaker, both
+ * configured per provider under resilience4j.* in application.yml. When the breaker is open or the
+ * bulkhead is full the call is not attempted and {@link ProviderUnavailableException} is thrown.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResilientCall {
+
+    public static final String CHAPA = "chapa";
+    public static final String AFROMESSAGE = "afromessage";
+    public static final String SMTP = "smtp";
+    public static final String S3 = "s3";
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    public <T> T call(String provider, Callable<T> action) throws Exception {
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(provider);
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(provider);
+        try {
+            // Breaker outside the bulkhead, so an open breaker never takes a permit
+            return circuitBreaker.executeCallable(() -> bulkhead.executeCallable(action));
+        } catch (CallNotPermittedException e) {
+            throw new ProviderUnavailableException(provider + " is temporarily unavailable", e);
+        } catch (BulkheadFullException e) {
+            throw new ProviderUnavailableException(provider + " is handling too many requests", e);
+        }
+    }
+
+    public void run(String provider, Action action) throws Exception {
+        call(provider, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
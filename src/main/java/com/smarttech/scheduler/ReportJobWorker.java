@@ -0,0 +1,89 @@
+package com.smarttech.scheduler;
+
+import com.smarttech.service.ReportJobService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Runs queued report jobs on a small dedicated pool, away from request threads. Like the webhook inbox,
+ * each poll only claims what the pool can take, so waiting jobs stay in the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReportJobWorker {
+
+    private final ReportJobService reportJobService;
+
+    @Value("${app.report-jobs.workers:2}")
+    private int workers;
+
+    @Value("${app.report-jobs.queue-capacity:4}")
+    private int queueCapacity;
+
+    private ThreadPoolTaskExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-job-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        // Unfinished jobs are picked up again once their heartbeat goes stale, so shutdown need not wait
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Scheduled(fixedDelayString = "${app.report-jobs.poll-interval-ms:2000}")
+    public void drain() {
+        int capacity = executor.getThreadPoolExecutor().getQueue().remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+
+        try {
+            for (Long id : reportJobService.claimDue(capacity)) {
+                executor.execute(() -> handle(id));
+            }
+        } catch (Exception e) {
+            log.error("Error draining report jobs", e);
+        }
+    }
+
+    @Scheduled(cron = "0 45 3 * * *") // Every day at 3:45 AM
+    public void purgeExpired() {
+        try {
+            int purged = reportJobService.purgeExpired();
+            log.info("Purged {} expired report job(s)", purged);
+        } catch (Exception e) {
+            log.error("Error purging report jobs", e);
+        }
+    }
+
+    private void handle(Long id) {
+        try {
+            reportJobService.run(id);
+        } catch (Exception e) {
+            try {
+                reportJobService.recordFailure(id, e);
+            } catch (Exception recordError) {
+                log.error("Failed to record report job failure for job {}", id, recordError);
+            }
+        }
+    }
+}
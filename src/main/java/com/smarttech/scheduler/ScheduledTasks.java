@@ -1,13 +1,24 @@
 package com.smarttech.scheduler;
 
+import com.smarttech.dto.response.ReportJobResponse;
 import com.smarttech.service.AnalyticsService;
-import com.smarttech.service.EmailService;
+import com.smarttech.service.DashboardSnapshotService;
+import com.smarttech.service.HotStockService;
+import com.smarttech.service.LowStockService;
+import com.smarttech.service.MaintenanceQueueService;
+import com.smarttech.service.ReportJobService;
+import com.smarttech.service.SalesCubeService;
+import com.smarttech.service.SalesRollupService;
+import com.smarttech.service.StatusStreamService;
+import com.smarttech.service.UserService;
+import com.smarttech.service.WarrantyService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Component
@@ -16,12 +27,24 @@ import java.time.LocalDateTime;
 public class ScheduledTasks {
 
     private final AnalyticsService analyticsService;
-    private final EmailService emailService;
+    private final HotStockService hotStockService;
+    private final UserService userService;
+    private final DashboardSnapshotService dashboardSnapshotService;
+    private final SalesRollupService salesRollupService;
+    private final SalesCubeService salesCubeService;
+    private final ReportJobService reportJobService;
+    private final LowStockService lowStockService;
+    private final WarrantyService warrantyService;
+    private final MaintenanceQueueService maintenanceQueueService;
+    private final StatusStreamService statusStreamService;
 
     @Value("${business.email}")
     private String adminEmail;
 
-    @Scheduled(cron = "0 0 9 * * MON-FRI") // Every weekday at 9 AM
+    @Value("${app.sales-rollup.heal-days:2}")
+    private int salesRollupHealDays;
+
+    @Scheduled(cron = "${app.low-stock.digest-cron:0 0 9 * * MON-FRI}") // Every weekday at 9 AM
     public void sendLowStockAlerts() {
         log.info("Running scheduled low stock alerts check");
         try {
@@ -31,6 +54,113 @@ public class ScheduledTasks {
         }
     }
 
+    @Scheduled(fixedDelayString = "${app.low-stock.reload-interval-ms:300000}")
+    public void reloadLowStockSet() {
+        try {
+            lowStockService.reload();
+        } catch (Exception e) {
+            log.error("Error reloading low-stock products", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.flash-sale.flush-interval-ms:1000}")
+    public void flushFlashSaleStock() {
+        try {
+            hotStockService.flushDirtyStock();
+        } catch (Exception e) {
+            log.error("Error flushing flash-sale stock", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.dashboard.refresh-interval-ms:60000}")
+    public void refreshDashboardSnapshot() {
+        try {
+            dashboardSnapshotService.refresh();
+        } catch (Exception e) {
+            log.error("Error refreshing dashboard snapshot", e);
+        }
+    }
+
+    @Scheduled(cron = "${app.sales-rollup.heal-cron:0 15 2 * * *}")
+    public void healSalesRollup() {
+        log.info("Running scheduled sales rollup rebuild for the last {} day(s)", salesRollupHealDays);
+        try {
+            LocalDate today = LocalDate.now();
+            salesRollupService.rebuild(today.minusDays(salesRollupHealDays), today.minusDays(1));
+        } catch (Exception e) {
+            log.error("Error in scheduled sales rollup rebuild", e);
+        }
+    }
+
+    @Scheduled(cron = "${app.analytics.cube.reload-cron:0 45 2 * * *}")
+    public void reloadSalesCube() {
+        log.info("Running scheduled sales cube reload");
+        try {
+            salesCubeService.rebuild();
+        } catch (Exception e) {
+            log.error("Error in scheduled sales cube reload", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.sse.heartbeat-interval-ms:25000}")
+    public void sendStatusStreamHeartbeats() {
+        try {
+            statusStreamService.sendHeartbeats();
+        } catch (Exception e) {
+            log.error("Error sending status stream heartbeats", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.maintenance.queue.tick-ms:1000}")
+    public void advanceMaintenanceDeadlines() {
+        try {
+            maintenanceQueueService.advance();
+        } catch (Exception e) {
+            log.error("Error advancing maintenance deadlines", e);
+        }
+    }
+
+    // The first load runs on startup
+    @Scheduled(fixedDelayString = "${app.maintenance.queue.rebuild-interval-ms:600000}",
+               initialDelayString = "${app.maintenance.queue.rebuild-interval-ms:600000}")
+    public void rebuildMaintenanceQueue() {
+        try {
+            maintenanceQueueService.rebuild();
+        } catch (Exception e) {
+            log.error("Error rebuilding maintenance queue", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.warranty.sync-interval-ms:30000}")
+    public void syncWarrantyFilter() {
+        try {
+            warrantyService.syncFilter();
+        } catch (Exception e) {
+            log.error("Error syncing warranty serial filter", e);
+        }
+    }
+
+    // A fresh filter drops bits left by cancelled registrations and resizes for growth
+    @Scheduled(cron = "${app.warranty.rebuild-cron:0 0 3 * * *}")
+    public void rebuildWarrantyFilter() {
+        log.info("Running scheduled warranty serial filter rebuild");
+        try {
+            warrantyService.rebuildFilter();
+        } catch (Exception e) {
+            log.error("Error in scheduled warranty serial filter rebuild", e);
+        }
+    }
+
+    @Scheduled(cron = "${app.customer-tier.recalculation-cron:0 30 2 * * *}")
+    public void recalculateCustomerTiers() {
+        log.info("Running scheduled customer tier recalculation");
+        try {
+            userService.recalculateCustomerTiers();
+        } catch (Exception e) {
+            log.error("Error in scheduled customer tier recalculation", e);
+        }
+    }
+
     @Scheduled(cron = "0 0 8 1 * *") // First day of every month at 8 AM
     public void generateMonthlyTaxReport() {
         log.info("Running scheduled monthly tax report generation");
@@ -38,12 +168,10 @@ public class ScheduledTasks {
             LocalDateTime now = LocalDateTime.now().minusMonths(1);
             int year = now.getYear();
             int month = now.getMonthValue();
-            
-            byte[] reportData = analyticsService.generateMonthlyTaxReport(year, month);
-            String monthName = now.getMonth().toString();
-            
-            emailService.sendMonthlyReport(adminEmail, reportData, monthName + " " + year);
-            log.info("Monthly tax report sent successfully for {}/{}", month, year);
+
+            // Generated by the report job worker, which emails the file to the admin when it is done
+            ReportJobResponse job = reportJobService.submitMonthlyTaxReport(year, month, adminEmail);
+            log.info("Monthly tax report for {}/{} queued as report job {}", month, year, job.getId());
         } catch (Exception e) {
             log.error("Error in scheduled monthly tax report generation", e);
         }
@@ -0,0 +1,102 @@
+package com.smarttech.scheduler;
+
+import com.smarttech.service.WebhookInboxService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Drains the webhook inbox on a fixed, bounded worker pool. Each poll only claims as many
+ * entries as the pool's queue can still take, so a backlog waits in the database, not in memory.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WebhookInboxWorker {
+
+    private final WebhookInboxService webhookInboxService;
+
+    @Value("${app.webhook.workers:4}")
+    private int workers;
+
+    @Value("${app.webhook.batch-size:50}")
+    private int batchSize;
+
+    private ThreadPoolTaskExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(batchSize);
+        executor.setThreadNamePrefix("webhook-inbox-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Scheduled(fixedDelayString = "${app.webhook.poll-interval-ms:1000}")
+    public void drain() {
+        int capacity = executor.getThreadPoolExecutor().getQueue().remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+
+        try {
+            List<Long> claimed = webhookInboxService.claimDue(capacity);
+            for (int i = 0; i < claimed.size(); i++) {
+                Long id = claimed.get(i);
+                try {
+                    executor.execute(() -> handle(id));
+                } catch (RejectedExecutionException e) {
+                    // Pool filled up or is shutting down; don't leave the rest claimed until the stale timeout
+                    List<Long> unstarted = claimed.subList(i, claimed.size());
+                    webhookInboxService.release(unstarted);
+                    log.warn("Webhook inbox pool rejected work, released {} claimed entries", unstarted.size());
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error draining webhook inbox", e);
+        }
+    }
+
+    @Scheduled(cron = "0 30 3 * * *") // Every day at 3:30 AM
+    public void purgeProcessed() {
+        try {
+            int purged = webhookInboxService.purgeProcessed();
+            log.info("Purged {} processed webhook inbox entries", purged);
+        } catch (Exception e) {
+            log.error("Error purging webhook inbox", e);
+        }
+    }
+
+    private void handle(Long id) {
+        try {
+            webhookInboxService.process(id);
+        } catch (Exception e) {
+            // The processing transaction rolled back; record the attempt in a fresh one
+            try {
+                webhookInboxService.recordFailure(id, e);
+            } catch (Exception recordError) {
+                log.error("Failed to record webhook inbox failure for entry {}", id, recordError);
+            }
+        }
+    }
+}
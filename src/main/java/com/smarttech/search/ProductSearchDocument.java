@@ -0,0 +1,11 @@
+package com.smarttech.search;
+
+/**
+ * Projection of the product fields that feed the in-memory search index.
+ */
+public interface ProductSearchDocument {
+    Long getId();
+    String getName();
+    String getDescription();
+    String getCategoryName();
+}
@@ -0,0 +1,313 @@
+package com.smarttech.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over product name, category name and description.
+ * Postings are kept as parallel primitive int arrays (document ordinal, weighted term frequency)
+ * and results are ranked with BM25. Updated documents get a new ordinal and the old one is
+ * tombstoned; tombstones are compacted away once they make up a quarter of the index.
+ */
+@Component
+@Slf4j
+public class ProductSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int NAME_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int MIN_DOCS_FOR_COMPACTION = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // All fields below are guarded by lock
+    private final TreeMap<String, Postings> postings = new TreeMap<>();
+    private final Map<Long, Integer> ordinalsByProductId = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private long[] productIds = new long[1024];
+    private int[] docLengths = new int[1024];
+    private int docCount;
+    private int liveDocCount;
+    private long totalLength;
+
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        ready = true;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void index(ProductSearchDocument document) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        int length = addTerms(termFrequencies, document.getName(), NAME_WEIGHT)
+                + addTerms(termFrequencies, document.getCategoryName(), CATEGORY_WEIGHT)
+                + addTerms(termFrequencies, document.getDescription(), DESCRIPTION_WEIGHT);
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(document.getId());
+
+            int ordinal = docCount++;
+            ensureDocCapacity(docCount);
+            productIds[ordinal] = document.getId();
+            docLengths[ordinal] = length;
+            ordinalsByProductId.put(document.getId(), ordinal);
+            liveDocCount++;
+            totalLength += length;
+
+            // Ordinals only grow, so appending keeps every postings list sorted
+            termFrequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, t -> new Postings()).add(ordinal, frequency));
+
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(productId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            ordinalsByProductId.clear();
+            deleted.clear();
+            productIds = new long[1024];
+            docLengths = new int[1024];
+            docCount = 0;
+            liveDocCount = 0;
+            totalLength = 0;
+            ready = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Runs a query where every token must match (the last token also matches as a prefix, so
+     * results keep up with search-as-you-type) and returns one page of product IDs by BM25 score.
+     */
+    public SearchResult search(String query, int offset, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return new SearchResult(0, List.of());
+        }
+        boolean prefixLastToken = !Character.isWhitespace(query.charAt(query.length() - 1));
+
+        lock.readLock().lock();
+        try {
+            if (liveDocCount == 0) {
+                return new SearchResult(0, List.of());
+            }
+
+            double averageLength = (double) totalLength / liveDocCount;
+            double[] scores = new double[docCount];
+            int[] matchedTokens = new int[docCount];
+
+            for (int i = 0; i < tokens.size(); i++) {
+                boolean prefix = prefixLastToken && i == tokens.size() - 1;
+                for (Postings termPostings : lookup(tokens.get(i), prefix)) {
+                    double idf = Math.log(1 + (liveDocCount - termPostings.size + 0.5) / (termPostings.size + 0.5));
+                    for (int p = 0; p < termPostings.size; p++) {
+                        int doc = termPostings.docs[p];
+                        int tf = termPostings.freqs[p];
+                        double norm = K1 * (1 - B + B * docLengths[doc] / averageLength);
+                        scores[doc] += idf * (tf * (K1 + 1)) / (tf + norm);
+                        // Count each query token once per document, even if several prefix expansions hit it
+                        if (matchedTokens[doc] == i) {
+                            matchedTokens[doc] = i + 1;
+                        }
+                    }
+                }
+            }
+
+            int wanted = offset + limit;
+            PriorityQueue<Integer> top = new PriorityQueue<>(Math.max(1, Math.min(wanted, 1024)),
+                    Comparator.comparingDouble((Integer doc) -> scores[doc]).thenComparing(Comparator.reverseOrder()));
+            long totalHits = 0;
+            for (int doc = 0; doc < docCount; doc++) {
+                if (matchedTokens[doc] != tokens.size() || deleted.get(doc)) {
+                    continue;
+                }
+                totalHits++;
+                top.offer(doc);
+                if (top.size() > wanted) {
+                    top.poll();
+                }
+            }
+
+            List<Long> ranked = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                ranked.add(productIds[top.poll()]);
+            }
+            Collections.reverse(ranked);
+
+            List<Long> page = offset >= ranked.size() ? List.of() : List.copyOf(ranked.subList(offset, ranked.size()));
+            return new SearchResult(totalHits, page);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean tokenChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static int addTerms(Map<String, Integer> termFrequencies, String text, int weight) {
+        List<String> tokens = tokenize(text);
+        for (String token : tokens) {
+            termFrequencies.merge(token, weight, Integer::sum);
+        }
+        return tokens.size() * weight;
+    }
+
+    private Collection<Postings> lookup(String token, boolean prefix) {
+        if (!prefix) {
+            Postings exact = postings.get(token);
+            return exact == null ? List.of() : List.of(exact);
+        }
+        List<Postings> expansions = new ArrayList<>();
+        for (Postings candidate : postings.subMap(token, true, token + Character.MAX_VALUE, false).values()) {
+            expansions.add(candidate);
+            if (expansions.size() == MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+        }
+        return expansions;
+    }
+
+    private void removeInternal(Long productId) {
+        Integer ordinal = ordinalsByProductId.remove(productId);
+        if (ordinal != null && !deleted.get(ordinal)) {
+            deleted.set(ordinal);
+            liveDocCount--;
+            totalLength -= docLengths[ordinal];
+        }
+    }
+
+    private void ensureDocCapacity(int capacity) {
+        if (capacity > productIds.length) {
+            int newLength = Math.max(capacity, productIds.length * 2);
+            productIds = Arrays.copyOf(productIds, newLength);
+            docLengths = Arrays.copyOf(docLengths, newLength);
+        }
+    }
+
+    private void compactIfNeeded() {
+        int tombstones = docCount - liveDocCount;
+        if (docCount < MIN_DOCS_FOR_COMPACTION || tombstones * 4 < docCount) {
+            return;
+        }
+
+        int[] remap = new int[docCount];
+        long[] compactedIds = new long[Math.max(1024, liveDocCount * 2)];
+        int[] compactedLengths = new int[compactedIds.length];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (deleted.get(doc)) {
+                remap[doc] = -1;
+            } else {
+                remap[doc] = next;
+                compactedIds[next] = productIds[doc];
+                compactedLengths[next] = docLengths[doc];
+                ordinalsByProductId.put(productIds[doc], next);
+                next++;
+            }
+        }
+
+        Iterator<Postings> iterator = postings.values().iterator();
+        while (iterator.hasNext()) {
+            Postings termPostings = iterator.next();
+            termPostings.remap(remap);
+            if (termPostings.size == 0) {
+                iterator.remove();
+            }
+        }
+
+        log.debug("Compacted product search index from {} to {} documents", docCount, next);
+        productIds = compactedIds;
+        docLengths = compactedLengths;
+        docCount = next;
+        deleted.clear();
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class SearchResult {
+        private long totalHits;
+        private List<Long> productIds;
+    }
+
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+
+        void remap(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int mapped = remap[docs[i]];
+                if (mapped >= 0) {
+                    docs[kept] = mapped;
+                    freqs[kept] = freqs[i];
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+    }
+}
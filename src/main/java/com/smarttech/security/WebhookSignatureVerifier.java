@@ -0,0 +1,151 @@
+package com.smarttech.security;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Verifies Chapa webhook signatures (hex HMAC-SHA256 of the raw payload, optionally prefixed with
+ * "sha256=") sent in the Chapa-Signature or x-chapa-signature header.
+ * Initialised Mac instances and digest buffers are kept per thread, signatures are decoded into raw
+ * bytes and compared in constant time. The current secret and any previous secrets are all accepted,
+ * so the secret can be rotated without rejecting webhooks signed with the old one.
+ */
+@Component
+@Slf4j
+public class WebhookSignatureVerifier {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String PREFIX = "sha256=";
+    private static final int SIGNATURE_BYTES = 32;
+
+    @Value("${chapa.webhook.secret:}")
+    private String webhookSecret;
+
+    @Value("${chapa.webhook.previous-secrets:}")
+    private List<String> previousSecrets;
+
+    private List<SecretKeySpec> keys;
+
+    // One Mac per active secret, reused for every request on the thread
+    private ThreadLocal<Mac[]> macs;
+
+    // [0] computed digest, [1] Chapa-Signature, [2] x-chapa-signature
+    private final ThreadLocal<byte[][]> buffers = ThreadLocal.withInitial(() -> new byte[3][SIGNATURE_BYTES]);
+
+    @PostConstruct
+    public void init() {
+        List<SecretKeySpec> activeKeys = new ArrayList<>();
+        addKey(activeKeys, webhookSecret);
+        if (previousSecrets != null) {
+            previousSecrets.forEach(secret -> addKey(activeKeys, secret));
+        }
+        this.keys = List.copyOf(activeKeys);
+        this.macs = ThreadLocal.withInitial(this::createMacs);
+
+        if (keys.isEmpty()) {
+            log.warn("Webhook secret not configured - webhook signatures will not be validated");
+        } else {
+            log.info("Webhook signature verifier initialised with {} active secret(s)", keys.size());
+        }
+    }
+
+    public boolean isValid(String payload, String chapaSignature, String xChapaSignature) {
+        if (keys.isEmpty()) {
+            log.warn("Webhook secret not configured - skipping signature validation");
+            return true; // Allow in development, but should be configured in production
+        }
+
+        byte[][] buffer = buffers.get();
+        boolean hasChapaSignature = decodeHex(chapaSignature, buffer[1]);
+        boolean hasXChapaSignature = decodeHex(xChapaSignature, buffer[2]);
+        if (!hasChapaSignature && !hasXChapaSignature) {
+            log.error("No valid signature provided in webhook request");
+            return false;
+        }
+
+        byte[] data = payload == null ? new byte[0] : payload.getBytes(StandardCharsets.UTF_8);
+        byte[] expected = buffer[0];
+        for (Mac mac : macs.get()) {
+            try {
+                mac.update(data);
+                mac.doFinal(expected, 0);
+            } catch (ShortBufferException e) {
+                mac.reset();
+                throw new IllegalStateException("HMAC output buffer too small", e);
+            }
+
+            if ((hasChapaSignature && MessageDigest.isEqual(expected, buffer[1]))
+                    || (hasXChapaSignature && MessageDigest.isEqual(expected, buffer[2]))) {
+                return true;
+            }
+        }
+
+        log.error("Webhook signature verification failed");
+        return false;
+    }
+
+    /**
+     * Decodes a 64-character hex signature (with optional "sha256=" prefix) into the target buffer.
+     * Returns false for missing or malformed signatures.
+     */
+    private static boolean decodeHex(String signature, byte[] target) {
+        if (signature == null) {
+            return false;
+        }
+
+        int start = 0;
+        int end = signature.length();
+        while (start < end && Character.isWhitespace(signature.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(signature.charAt(end - 1))) {
+            end--;
+        }
+        if (signature.regionMatches(true, start, PREFIX, 0, PREFIX.length())) {
+            start += PREFIX.length();
+        }
+        if (end - start != SIGNATURE_BYTES * 2) {
+            return false;
+        }
+
+        for (int i = 0; i < SIGNATURE_BYTES; i++) {
+            int high = Character.digit(signature.charAt(start + 2 * i), 16);
+            int low = Character.digit(signature.charAt(start + 2 * i + 1), 16);
+            if (high < 0 || low < 0) {
+                return false;
+            }
+            target[i] = (byte) ((high << 4) | low);
+        }
+        return true;
+    }
+
+    private static void addKey(List<SecretKeySpec> keys, String secret) {
+        if (secret != null && !secret.isBlank()) {
+            keys.add(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+        }
+    }
+
+    private Mac[] createMacs() {
+        Mac[] result = new Mac[keys.size()];
+        try {
+            for (int i = 0; i < result.length; i++) {
+                result[i] = Mac.getInstance(ALGORITHM);
+                result[i].init(keys.get(i));
+            }
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to initialise " + ALGORITHM, e);
+        }
+        return result;
+    }
+}
@@ -1,13 +1,25 @@
 package com.smarttech.service;
 
 import com.smarttech.dto.response.DashboardStatsResponse;
+import com.smarttech.dto.response.OrderSummaryResponse;
 import com.smarttech.dto.response.SalesReportResponse;
+import com.smarttech.dto.response.TopProductResponse;
+import com.smarttech.enums.TopProductMetric;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.LongConsumer;
 
 public interface AnalyticsService {
     DashboardStatsResponse getDashboardStats();
     SalesReportResponse getSalesReport(LocalDateTime startDate, LocalDateTime endDate);
-    byte[] generateMonthlyTaxReport(int year, int month);
+    Page<OrderSummaryResponse> getSalesReportOrders(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
+    List<TopProductResponse> getTopProducts(LocalDateTime startDate, LocalDateTime endDate, Long categoryId,
+                                            TopProductMetric metric, int limit);
+    long writeMonthlyTaxReport(int year, int month, OutputStream out, LongConsumer progress) throws IOException;
     void sendLowStockAlerts();
 }
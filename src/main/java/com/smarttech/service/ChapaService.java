@@ -10,7 +10,5 @@ public interface ChapaService {
     InitializeResponseData initializePayment(PaymentRequestDTO req);
 //    SubAccountResponseData createSubAccount(SubAccountRequestDTO req);
 //    boolean processSellerPayout(Long selectedAccountId, BigDecimal amount, String payoutReference);
-    boolean verifyWebhookSignature(String payload, String signature);
-    void processWebhookPayment(String payload);
     void processWebhookTransfer(String payload);
 }
@@ -0,0 +1,15 @@
+package com.smarttech.service;
+
+import com.smarttech.dto.response.DashboardStatsResponse;
+import com.smarttech.event.CustomerRegisteredEvent;
+import com.smarttech.event.MaintenanceStatusChangedEvent;
+import com.smarttech.event.OrderStatusChangedEvent;
+
+public interface DashboardSnapshotService {
+    DashboardStatsResponse getDashboardStats();
+    void refresh();
+    void applyOrderStatusChange(OrderStatusChangedEvent event);
+    void applyMaintenanceStatusChange(MaintenanceStatusChangedEvent event);
+    void applyCustomerRegistered(CustomerRegisteredEvent event);
+    void applyProductCreated();
+}
@@ -1,9 +1,13 @@
 package com.smarttech.service;
 
+import com.smarttech.dto.report.LowStockItem;
 import com.smarttech.entity.Order;
 import com.smarttech.entity.MaintenanceRequest;
 import com.smarttech.entity.User;
 
+import java.io.File;
+import java.util.List;
+
 public interface EmailService {
     void sendWelcomeEmail(User user);
     void sendEmailVerification(User user, String verificationToken);
@@ -13,6 +17,6 @@ public interface EmailService {
     void sendMaintenanceRequestConfirmation(MaintenanceRequest request);
     void sendMaintenanceApprovalEmail(MaintenanceRequest request);
     void sendMaintenanceCompletionEmail(MaintenanceRequest request);
-    void sendLowStockAlert(String productName, Integer currentStock);
-    void sendMonthlyReport(String recipientEmail, byte[] reportData, String month);
+    boolean sendLowStockDigest(List<LowStockItem> items);
+    void sendMonthlyReport(String recipientEmail, File report, String month);
 }
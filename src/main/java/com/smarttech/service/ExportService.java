@@ -0,0 +1,17 @@
+package com.smarttech.service;
+
+import com.smarttech.enums.ExportFormat;
+import com.smarttech.enums.MaintenanceStatus;
+import com.smarttech.enums.OrderStatus;
+import com.smarttech.enums.PaymentStatus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+public interface ExportService {
+    long exportOrders(LocalDateTime startDate, LocalDateTime endDate, OrderStatus status, ExportFormat format, OutputStream out) throws IOException;
+    long exportPayments(LocalDateTime startDate, LocalDateTime endDate, PaymentStatus status, ExportFormat format, OutputStream out) throws IOException;
+    long exportCustomers(ExportFormat format, OutputStream out) throws IOException;
+    long exportMaintenanceRequests(LocalDateTime startDate, LocalDateTime endDate, MaintenanceStatus status, ExportFormat format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,12 @@
+package com.smarttech.service;
+
+import java.util.Map;
+
+public interface HotStockService {
+    void enable(Long productId, int stock);
+    Integer disable(Long productId);
+    boolean reserve(Map<Long, Integer> quantities);
+    void release(Map<Long, Integer> quantities);
+    void setStock(Long productId, int quantity);
+    int flushDirtyStock();
+}
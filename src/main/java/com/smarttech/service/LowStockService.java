@@ -0,0 +1,11 @@
+package com.smarttech.service;
+
+import java.util.Collection;
+
+public interface LowStockService {
+    void refresh(Collection<Long> productIds);
+    void reconcile();
+    void reload();
+    long getLowStockCount();
+    int sendDigest();
+}
@@ -0,0 +1,15 @@
+package com.smarttech.service;
+
+import com.smarttech.dto.response.MaintenanceRequestResponse;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface MaintenanceQueueService {
+    // Empty until the queue has been loaded
+    Optional<List<MaintenanceRequestResponse>> getPendingRequests();
+    Optional<List<MaintenanceRequestResponse>> getOverdueRequests();
+    void refresh(Long requestId);
+    void rebuild();
+    void advance();
+}
@@ -1,6 +1,7 @@
 package com.smarttech.service;
 
 import com.smarttech.dto.request.MaintenanceRequestCreate;
+import com.smarttech.dto.response.CursorPageResponse;
 import com.smarttech.dto.response.MaintenanceRequestResponse;
 import com.smarttech.dto.response.MaintenanceTicketResponse;
 import com.smarttech.entity.MaintenanceRequest;
@@ -18,6 +19,7 @@ public interface MaintenanceService {
     MaintenanceRequestResponse getMaintenanceRequestByNumber(String requestNumber);
     Page<MaintenanceRequestResponse> getCustomerMaintenanceRequests(Long customerId, Pageable pageable);
     Page<MaintenanceRequestResponse> getAllMaintenanceRequests(Pageable pageable);
+    CursorPageResponse<MaintenanceRequestResponse> getAllMaintenanceRequestsByCursor(String cursor, int size);
     List<MaintenanceRequestResponse> getPendingRequests();
     MaintenanceRequestResponse approveMaintenanceRequest(Long requestId, BigDecimal estimatedCost, 
                                                         String adminNotes, LocalDateTime estimatedCompletionDate);
@@ -1,6 +1,7 @@
 package com.smarttech.service;
 
 import com.smarttech.dto.request.OrderCreateRequest;
+import com.smarttech.dto.response.CursorPageResponse;
 import com.smarttech.dto.response.OrderResponse;
 import com.smarttech.entity.Order;
 import com.smarttech.enums.OrderStatus;
@@ -17,6 +18,7 @@ public interface OrderService {
     OrderResponse getOrderByNumber(String orderNumber);
     Page<OrderResponse> getCustomerOrders(Long customerId, Pageable pageable);
     Page<OrderResponse> getAllOrders(Pageable pageable);
+    CursorPageResponse<OrderResponse> getAllOrdersByCursor(String cursor, int size);
     OrderResponse updateOrderStatus(Long orderId, OrderStatus status);
     List<OrderResponse> getOrdersByStatus(OrderStatus status);
     BigDecimal getTotalRevenueForPeriod(LocalDateTime startDate, LocalDateTime endDate);
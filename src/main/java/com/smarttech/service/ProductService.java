@@ -1,6 +1,7 @@
 package com.smarttech.service;
 
 import com.smarttech.dto.request.ProductCreateRequest;
+import com.smarttech.dto.response.CursorPageResponse;
 import com.smarttech.dto.response.ProductResponse;
 import com.smarttech.entity.Product;
 import org.springframework.data.domain.Page;
@@ -13,6 +14,7 @@ public interface ProductService {
     ProductResponse createProduct(ProductCreateRequest request);
     ProductResponse getProductById(Long id);
     Page<ProductResponse> getAllProducts(Pageable pageable);
+    CursorPageResponse<ProductResponse> getAllProductsByCursor(String cursor, int size);
     Page<ProductResponse> getProductsByCategory(Long categoryId, Pageable pageable);
     Page<ProductResponse> searchProducts(String keyword, Pageable pageable);
     Page<ProductResponse> getProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable);
@@ -20,6 +22,7 @@ public interface ProductService {
     void deleteProduct(Long id);
     List<ProductResponse> getLowStockProducts();
     ProductResponse updateStock(Long productId, Integer quantity);
+    ProductResponse setFlashSale(Long productId, boolean enabled);
     Product findEntityById(Long id);
     boolean isProductAvailable(Long productId, Integer quantity);
 }
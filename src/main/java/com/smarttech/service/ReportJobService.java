@@ -0,0 +1,18 @@
+package com.smarttech.service;
+
+import com.smarttech.dto.response.ReportJobResponse;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ReportJobService {
+    ReportJobResponse submitMonthlyTaxReport(int year, int month, String notifyEmail);
+    ReportJobResponse submitSalesReport(LocalDateTime startDate, LocalDateTime endDate);
+    ReportJobResponse getJob(Long id);
+    InputStream openArtifact(Long id);
+    List<Long> claimDue(int limit);
+    void run(Long id);
+    void recordFailure(Long id, Exception e);
+    int purgeExpired();
+}
@@ -0,0 +1,11 @@
+package com.smarttech.service;
+
+import com.smarttech.dto.request.SalesCubeQueryRequest;
+import com.smarttech.dto.response.SalesCubeResponse;
+import com.smarttech.event.OrderStatusChangedEvent;
+
+public interface SalesCubeService {
+    void rebuild();
+    void applyStatusChange(OrderStatusChangedEvent event);
+    SalesCubeResponse query(SalesCubeQueryRequest request);
+}
@@ -0,0 +1,15 @@
+package com.smarttech.service;
+
+import com.smarttech.dto.report.SalesTotals;
+import com.smarttech.enums.OrderStatus;
+import com.smarttech.event.OrderStatusChangedEvent;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public interface SalesRollupService {
+    void applyStatusChange(OrderStatusChangedEvent event);
+    void rebuild(LocalDate fromDate, LocalDate toDate);
+    Map<OrderStatus, SalesTotals> summarize(LocalDateTime startDate, LocalDateTime endDate);
+}
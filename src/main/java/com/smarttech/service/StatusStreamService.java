@@ -0,0 +1,10 @@
+package com.smarttech.service;
+
+import com.smarttech.dto.response.StatusUpdate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface StatusStreamService {
+    SseEmitter subscribe(Long userId, String lastEventId);
+    void publish(Long userId, StatusUpdate update);
+    void sendHeartbeats();
+}
@@ -0,0 +1,8 @@
+package com.smarttech.service;
+
+import com.smarttech.entity.Order;
+
+public interface StockReservationService {
+    void reserveStock(Order order);
+    void releaseStock(Order order);
+}
@@ -3,6 +3,7 @@ package com.smarttech.service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.List;
 
 public interface StorageService {
@@ -10,6 +11,9 @@ public interface StorageService {
     List<String> uploadMultipleFiles(List<MultipartFile> files, String folder);
     String uploadPdfBytes(byte[] pdfBytes, String fileName, String folder);
     String uploadPdfStream(InputStream inputStream, String fileName, String folder);
+    void uploadPrivate(Path source, String key, String contentType);
+    InputStream openPrivate(String key);
+    void deletePrivate(String key);
     void deleteFile(String fileUrl);
     String getFileUrl(String fileName);
     boolean fileExists(String fileName);
@@ -0,0 +1,12 @@
+package com.smarttech.service;
+
+import com.smarttech.dto.response.TopProductResponse;
+import com.smarttech.enums.TopProductMetric;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TopProductService {
+    List<TopProductResponse> getTopProducts(LocalDateTime startDate, LocalDateTime endDate, Long categoryId,
+                                            TopProductMetric metric, int limit);
+}
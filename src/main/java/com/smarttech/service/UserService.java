@@ -1,6 +1,7 @@
 package com.smarttech.service;
 
 import com.smarttech.dto.request.UserRegistrationRequest;
+import com.smarttech.dto.response.CursorPageResponse;
 import com.smarttech.dto.response.UserResponse;
 import com.smarttech.entity.User;
 import com.smarttech.enums.CustomerTier;
@@ -14,7 +15,10 @@ public interface UserService {
     UserResponse getUserById(Long id);
     UserResponse getUserByEmail(String email);
     Page<UserResponse> getAllCustomers(Pageable pageable);
+    CursorPageResponse<UserResponse> getAllCustomersByCursor(String cursor, int size);
     UserResponse updateCustomerTier(Long userId, BigDecimal totalPurchases);
+    void recordPurchase(Long userId, BigDecimal amount);
+    int recalculateCustomerTiers();
     void verifyEmail(String email);
     void verifyPhone(String phoneNumber);
     boolean existsByEmail(String email);
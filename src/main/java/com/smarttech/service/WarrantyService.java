@@ -0,0 +1,13 @@
+package com.smarttech.service;
+
+import com.smarttech.dto.response.WarrantyCoverageResponse;
+import com.smarttech.event.OrderStatusChangedEvent;
+
+public interface WarrantyService {
+    WarrantyCoverageResponse checkCoverage(String serialNumber);
+    boolean isCovered(String serialNumber);
+    void applyStatusChange(OrderStatusChangedEvent event);
+    int backfill();
+    void rebuildFilter();
+    void syncFilter();
+}
@@ -0,0 +1,12 @@
+package com.smarttech.service;
+
+import java.util.List;
+
+public interface WebhookInboxService {
+    boolean receive(String payload);
+    List<Long> claimDue(int limit);
+    int release(List<Long> inboxIds);
+    void process(Long inboxId);
+    void recordFailure(Long inboxId, Exception error);
+    int purgeProcessed();
+}
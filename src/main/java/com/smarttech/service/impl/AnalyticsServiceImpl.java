@@ -1,32 +1,38 @@
 package com.smarttech.service.impl;
 
+import com.smarttech.dto.export.TaxReportRow;
+import com.smarttech.dto.report.SalesTotals;
 import com.smarttech.dto.response.*;
-import com.smarttech.entity.Order;
-import com.smarttech.entity.Product;
 import com.smarttech.entity.User;
-import com.smarttech.enums.CustomerTier;
-import com.smarttech.enums.MaintenanceStatus;
 import com.smarttech.enums.OrderStatus;
-import com.smarttech.enums.UserRole;
+import com.smarttech.enums.TopProductMetric;
 import com.smarttech.repository.*;
 import com.smarttech.service.AnalyticsService;
-import com.smarttech.service.EmailService;
+import com.smarttech.service.DashboardSnapshotService;
+import com.smarttech.service.LowStockService;
+import com.smarttech.service.SalesRollupService;
+import com.smarttech.service.TopProductService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -34,85 +40,43 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class AnalyticsServiceImpl implements AnalyticsService {
 
-    private final UserRepository userRepository;
+    private static final int SALES_REPORT_PREVIEW_SIZE = 20;
+    private static final int TOP_PRODUCTS_LIMIT = 10;
+    private static final int TAX_REPORT_ROW_WINDOW = 500;
+    private static final int TAX_REPORT_PROGRESS_INTERVAL = 5000;
+    private static final String[] TAX_REPORT_HEADERS = {"Order Number", "Date", "Customer Name", "Customer Email",
+            "Subtotal (ETB)", "VAT Amount (ETB)", "Total Amount (ETB)"};
+    private static final int[] TAX_REPORT_COLUMN_WIDTHS = {22, 28, 30, 34, 16, 18, 20};
+
     private final OrderRepository orderRepository;
-    private final ProductRepository productRepository;
-    private final MaintenanceRequestRepository maintenanceRequestRepository;
     private final PaymentRepository paymentRepository;
-    private final EmailService emailService;
+    private final DashboardSnapshotService dashboardSnapshotService;
+    private final SalesRollupService salesRollupService;
+    private final TopProductService topProductService;
+    private final LowStockService lowStockService;
 
+    // Served from memory, so don't hold a connection for it
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public DashboardStatsResponse getDashboardStats() {
-        log.info("Generating dashboard statistics");
-
-        // Basic counts
-        Long totalCustomers = userRepository.countByRole(UserRole.CUSTOMER);
-        Long totalOrders = orderRepository.count();
-        Long pendingOrders = orderRepository.countByStatus(OrderStatus.PENDING);
-        Long completedOrders = orderRepository.countByStatus(OrderStatus.DELIVERED);
-        Long totalProducts = productRepository.count();
-        Long lowStockProducts = (long) productRepository.findLowStockProducts().size();
-        Long pendingMaintenanceRequests = maintenanceRequestRepository.countByStatus(MaintenanceStatus.PENDING);
-        Long completedMaintenanceRequests = maintenanceRequestRepository.countByStatus(MaintenanceStatus.COMPLETED);
-
-        // Revenue calculations
-        LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-        LocalDateTime endOfMonth = LocalDateTime.now().withDayOfMonth(LocalDateTime.now().toLocalDate().lengthOfMonth()).withHour(23).withMinute(59).withSecond(59);
-        
-        BigDecimal totalRevenue = orderRepository.getTotalRevenueForPeriod(LocalDateTime.of(2020, 1, 1, 0, 0), LocalDateTime.now());
-        BigDecimal monthlyRevenue = orderRepository.getTotalRevenueForPeriod(startOfMonth, endOfMonth);
-
-        // Customer tier statistics
-        List<CustomerTierStatsResponse> customerTierStats = Arrays.stream(CustomerTier.values())
-                .map(tier -> {
-                    Long count = userRepository.countByCustomerTier(tier);
-                    Double percentage = totalCustomers > 0 ? (count.doubleValue() / totalCustomers.doubleValue()) * 100 : 0.0;
-                    return CustomerTierStatsResponse.builder()
-                            .tier(tier)
-                            .customerCount(count)
-                            .percentage(percentage)
-                            .build();
-                })
-                .collect(Collectors.toList());
-
-        // Top products (placeholder - would need custom query)
-        List<TopProductResponse> topProducts = List.of(); // Implement based on order items
-
-        return DashboardStatsResponse.builder()
-                .totalCustomers(totalCustomers)
-                .totalOrders(totalOrders)
-                .pendingOrders(pendingOrders)
-                .completedOrders(completedOrders)
-                .totalRevenue(totalRevenue != null ? totalRevenue : BigDecimal.ZERO)
-                .monthlyRevenue(monthlyRevenue != null ? monthlyRevenue : BigDecimal.ZERO)
-                .totalProducts(totalProducts)
-                .lowStockProducts(lowStockProducts)
-                .pendingMaintenanceRequests(pendingMaintenanceRequests)
-                .completedMaintenanceRequests(completedMaintenanceRequests)
-                .topProducts(topProducts)
-                .customerTierStats(customerTierStats)
-                .build();
+        return dashboardSnapshotService.getDashboardStats();
     }
 
     @Override
     public SalesReportResponse getSalesReport(LocalDateTime startDate, LocalDateTime endDate) {
         log.info("Generating sales report from {} to {}", startDate, endDate);
 
-        List<Order> orders = orderRepository.findOrdersBetweenDates(startDate, endDate);
-        
-        Long totalOrders = (long) orders.size();
-        BigDecimal totalRevenue = orders.stream()
-                .filter(order -> order.getStatus() == OrderStatus.DELIVERED)
-                .map(Order::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        BigDecimal totalVat = orders.stream()
-                .filter(order -> order.getStatus() == OrderStatus.DELIVERED)
-                .map(Order::getVatAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        // Convert orders to response DTOs (would need OrderMapper)
-        List<OrderResponse> orderResponses = List.of(); // Implement mapping
+        Map<OrderStatus, SalesTotals> totals = salesRollupService.summarize(startDate, endDate);
+
+        Long totalOrders = totals.values().stream().mapToLong(SalesTotals::orderCount).sum();
+        SalesTotals delivered = totals.getOrDefault(OrderStatus.DELIVERED, SalesTotals.EMPTY);
+        BigDecimal totalRevenue = delivered.totalAmount();
+        BigDecimal totalVat = delivered.vatAmount();
+
+        // First page only; the full list is paged through getSalesReportOrders
+        List<OrderSummaryResponse> orders = orderRepository
+                .findSummariesBetweenDates(startDate, endDate, PageRequest.of(0, SALES_REPORT_PREVIEW_SIZE, Sort.by("createdAt", "id")))
+                .getContent();
 
         return SalesReportResponse.builder()
                 .startDate(startDate)
@@ -120,25 +84,35 @@ public class AnalyticsServiceImpl implements AnalyticsService {
                 .totalOrders(totalOrders)
                 .totalRevenue(totalRevenue)
                 .totalVat(totalVat)
-                .orders(orderResponses)
-                .topProducts(List.of()) // Implement top products calculation
+                .orders(orders)
+                .topProducts(topProductService.getTopProducts(startDate, endDate, null, TopProductMetric.REVENUE, TOP_PRODUCTS_LIMIT))
                 .build();
     }
 
     @Override
-    public byte[] generateMonthlyTaxReport(int year, int month) {
+    public Page<OrderSummaryResponse> getSalesReportOrders(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
+        return orderRepository.findSummariesBetweenDates(startDate, endDate, pageable);
+    }
+
+    @Override
+    public List<TopProductResponse> getTopProducts(LocalDateTime startDate, LocalDateTime endDate, Long categoryId,
+                                                   TopProductMetric metric, int limit) {
+        return topProductService.getTopProducts(startDate, endDate, categoryId, metric, limit);
+    }
+
+    @Override
+    public long writeMonthlyTaxReport(int year, int month, OutputStream out, LongConsumer progress) throws IOException {
         log.info("Generating monthly tax report for {}/{}", month, year);
+        long start = System.currentTimeMillis();
 
         YearMonth yearMonth = YearMonth.of(year, month);
         LocalDateTime startDate = yearMonth.atDay(1).atStartOfDay();
-        LocalDateTime endDate = yearMonth.atEndOfMonth().atTime(23, 59, 59);
-
-        List<Order> orders = orderRepository.findOrdersBetweenDates(startDate, endDate)
-                .stream()
-                .filter(order -> order.getStatus() == OrderStatus.DELIVERED)
-                .collect(Collectors.toList());
+        LocalDateTime endDate = yearMonth.plusMonths(1).atDay(1).atStartOfDay();
 
-        try (Workbook workbook = new XSSFWorkbook()) {
+        // Only TAX_REPORT_ROW_WINDOW rows stay in memory; older rows are flushed to a compressed temp file
+        SXSSFWorkbook workbook = new SXSSFWorkbook(TAX_REPORT_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try (Stream<TaxReportRow> rows = orderRepository.streamForTaxReport(OrderStatus.DELIVERED, startDate, endDate)) {
             Sheet sheet = workbook.createSheet("Monthly Tax Report");
 
             // Create header style
@@ -149,15 +123,13 @@ public class AnalyticsServiceImpl implements AnalyticsService {
             headerStyle.setFillForegroundColor(IndexedColors.LIGHT_BLUE.getIndex());
             headerStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
 
-            // Create header row
+            // Create header row with fixed widths; autoSizeColumn would have to measure every row
             Row headerRow = sheet.createRow(0);
-            String[] headers = {"Order Number", "Date", "Customer Name", "Customer Email", 
-                               "Subtotal (ETB)", "VAT Amount (ETB)", "Total Amount (ETB)"};
-            
-            for (int i = 0; i < headers.length; i++) {
+            for (int i = 0; i < TAX_REPORT_HEADERS.length; i++) {
                 Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
+                cell.setCellValue(TAX_REPORT_HEADERS[i]);
                 cell.setCellStyle(headerStyle);
+                sheet.setColumnWidth(i, TAX_REPORT_COLUMN_WIDTHS[i] * 256);
             }
 
             // Add data rows
@@ -166,19 +138,23 @@ public class AnalyticsServiceImpl implements AnalyticsService {
             BigDecimal totalVat = BigDecimal.ZERO;
             BigDecimal totalAmount = BigDecimal.ZERO;
 
-            for (Order order : orders) {
+            for (TaxReportRow order : (Iterable<TaxReportRow>) rows::iterator) {
                 Row row = sheet.createRow(rowNum++);
-                row.createCell(0).setCellValue(order.getOrderNumber());
-                row.createCell(1).setCellValue(order.getCreatedAt().toString());
-                row.createCell(2).setCellValue(order.getCustomer().getFirstName() + " " + order.getCustomer().getLastName());
-                row.createCell(3).setCellValue(order.getCustomer().getEmail());
-                row.createCell(4).setCellValue(order.getSubtotal().doubleValue());
-                row.createCell(5).setCellValue(order.getVatAmount().doubleValue());
-                row.createCell(6).setCellValue(order.getTotalAmount().doubleValue());
-
-                totalSubtotal = totalSubtotal.add(order.getSubtotal());
-                totalVat = totalVat.add(order.getVatAmount());
-                totalAmount = totalAmount.add(order.getTotalAmount());
+                row.createCell(0).setCellValue(order.orderNumber());
+                row.createCell(1).setCellValue(order.createdAt().toString());
+                row.createCell(2).setCellValue(order.customerFirstName() + " " + order.customerLastName());
+                row.createCell(3).setCellValue(order.customerEmail());
+                row.createCell(4).setCellValue(order.subtotal().doubleValue());
+                row.createCell(5).setCellValue(order.vatAmount().doubleValue());
+                row.createCell(6).setCellValue(order.totalAmount().doubleValue());
+
+                totalSubtotal = totalSubtotal.add(order.subtotal());
+                totalVat = totalVat.add(order.vatAmount());
+                totalAmount = totalAmount.add(order.totalAmount());
+
+                if ((rowNum - 1) % TAX_REPORT_PROGRESS_INTERVAL == 0) {
+                    progress.accept(rowNum - 1L);
+                }
             }
 
             // Add summary row
@@ -186,38 +162,28 @@ public class AnalyticsServiceImpl implements AnalyticsService {
             Cell summaryCell = summaryRow.createCell(0);
             summaryCell.setCellValue("TOTAL");
             summaryCell.setCellStyle(headerStyle);
-            
+
             summaryRow.createCell(4).setCellValue(totalSubtotal.doubleValue());
             summaryRow.createCell(5).setCellValue(totalVat.doubleValue());
             summaryRow.createCell(6).setCellValue(totalAmount.doubleValue());
 
-            // Auto-size columns
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
-            }
-
-            // Write to byte array
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            workbook.write(outputStream);
-            return outputStream.toByteArray();
-
-        } catch (IOException e) {
-            log.error("Error generating monthly tax report", e);
-            throw new RuntimeException("Failed to generate monthly tax report", e);
+            workbook.write(out);
+            long orderCount = rowNum - 1L;
+            progress.accept(orderCount);
+            log.info("Monthly tax report for {}/{} written with {} orders in {} ms",
+                    month, year, orderCount, System.currentTimeMillis() - start);
+            return orderCount;
+        } finally {
+            workbook.dispose();
+            workbook.close();
         }
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void sendLowStockAlerts() {
         log.info("Checking for low stock products and sending alerts");
-
-        List<Product> lowStockProducts = productRepository.findLowStockProducts();
-        
-        for (Product product : lowStockProducts) {
-            emailService.sendLowStockAlert(product.getName(), product.getStockQuantity());
-        }
-
-        log.info("Sent {} low stock alerts", lowStockProducts.size());
+        int alerted = lowStockService.sendDigest();
+        log.info("Low stock check finished, {} product(s) in digest", alerted);
     }
 }
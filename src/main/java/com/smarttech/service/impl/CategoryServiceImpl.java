@@ -1,14 +1,21 @@
 package com.smarttech.service.impl;
 
+import com.smarttech.config.CacheConfig;
 import com.smarttech.dto.request.CategoryCreateRequest;
 import com.smarttech.dto.response.CategoryResponse;
 import com.smarttech.entity.Category;
+import com.smarttech.event.ProductChangedEvent;
 import com.smarttech.exception.ResourceNotFoundException;
 import com.smarttech.mapper.CategoryMapper;
 import com.smarttech.repository.CategoryRepository;
+import com.smarttech.repository.ProductRepository;
 import com.smarttech.service.CategoryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -24,6 +31,8 @@ public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public CategoryResponse createCategory(CategoryCreateRequest request) {
@@ -44,6 +53,7 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, key = "#id")
     public CategoryResponse getCategoryById(Long id) {
         Category category = findEntityById(id);
         return categoryMapper.toResponse(category);
@@ -74,10 +84,15 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, allEntries = true) // product responses embed the category
+    })
     public CategoryResponse updateCategory(Long id, CategoryCreateRequest request) {
         log.info("Updating category with ID: {}", id);
 
         Category category = findEntityById(id);
+        boolean renamed = !category.getName().equals(request.getName());
         category.setName(request.getName());
         category.setDescription(request.getDescription());
         category.setImageUrl(request.getImageUrl());
@@ -85,10 +100,20 @@ public class CategoryServiceImpl implements CategoryService {
         Category savedCategory = categoryRepository.save(category);
         log.info("Category updated successfully with ID: {}", savedCategory.getId());
 
+        // Category name is part of the product search text
+        if (renamed) {
+            productRepository.findIdsByCategoryId(id).forEach(productId ->
+                    eventPublisher.publishEvent(new ProductChangedEvent(productId, ProductChangedEvent.ChangeType.UPDATED)));
+        }
+
         return categoryMapper.toResponse(savedCategory);
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, allEntries = true)
+    })
     public void deleteCategory(Long id) {
         log.info("Deleting category with ID: {}", id);
         Category category = findEntityById(id);
@@ -4,33 +4,36 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.smarttech.dto.request.PaymentRequestDTO;
 //import com.smarttech.dto.SubAccountRequestDTO;
-import com.smarttech.event.PaymentFailureEvent;
-import com.smarttech.event.PaymentSuccessEvent;
 import com.smarttech.event.TransferFailureEvent;
 import com.smarttech.event.TransferSuccessEvent;
+import com.smarttech.exception.ProviderUnavailableException;
 import com.smarttech.exception.ResourceNotFoundException;
 import com.smarttech.entity.AccountInfo;
 import com.smarttech.repository.AccountInfoRepository;
+import com.smarttech.resilience.ResilientCall;
 import com.smarttech.service.ChapaService;
 import com.yaphet.chapa.Chapa;
 import com.yaphet.chapa.model.*;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kong.unirest.Unirest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.*;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
 import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
-import java.security.InvalidKeyException;
-import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 @Slf4j
@@ -42,13 +45,26 @@ public class ChapaServiceImpl implements ChapaService {
     private final ApplicationEventPublisher eventPublisher;
     private final ObjectMapper objectMapper;
     private final RestTemplate restTemplate;
-
-    @Value("${chapa.webhook.secret}")
-    private String webhookSecret;
+    private final ResilientCall resilientCall;
 
     @Value("${chapa.secret-key}")
     private String chapaSecretKey;
 
+    @Value("${chapa.gateway.timeout:15s}")
+    private Duration gatewayTimeout;
+
+    @Value("${chapa.gateway.max-concurrent-calls:20}")
+    private int maxConcurrentCalls;
+
+    @Value("${chapa.gateway.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    @Value("${chapa.gateway.read-timeout:10s}")
+    private Duration readTimeout;
+
+    // Bounds in-flight SDK calls and lets callers give up on a slow gateway
+    private ThreadPoolTaskExecutor gatewayExecutor;
+
 
 
     @PostConstruct
@@ -57,9 +73,29 @@ public class ChapaServiceImpl implements ChapaService {
             throw new IllegalStateException("Chapa secret key is not configured");
         }
         this.chapa = new Chapa(chapaSecretKey);
+
+        // The SDK calls through the shared Unirest client; bounding its sockets frees the worker when the
+        // gateway stalls, where cancel(true) cannot interrupt a blocking read
+        Unirest.config().reset()
+                .connectTimeout((int) connectTimeout.toMillis())
+                .socketTimeout((int) readTimeout.toMillis())
+                .concurrency(maxConcurrentCalls, maxConcurrentCalls);
+
+        gatewayExecutor = new ThreadPoolTaskExecutor();
+        gatewayExecutor.setCorePoolSize(maxConcurrentCalls);
+        gatewayExecutor.setMaxPoolSize(maxConcurrentCalls);
+        gatewayExecutor.setQueueCapacity(maxConcurrentCalls);
+        gatewayExecutor.setThreadNamePrefix("chapa-gateway-");
+        gatewayExecutor.initialize();
+
         log.info("Chapa service initialized successfully");
     }
 
+    @PreDestroy
+    public void shutdown() {
+        gatewayExecutor.shutdown();
+    }
+
     private Chapa getChapaInstance() {
         if (chapa == null) {
             throw new IllegalStateException("Chapa service not initialized");
@@ -87,15 +123,42 @@ public class ChapaServiceImpl implements ChapaService {
                 .setCustomization(customization);
 
         try {
-            InitializeResponseData response = getChapaInstance().initialize(postData);
+            InitializeResponseData response = resilientCall.call(ResilientCall.CHAPA, () -> initializeWithTimeout(postData));
             log.info("Chapa payment initialized successfully for reference: {}", req.getTxRef());
             return response;
-        } catch (Throwable e) {
+        } catch (ProviderUnavailableException e) {
+            log.warn("Chapa payment initialization rejected for reference: {} - {}", req.getTxRef(), e.getMessage());
+            throw e;
+        } catch (Exception e) {
             log.error("Chapa payment initialization failed for reference: {}", req.getTxRef(), e);
             throw new RuntimeException("Chapa payment initialization failed: " + e.getMessage(), e);
         }
     }
 
+    private InitializeResponseData initializeWithTimeout(PostData postData) throws Exception {
+        Future<InitializeResponseData> call = gatewayExecutor.submit(() -> {
+            try {
+                return getChapaInstance().initialize(postData);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        try {
+            return call.get(gatewayTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            call.cancel(true);
+            throw new TimeoutException("Chapa did not respond within " + gatewayTimeout);
+        } catch (InterruptedException e) {
+            call.cancel(true);
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+
 /*    @Override
     public SubAccountResponseData createSubAccount(SubAccountRequestDTO req) {
         log.info("Creating Chapa subaccount for business: {}", req.getBusinessName());
@@ -192,62 +255,6 @@ public class ChapaServiceImpl implements ChapaService {
         }
     }*/
 
-    @Override
-    public boolean verifyWebhookSignature(String payload, String signature) {
-        if (payload == null || payload.trim().isEmpty()) {
-            log.error("Webhook payload cannot be null or empty");
-            return false;
-        }
-
-        if (signature == null || signature.trim().isEmpty()) {
-            log.error("Webhook signature cannot be null or empty");
-            return false;
-        }
-
-        if (webhookSecret == null || webhookSecret.trim().isEmpty()) {
-            log.error("Webhook secret is not configured - rejecting webhook");
-            return false;
-        }
-
-        try {
-            String expectedSignature = generateHmacSha256(payload, webhookSecret);
-            boolean isValid = expectedSignature.equals(signature.trim());
-
-            if (!isValid) {
-                log.warn("Webhook signature verification failed. Expected: {}, Received: {}",
-                        expectedSignature, signature);
-            }
-
-            return isValid;
-        } catch (Exception e) {
-            log.error("Failed to verify webhook signature", e);
-            return false;
-        }
-    }
-
-    @Override
-    public void processWebhookPayment(String payload) {
-        try {
-            JsonNode webhookData = objectMapper.readTree(payload);
-            String event = webhookData.get("event").asText();
-            String status = webhookData.get("status").asText();
-            String txRef = webhookData.get("tx_ref").asText();
-
-            log.info("Processing webhook payment - Event: {}, Status: {}, TxRef: {}", event, status, txRef);
-
-            if ("charge.success".equals(event) && "success".equalsIgnoreCase(status)) {
-                // Publish event instead of direct call
-                eventPublisher.publishEvent(new PaymentSuccessEvent(txRef, payload));
-            } else if ("charge.failed".equals(event) || "charge.cancelled".equals(event)) {
-                String reason = webhookData.has("message") ? webhookData.get("message").asText() : "Payment failed";
-                eventPublisher.publishEvent(new PaymentFailureEvent(txRef, reason));
-            }
-        } catch (Exception e) {
-            log.error("Failed to process webhook payment", e);
-            throw new RuntimeException("Failed to process webhook payment: " + e.getMessage(), e);
-        }
-    }
-
     @Override
     public void processWebhookTransfer(String payload) {
         try {
@@ -269,21 +276,4 @@ public class ChapaServiceImpl implements ChapaService {
             throw new RuntimeException("Failed to process webhook transfer: " + e.getMessage(), e);
         }
     }
-
-    private String generateHmacSha256(String data, String key) throws NoSuchAlgorithmException, InvalidKeyException {
-        Mac mac = Mac.getInstance("HmacSHA256");
-        SecretKeySpec secretKeySpec = new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
-        mac.init(secretKeySpec);
-        byte[] hash = mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
-
-        StringBuilder hexString = new StringBuilder();
-        for (byte b : hash) {
-            String hex = Integer.toHexString(0xff & b);
-            if (hex.length() == 1) {
-                hexString.append('0');
-            }
-            hexString.append(hex);
-        }
-        return hexString.toString();
-    }
 }
@@ -0,0 +1,246 @@
+package com.smarttech.service.impl;
+
+import com.smarttech.dto.response.CustomerTierStatsResponse;
+import com.smarttech.dto.response.DashboardStatsResponse;
+import com.smarttech.dto.response.TopProductResponse;
+import com.smarttech.enums.CustomerTier;
+import com.smarttech.enums.MaintenanceStatus;
+import com.smarttech.enums.OrderStatus;
+import com.smarttech.enums.TopProductMetric;
+import com.smarttech.enums.UserRole;
+import com.smarttech.event.CustomerRegisteredEvent;
+import com.smarttech.event.MaintenanceStatusChangedEvent;
+import com.smarttech.event.OrderStatusChangedEvent;
+import com.smarttech.repository.MaintenanceRequestRepository;
+import com.smarttech.repository.OrderRepository;
+import com.smarttech.repository.ProductRepository;
+import com.smarttech.repository.UserRepository;
+import com.smarttech.service.DashboardSnapshotService;
+import com.smarttech.service.LowStockService;
+import com.smarttech.service.TopProductService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the admin dashboard figures in memory. A full rebuild runs a handful of grouped aggregate queries;
+ * between rebuilds, committed order, maintenance, registration and product events adjust the counters.
+ * Figures without a cheap delta (tier moves) are only as old as {@code app.dashboard.max-staleness}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardSnapshotServiceImpl implements DashboardSnapshotService {
+
+    private final UserRepository userRepository;
+    private final OrderRepository orderRepository;
+    private final ProductRepository productRepository;
+    private final MaintenanceRequestRepository maintenanceRequestRepository;
+    private final TopProductService topProductService;
+    private final LowStockService lowStockService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.dashboard.max-staleness:5m}")
+    private Duration maxStaleness;
+
+    @Value("${app.dashboard.top-products-limit:5}")
+    private int topProductsLimit;
+
+    private final Object refreshLock = new Object();
+
+    private TransactionTemplate readOnlyTransactionTemplate;
+
+    // Guarded by this
+    private Snapshot snapshot;
+
+    @PostConstruct
+    public void init() {
+        readOnlyTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public DashboardStatsResponse getDashboardStats() {
+        if (isStale(currentSnapshot())) {
+            synchronized (refreshLock) {
+                // Another request may have rebuilt it while this one waited
+                if (isStale(currentSnapshot())) {
+                    // A call to this.refresh() would bypass the proxy and run each query in its own transaction
+                    readOnlyTransactionTemplate.executeWithoutResult(status -> rebuild());
+                }
+            }
+        }
+        // The low-stock count is kept current by LowStockService, so it is read live rather than snapshotted
+        long lowStock = lowStockService.getLowStockCount();
+        synchronized (this) {
+            return snapshot.toResponse(lowStock);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void refresh() {
+        rebuild();
+    }
+
+    // Runs the aggregate queries in the caller's read-only transaction, so they all see the same snapshot
+    private void rebuild() {
+        long start = System.currentTimeMillis();
+        YearMonth month = YearMonth.now();
+        Snapshot rebuilt = new Snapshot(Instant.now(), month);
+
+        for (OrderRepository.StatusTotals totals : orderRepository.summarizeByStatus(month.atDay(1).atStartOfDay())) {
+            rebuilt.orders.put(totals.getStatus(), totals.getOrderCount());
+            if (totals.getStatus() == OrderStatus.DELIVERED) {
+                rebuilt.revenue = totals.getTotalAmount();
+                rebuilt.monthlyRevenue = totals.getTotalAmountSince();
+            }
+        }
+
+        for (UserRepository.TierCount count : userRepository.countByRoleGroupedByTier(UserRole.CUSTOMER)) {
+            rebuilt.customers += count.getUserCount();
+            if (count.getTier() != null) {
+                rebuilt.tiers.put(count.getTier(), count.getUserCount());
+            }
+        }
+
+        rebuilt.products = productRepository.summarizeStock().getProductCount();
+
+        for (MaintenanceRequestRepository.StatusCount count : maintenanceRequestRepository.countGroupedByStatus()) {
+            rebuilt.maintenance.put(count.getStatus(), count.getRequestCount());
+        }
+
+        // Whole-month bounds keep the cache key stable between rebuilds
+        rebuilt.topProducts = topProductService.getTopProducts(month.atDay(1).atStartOfDay(),
+                month.atEndOfMonth().atTime(23, 59, 59), null, TopProductMetric.REVENUE, topProductsLimit);
+
+        // Events that land while the queries run may be counted twice or not at all; the next rebuild corrects them
+        synchronized (this) {
+            snapshot = rebuilt;
+        }
+        log.debug("Dashboard snapshot rebuilt in {} ms", System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public synchronized void applyOrderStatusChange(OrderStatusChangedEvent event) {
+        if (snapshot == null) {
+            return;
+        }
+        if (event.getPreviousStatus() != null) {
+            snapshot.orders.merge(event.getPreviousStatus(), -1L, Long::sum);
+        }
+        snapshot.orders.merge(event.getNewStatus(), 1L, Long::sum);
+
+        // Revenue counts delivered orders, attributed to the month they were placed in
+        BigDecimal amount = event.getTotalAmount() != null ? event.getTotalAmount() : BigDecimal.ZERO;
+        if (event.getPreviousStatus() == OrderStatus.DELIVERED) {
+            snapshot.addRevenue(amount.negate(), event);
+        }
+        if (event.getNewStatus() == OrderStatus.DELIVERED) {
+            snapshot.addRevenue(amount, event);
+        }
+    }
+
+    @Override
+    public synchronized void applyMaintenanceStatusChange(MaintenanceStatusChangedEvent event) {
+        if (snapshot == null) {
+            return;
+        }
+        if (event.getPreviousStatus() != null) {
+            snapshot.maintenance.merge(event.getPreviousStatus(), -1L, Long::sum);
+        }
+        snapshot.maintenance.merge(event.getNewStatus(), 1L, Long::sum);
+    }
+
+    @Override
+    public synchronized void applyCustomerRegistered(CustomerRegisteredEvent event) {
+        if (snapshot == null) {
+            return;
+        }
+        snapshot.customers++;
+        snapshot.tiers.merge(CustomerTier.BRONZE, 1L, Long::sum);
+    }
+
+    @Override
+    public synchronized void applyProductCreated() {
+        if (snapshot != null) {
+            snapshot.products++;
+        }
+    }
+
+    private synchronized Snapshot currentSnapshot() {
+        return snapshot;
+    }
+
+    private boolean isStale(Snapshot current) {
+        return current == null
+                || !current.month.equals(YearMonth.now())
+                || current.computedAt.plus(maxStaleness).isBefore(Instant.now());
+    }
+
+    private static final class Snapshot {
+        private final Instant computedAt;
+        private final YearMonth month;
+        private final Map<OrderStatus, Long> orders = new EnumMap<>(OrderStatus.class);
+        private final Map<MaintenanceStatus, Long> maintenance = new EnumMap<>(MaintenanceStatus.class);
+        private final Map<CustomerTier, Long> tiers = new EnumMap<>(CustomerTier.class);
+        private long customers;
+        private long products;
+        private BigDecimal revenue = BigDecimal.ZERO;
+        private BigDecimal monthlyRevenue = BigDecimal.ZERO;
+        private List<TopProductResponse> topProducts = List.of();
+
+        private Snapshot(Instant computedAt, YearMonth month) {
+            this.computedAt = computedAt;
+            this.month = month;
+        }
+
+        private void addRevenue(BigDecimal amount, OrderStatusChangedEvent event) {
+            revenue = revenue.add(amount);
+            if (event.getOrderCreatedAt() != null && YearMonth.from(event.getOrderCreatedAt()).equals(month)) {
+                monthlyRevenue = monthlyRevenue.add(amount);
+            }
+        }
+
+        private DashboardStatsResponse toResponse(long lowStock) {
+            List<CustomerTierStatsResponse> customerTierStats = Arrays.stream(CustomerTier.values())
+                    .map(tier -> {
+                        long count = tiers.getOrDefault(tier, 0L);
+                        return CustomerTierStatsResponse.builder()
+                                .tier(tier)
+                                .customerCount(count)
+                                .percentage(customers > 0 ? (double) count / customers * 100 : 0.0)
+                                .build();
+                    })
+                    .toList();
+
+            return DashboardStatsResponse.builder()
+                    .totalCustomers(customers)
+                    .totalOrders(orders.values().stream().mapToLong(Long::longValue).sum())
+                    .pendingOrders(orders.getOrDefault(OrderStatus.PENDING, 0L))
+                    .completedOrders(orders.getOrDefault(OrderStatus.DELIVERED, 0L))
+                    .totalRevenue(revenue)
+                    .monthlyRevenue(monthlyRevenue)
+                    .totalProducts(products)
+                    .lowStockProducts(lowStock)
+                    .pendingMaintenanceRequests(maintenance.getOrDefault(MaintenanceStatus.PENDING, 0L))
+                    .completedMaintenanceRequests(maintenance.getOrDefault(MaintenanceStatus.COMPLETED, 0L))
+                    .topProducts(topProducts)
+                    .customerTierStats(customerTierStats)
+                    .build();
+        }
+    }
+}
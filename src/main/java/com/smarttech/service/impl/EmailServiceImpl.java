@@ -1,23 +1,27 @@
 package com.smarttech.service.impl;
 
+import com.smarttech.dto.report.LowStockItem;
 import com.smarttech.entity.MaintenanceRequest;
 import com.smarttech.entity.Order;
 import com.smarttech.entity.User;
+import com.smarttech.resilience.ResilientCall;
 import com.smarttech.service.EmailService;
-import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
+import java.io.File;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -26,6 +30,7 @@ public class EmailServiceImpl implements EmailService {
 
     private final JavaMailSender mailSender;
     private final TemplateEngine templateEngine;
+    private final ResilientCall resilientCall;
 
     @Value("${business.name}")
     private String businessName;
@@ -239,29 +244,40 @@ public class EmailServiceImpl implements EmailService {
     }
 
     @Override
-    public void sendLowStockAlert(String productName, Integer currentStock) {
-        log.info("Sending low stock alert for product: {}", productName);
+    public boolean sendLowStockDigest(List<LowStockItem> items) {
+        log.info("Sending low stock digest for {} product(s)", items.size());
 
         try {
-            String htmlContent = generateSimpleHtmlTemplate("Low Stock Alert - " + productName,
+            StringBuilder rows = new StringBuilder();
+            for (LowStockItem item : items) {
+                rows.append("<tr><td>").append(HtmlUtils.htmlEscape(item.name())).append("</td>")
+                        .append("<td>").append(item.stockQuantity()).append("</td>")
+                        .append("<td>").append(item.minStockLevel()).append("</td></tr>");
+            }
+
+            String htmlContent = generateSimpleHtmlTemplate("Low Stock Digest",
                     "Dear Admin,<br><br>" +
-                            "This is an automated alert for low stock levels.<br><br>" +
-                            "<strong>Product Details:</strong><br>" +
-                            "Product Name: " + productName + "<br>" +
-                            "Current Stock: " + currentStock + " units<br>" +
+                            "The following " + items.size() + " product(s) have dropped to or below their minimum stock level " +
+                            "since the last digest.<br><br>" +
+                            "<table border=\"1\" cellpadding=\"6\" cellspacing=\"0\">" +
+                            "<tr><th>Product</th><th>Current Stock</th><th>Minimum Level</th></tr>" +
+                            rows +
+                            "</table><br>" +
                             "Alert Date: " + DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm").format(java.time.LocalDateTime.now()) + "<br><br>" +
-                            "Please restock this item to avoid stockouts.<br><br>" +
+                            "Please restock these items to avoid stockouts.<br><br>" +
                             "Best regards,<br>Smart Tech System");
 
-            sendHtmlEmail(fromEmail, "Low Stock Alert - " + productName, htmlContent);
-            log.info("Low stock alert sent successfully for product: {}", productName);
+            sendHtmlEmail(fromEmail, "Low Stock Digest - " + items.size() + " product(s)", htmlContent);
+            log.info("Low stock digest sent successfully for {} product(s)", items.size());
+            return true;
         } catch (Exception e) {
-            log.error("Failed to send low stock alert for product: {}", productName, e);
+            log.error("Failed to send low stock digest for {} product(s)", items.size(), e);
+            return false;
         }
     }
 
     @Override
-    public void sendMonthlyReport(String recipientEmail, byte[] reportData, String month) {
+    public void sendMonthlyReport(String recipientEmail, File report, String month) {
         log.info("Sending monthly report for month: {} to: {}", month, recipientEmail);
 
         try {
@@ -279,16 +295,16 @@ public class EmailServiceImpl implements EmailService {
                             "Best regards,<br>" + businessName);
 
             helper.setText(htmlContent, true);
-            helper.addAttachment("Monthly_Tax_Report_" + month + ".xlsx", new ByteArrayResource(reportData));
+            helper.addAttachment("Monthly_Tax_Report_" + month + ".xlsx", new FileSystemResource(report));
 
-            mailSender.send(message);
+            resilientCall.run(ResilientCall.SMTP, () -> mailSender.send(message));
             log.info("Monthly report sent successfully for month: {} to: {}", month, recipientEmail);
         } catch (Exception e) {
             log.error("Failed to send monthly report for month: {} to: {}", month, recipientEmail, e);
         }
     }
 
-    private void sendHtmlEmail(String to, String subject, String htmlContent) throws MessagingException {
+    private void sendHtmlEmail(String to, String subject, String htmlContent) throws Exception {
         MimeMessage message = mailSender.createMimeMessage();
         MimeMessageHelper helper = new MimeMessageHelper(message, true);
 
@@ -297,7 +313,7 @@ public class EmailServiceImpl implements EmailService {
         helper.setSubject(subject);
         helper.setText(htmlContent, true);
 
-        mailSender.send(message);
+        resilientCall.run(ResilientCall.SMTP, () -> mailSender.send(message));
     }
 
     private String generateSimpleHtmlTemplate(String title, String content) {
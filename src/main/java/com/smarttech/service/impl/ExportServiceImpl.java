@@ -0,0 +1,84 @@
+package com.smarttech.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smarttech.dto.export.CustomerExportRow;
+import com.smarttech.dto.export.MaintenanceExportRow;
+import com.smarttech.dto.export.OrderExportRow;
+import com.smarttech.dto.export.PaymentExportRow;
+import com.smarttech.enums.ExportFormat;
+import com.smarttech.enums.MaintenanceStatus;
+import com.smarttech.enums.OrderStatus;
+import com.smarttech.enums.PaymentStatus;
+import com.smarttech.enums.UserRole;
+import com.smarttech.repository.MaintenanceRequestRepository;
+import com.smarttech.repository.OrderRepository;
+import com.smarttech.repository.PaymentRepository;
+import com.smarttech.repository.UserRepository;
+import com.smarttech.service.ExportService;
+import com.smarttech.util.RecordExportWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Streams admin exports straight from a streaming result set to the output stream. Rows are read as
+ * DTO projections, so nothing is attached to the persistence context and memory use does not grow
+ * with the number of rows. The read-only transaction stays open until the last row is written.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class ExportServiceImpl implements ExportService {
+
+    private final OrderRepository orderRepository;
+    private final PaymentRepository paymentRepository;
+    private final UserRepository userRepository;
+    private final MaintenanceRequestRepository maintenanceRequestRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public long exportOrders(LocalDateTime startDate, LocalDateTime endDate, OrderStatus status,
+                             ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<OrderExportRow> rows = orderRepository.streamForExport(startDate, endDate, status)) {
+            long count = new RecordExportWriter<>(OrderExportRow.class, format, objectMapper).write(rows, out);
+            log.info("Exported {} orders as {}", count, format);
+            return count;
+        }
+    }
+
+    @Override
+    public long exportPayments(LocalDateTime startDate, LocalDateTime endDate, PaymentStatus status,
+                               ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<PaymentExportRow> rows = paymentRepository.streamForExport(startDate, endDate, status)) {
+            long count = new RecordExportWriter<>(PaymentExportRow.class, format, objectMapper).write(rows, out);
+            log.info("Exported {} payments as {}", count, format);
+            return count;
+        }
+    }
+
+    @Override
+    public long exportCustomers(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<CustomerExportRow> rows = userRepository.streamForExport(UserRole.CUSTOMER)) {
+            long count = new RecordExportWriter<>(CustomerExportRow.class, format, objectMapper).write(rows, out);
+            log.info("Exported {} customers as {}", count, format);
+            return count;
+        }
+    }
+
+    @Override
+    public long exportMaintenanceRequests(LocalDateTime startDate, LocalDateTime endDate, MaintenanceStatus status,
+                                          ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<MaintenanceExportRow> rows = maintenanceRequestRepository.streamForExport(startDate, endDate, status)) {
+            long count = new RecordExportWriter<>(MaintenanceExportRow.class, format, objectMapper).write(rows, out);
+            log.info("Exported {} maintenance requests as {}", count, format);
+            return count;
+        }
+    }
+}
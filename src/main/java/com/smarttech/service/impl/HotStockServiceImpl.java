@@ -0,0 +1,300 @@
+package com.smarttech.service.impl;
+
+import com.smarttech.config.CacheConfig;
+import com.smarttech.entity.Product;
+import com.smarttech.event.StockChangedEvent;
+import com.smarttech.exception.InsufficientStockException;
+import com.smarttech.repository.ProductRepository;
+import com.smarttech.service.HotStockService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stock for flash-sale products. Redis holds the authoritative counter, so reservations are
+ * decided by one Lua script call without touching the products row; the database copy is
+ * refreshed in batches from a Redis "dirty" hash, which survives restarts and makes the
+ * write-behind crash safe.
+ */
+@Service
+@Slf4j
+public class HotStockServiceImpl implements HotStockService {
+
+    // The {stock} hash tag keeps all keys in one slot so the scripts also work on Redis Cluster
+    private static final String STOCK_KEY_PREFIX = "smarttech:{stock}:";
+    private static final String DIRTY_KEY = "smarttech:{stock}:dirty";
+    private static final String FLUSH_LOCK_KEY = "smarttech:{stock}:flush-lock";
+    private static final Duration FLUSH_LOCK_TTL = Duration.ofSeconds(30);
+
+    // KEYS = stock keys..., dirty hash; ARGV = quantities..., product IDs...
+    // Returns {0, 0, 0} on success, {1, line, stock} when a line is short, {-1, line, 0} when a product is not hot
+    private static final RedisScript<List> RESERVE_SCRIPT = new DefaultRedisScript<>("""
+            local n = #KEYS - 1
+            for i = 1, n do
+              local stock = redis.call('GET', KEYS[i])
+              if not stock then return {-1, i, 0} end
+              if tonumber(stock) < tonumber(ARGV[i]) then return {1, i, tonumber(stock)} end
+            end
+            for i = 1, n do
+              redis.call('DECRBY', KEYS[i], ARGV[i])
+              redis.call('HINCRBY', KEYS[n + 1], ARGV[n + i], 1)
+            end
+            return {0, 0, 0}
+            """, List.class);
+
+    // Same KEYS/ARGV layout; returns the 1-based lines whose product is no longer hot
+    private static final RedisScript<List> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            local n = #KEYS - 1
+            local missing = {}
+            for i = 1, n do
+              if redis.call('EXISTS', KEYS[i]) == 1 then
+                redis.call('INCRBY', KEYS[i], ARGV[i])
+                redis.call('HINCRBY', KEYS[n + 1], ARGV[n + i], 1)
+              else
+                table.insert(missing, i)
+              end
+            end
+            return missing
+            """, List.class);
+
+    private static final RedisScript<Long> SET_STOCK_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end
+            redis.call('SET', KEYS[1], ARGV[1])
+            redis.call('HINCRBY', KEYS[2], ARGV[2], 1)
+            return 1
+            """, Long.class);
+
+    // Drops a dirty marker only if no reservation bumped its version while it was being flushed
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end
+            return 0
+            """, Long.class);
+
+    private static final RedisScript<Long> CLEAR_DIRTY_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('HGET', KEYS[1], ARGV[1]) == ARGV[2] then
+              return redis.call('HDEL', KEYS[1], ARGV[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<Long, Long> soldOutUntil = new ConcurrentHashMap<>();
+    private final Counter reservedCounter;
+    private final Counter rejectedCounter;
+    private final Counter shortCircuitedCounter;
+
+    @Value("${app.flash-sale.sold-out-cache-ms:500}")
+    private long soldOutCacheMs;
+
+    public HotStockServiceImpl(StringRedisTemplate redisTemplate,
+                               ProductRepository productRepository,
+                               TransactionTemplate transactionTemplate,
+                               CacheManager cacheManager,
+                               ApplicationEventPublisher eventPublisher,
+                               MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.productRepository = productRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.reservedCounter = meterRegistry.counter("stock.hot.reservations", "result", "reserved");
+        this.rejectedCounter = meterRegistry.counter("stock.hot.reservations", "result", "rejected");
+        this.shortCircuitedCounter = meterRegistry.counter("stock.hot.reservations", "result", "sold_out_cached");
+    }
+
+    @Override
+    public void enable(Long productId, int stock) {
+        redisTemplate.opsForValue().set(stockKey(productId), String.valueOf(stock));
+        soldOutUntil.remove(productId);
+        log.info("Flash-sale stock enabled for product ID: {} with {} units", productId, stock);
+    }
+
+    @Override
+    public Integer disable(Long productId) {
+        String stock = redisTemplate.opsForValue().getAndDelete(stockKey(productId));
+        redisTemplate.opsForHash().delete(DIRTY_KEY, productId.toString());
+        soldOutUntil.remove(productId);
+        log.info("Flash-sale stock disabled for product ID: {} with {} units remaining", productId, stock);
+        return stock != null ? Integer.valueOf(stock) : null;
+    }
+
+    @Override
+    public boolean reserve(Map<Long, Integer> quantities) {
+        long now = System.currentTimeMillis();
+        for (Long productId : quantities.keySet()) {
+            Long until = soldOutUntil.get(productId);
+            if (until != null && until > now) {
+                shortCircuitedCounter.increment();
+                throw new InsufficientStockException("Insufficient stock for product ID: " + productId);
+            }
+        }
+
+        List<Long> productIds = new ArrayList<>(quantities.keySet());
+        List<?> result = redisTemplate.execute(RESERVE_SCRIPT, scriptKeys(productIds), scriptArgs(productIds, quantities));
+        long outcome = (Long) result.get(0);
+        if (outcome < 0) {
+            return false;
+        }
+        if (outcome > 0) {
+            Long productId = productIds.get(((Long) result.get(1)).intValue() - 1);
+            if ((Long) result.get(2) <= 0) {
+                soldOutUntil.put(productId, now + soldOutCacheMs);
+            }
+            rejectedCounter.increment();
+            throw new InsufficientStockException("Insufficient stock for product ID: " + productId);
+        }
+
+        reservedCounter.increment();
+        return true;
+    }
+
+    @Override
+    public void release(Map<Long, Integer> quantities) {
+        List<Long> productIds = new ArrayList<>(quantities.keySet());
+        List<?> missing = redisTemplate.execute(RELEASE_SCRIPT, scriptKeys(productIds), scriptArgs(productIds, quantities));
+        productIds.forEach(soldOutUntil::remove);
+
+        if (!missing.isEmpty()) {
+            // Flash sale was switched off in the meantime, so the database is authoritative again
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Long> restocked = new ArrayList<>(missing.size());
+                missing.forEach(line -> {
+                    Long productId = productIds.get(((Long) line).intValue() - 1);
+                    productRepository.incrementStock(productId, quantities.get(productId));
+                    restocked.add(productId);
+                });
+                eventPublisher.publishEvent(new StockChangedEvent(restocked));
+            });
+        }
+    }
+
+    @Override
+    public void setStock(Long productId, int quantity) {
+        Long updated = redisTemplate.execute(SET_STOCK_SCRIPT, List.of(stockKey(productId), DIRTY_KEY),
+                String.valueOf(quantity), productId.toString());
+        if (updated == null || updated == 0) {
+            log.warn("Flash-sale stock counter missing for product ID: {}, seeding it", productId);
+            enable(productId, quantity);
+        }
+        soldOutUntil.remove(productId);
+    }
+
+    /**
+     * Copies the Redis counters of changed products to the products table in one transaction.
+     * Writes are absolute, so flushing the same marker twice (e.g. after a crash) is harmless;
+     * a short Redis lock keeps two nodes from writing snapshots out of order.
+     */
+    @Override
+    public int flushDirtyStock() {
+        String lockToken = UUID.randomUUID().toString();
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(FLUSH_LOCK_KEY, lockToken, FLUSH_LOCK_TTL))) {
+            return 0;
+        }
+        try {
+            return flushDirtyStockLocked();
+        } finally {
+            redisTemplate.execute(UNLOCK_SCRIPT, List.of(FLUSH_LOCK_KEY), lockToken);
+        }
+    }
+
+    private int flushDirtyStockLocked() {
+        Map<Object, Object> dirty = redisTemplate.opsForHash().entries(DIRTY_KEY);
+        if (dirty.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, String> stockLevels = new HashMap<>();
+        List<Object> productIds = new ArrayList<>(dirty.keySet());
+        List<String> stocks = redisTemplate.opsForValue().multiGet(
+                productIds.stream().map(id -> STOCK_KEY_PREFIX + id).toList());
+        for (int i = 0; i < productIds.size(); i++) {
+            if (stocks != null && stocks.get(i) != null) {
+                stockLevels.put(Long.valueOf(productIds.get(i).toString()), stocks.get(i));
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            stockLevels.forEach((productId, stock) -> productRepository.syncFlashSaleStock(productId, Integer.parseInt(stock)));
+            eventPublisher.publishEvent(new StockChangedEvent(new ArrayList<>(stockLevels.keySet())));
+        });
+
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS);
+        dirty.forEach((productId, version) -> {
+            redisTemplate.execute(CLEAR_DIRTY_SCRIPT, List.of(DIRTY_KEY), productId.toString(), version.toString());
+            if (cache != null) {
+                cache.evict(Long.valueOf(productId.toString()));
+            }
+        });
+
+        log.debug("Flushed flash-sale stock for {} product(s)", stockLevels.size());
+        return stockLevels.size();
+    }
+
+    /**
+     * Restart reconciliation: applies writes left pending by any node, then reseeds counters
+     * for flash-sale products whose Redis key is missing (e.g. Redis was wiped).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        try {
+            int flushed = flushDirtyStock();
+            int reseeded = 0;
+            for (Product product : productRepository.findByFlashSaleTrue()) {
+                Boolean seeded = redisTemplate.opsForValue()
+                        .setIfAbsent(stockKey(product.getId()), String.valueOf(product.getStockQuantity()));
+                if (Boolean.TRUE.equals(seeded)) {
+                    log.warn("Reseeded flash-sale stock for product ID: {} from database value {}",
+                            product.getId(), product.getStockQuantity());
+                    reseeded++;
+                }
+            }
+            log.info("Flash-sale stock reconciled: {} flushed, {} reseeded", flushed, reseeded);
+        } catch (Exception e) {
+            log.error("Failed to reconcile flash-sale stock", e);
+        }
+    }
+
+    private List<String> scriptKeys(List<Long> productIds) {
+        List<String> keys = new ArrayList<>(productIds.size() + 1);
+        productIds.forEach(productId -> keys.add(stockKey(productId)));
+        keys.add(DIRTY_KEY);
+        return keys;
+    }
+
+    private Object[] scriptArgs(List<Long> productIds, Map<Long, Integer> quantities) {
+        Object[] args = new Object[productIds.size() * 2];
+        for (int i = 0; i < productIds.size(); i++) {
+            args[i] = quantities.get(productIds.get(i)).toString();
+            args[productIds.size() + i] = productIds.get(i).toString();
+        }
+        return args;
+    }
+
+    private String stockKey(Long productId) {
+        return STOCK_KEY_PREFIX + productId;
+    }
+}
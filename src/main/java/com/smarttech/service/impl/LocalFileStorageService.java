@@ -2,6 +2,7 @@ package com.smarttech.service.impl;
 
 import com.smarttech.config.StorageProperties;
 import com.smarttech.exception.FileStorageException;
+import com.smarttech.exception.ResourceNotFoundException;
 import com.smarttech.service.FileStorageService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,6 +13,7 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
@@ -155,6 +157,48 @@ public class LocalFileStorageService implements FileStorageService {
         }
     }
 
+    public void uploadPrivate(Path source, String key) {
+        try {
+            Path target = resolvePrivate(key);
+            Files.createDirectories(target.getParent());
+            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+            log.info("Private file stored locally: {}", key);
+
+        } catch (IOException e) {
+            log.error("Failed to store private file locally: {}", key, e);
+            throw new FileStorageException("Failed to store file: " + e.getMessage());
+        }
+    }
+
+    public InputStream openPrivate(String key) {
+        try {
+            return Files.newInputStream(resolvePrivate(key));
+        } catch (NoSuchFileException e) {
+            throw new ResourceNotFoundException("Stored file not found: " + key);
+        } catch (IOException e) {
+            log.error("Failed to open private file: {}", key, e);
+            throw new FileStorageException("Failed to open file: " + e.getMessage());
+        }
+    }
+
+    public void deletePrivate(String key) {
+        try {
+            Files.deleteIfExists(resolvePrivate(key));
+        } catch (IOException e) {
+            log.error("Failed to delete private file: {}", key, e);
+            throw new FileStorageException("Failed to delete file: " + e.getMessage());
+        }
+    }
+
+    private Path resolvePrivate(String key) {
+        Path root = Paths.get(storageProperties.getLocal().getPrivateDirectory()).toAbsolutePath().normalize();
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new FileStorageException("Invalid storage key: " + key);
+        }
+        return path;
+    }
+
     private String generateFileName(String originalFileName) {
         String extension = "";
         if (originalFileName != null && originalFileName.contains(".")) {
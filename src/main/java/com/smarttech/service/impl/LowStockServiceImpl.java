@@ -0,0 +1,97 @@
+package com.smarttech.service.impl;
+
+import com.smarttech.dto.report.LowStockItem;
+import com.smarttech.repository.ProductRepository;
+import com.smarttech.service.EmailService;
+import com.smarttech.service.LowStockService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks which products are at or below their minimum stock level. Stock changes re-evaluate only the
+ * products they touched, both in the indexed {@code products.low_stock} flag and in an in-memory ID set,
+ * so the dashboard count needs no query. Products that newly cross the threshold are flagged for the next digest.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class LowStockServiceImpl implements LowStockService {
+
+    private final ProductRepository productRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Set<Long> lowStockIds = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void refresh(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        productRepository.refreshLowStockFlags(productIds);
+        Set<Long> low = new HashSet<>(productRepository.findLowStockIdsIn(productIds));
+        for (Long productId : productIds) {
+            if (low.contains(productId)) {
+                lowStockIds.add(productId);
+            } else {
+                lowStockIds.remove(productId);
+            }
+        }
+    }
+
+    @Override
+    public void reconcile() {
+        int corrected = productRepository.reconcileLowStockFlags();
+        if (corrected > 0) {
+            log.info("Corrected low-stock flags on {} product(s)", corrected);
+        }
+        reload();
+    }
+
+    // Index-only; picks up flags changed by other nodes
+    @Override
+    @Transactional(readOnly = true)
+    public void reload() {
+        Set<Long> current = new HashSet<>(productRepository.findLowStockIds());
+        lowStockIds.retainAll(current);
+        lowStockIds.addAll(current);
+    }
+
+    @Override
+    public long getLowStockCount() {
+        return lowStockIds.size();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int sendDigest() {
+        // Catches stock written by paths that bypass the stock events before deciding what is new
+        transactionTemplate.executeWithoutResult(status -> reconcile());
+
+        List<LowStockItem> pending = productRepository.findPendingLowStockAlerts();
+        if (pending.isEmpty()) {
+            log.info("No products newly below their minimum stock level");
+            return 0;
+        }
+
+        // Flags are only cleared once the digest is out, so a failed send is retried next window
+        if (!emailService.sendLowStockDigest(pending)) {
+            return 0;
+        }
+        List<Long> alerted = pending.stream().map(LowStockItem::productId).toList();
+        transactionTemplate.executeWithoutResult(status -> productRepository.clearLowStockAlertPending(alerted));
+        log.info("Sent low stock digest for {} product(s)", alerted.size());
+        return alerted.size();
+    }
+}
@@ -0,0 +1,321 @@
+package com.smarttech.service.impl;
+
+import com.smarttech.dto.response.MaintenanceRequestResponse;
+import com.smarttech.entity.MaintenanceRequest;
+import com.smarttech.enums.MaintenanceStatus;
+import com.smarttech.event.MaintenanceOverdueEvent;
+import com.smarttech.mapper.MaintenanceMapper;
+import com.smarttech.repository.MaintenanceRequestRepository;
+import com.smarttech.service.MaintenanceQueueService;
+import com.smarttech.util.TimingWheel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Keeps pending and in-progress maintenance requests in memory, ordered by SLA deadline, then warranty
+ * coverage, then maintenance type. A pending request's deadline is its response SLA; an in-progress one's is
+ * its estimated completion date. Deadlines sit in a timing wheel that marks requests overdue as they pass,
+ * so neither the admin queues nor overdue detection scan the table. Committed changes refresh single requests
+ * on every node (see {@code MaintenanceQueueListener}); a periodic rebuild catches anything a node missed.
+ * Every node's wheel fires, so a short Redis claim lets only one of them publish each
+ * {@link MaintenanceOverdueEvent}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MaintenanceQueueServiceImpl implements MaintenanceQueueService {
+
+    private static final Set<MaintenanceStatus> QUEUED_STATUSES = EnumSet.of(MaintenanceStatus.PENDING, MaintenanceStatus.IN_PROGRESS);
+
+    private static final String OVERDUE_CLAIM_PREFIX = "smarttech:maintenance:overdue:";
+    private static final Duration OVERDUE_CLAIM_TTL = Duration.ofDays(30);
+
+    private static final Comparator<Entry> PRIORITY = Comparator.comparingLong(Entry::deadline)
+            .thenComparing(Entry::warrantyCovered, Comparator.reverseOrder())
+            .thenComparingInt(Entry::typeRank)
+            .thenComparingLong(Entry::id);
+
+    private final MaintenanceRequestRepository maintenanceRequestRepository;
+    private final MaintenanceMapper maintenanceMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.maintenance.queue.response-sla-hours:24}")
+    private long responseSlaHours;
+
+    @Value("${app.maintenance.queue.tick-ms:1000}")
+    private long tickMillis;
+
+    @Value("${app.maintenance.queue.wheel-size:64}")
+    private int wheelSize;
+
+    @Value("${app.maintenance.queue.wheel-levels:4}")
+    private int wheelLevels;
+
+    // Guarded by this
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final NavigableSet<Entry> pending = new TreeSet<>(PRIORITY);
+    private final NavigableSet<Entry> inProgress = new TreeSet<>(PRIORITY);
+    private final Set<Long> touchedDuringRebuild = new HashSet<>();
+    private TimingWheel<Long> wheel;
+    private boolean rebuilding;
+
+    @Override
+    public synchronized Optional<List<MaintenanceRequestResponse>> getPendingRequests() {
+        if (wheel == null) {
+            return Optional.empty();
+        }
+        return Optional.of(pending.stream().map(Entry::response).toList());
+    }
+
+    @Override
+    public synchronized Optional<List<MaintenanceRequestResponse>> getOverdueRequests() {
+        if (wheel == null) {
+            return Optional.empty();
+        }
+        // The wheel fires in deadline order, so overdue requests are a prefix of the deadline-ordered set
+        return Optional.of(inProgress.stream().takeWhile(Entry::isOverdue).map(Entry::response).toList());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void refresh(Long requestId) {
+        Optional<Entry> loaded = transactionTemplate.execute(status -> maintenanceRequestRepository.findWithDetailsById(requestId)
+                .filter(request -> QUEUED_STATUSES.contains(request.getStatus()))
+                .map(this::toEntry));
+
+        List<Entry> overdue = new ArrayList<>();
+        synchronized (this) {
+            if (rebuilding) {
+                touchedDuringRebuild.add(requestId);
+            }
+            if (wheel == null) {
+                return;
+            }
+            // Refreshes run asynchronously; one that read an older version must not replace a newer one
+            Entry current = entries.get(requestId);
+            if (current != null && loaded != null && loaded.isPresent()
+                    && loaded.get().updatedAt().isBefore(current.updatedAt())) {
+                return;
+            }
+            remove(requestId);
+            if (loaded != null) {
+                loaded.ifPresent(entry -> add(entry, overdue));
+            }
+        }
+        notifyOverdue(overdue, false);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            rebuilding = true;
+            touchedDuringRebuild.clear();
+        }
+
+        Set<Long> touched;
+        List<Entry> overdue = new ArrayList<>();
+        try {
+            List<Entry> loaded = transactionTemplate.execute(status ->
+                    maintenanceRequestRepository.findByStatusIn(QUEUED_STATUSES).stream().map(this::toEntry).toList());
+
+            synchronized (this) {
+                entries.clear();
+                pending.clear();
+                inProgress.clear();
+                wheel = new TimingWheel<>(tickMillis, wheelSize, wheelLevels, System.currentTimeMillis());
+                if (loaded != null) {
+                    loaded.forEach(entry -> add(entry, overdue));
+                }
+                log.info("Maintenance queue loaded {} pending and {} in-progress request(s) in {} ms",
+                        pending.size(), inProgress.size(), System.currentTimeMillis() - start);
+            }
+        } finally {
+            synchronized (this) {
+                rebuilding = false;
+                touched = new HashSet<>(touchedDuringRebuild);
+                touchedDuringRebuild.clear();
+            }
+        }
+
+        notifyOverdue(overdue, false);
+        // Changes committed while the snapshot was read may be missing from it
+        touched.forEach(this::refresh);
+    }
+
+    @Override
+    public void advance() {
+        List<Entry> fired = new ArrayList<>();
+        synchronized (this) {
+            if (wheel == null) {
+                return;
+            }
+            for (Long requestId : wheel.advance(System.currentTimeMillis())) {
+                Entry entry = entries.get(requestId);
+                if (entry != null) {
+                    entry.markOverdue();
+                    fired.add(entry);
+                }
+            }
+        }
+        notifyOverdue(fired, true);
+    }
+
+    /**
+     * Also covers requests already late when loaded, e.g. deadlines that passed while no node was running.
+     * Those are reloaded on every rebuild, so without a Redis claim they are skipped rather than repeated.
+     */
+    private void notifyOverdue(List<Entry> overdue, boolean firedNow) {
+        for (Entry entry : overdue) {
+            if (!claimOverdue(entry, firedNow)) {
+                continue;
+            }
+            if (entry.status() == MaintenanceStatus.PENDING) {
+                log.warn("Maintenance request {} has waited past its {}-hour response SLA",
+                        entry.response().getRequestNumber(), responseSlaHours);
+            } else {
+                log.warn("Maintenance request {} is past its estimated completion date",
+                        entry.response().getRequestNumber());
+            }
+            eventPublisher.publishEvent(new MaintenanceOverdueEvent(
+                    entry.id(), entry.response().getRequestNumber(), entry.status(), entry.customerId()));
+        }
+    }
+
+    // Keyed by deadline as well, so a request given a new estimated completion date can become overdue again
+    private boolean claimOverdue(Entry entry, boolean claimedOnFailure) {
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(
+                    OVERDUE_CLAIM_PREFIX + entry.id() + ":" + entry.status() + ":" + entry.deadline(), "1", OVERDUE_CLAIM_TTL));
+        } catch (Exception e) {
+            log.warn("Failed to claim overdue notice for maintenance request ID {}: {}", entry.id(), e.getMessage());
+            return claimedOnFailure;
+        }
+    }
+
+    private void add(Entry entry, List<Entry> overdue) {
+        entries.put(entry.id(), entry);
+        queueFor(entry).add(entry);
+        if (entry.deadline() != Long.MAX_VALUE && !wheel.schedule(entry.id(), entry.deadline())) {
+            entry.markOverdue();
+            overdue.add(entry);
+        }
+    }
+
+    private void remove(Long requestId) {
+        Entry entry = entries.remove(requestId);
+        if (entry != null) {
+            queueFor(entry).remove(entry);
+            wheel.cancel(requestId);
+        }
+    }
+
+    private NavigableSet<Entry> queueFor(Entry entry) {
+        return entry.status() == MaintenanceStatus.PENDING ? pending : inProgress;
+    }
+
+    private Entry toEntry(MaintenanceRequest request) {
+        LocalDateTime deadline = request.getStatus() == MaintenanceStatus.PENDING
+                ? request.getCreatedAt().plusHours(responseSlaHours)
+                : request.getEstimatedCompletionDate();
+        return new Entry(
+                request.getId(),
+                request.getStatus(),
+                request.getCustomer().getId(),
+                deadline != null ? deadline.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : Long.MAX_VALUE,
+                Boolean.TRUE.equals(request.getIsWarrantyCovered()),
+                request.getMaintenanceType() != null ? request.getMaintenanceType().ordinal() : Integer.MAX_VALUE,
+                request.getUpdatedAt() != null ? request.getUpdatedAt() : request.getCreatedAt(),
+                maintenanceMapper.toResponse(request));
+    }
+
+    private static final class Entry {
+        private final Long id;
+        private final MaintenanceStatus status;
+        private final Long customerId;
+        private final long deadline;
+        private final boolean warrantyCovered;
+        private final int typeRank;
+        private final LocalDateTime updatedAt;
+        private final MaintenanceRequestResponse response;
+        // Not part of the ordering, so it can change while the entry is queued
+        private boolean overdue;
+
+        private Entry(Long id, MaintenanceStatus status, Long customerId, long deadline, boolean warrantyCovered,
+                      int typeRank, LocalDateTime updatedAt, MaintenanceRequestResponse response) {
+            this.id = id;
+            this.status = status;
+            this.customerId = customerId;
+            this.deadline = deadline;
+            this.warrantyCovered = warrantyCovered;
+            this.typeRank = typeRank;
+            this.updatedAt = updatedAt;
+            this.response = response;
+        }
+
+        private Long id() {
+            return id;
+        }
+
+        private MaintenanceStatus status() {
+            return status;
+        }
+
+        private Long customerId() {
+            return customerId;
+        }
+
+        private long deadline() {
+            return deadline;
+        }
+
+        private boolean warrantyCovered() {
+            return warrantyCovered;
+        }
+
+        private int typeRank() {
+            return typeRank;
+        }
+
+        private LocalDateTime updatedAt() {
+            return updatedAt;
+        }
+
+        private MaintenanceRequestResponse response() {
+            return response;
+        }
+
+        private boolean isOverdue() {
+            return overdue;
+        }
+
+        private void markOverdue() {
+            overdue = true;
+        }
+    }
+}
@@ -1,24 +1,32 @@
 package com.smarttech.service.impl;
 
 import com.smarttech.dto.request.MaintenanceRequestCreate;
+import com.smarttech.dto.response.CursorPageResponse;
 import com.smarttech.dto.response.MaintenanceRequestResponse;
 import com.smarttech.dto.response.MaintenanceTicketResponse;
 import com.smarttech.entity.MaintenanceRequest;
 import com.smarttech.entity.MaintenanceTicket;
 import com.smarttech.entity.User;
 import com.smarttech.enums.MaintenanceStatus;
+import com.smarttech.event.MaintenanceRequestUpdatedEvent;
+import com.smarttech.event.MaintenanceStatusChangedEvent;
 import com.smarttech.exception.ResourceNotFoundException;
 import com.smarttech.mapper.MaintenanceMapper;
 import com.smarttech.repository.MaintenanceRequestRepository;
 import com.smarttech.repository.MaintenanceTicketRepository;
+import com.smarttech.service.MaintenanceQueueService;
 import com.smarttech.service.MaintenanceService;
 import com.smarttech.service.PdfGenerationService;
 import com.smarttech.service.UserService;
+import com.smarttech.service.WarrantyService;
+import com.smarttech.util.CursorCodec;
 import com.smarttech.util.MaintenanceNumberGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -37,6 +45,10 @@ public class MaintenanceServiceImpl implements MaintenanceService {
     private final MaintenanceMapper maintenanceMapper;
     private final UserService userService;
     private final PdfGenerationService pdfGenerationService;
+    private final MaintenanceNumberGenerator maintenanceNumberGenerator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WarrantyService warrantyService;
+    private final MaintenanceQueueService maintenanceQueueService;
 
     @Override
     public MaintenanceRequestResponse createMaintenanceRequest(MaintenanceRequestCreate request, Long customerId) {
@@ -45,7 +57,7 @@ public class MaintenanceServiceImpl implements MaintenanceService {
         User customer = userService.findEntityById(customerId);
 
         MaintenanceRequest maintenanceRequest = MaintenanceRequest.builder()
-                .requestNumber(MaintenanceNumberGenerator.generateRequestNumber())
+                .requestNumber(maintenanceNumberGenerator.generateRequestNumber())
                 .customer(customer)
                 .deviceType(request.getDeviceType())
                 .deviceModel(request.getDeviceModel())
@@ -60,6 +72,9 @@ public class MaintenanceServiceImpl implements MaintenanceService {
         MaintenanceRequest savedRequest = maintenanceRequestRepository.save(maintenanceRequest);
         log.info("Maintenance request created with number: {}", savedRequest.getRequestNumber());
 
+        eventPublisher.publishEvent(new MaintenanceStatusChangedEvent(savedRequest.getId(), null, savedRequest.getStatus(),
+                customer.getId()));
+
         return maintenanceMapper.toResponse(savedRequest);
     }
 
@@ -92,13 +107,28 @@ public class MaintenanceServiceImpl implements MaintenanceService {
         return requests.map(maintenanceMapper::toResponse);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<MaintenanceRequestResponse> getAllMaintenanceRequestsByCursor(String cursor, int size) {
+        Slice<MaintenanceRequest> requests;
+        if (cursor == null || cursor.isBlank()) {
+            requests = maintenanceRequestRepository.findLatestFirst(CursorCodec.limit(size));
+        } else {
+            CursorCodec.Cursor position = CursorCodec.decode(cursor);
+            requests = maintenanceRequestRepository.findLatestBefore(position.sortKeyAsDateTime(), position.id(), CursorCodec.limit(size));
+        }
+        return CursorPageResponse.of(requests, maintenanceMapper::toResponse,
+                request -> CursorCodec.encode(request.getCreatedAt(), request.getId()));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<MaintenanceRequestResponse> getPendingRequests() {
-        List<MaintenanceRequest> requests = maintenanceRequestRepository.findPendingRequestsOrderByDate();
-        return requests.stream()
-                .map(maintenanceMapper::toResponse)
-                .toList();
+        // Served from the in-memory queue once it has loaded
+        return maintenanceQueueService.getPendingRequests()
+                .orElseGet(() -> maintenanceRequestRepository.findPendingRequestsOrderByDate().stream()
+                        .map(maintenanceMapper::toResponse)
+                        .toList());
     }
 
     @Override
@@ -108,9 +138,10 @@ public class MaintenanceServiceImpl implements MaintenanceService {
 
         MaintenanceRequest request = findEntityById(requestId);
 
-        // Check warranty coverage based on serial number and purchase date
-        boolean isWarrantyCovered = checkWarrantyCoverage(request.getSerialNumber());
+        // Registered at delivery with the product's warranty period, so this is one indexed lookup
+        boolean isWarrantyCovered = warrantyService.isCovered(request.getSerialNumber());
 
+        MaintenanceStatus previousStatus = request.getStatus();
         request.setStatus(MaintenanceStatus.APPROVED);
         request.setEstimatedCost(isWarrantyCovered ? BigDecimal.ZERO : estimatedCost);
         request.setAdminNotes(adminNotes);
@@ -120,6 +151,8 @@ public class MaintenanceServiceImpl implements MaintenanceService {
         MaintenanceRequest savedRequest = maintenanceRequestRepository.save(request);
         log.info("Maintenance request approved: {}", request.getRequestNumber());
 
+        publishStatusChange(savedRequest, previousStatus);
+
         return maintenanceMapper.toResponse(savedRequest);
     }
 
@@ -128,12 +161,15 @@ public class MaintenanceServiceImpl implements MaintenanceService {
         log.info("Rejecting maintenance request ID: {}", requestId);
 
         MaintenanceRequest request = findEntityById(requestId);
+        MaintenanceStatus previousStatus = request.getStatus();
         request.setStatus(MaintenanceStatus.REJECTED);
         request.setAdminNotes(reason);
 
         MaintenanceRequest savedRequest = maintenanceRequestRepository.save(request);
         log.info("Maintenance request rejected: {}", request.getRequestNumber());
 
+        publishStatusChange(savedRequest, previousStatus);
+
         return maintenanceMapper.toResponse(savedRequest);
     }
 
@@ -142,6 +178,7 @@ public class MaintenanceServiceImpl implements MaintenanceService {
         log.info("Updating maintenance request status for ID: {} to {}", requestId, status);
 
         MaintenanceRequest request = findEntityById(requestId);
+        MaintenanceStatus previousStatus = request.getStatus();
         request.setStatus(status);
 
         if (status == MaintenanceStatus.COMPLETED) {
@@ -151,6 +188,8 @@ public class MaintenanceServiceImpl implements MaintenanceService {
         MaintenanceRequest savedRequest = maintenanceRequestRepository.save(request);
         log.info("Maintenance request status updated: {}", request.getRequestNumber());
 
+        publishStatusChange(savedRequest, previousStatus);
+
         return maintenanceMapper.toResponse(savedRequest);
     }
 
@@ -171,6 +210,7 @@ public class MaintenanceServiceImpl implements MaintenanceService {
         MaintenanceTicket ticket = pdfGenerationService.createMaintenanceTicketRecord(request, pdfUrl);
 
         log.info("Maintenance ticket generated: {}", ticket.getTicketNumber());
+        eventPublisher.publishEvent(new MaintenanceRequestUpdatedEvent(request.getId()));
         return maintenanceMapper.toTicketResponse(ticket);
     }
 
@@ -185,10 +225,10 @@ public class MaintenanceServiceImpl implements MaintenanceService {
     @Override
     @Transactional(readOnly = true)
     public List<MaintenanceRequestResponse> getOverdueRequests() {
-        List<MaintenanceRequest> requests = maintenanceRequestRepository.findOverdueRequests(LocalDateTime.now());
-        return requests.stream()
-                .map(maintenanceMapper::toResponse)
-                .toList();
+        return maintenanceQueueService.getOverdueRequests()
+                .orElseGet(() -> maintenanceRequestRepository.findOverdueRequests(LocalDateTime.now()).stream()
+                        .map(maintenanceMapper::toResponse)
+                        .toList());
     }
 
     @Override
@@ -204,13 +244,12 @@ public class MaintenanceServiceImpl implements MaintenanceService {
                 .orElse(null);
     }
 
-    private boolean checkWarrantyCoverage(String serialNumber) {
-        // This would check against product warranty information
-        // For now, return false as placeholder
-        // In real implementation, you'd check:
-        // 1. Find product by serial number
-        // 2. Check purchase date
-        // 3. Compare with warranty period
-        return false;
+    private void publishStatusChange(MaintenanceRequest request, MaintenanceStatus previousStatus) {
+        if (previousStatus != request.getStatus()) {
+            eventPublisher.publishEvent(new MaintenanceStatusChangedEvent(request.getId(), previousStatus, request.getStatus(),
+                    request.getCustomer().getId()));
+        } else {
+            eventPublisher.publishEvent(new MaintenanceRequestUpdatedEvent(request.getId()));
+        }
     }
 }
@@ -1,25 +1,32 @@
 package com.smarttech.service.impl;
 
+import com.smarttech.dto.report.SalesTotals;
 import com.smarttech.dto.request.OrderCreateRequest;
+import com.smarttech.dto.response.CursorPageResponse;
 import com.smarttech.dto.response.OrderResponse;
 import com.smarttech.entity.Order;
 import com.smarttech.entity.OrderItem;
 import com.smarttech.entity.Product;
 import com.smarttech.entity.User;
 import com.smarttech.enums.OrderStatus;
-import com.smarttech.exception.InsufficientStockException;
+import com.smarttech.event.OrderStatusChangedEvent;
 import com.smarttech.exception.ResourceNotFoundException;
 import com.smarttech.mapper.OrderMapper;
 import com.smarttech.repository.OrderRepository;
 import com.smarttech.service.OrderService;
 import com.smarttech.service.ProductService;
+import com.smarttech.service.SalesRollupService;
+import com.smarttech.service.StockReservationService;
 import com.smarttech.service.UserService;
+import com.smarttech.util.CursorCodec;
 import com.smarttech.util.OrderNumberGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -39,6 +46,10 @@ public class OrderServiceImpl implements OrderService {
     private final OrderMapper orderMapper;
     private final UserService userService;
     private final ProductService productService;
+    private final StockReservationService stockReservationService;
+    private final OrderNumberGenerator orderNumberGenerator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SalesRollupService salesRollupService;
 
     @Value("${business.vat-rate}")
     private BigDecimal vatRate;
@@ -49,16 +60,9 @@ public class OrderServiceImpl implements OrderService {
 
         User customer = userService.findEntityById(customerId);
 
-        // Validate stock availability
-        for (OrderCreateRequest.OrderItemRequest itemRequest : request.getItems()) {
-            if (!productService.isProductAvailable(itemRequest.getProductId(), itemRequest.getQuantity())) {
-                throw new InsufficientStockException("Insufficient stock for product ID: " + itemRequest.getProductId());
-            }
-        }
-
         // Create order
         Order order = Order.builder()
-                .orderNumber(OrderNumberGenerator.generate())
+                .orderNumber(orderNumberGenerator.generate())
                 .customer(customer)
                 .status(OrderStatus.PENDING)
                 .shippingAddress(request.getShippingAddress())
@@ -98,23 +102,31 @@ public class OrderServiceImpl implements OrderService {
         order.setVatAmount(vatAmount);
         order.setTotalAmount(totalAmountInclusiveVAT);
 
+        // Reserve stock atomically; throws InsufficientStockException and rolls back the order if any line is short
+        stockReservationService.reserveStock(order);
+
         Order savedOrder = orderRepository.save(order);
         log.info("Order created successfully with number: {}", savedOrder.getOrderNumber());
 
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(savedOrder.getId(), null, savedOrder.getStatus(),
+                savedOrder.getTotalAmount(), savedOrder.getCreatedAt(), savedOrder.getCustomer().getId()));
+
         return orderMapper.toResponse(savedOrder);
     }
 
     @Override
     @Transactional(readOnly = true)
     public OrderResponse getOrderById(Long id) {
-        Order order = findEntityById(id);
+        Order order = orderRepository.findWithDetailsById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with ID: " + id));
         return orderMapper.toResponse(order);
     }
 
     @Override
     @Transactional(readOnly = true)
     public OrderResponse getOrderByNumber(String orderNumber) {
-        Order order = findEntityByOrderNumber(orderNumber);
+        Order order = orderRepository.findWithDetailsByOrderNumber(orderNumber)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with number: " + orderNumber));
         return orderMapper.toResponse(order);
     }
 
@@ -132,25 +144,44 @@ public class OrderServiceImpl implements OrderService {
         return orders.map(orderMapper::toResponse);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<OrderResponse> getAllOrdersByCursor(String cursor, int size) {
+        Slice<Order> orders;
+        if (cursor == null || cursor.isBlank()) {
+            orders = orderRepository.findLatestFirst(CursorCodec.limit(size));
+        } else {
+            CursorCodec.Cursor position = CursorCodec.decode(cursor);
+            orders = orderRepository.findLatestBefore(position.sortKeyAsDateTime(), position.id(), CursorCodec.limit(size));
+        }
+        return CursorPageResponse.of(orders, orderMapper::toResponse,
+                order -> CursorCodec.encode(order.getCreatedAt(), order.getId()));
+    }
+
     @Override
     public OrderResponse updateOrderStatus(Long orderId, OrderStatus status) {
         log.info("Updating order status for ID: {} to {}", orderId, status);
 
         Order order = findEntityById(orderId);
-        order.setStatus(status);
-
-        // Update stock when order is confirmed
-        if (status == OrderStatus.CONFIRMED) {
-            for (OrderItem item : order.getOrderItems()) {
-                Product product = item.getProduct();
-                int newStock = product.getStockQuantity() - item.getQuantity();
-                productService.updateStock(product.getId(), newStock);
-            }
+        OrderStatus previousStatus = order.getStatus();
+
+        if (status == OrderStatus.CONFIRMED && !order.isStockReserved()) {
+            // Stock is normally reserved at creation; this covers orders whose reservation was released.
+            // A shortfall propagates, so the order is never confirmed without its stock
+            stockReservationService.reserveStock(order);
+        } else if (status == OrderStatus.PAYMENT_FAILED || status == OrderStatus.CANCELLED) {
+            stockReservationService.releaseStock(order);
         }
+        order.setStatus(status);
 
         Order savedOrder = orderRepository.save(order);
         log.info("Order status updated successfully for ID: {}", orderId);
 
+        if (previousStatus != status) {
+            eventPublisher.publishEvent(new OrderStatusChangedEvent(orderId, previousStatus, status,
+                    savedOrder.getTotalAmount(), savedOrder.getCreatedAt(), savedOrder.getCustomer().getId()));
+        }
+
         return orderMapper.toResponse(savedOrder);
     }
 
@@ -166,8 +197,9 @@ public class OrderServiceImpl implements OrderService {
     @Override
     @Transactional(readOnly = true)
     public BigDecimal getTotalRevenueForPeriod(LocalDateTime startDate, LocalDateTime endDate) {
-        BigDecimal revenue = orderRepository.getTotalRevenueForPeriod(startDate, endDate);
-        return revenue != null ? revenue : BigDecimal.ZERO;
+        return salesRollupService.summarize(startDate, endDate)
+                .getOrDefault(OrderStatus.DELIVERED, SalesTotals.EMPTY)
+                .totalAmount();
     }
 
     @Override
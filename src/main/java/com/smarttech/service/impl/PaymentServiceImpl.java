@@ -7,26 +7,34 @@ import com.smarttech.entity.Payment;
 import com.smarttech.enums.OrderStatus;
 import com.smarttech.enums.PaymentMethod;
 import com.smarttech.enums.PaymentStatus;
+import com.smarttech.event.PaymentSuccessEvent;
+import com.smarttech.exception.InsufficientStockException;
 import com.smarttech.exception.PaymentException;
+import com.smarttech.exception.ProviderUnavailableException;
 import com.smarttech.exception.ResourceNotFoundException;
 import com.smarttech.mapper.PaymentMapper;
+import com.smarttech.repository.OrderRepository;
 import com.smarttech.repository.PaymentRepository;
 import com.smarttech.service.ChapaService;
 import com.smarttech.service.OrderService;
 import com.smarttech.service.PaymentService;
+import com.smarttech.service.StockReservationService;
 import com.smarttech.service.UserService;
+import com.smarttech.util.OrderNumberGenerator;
 import com.yaphet.chapa.model.InitializeResponseData;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -34,11 +42,20 @@ import java.util.concurrent.ThreadLocalRandom;
 @Transactional
 public class PaymentServiceImpl implements PaymentService {
 
+    // Payment outcomes only move orders that are still waiting to be paid
+    private static final Set<OrderStatus> UNPAID_STATUSES =
+            EnumSet.of(OrderStatus.PENDING, OrderStatus.PAYMENT_PENDING, OrderStatus.PAYMENT_FAILED);
+
     private final PaymentRepository paymentRepository;
+    private final OrderRepository orderRepository;
     private final PaymentMapper paymentMapper;
     private final OrderService orderService;
+    private final StockReservationService stockReservationService;
     private final UserService userService;
     private final ChapaService chapaService;
+    private final OrderNumberGenerator orderNumberGenerator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     @Value("${server.servlet.context-path:/api/v1}")
     private String contextPath;
@@ -46,10 +63,46 @@ public class PaymentServiceImpl implements PaymentService {
     @Value("${server.port:8080}")
     private String serverPort;
 
+    // Runs outside a transaction so no database connection is held during the gateway call
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public InitializeResponseData initializePayment(Long orderId) {
         log.info("Initializing payment for order ID: {}", orderId);
 
+        PaymentRequestDTO paymentRequest = transactionTemplate.execute(status -> createPendingPayment(orderId));
+        String paymentReference = paymentRequest.getTxRef();
+
+        InitializeResponseData response;
+        try {
+            response = chapaService.initializePayment(paymentRequest);
+        } catch (Exception e) {
+            log.error("Failed to initialize payment with reference: {}", paymentReference, e);
+            transactionTemplate.executeWithoutResult(status -> {
+                Payment payment = findEntityByReference(paymentReference);
+                payment.setStatus(PaymentStatus.FAILED);
+                payment.setFailureReason("Payment initialization failed: " + e.getMessage());
+                paymentRepository.save(payment);
+            });
+            if (e instanceof ProviderUnavailableException unavailable) {
+                throw unavailable;
+            }
+            throw new PaymentException("Failed to initialize payment", e);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Payment payment = findEntityByReference(paymentReference);
+            payment.setChapaReference(paymentReference);
+            if (response != null && response.getData() != null) {
+                payment.setCheckoutUrl(response.getData().getCheckOutUrl());
+            }
+            paymentRepository.save(payment);
+        });
+
+        log.info("Payment initialized successfully for order ID: {} with reference: {}", orderId, paymentReference);
+        return response;
+    }
+
+    private PaymentRequestDTO createPendingPayment(Long orderId) {
         Order order = orderService.findEntityById(orderId);
 
         // Check if order is already paid
@@ -58,7 +111,7 @@ public class PaymentServiceImpl implements PaymentService {
         }
 
         // Generate unique payment reference
-        String paymentReference = generatePaymentReference(order.getOrderNumber());
+        String paymentReference = orderNumberGenerator.generatePaymentReference(order.getOrderNumber());
 
         // Create payment record
         Payment payment = Payment.builder()
@@ -79,47 +132,48 @@ public class PaymentServiceImpl implements PaymentService {
         paymentRequest.setEmail(order.getCustomer().getEmail());
         paymentRequest.setTxRef(paymentReference); // Use our generated reference
         paymentRequest.setCallbackUrl("http://localhost:" + serverPort + contextPath + "/webhooks/chapa/payment");
-
-        try {
-            InitializeResponseData response = chapaService.initializePayment(paymentRequest);
-
-
-                payment.setChapaReference(paymentReference);
-
-            paymentRepository.save(payment);
-
-            log.info("Payment initialized successfully for order: {} with reference: {}",
-                    order.getOrderNumber(), paymentReference);
-            return response;
-
-        } catch (Exception e) {
-            log.error("Failed to initialize payment for order: {}", order.getOrderNumber(), e);
-            payment.setStatus(PaymentStatus.FAILED);
-            payment.setFailureReason("Payment initialization failed: " + e.getMessage());
-            paymentRepository.save(payment);
-            throw new PaymentException("Failed to initialize payment", e);
-        }
+        return paymentRequest;
     }
 
     @Override
     public PaymentResponse processPaymentSuccess(String paymentReference, String webhookData) {
         log.info("Processing successful payment for reference: {}", paymentReference);
 
-        Payment payment = findEntityByReference(paymentReference);
+        // Row lock serialises concurrent deliveries for the same payment
+        Payment payment = findEntityByReferenceForUpdate(paymentReference);
+        if (payment.getStatus() == PaymentStatus.SUCCESS || payment.getStatus() == PaymentStatus.REFUNDED) {
+            log.info("Payment {} is already {}, skipping", paymentReference, payment.getStatus());
+            return paymentMapper.toResponse(payment);
+        }
+
         payment.setStatus(PaymentStatus.SUCCESS);
         payment.setPaymentMethod(PaymentMethod.CHAPA_BANK_TRANSFER);
         payment.setWebhookData(webhookData);
+        payment.setFailureReason(null);
 
         Payment savedPayment = paymentRepository.save(payment);
 
-        // Update order status
-        if (isOrderFullyPaid(payment.getOrder().getId())) {
-            orderService.updateOrderStatus(payment.getOrder().getId(), OrderStatus.CONFIRMED);
+        // Order row lock serialises this against other payments for the same order
+        Long orderId = payment.getOrder().getId();
+        Order order = findOrderForUpdate(orderId);
+
+        // Atomic increment, so concurrent partial payments can't lose each other's amounts
+        if (orderRepository.addPaidAmount(orderId, payment.getAmount()) == 0) {
+            // Order predates paid_amount: initialise it from the payments, including this one
+            orderRepository.recalculatePaidAmount(orderId);
+        }
+
+        // Every settled payment counts towards the customer's tier, including partial ones
+        userService.recordPurchase(order.getCustomer().getId(), payment.getAmount());
 
-            // Update customer tier based on total purchases
-            updateCustomerTier(payment.getOrder().getCustomer().getId());
+        // Update order status
+        if (isOrderFullyPaid(orderId)) {
+            confirmPaidOrder(order);
         }
 
+        // Email and invoice are sent by the listener once this transaction commits
+        eventPublisher.publishEvent(new PaymentSuccessEvent(paymentReference, webhookData));
+
         log.info("Payment processed successfully for reference: {}", paymentReference);
         return paymentMapper.toResponse(savedPayment);
     }
@@ -128,14 +182,24 @@ public class PaymentServiceImpl implements PaymentService {
     public PaymentResponse processPaymentFailure(String paymentReference, String reason) {
         log.info("Processing failed payment for reference: {}", paymentReference);
 
-        Payment payment = findEntityByReference(paymentReference);
+        Payment payment = findEntityByReferenceForUpdate(paymentReference);
+        if (payment.getStatus() != PaymentStatus.PENDING && payment.getStatus() != PaymentStatus.PROCESSING) {
+            log.info("Payment {} is already {}, ignoring failure notification", paymentReference, payment.getStatus());
+            return paymentMapper.toResponse(payment);
+        }
+
         payment.setStatus(PaymentStatus.FAILED);
         payment.setFailureReason(reason);
 
         Payment savedPayment = paymentRepository.save(payment);
 
-        // Update order status
-        orderService.updateOrderStatus(payment.getOrder().getId(), OrderStatus.PAYMENT_FAILED);
+        // A late or duplicate failure must not undo an order another payment has already confirmed
+        Order order = findOrderForUpdate(payment.getOrder().getId());
+        if (UNPAID_STATUSES.contains(order.getStatus())) {
+            orderService.updateOrderStatus(order.getId(), OrderStatus.PAYMENT_FAILED);
+        } else {
+            log.info("Order {} is already {}, leaving it unchanged", order.getOrderNumber(), order.getStatus());
+        }
 
         log.info("Payment failure processed for reference: {}", paymentReference);
         return paymentMapper.toResponse(savedPayment);
@@ -160,14 +224,13 @@ public class PaymentServiceImpl implements PaymentService {
     @Override
     @Transactional(readOnly = true)
     public boolean isOrderFullyPaid(Long orderId) {
-        List<Payment> payments = paymentRepository.findByOrderId(orderId);
-        BigDecimal totalPaid = payments.stream()
-                .filter(p -> p.getStatus() == PaymentStatus.SUCCESS)
-                .map(Payment::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        OrderRepository.PaymentTotals totals = orderRepository.findPaymentTotalsById(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with ID: " + orderId));
 
-        Order order = orderService.findEntityById(orderId);
-        return totalPaid.compareTo(order.getTotalAmount()) >= 0;
+        BigDecimal paidAmount = totals.getPaidAmount() != null
+                ? totals.getPaidAmount()
+                : paymentRepository.sumSuccessfulAmountByOrderId(orderId);
+        return paidAmount.compareTo(totals.getTotalAmount()) >= 0;
     }
 
     @Override
@@ -177,23 +240,28 @@ public class PaymentServiceImpl implements PaymentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Payment not found with reference: " + paymentReference));
     }
 
-    /**
-     * Generate a unique payment reference
-     * Format: ST_PAY_YYYYMMDD_ORDERNUM_RANDOM
-     */
-    private String generatePaymentReference(String orderNumber) {
-        String dateStr = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        String randomStr = String.format("%04d", ThreadLocalRandom.current().nextInt(1000, 9999));
-        return String.format("ST_PAY_%s_%s_%s", dateStr, orderNumber, randomStr);
-    }
-
-    private void updateCustomerTier(Long customerId) {
+    private void confirmPaidOrder(Order order) {
+        if (!UNPAID_STATUSES.contains(order.getStatus())) {
+            return;
+        }
+        // Reserved here so a shortfall leaves the order unconfirmed without rolling back the settled payment
         try {
-            // Calculate total successful payments for customer
-            // This would be implemented based on your business logic
-            userService.updateCustomerTier(customerId, BigDecimal.ZERO); // Placeholder
-        } catch (Exception e) {
-            log.error("Failed to update customer tier for customer ID: {}", customerId, e);
+            stockReservationService.reserveStock(order);
+        } catch (InsufficientStockException e) {
+            log.error("Order {} is fully paid but its stock is gone; leaving it {} for refund or backorder: {}",
+                    order.getOrderNumber(), order.getStatus(), e.getMessage());
+            return;
         }
+        orderService.updateOrderStatus(order.getId(), OrderStatus.CONFIRMED);
+    }
+
+    private Order findOrderForUpdate(Long orderId) {
+        return orderRepository.findByIdForUpdate(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with ID: " + orderId));
+    }
+
+    private Payment findEntityByReferenceForUpdate(String paymentReference) {
+        return paymentRepository.findByPaymentReferenceForUpdate(paymentReference)
+                .orElseThrow(() -> new ResourceNotFoundException("Payment not found with reference: " + paymentReference));
     }
 }
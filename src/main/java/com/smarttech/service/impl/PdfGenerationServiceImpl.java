@@ -38,6 +38,7 @@ public class PdfGenerationServiceImpl implements PdfGenerationService {
     private final StorageProperties storageProperties;
     private final InvoiceRepository invoiceRepository;
     private final MaintenanceTicketRepository maintenanceTicketRepository;
+    private final MaintenanceNumberGenerator maintenanceNumberGenerator;
 
     @Value("${business.name}")
     private String businessName;
@@ -156,7 +157,7 @@ public class PdfGenerationServiceImpl implements PdfGenerationService {
 
     @Override
     public MaintenanceTicket createMaintenanceTicketRecord(MaintenanceRequest maintenanceRequest, String pdfUrl) {
-        String ticketNumber = MaintenanceNumberGenerator.generateTicketNumber();
+        String ticketNumber = maintenanceNumberGenerator.generateTicketNumber();
 
         MaintenanceTicket ticket = MaintenanceTicket.builder()
                 .ticketNumber(ticketNumber)
@@ -302,7 +303,7 @@ public class PdfGenerationServiceImpl implements PdfGenerationService {
         // Generate ticket number if not exists
         String ticketNumber = request.getMaintenanceTicket() != null ?
                 request.getMaintenanceTicket().getTicketNumber() :
-                MaintenanceNumberGenerator.generateTicketNumber();
+                maintenanceNumberGenerator.generateTicketNumber();
 
         PdfPTable detailsTable = new PdfPTable(2);
         detailsTable.setWidthPercentage(100);
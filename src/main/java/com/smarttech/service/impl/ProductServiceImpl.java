@@ -1,25 +1,42 @@
 package com.smarttech.service.impl;
 
+import com.smarttech.config.CacheConfig;
 import com.smarttech.dto.request.ProductCreateRequest;
+import com.smarttech.dto.response.CursorPageResponse;
 import com.smarttech.dto.response.ProductResponse;
 import com.smarttech.entity.Category;
 import com.smarttech.entity.Product;
 import com.smarttech.enums.ProductStatus;
+import com.smarttech.event.ProductChangedEvent;
+import com.smarttech.event.StockChangedEvent;
 import com.smarttech.exception.InsufficientStockException;
 import com.smarttech.exception.ResourceNotFoundException;
 import com.smarttech.mapper.ProductMapper;
 import com.smarttech.repository.CategoryRepository;
 import com.smarttech.repository.ProductRepository;
+import com.smarttech.search.ProductSearchIndex;
+import com.smarttech.service.HotStockService;
+import com.smarttech.util.AfterTransaction;
+import com.smarttech.util.CursorCodec;
 import com.smarttech.service.ProductService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -30,6 +47,9 @@ public class ProductServiceImpl implements ProductService {
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final ProductMapper productMapper;
+    private final ProductSearchIndex productSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HotStockService hotStockService;
 
     @Override
     public ProductResponse createProduct(ProductCreateRequest request) {
@@ -53,12 +73,15 @@ public class ProductServiceImpl implements ProductService {
 
         Product savedProduct = productRepository.save(product);
         log.info("Product created successfully with ID: {}", savedProduct.getId());
+        eventPublisher.publishEvent(new ProductChangedEvent(savedProduct.getId(), ProductChangedEvent.ChangeType.CREATED));
+        eventPublisher.publishEvent(new StockChangedEvent(List.of(savedProduct.getId())));
 
         return productMapper.toResponse(savedProduct);
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS, key = "#id")
     public ProductResponse getProductById(Long id) {
         Product product = findEntityById(id);
         return productMapper.toResponse(product);
@@ -71,6 +94,20 @@ public class ProductServiceImpl implements ProductService {
         return products.map(productMapper::toResponse);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ProductResponse> getAllProductsByCursor(String cursor, int size) {
+        Slice<Product> products;
+        if (cursor == null || cursor.isBlank()) {
+            products = productRepository.findAvailableProductsFirst(CursorCodec.limit(size));
+        } else {
+            CursorCodec.Cursor position = CursorCodec.decode(cursor);
+            products = productRepository.findAvailableProductsAfter(position.sortKey(), position.id(), CursorCodec.limit(size));
+        }
+        return CursorPageResponse.of(products, productMapper::toResponse,
+                product -> CursorCodec.encode(product.getName(), product.getId()));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<ProductResponse> getProductsByCategory(Long categoryId, Pageable pageable) {
@@ -81,8 +118,25 @@ public class ProductServiceImpl implements ProductService {
     @Override
     @Transactional(readOnly = true)
     public Page<ProductResponse> searchProducts(String keyword, Pageable pageable) {
-        Page<Product> products = productRepository.searchProducts(keyword, pageable);
-        return products.map(productMapper::toResponse);
+        if (!productSearchIndex.isReady()) {
+            log.debug("Product search index not ready yet, falling back to database search");
+            Page<Product> products = productRepository.searchProducts(keyword, pageable);
+            return products.map(productMapper::toResponse);
+        }
+
+        ProductSearchIndex.SearchResult result =
+                productSearchIndex.search(keyword, (int) pageable.getOffset(), pageable.getPageSize());
+
+        // findAllById does not preserve order, so re-apply the ranking from the index
+        Map<Long, Product> productsById = productRepository.findAllById(result.getProductIds()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<ProductResponse> content = result.getProductIds().stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .map(productMapper::toResponse)
+                .toList();
+
+        return new PageImpl<>(content, pageable, result.getTotalHits());
     }
 
     @Override
@@ -93,6 +147,7 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#id")
     public ProductResponse updateProduct(Long id, ProductCreateRequest request) {
         log.info("Updating product with ID: {}", id);
 
@@ -109,20 +164,32 @@ public class ProductServiceImpl implements ProductService {
         product.setMinStockLevel(request.getMinStockLevel());
         product.setImageUrls(request.getImageUrls());
         product.setCategory(category);
+        if (product.isFlashSale()) {
+            int stock = request.getStockQuantity();
+            AfterTransaction.onCommit(() -> hotStockService.setStock(id, stock));
+        }
 
         Product savedProduct = productRepository.save(product);
         log.info("Product updated successfully with ID: {}", savedProduct.getId());
+        eventPublisher.publishEvent(new ProductChangedEvent(savedProduct.getId(), ProductChangedEvent.ChangeType.UPDATED));
+        eventPublisher.publishEvent(new StockChangedEvent(List.of(id)));
 
         return productMapper.toResponse(savedProduct);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#id")
     public void deleteProduct(Long id) {
         log.info("Deleting product with ID: {}", id);
         Product product = findEntityById(id);
         product.setStatus(ProductStatus.DISCONTINUED);
+        if (product.isFlashSale()) {
+            disableFlashSale(product);
+        }
         productRepository.save(product);
         log.info("Product marked as discontinued with ID: {}", id);
+        eventPublisher.publishEvent(new ProductChangedEvent(id, ProductChangedEvent.ChangeType.DELETED));
+        eventPublisher.publishEvent(new StockChangedEvent(List.of(id)));
     }
 
     @Override
@@ -135,11 +202,15 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#productId")
     public ProductResponse updateStock(Long productId, Integer quantity) {
         log.info("Updating stock for product ID: {} with quantity: {}", productId, quantity);
 
         Product product = findEntityById(productId);
         product.setStockQuantity(quantity);
+        if (product.isFlashSale()) {
+            AfterTransaction.onCommit(() -> hotStockService.setStock(productId, quantity));
+        }
 
         if (quantity <= 0) {
             product.setStatus(ProductStatus.OUT_OF_STOCK);
@@ -149,10 +220,49 @@ public class ProductServiceImpl implements ProductService {
 
         Product savedProduct = productRepository.save(product);
         log.info("Stock updated successfully for product ID: {}", productId);
+        eventPublisher.publishEvent(new StockChangedEvent(List.of(productId)));
 
         return productMapper.toResponse(savedProduct);
     }
 
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#productId")
+    public ProductResponse setFlashSale(Long productId, boolean enabled) {
+        log.info("Setting flash-sale mode for product ID: {} to {}", productId, enabled);
+
+        // The row lock keeps database reservations out while stock moves between the database and Redis
+        Product product = productRepository.findByIdForUpdate(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + productId));
+
+        if (enabled && !product.isFlashSale()) {
+            product.setFlashSale(true);
+            // Seeded only once committed; until then database reservations are held off by the row lock,
+            // and afterwards they are refused because the row is marked flash-sale
+            int stock = product.getStockQuantity();
+            AfterTransaction.onCommit(() -> hotStockService.enable(productId, stock));
+        } else if (!enabled && product.isFlashSale()) {
+            disableFlashSale(product);
+        }
+
+        Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(new StockChangedEvent(List.of(productId)));
+        return productMapper.toResponse(savedProduct);
+    }
+
+    private void disableFlashSale(Product product) {
+        Long productId = product.getId();
+        Integer remaining = hotStockService.disable(productId);
+        if (remaining != null) {
+            // The counter has to be taken before the row is updated, so put it back if the update does not commit
+            AfterTransaction.onRollback(() -> hotStockService.enable(productId, remaining));
+            product.setStockQuantity(remaining);
+            if (remaining <= 0 && product.getStatus() == ProductStatus.ACTIVE) {
+                product.setStatus(ProductStatus.OUT_OF_STOCK);
+            }
+        }
+        product.setFlashSale(false);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Product findEntityById(Long id) {
@@ -0,0 +1,327 @@
+package com.smarttech.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smarttech.config.StorageProperties;
+import com.smarttech.dto.response.ReportJobResponse;
+import com.smarttech.entity.ReportJob;
+import com.smarttech.enums.ReportJobStatus;
+import com.smarttech.enums.ReportJobType;
+import com.smarttech.exception.ResourceNotFoundException;
+import com.smarttech.repository.OrderRepository;
+import com.smarttech.repository.ReportJobRepository;
+import com.smarttech.service.AnalyticsService;
+import com.smarttech.service.EmailService;
+import com.smarttech.service.ReportJobService;
+import com.smarttech.service.StorageService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Durable report jobs. Submitting records a queued job and returns at once;
+ * {@link com.smarttech.scheduler.ReportJobWorker} claims and runs it on a bounded pool. Identical submissions
+ * share one queued or running job, and a finished artifact is served again until the reported period's orders change.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class ReportJobServiceImpl implements ReportJobService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final int PURGE_BATCH_SIZE = 100;
+    private static final String XLSX_CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+    private static final String JSON_CONTENT_TYPE = "application/json";
+
+    private final ReportJobRepository reportJobRepository;
+    private final OrderRepository orderRepository;
+    private final AnalyticsService analyticsService;
+    private final StorageService storageService;
+    private final StorageProperties storageProperties;
+    private final EmailService emailService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.report-jobs.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.report-jobs.heartbeat-timeout:10m}")
+    private Duration heartbeatTimeout;
+
+    @Value("${app.report-jobs.retention:30d}")
+    private Duration retention;
+
+    // Progress and heartbeats are written from inside the export's read-only transaction and must commit on their own
+    private TransactionTemplate progressTransactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        progressTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        progressTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ReportJobResponse submitMonthlyTaxReport(int year, int month, String notifyEmail) {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        // Scheduled runs always generate afresh, since the email needs the file itself
+        return submit(ReportJobType.MONTHLY_TAX_REPORT, yearMonth.toString(),
+                yearMonth.atDay(1).atStartOfDay(), yearMonth.plusMonths(1).atDay(1).atStartOfDay(), notifyEmail);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ReportJobResponse submitSalesReport(LocalDateTime startDate, LocalDateTime endDate) {
+        // The report range is inclusive of endDate; a slightly wider version range only costs an extra regeneration
+        return submit(ReportJobType.SALES_REPORT, startDate + "/" + endDate, startDate, endDate.plusSeconds(1), null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReportJobResponse getJob(Long id) {
+        return toResponse(findEntityById(id), false);
+    }
+
+    // No transaction, so no connection is held while storage opens the object
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public InputStream openArtifact(Long id) {
+        ReportJob job = findEntityById(id);
+        if (job.getStatus() != ReportJobStatus.COMPLETED || job.getStorageKey() == null) {
+            throw new ResourceNotFoundException("No report file for job ID: " + id);
+        }
+        return storageService.openPrivate(job.getStorageKey());
+    }
+
+    @Override
+    public List<Long> claimDue(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime staleBefore = now.minus(heartbeatTimeout);
+
+        int abandoned = reportJobRepository.failAbandoned(now, staleBefore, maxAttempts);
+        if (abandoned > 0) {
+            log.warn("Marked {} abandoned report job(s) as failed", abandoned);
+        }
+
+        List<Long> claimed = new ArrayList<>();
+        for (Long id : reportJobRepository.findDueIds(staleBefore, maxAttempts, PageRequest.of(0, limit))) {
+            // Conditional update, so only one worker or node wins each job
+            if (reportJobRepository.claim(id, now, staleBefore, maxAttempts) == 1) {
+                claimed.add(id);
+            }
+        }
+        return claimed;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void run(Long id) {
+        ReportJob job = findEntityById(id);
+        if (job.getStatus() != ReportJobStatus.RUNNING) {
+            return;
+        }
+        log.info("Running report job {} ({} {})", id, job.getType(), job.getParameters());
+        long start = System.currentTimeMillis();
+
+        String fileName;
+        String contentType;
+        Path file = null;
+        try {
+            switch (job.getType()) {
+                case MONTHLY_TAX_REPORT -> {
+                    YearMonth yearMonth = YearMonth.parse(job.getParameters());
+                    fileName = String.format("Monthly_Tax_Report_%d_%02d.xlsx", yearMonth.getYear(), yearMonth.getMonthValue());
+                    contentType = XLSX_CONTENT_TYPE;
+                    file = Files.createTempFile("report-job-" + id + "-", ".xlsx");
+                    writeTaxReport(job, yearMonth, file);
+                }
+                case SALES_REPORT -> {
+                    String[] range = job.getParameters().split("/");
+                    LocalDateTime startDate = LocalDateTime.parse(range[0]);
+                    LocalDateTime endDate = LocalDateTime.parse(range[1]);
+                    fileName = String.format("Sales_Report_%s_%s.json", startDate.toLocalDate(), endDate.toLocalDate());
+                    contentType = JSON_CONTENT_TYPE;
+                    file = Files.createTempFile("report-job-" + id + "-", ".json");
+                    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+                        objectMapper.writeValue(out, analyticsService.getSalesReport(startDate, endDate));
+                    }
+                }
+                default -> throw new IllegalStateException("Unsupported report job type: " + job.getType());
+            }
+
+            // Tax reports are admin-only, so the key must not be guessable from the job ID or period
+            String folder = storageProperties.getFolders().getOrDefault("reports", "reports");
+            String storageKey = folder + "/" + UUID.randomUUID() + fileName.substring(fileName.lastIndexOf('.'));
+            storageService.uploadPrivate(file, storageKey, contentType);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                ReportJob finished = findEntityById(id);
+                finished.setStatus(ReportJobStatus.COMPLETED);
+                finished.setProgress(100);
+                finished.setFileName(fileName);
+                finished.setStorageKey(storageKey);
+                finished.setActiveKey(null);
+                finished.setLastError(null);
+                finished.setCompletedAt(LocalDateTime.now());
+                reportJobRepository.save(finished);
+            });
+            log.info("Report job {} completed in {} ms", id, System.currentTimeMillis() - start);
+
+            // Re-read, since a scheduled submission may have attached a recipient while the job ran
+            String notifyEmail = findEntityById(id).getNotifyEmail();
+            if (notifyEmail != null && job.getType() == ReportJobType.MONTHLY_TAX_REPORT) {
+                YearMonth yearMonth = YearMonth.parse(job.getParameters());
+                emailService.sendMonthlyReport(notifyEmail, file.toFile(), yearMonth.getMonth() + " " + yearMonth.getYear());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to write report for job " + id, e);
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    @Override
+    public void recordFailure(Long id, Exception error) {
+        ReportJob job = findEntityById(id);
+        String message = error.getClass().getSimpleName() + ": " + error.getMessage();
+        job.setStatus(ReportJobStatus.FAILED);
+        job.setLastError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+        job.setActiveKey(null);
+        job.setCompletedAt(LocalDateTime.now());
+        reportJobRepository.save(job);
+        log.error("Report job {} ({} {}) failed", id, job.getType(), job.getParameters(), error);
+    }
+
+    @Override
+    public int purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        List<ReportJob> expired = reportJobRepository.findFinishedBefore(cutoff, PageRequest.of(0, PURGE_BATCH_SIZE));
+        for (ReportJob job : expired) {
+            if (job.getStorageKey() != null) {
+                try {
+                    storageService.deletePrivate(job.getStorageKey());
+                } catch (Exception e) {
+                    log.warn("Failed to delete artifact of report job {}: {}", job.getId(), e.getMessage());
+                }
+            }
+        }
+        reportJobRepository.deleteAll(expired);
+        return expired.size();
+    }
+
+    private ReportJobResponse submit(ReportJobType type, String parameters, LocalDateTime startDate,
+                                     LocalDateTime endDate, String notifyEmail) {
+        String dataVersion = dataVersion(startDate, endDate);
+
+        if (notifyEmail == null) {
+            ReportJob cached = reportJobRepository
+                    .findFirstByTypeAndParametersAndDataVersionAndStatusAndStorageKeyIsNotNullOrderByCompletedAtDesc(
+                            type, parameters, dataVersion, ReportJobStatus.COMPLETED)
+                    .orElse(null);
+            if (cached != null) {
+                return toResponse(cached, true);
+            }
+        }
+
+        String activeKey = type.name() + ":" + parameters;
+        // A job can finish between the ignored insert and the lookup, so try once more with a fresh insert
+        for (int attempt = 0; attempt < 2; attempt++) {
+            Integer inserted = transactionTemplate.execute(status -> reportJobRepository.insertIfAbsent(
+                    type.name(), parameters, activeKey, dataVersion, notifyEmail, LocalDateTime.now()));
+            ReportJob job = reportJobRepository.findByActiveKey(activeKey).orElse(null);
+            if (job == null) {
+                continue;
+            }
+            if (inserted != null && inserted > 0) {
+                log.info("Queued report job {} ({} {})", job.getId(), type, parameters);
+            } else {
+                log.info("Joined running report job {} ({} {})", job.getId(), type, parameters);
+                if (notifyEmail != null) {
+                    transactionTemplate.executeWithoutResult(status ->
+                            reportJobRepository.setNotifyEmailIfAbsent(job.getId(), notifyEmail));
+                }
+            }
+            return toResponse(job, false);
+        }
+        throw new IllegalStateException("Could not submit report job " + activeKey);
+    }
+
+    private void writeTaxReport(ReportJob job, YearMonth yearMonth, Path file) throws IOException {
+        Long delivered = orderRepository.findDataVersion(yearMonth.atDay(1).atStartOfDay(),
+                yearMonth.plusMonths(1).atDay(1).atStartOfDay()).getDeliveredCount();
+        long totalRows = delivered != null ? delivered : 0;
+        transactionTemplate.executeWithoutResult(status -> {
+            ReportJob running = findEntityById(job.getId());
+            running.setTotalRows(totalRows);
+            reportJobRepository.save(running);
+        });
+
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            analyticsService.writeMonthlyTaxReport(yearMonth.getYear(), yearMonth.getMonthValue(), out, rows -> {
+                // Capped below 100 until the file is stored; the row count is an estimate taken before the export
+                int progress = totalRows > 0 ? (int) Math.min(99, rows * 100 / totalRows) : 0;
+                progressTransactionTemplate.executeWithoutResult(status ->
+                        reportJobRepository.updateProgress(job.getId(), rows, progress, LocalDateTime.now()));
+            });
+        }
+    }
+
+    private String dataVersion(LocalDateTime startDate, LocalDateTime endDate) {
+        OrderRepository.DataVersion version = orderRepository.findDataVersion(startDate, endDate);
+        return version.getOrderCount() + "@" + (version.getLastUpdatedAt() != null ? version.getLastUpdatedAt() : "-");
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete temporary report file {}", file, e);
+        }
+    }
+
+    private ReportJob findEntityById(Long id) {
+        return reportJobRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Report job not found with ID: " + id));
+    }
+
+    private ReportJobResponse toResponse(ReportJob job, boolean cached) {
+        return ReportJobResponse.builder()
+                .id(job.getId())
+                .type(job.getType())
+                .parameters(job.getParameters())
+                .status(job.getStatus())
+                .progress(job.getProgress())
+                .rowsProcessed(job.getRowsProcessed())
+                .totalRows(job.getTotalRows())
+                .fileName(job.getFileName())
+                .error(job.getLastError())
+                .cached(cached)
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .completedAt(job.getCompletedAt())
+                .build();
+    }
+}
@@ -2,6 +2,9 @@ package com.smarttech.service.impl;
 
 import com.smarttech.config.StorageProperties;
 import com.smarttech.exception.FileStorageException;
+import com.smarttech.exception.ProviderUnavailableException;
+import com.smarttech.exception.ResourceNotFoundException;
+import com.smarttech.resilience.ResilientCall;
 import com.smarttech.service.FileStorageService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,6 +17,7 @@ import software.amazon.awssdk.services.s3.model.*;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -25,6 +29,7 @@ public class S3FileStorageService implements FileStorageService {
 
     private final S3Client s3Client;
     private final StorageProperties storageProperties;
+    private final ResilientCall resilientCall;
 
     @Override
     public String uploadFile(MultipartFile file, String folder) {
@@ -47,7 +52,7 @@ public class S3FileStorageService implements FileStorageService {
             }
 
             PutObjectRequest putObjectRequest = requestBuilder.build();
-            s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(file.getInputStream(), file.getSize()));
+            resilientCall.call(ResilientCall.S3, () -> s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(file.getInputStream(), file.getSize())));
 
             String fileUrl = String.format("https://%s.s3.%s.amazonaws.com/%s",
                     storageProperties.getS3().getBucketName(),
@@ -57,7 +62,7 @@ public class S3FileStorageService implements FileStorageService {
             log.info("File uploaded successfully to S3: {}", fileUrl);
             return fileUrl;
 
-        } catch (IOException e) {
+        } catch (Exception e) {
             log.error("Failed to upload file to S3: {}", file.getOriginalFilename(), e);
             throw new FileStorageException("Failed to upload file: " + e.getMessage());
         }
@@ -90,7 +95,7 @@ public class S3FileStorageService implements FileStorageService {
                     .key(key)
                     .build();
 
-            s3Client.deleteObject(deleteObjectRequest);
+            resilientCall.call(ResilientCall.S3, () -> s3Client.deleteObject(deleteObjectRequest));
             log.info("File deleted successfully from S3: {}", fileUrl);
 
         } catch (Exception e) {
@@ -115,7 +120,7 @@ public class S3FileStorageService implements FileStorageService {
                     .key(fileName)
                     .build();
 
-            s3Client.headObject(headObjectRequest);
+            resilientCall.call(ResilientCall.S3, () -> s3Client.headObject(headObjectRequest));
             return true;
         } catch (NoSuchKeyException e) {
             return false;
@@ -140,7 +145,7 @@ public class S3FileStorageService implements FileStorageService {
             }
 
             PutObjectRequest putObjectRequest = requestBuilder.build();
-            s3Client.putObject(putObjectRequest, RequestBody.fromBytes(pdfBytes));
+            resilientCall.call(ResilientCall.S3, () -> s3Client.putObject(putObjectRequest, RequestBody.fromBytes(pdfBytes)));
 
             String fileUrl = String.format("https://%s.s3.%s.amazonaws.com/%s",
                     storageProperties.getS3().getBucketName(),
@@ -171,6 +176,60 @@ public class S3FileStorageService implements FileStorageService {
         }
     }
 
+    // Streams from disk, so large report files are never held in memory. The object gets a private ACL and is
+    // only read back through openPrivate; no URL to it is ever handed out
+    public void uploadPrivate(Path source, String key, String contentType) {
+        try {
+            PutObjectRequest.Builder requestBuilder = PutObjectRequest.builder()
+                    .bucket(storageProperties.getS3().getBucketName())
+                    .key(key)
+                    .contentType(contentType)
+                    .acl(ObjectCannedACL.PRIVATE);
+
+            if (storageProperties.getS3().getServerSideEncryption() != null) {
+                requestBuilder.serverSideEncryption(ServerSideEncryption.fromValue(storageProperties.getS3().getServerSideEncryption()));
+            }
+
+            PutObjectRequest putObjectRequest = requestBuilder.build();
+            resilientCall.call(ResilientCall.S3, () -> s3Client.putObject(putObjectRequest, RequestBody.fromFile(source)));
+            log.info("Private file stored in S3: {}", key);
+
+        } catch (Exception e) {
+            log.error("Failed to store private file in S3: {}", key, e);
+            throw new FileStorageException("Failed to store file: " + e.getMessage());
+        }
+    }
+
+    public InputStream openPrivate(String key) {
+        GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                .bucket(storageProperties.getS3().getBucketName())
+                .key(key)
+                .build();
+        try {
+            return resilientCall.call(ResilientCall.S3, () -> s3Client.getObject(getObjectRequest));
+        } catch (NoSuchKeyException e) {
+            throw new ResourceNotFoundException("Stored file not found: " + key);
+        } catch (ProviderUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to open private file in S3: {}", key, e);
+            throw new FileStorageException("Failed to open file: " + e.getMessage());
+        }
+    }
+
+    public void deletePrivate(String key) {
+        DeleteObjectRequest deleteObjectRequest = DeleteObjectRequest.builder()
+                .bucket(storageProperties.getS3().getBucketName())
+                .key(key)
+                .build();
+        try {
+            resilientCall.call(ResilientCall.S3, () -> s3Client.deleteObject(deleteObjectRequest));
+        } catch (Exception e) {
+            log.error("Failed to delete private file from S3: {}", key, e);
+            throw new FileStorageException("Failed to delete file: " + e.getMessage());
+        }
+    }
+
     private String generateFileName(String originalFileName) {
         String extension = "";
         if (originalFileName != null && originalFileName.contains(".")) {
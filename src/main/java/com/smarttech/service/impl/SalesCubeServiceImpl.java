@@ -0,0 +1,106 @@
+package com.smarttech.service.impl;
+
+import com.smarttech.analytics.CubeQuery;
+import com.smarttech.analytics.SalesCube;
+import com.smarttech.analytics.SalesFact;
+import com.smarttech.dto.request.SalesCubeQueryRequest;
+import com.smarttech.dto.response.SalesCubeResponse;
+import com.smarttech.dto.response.SalesCubeRow;
+import com.smarttech.enums.OrderStatus;
+import com.smarttech.event.OrderStatusChangedEvent;
+import com.smarttech.repository.OrderItemRepository;
+import com.smarttech.service.SalesCubeService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Loads delivered order lines into {@link SalesCube} and keeps it in step with order status changes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class SalesCubeServiceImpl implements SalesCubeService {
+
+    private final SalesCube salesCube;
+    private final OrderItemRepository orderItemRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.analytics.cube.load-batch-size:5000}")
+    private int loadBatchSize;
+
+    private final Object rebuildLock = new Object();
+
+    private TransactionTemplate batchTransactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        batchTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        batchTransactionTemplate.setReadOnly(true);
+    }
+
+    // Each batch reads in its own short transaction, so a full load never pins one connection and snapshot
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            log.info("Loading sales cube");
+            long start = System.currentTimeMillis();
+
+            SalesCube.Columns columns = SalesCube.newColumns(loadBatchSize);
+            long lastId = 0;
+            List<SalesFact> batch;
+            do {
+                long after = lastId;
+                batch = batchTransactionTemplate.execute(status -> orderItemRepository.findSalesFactsAfter(
+                        OrderStatus.DELIVERED, after, PageRequest.of(0, loadBatchSize)));
+                batch.forEach(columns::add);
+                if (!batch.isEmpty()) {
+                    lastId = batch.get(batch.size() - 1).orderItemId();
+                }
+            } while (batch.size() == loadBatchSize);
+
+            // Status changes committed during the load may be missed; the next reload picks them up
+            salesCube.replace(columns);
+            log.info("Sales cube loaded with {} facts in {} ms", salesCube.size(), System.currentTimeMillis() - start);
+        }
+    }
+
+    @Override
+    public void applyStatusChange(OrderStatusChangedEvent event) {
+        if (!salesCube.isReady()) {
+            return;
+        }
+        if (event.getPreviousStatus() == OrderStatus.DELIVERED) {
+            salesCube.removeOrder(event.getOrderId());
+        }
+        if (event.getNewStatus() == OrderStatus.DELIVERED) {
+            salesCube.addAll(orderItemRepository.findSalesFactsByOrderId(event.getOrderId()));
+        }
+    }
+
+    @Override
+    public SalesCubeResponse query(SalesCubeQueryRequest request) {
+        CubeQuery query = new CubeQuery(request.getGroupBy(), request.getFromDate(), request.getToDate(),
+                request.getCategoryIds(), request.getCustomerTiers(), request.getProductStatuses());
+
+        long start = System.nanoTime();
+        List<SalesCubeRow> rows = salesCube.query(query);
+        long micros = (System.nanoTime() - start) / 1000;
+
+        return SalesCubeResponse.builder()
+                .rows(rows)
+                .factsScanned(salesCube.size())
+                .queryMicros(micros)
+                .build();
+    }
+}
@@ -0,0 +1,141 @@
+package com.smarttech.service.impl;
+
+import com.smarttech.dto.report.SalesTotals;
+import com.smarttech.enums.OrderStatus;
+import com.smarttech.event.OrderStatusChangedEvent;
+import com.smarttech.repository.SalesDailyRollupRepository;
+import com.smarttech.repository.SalesRollupOrderRepository;
+import com.smarttech.service.SalesRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Maintains {@code sales_daily_rollup} and answers date-range totals from it. Whole days come from the
+ * rollup; partial days at either end of a range are summed from {@code orders} directly.
+ * {@code sales_rollup_orders} records the status each order is counted under. A status change moves the order
+ * from that status to the one it has now, and a rebuild rewrites both tables for its days in one transaction.
+ * Both lock the order's ledger row first, so a change racing a rebuild of the same day is neither lost nor
+ * counted twice.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class SalesRollupServiceImpl implements SalesRollupService {
+
+    // Callers express an inclusive end of day as 23:59:59
+    private static final LocalTime END_OF_DAY = LocalTime.of(23, 59, 59);
+
+    private final SalesDailyRollupRepository salesDailyRollupRepository;
+    private final SalesRollupOrderRepository salesRollupOrderRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.sales-rollup.rebuild-chunk-days:31}")
+    private int rebuildChunkDays;
+
+    @Override
+    public void applyStatusChange(OrderStatusChangedEvent event) {
+        Long orderId = event.getOrderId();
+        Optional<String> counted = salesRollupOrderRepository.findCountedStatusForUpdate(orderId);
+        Optional<String> current = salesRollupOrderRepository.findOrderStatusForShare(orderId);
+        // Repeated and late events, and changes a rebuild already picked up, find the order where it belongs
+        if (current.isEmpty() || current.equals(counted)) {
+            return;
+        }
+
+        List<String> statuses = new ArrayList<>(2);
+        if (counted.isPresent()) {
+            salesDailyRollupRepository.applyOrderDelta(orderId, counted.get(), -1);
+            statuses.add(counted.get());
+        }
+        salesDailyRollupRepository.applyOrderDelta(orderId, current.get(), 1);
+        salesRollupOrderRepository.markCounted(orderId, current.get());
+        statuses.add(current.get());
+
+        // Distinct customers are not additive, so recount them for the touched rows only
+        if (event.getOrderCreatedAt() != null) {
+            LocalDate day = event.getOrderCreatedAt().toLocalDate();
+            salesDailyRollupRepository.refreshCustomerCounts(day, day.atStartOfDay(), day.plusDays(1).atStartOfDay(), statuses);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuild(LocalDate fromDate, LocalDate toDate) {
+        log.info("Rebuilding sales rollup from {} to {}", fromDate, toDate);
+        long start = System.currentTimeMillis();
+
+        // One transaction per chunk keeps the delete-and-insert window short
+        for (LocalDate chunkStart = fromDate; !chunkStart.isAfter(toDate); chunkStart = chunkStart.plusDays(rebuildChunkDays)) {
+            LocalDate from = chunkStart;
+            LocalDate chunkEnd = chunkStart.plusDays(rebuildChunkDays - 1L);
+            LocalDate to = chunkEnd.isAfter(toDate) ? toDate : chunkEnd;
+            transactionTemplate.executeWithoutResult(status -> {
+                // Ledger rows first, in the same order as status changes lock them
+                salesRollupOrderRepository.deleteBetween(from, to);
+                salesDailyRollupRepository.deleteBetween(from, to);
+                salesDailyRollupRepository.insertFromOrders(from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+                salesRollupOrderRepository.insertFromOrders(from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+            });
+        }
+
+        log.info("Sales rollup rebuilt from {} to {} in {} ms", fromDate, toDate, System.currentTimeMillis() - start);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<OrderStatus, SalesTotals> summarize(LocalDateTime startDate, LocalDateTime endDate) {
+        Map<OrderStatus, SalesTotals> totals = new EnumMap<>(OrderStatus.class);
+
+        LocalDate firstFullDay = startDate.toLocalTime().equals(LocalTime.MIDNIGHT)
+                ? startDate.toLocalDate() : startDate.toLocalDate().plusDays(1);
+        LocalDate lastFullDay = endDate.toLocalTime().isBefore(END_OF_DAY)
+                ? endDate.toLocalDate().minusDays(1) : endDate.toLocalDate();
+
+        if (firstFullDay.isAfter(lastFullDay)) {
+            merge(totals, salesDailyRollupRepository.sumOrdersBetween(startDate, endDate));
+            return totals;
+        }
+
+        merge(totals, salesDailyRollupRepository.sumBetween(firstFullDay, lastFullDay));
+        if (startDate.isBefore(firstFullDay.atStartOfDay())) {
+            // Microsecond precision matches DATETIME(6); nanoseconds would be rounded up to midnight
+            merge(totals, salesDailyRollupRepository.sumOrdersBetween(startDate, firstFullDay.atStartOfDay().minusNanos(1000)));
+        }
+        if (endDate.toLocalDate().isAfter(lastFullDay)) {
+            merge(totals, salesDailyRollupRepository.sumOrdersBetween(endDate.toLocalDate().atStartOfDay(), endDate));
+        }
+        return totals;
+    }
+
+    private void merge(Map<OrderStatus, SalesTotals> totals, List<SalesDailyRollupRepository.StatusTotals> rows) {
+        for (SalesDailyRollupRepository.StatusTotals row : rows) {
+            SalesTotals value = new SalesTotals(
+                    row.getOrderCount() != null ? row.getOrderCount() : 0,
+                    orZero(row.getSubtotal()),
+                    orZero(row.getVatAmount()),
+                    orZero(row.getTotalAmount()),
+                    row.getItemCount() != null ? row.getItemCount() : 0);
+            totals.merge(OrderStatus.valueOf(row.getStatus()), value, SalesTotals::plus);
+        }
+    }
+
+    private BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
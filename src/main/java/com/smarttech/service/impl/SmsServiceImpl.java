@@ -2,6 +2,7 @@ package com.smarttech.service.impl;
 
 import com.smarttech.entity.User;
 import com.smarttech.repository.UserRepository;
+import com.smarttech.resilience.ResilientCall;
 import com.smarttech.service.SmsService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -14,6 +15,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.net.http.HttpClient;
@@ -50,7 +52,7 @@ public class SmsServiceImpl implements SmsService {
     @Value("${afromessage.api.enabled:true}")
     private boolean afroMessageEnabled;
 
-    @Value("${afromessage.api.timeout:30000}")
+    @Value("${afromessage.api.timeout:10000}")
     private int afroMessageTimeout;
 
     @Value("${app.sms.mock-mode:true}")
@@ -59,12 +61,6 @@ public class SmsServiceImpl implements SmsService {
     @Value("${app.sms.enabled:true}")
     private boolean smsEnabled;
 
-    @Value("${app.sms.retry-attempts:3}")
-    private int retryAttempts;
-
-    @Value("${app.sms.retry-delay:1000}")
-    private long retryDelay;
-
     @Value("${app.otp.template}")
     private String otpTemplate;
 
@@ -80,18 +76,21 @@ public class SmsServiceImpl implements SmsService {
     private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
     private final UserRepository userRepository;
+    private final ResilientCall resilientCall;
     private final SecureRandom secureRandom = new SecureRandom();
 
     // Track API failures to automatically enable mock mode
     private boolean apiFailureDetected = false;
 
     @Autowired
-    public SmsServiceImpl(UserRepository userRepository) {
+    public SmsServiceImpl(UserRepository userRepository, ResilientCall resilientCall,
+                          @Value("${afromessage.api.connect-timeout:5000}") int connectTimeout) {
         this.httpClient = HttpClient.newBuilder()
-                .connectTimeout(java.time.Duration.ofMillis(10000))
+                .connectTimeout(java.time.Duration.ofMillis(connectTimeout))
                 .build();
         this.objectMapper = new ObjectMapper();
         this.userRepository = userRepository;
+        this.resilientCall = resilientCall;
     }
 
     private void storeOtp(String phoneNumber, String otp) {
@@ -291,7 +290,7 @@ public class SmsServiceImpl implements SmsService {
                     .replace("{otp}", otp)
                     .replace("{minutes}", String.valueOf(otpTtl / 60));
 
-            sendSmsWithRetry(phoneNumber, message );
+            sendSmsViaAfroMessage(phoneNumber, message);
             log.info("✅ OTP sent successfully to: {}", phoneNumber);
 
         } catch (Exception e) {
@@ -345,7 +344,7 @@ public class SmsServiceImpl implements SmsService {
                 return;
             }
 
-            sendSmsWithRetry(phoneNumber, message);
+            sendSmsViaAfroMessage(phoneNumber, message);
             log.info("✅ Seller welcome SMS sent to: {}", phoneNumber);
 
         } catch (Exception e) {
@@ -369,7 +368,7 @@ public class SmsServiceImpl implements SmsService {
                 return;
             }
 
-            sendSmsWithRetry(phoneNumber, message);
+            sendSmsViaAfroMessage(phoneNumber, message);
             log.info("✅ SMS sent successfully to: {}", phoneNumber);
 
         } catch (Exception e) {
@@ -436,7 +435,7 @@ public class SmsServiceImpl implements SmsService {
                 .GET()
                 .build();
 
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> response = sendRequest(request);
 
         if (response.statusCode() != 200) {
             throw new RuntimeException("AfroMessage API error: HTTP " + response.statusCode() + " - " + response.body());
@@ -456,37 +455,6 @@ public class SmsServiceImpl implements SmsService {
         log.info("📱 OTP sent via AfroMessage. MessageId: {}", responseData.path("message_id").asText());
     }
 
-    private void sendSmsWithRetry(String phoneNumber, String message) {
-        int attempts = 0;
-        Exception lastException = null;
-
-        while (attempts < retryAttempts) {
-            try {
-                sendSmsViaAfroMessage(phoneNumber, message);
-                return;
-            } catch (Exception e) {
-                lastException = e;
-                attempts++;
-
-                if (e.getMessage() != null && (e.getMessage().contains("401") || e.getMessage().contains("403"))) {
-                    throw new RuntimeException("AfroMessage API authentication failed", e);
-                }
-
-                if (attempts < retryAttempts) {
-                    log.warn("SMS send attempt {} failed for {}, retrying in {}ms", attempts, phoneNumber, retryDelay);
-                    try {
-                        Thread.sleep(retryDelay);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        throw new RuntimeException("SMS retry interrupted", ie);
-                    }
-                }
-            }
-        }
-
-        throw new RuntimeException("SMS delivery failed after " + retryAttempts + " attempts", lastException);
-    }
-
     private void sendSmsViaAfroMessage(String phoneNumber, String message) throws Exception {
         String url = afroMessageBaseUrl + "/api/send";
 
@@ -507,7 +475,7 @@ public class SmsServiceImpl implements SmsService {
                 .POST(HttpRequest.BodyPublishers.ofString(requestBody.toString()))
                 .build();
 
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> response = sendRequest(request);
 
         if (response.statusCode() != 200) {
             throw new RuntimeException("AfroMessage API error: HTTP " + response.statusCode() + " - " + response.body());
@@ -548,7 +516,7 @@ public class SmsServiceImpl implements SmsService {
                 .POST(HttpRequest.BodyPublishers.ofString(requestBody.toString()))
                 .build();
 
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> response = sendRequest(request);
 
         if (response.statusCode() != 200) {
             throw new RuntimeException("AfroMessage Bulk API error: HTTP " + response.statusCode() + " - " + response.body());
@@ -562,6 +530,17 @@ public class SmsServiceImpl implements SmsService {
         }
     }
 
+    // Server errors are thrown inside the breaker so they count as provider failures; 4xx are left to the caller
+    private HttpResponse<String> sendRequest(HttpRequest request) throws Exception {
+        return resilientCall.call(ResilientCall.AFROMESSAGE, () -> {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 500) {
+                throw new IOException("AfroMessage API error: HTTP " + response.statusCode() + " - " + response.body());
+            }
+            return response;
+        });
+    }
+
     private boolean isValidEthiopianPhoneNumber(String phoneNumber) {
         return phoneNumber != null && phoneNumber.matches("^\\+251[0-9]{9}$");
     }
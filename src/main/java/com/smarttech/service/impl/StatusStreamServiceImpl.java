@@ -0,0 +1,255 @@
+package com.smarttech.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smarttech.dto.response.StatusUpdate;
+import com.smarttech.service.StatusStreamService;
+import com.smarttech.util.SnowflakeIdGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Pushes status updates to customers over Server-Sent Events. Updates are published to a Redis channel and
+ * every node delivers them to the connections it holds, so it does not matter which node a customer is
+ * connected to. Each node also keeps a user's most recent updates for a while, so a client reconnecting with
+ * {@code Last-Event-ID} gets what it missed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StatusStreamServiceImpl implements StatusStreamService, MessageListener {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final SnowflakeIdGenerator snowflakeIdGenerator;
+
+    @Value("${app.sse.channel:smarttech:sse:status}")
+    private String channel;
+
+    @Value("${app.sse.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${app.sse.max-connections-per-user:3}")
+    private int maxConnectionsPerUser;
+
+    @Value("${app.sse.replay-size:50}")
+    private int replaySize;
+
+    @Value("${app.sse.replay-ttl:10m}")
+    private Duration replayTtl;
+
+    private final Map<Long, UserStream> streams = new ConcurrentHashMap<>();
+
+    @Override
+    public SseEmitter subscribe(Long userId, String lastEventId) {
+        SseEmitter emitter = createEmitter();
+        emitter.onCompletion(() -> removeConnection(userId, emitter));
+        emitter.onTimeout(() -> removeConnection(userId, emitter));
+        emitter.onError(e -> removeConnection(userId, emitter));
+
+        List<SseEmitter> evicted = new ArrayList<>();
+        UserStream stream = withStream(userId, locked -> {
+            // Queued with live updates under the stream lock, so live updates cannot overtake or repeat them
+            for (Buffered missed : missedSince(locked, lastEventId)) {
+                locked.outbox.addLast(new Outgoing(List.of(emitter), missed.id(), missed.update()));
+            }
+            locked.connections.addLast(emitter);
+            // The oldest connection is most likely a tab or network path the client has already abandoned
+            while (locked.connections.size() > maxConnectionsPerUser) {
+                evicted.add(locked.connections.pollFirst());
+            }
+        });
+        evicted.forEach(SseEmitter::complete);
+        drain(userId, stream);
+        return emitter;
+    }
+
+    @Override
+    public void publish(Long userId, StatusUpdate update) {
+        if (userId == null) {
+            return;
+        }
+        Envelope envelope = new Envelope(snowflakeIdGenerator.nextId(), userId, update);
+        try {
+            stringRedisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(envelope));
+        } catch (Exception e) {
+            // Without Redis the update still reaches the connections on this node
+            log.warn("Failed to publish status update for user ID {}: {}", userId, e.getMessage());
+            deliver(envelope);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            deliver(objectMapper.readValue(new String(message.getBody(), StandardCharsets.UTF_8), Envelope.class));
+        } catch (Exception e) {
+            log.warn("Ignoring malformed status update message: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void sendHeartbeats() {
+        Instant cutoff = Instant.now().minus(replayTtl);
+        for (Map.Entry<Long, UserStream> entry : streams.entrySet()) {
+            UserStream stream = entry.getValue();
+            List<SseEmitter> connections;
+            synchronized (stream) {
+                while (!stream.recent.isEmpty() && stream.recent.peekFirst().receivedAt().isBefore(cutoff)) {
+                    stream.recent.pollFirst();
+                }
+                if (stream.connections.isEmpty() && stream.recent.isEmpty()) {
+                    stream.closed = true;
+                    streams.remove(entry.getKey(), stream);
+                    continue;
+                }
+                connections = new ArrayList<>(stream.connections);
+            }
+            // Keeps proxies from closing idle connections and finds the ones that are already gone
+            for (SseEmitter connection : connections) {
+                try {
+                    connection.send(SseEmitter.event().comment("heartbeat"));
+                } catch (Exception e) {
+                    removeConnection(entry.getKey(), connection);
+                }
+            }
+        }
+    }
+
+    private void deliver(Envelope envelope) {
+        UserStream stream = withStream(envelope.userId(), locked -> {
+            locked.recent.addLast(new Buffered(envelope.id(), envelope.update(), Instant.now()));
+            while (locked.recent.size() > replaySize) {
+                locked.recent.pollFirst();
+            }
+            if (!locked.connections.isEmpty()) {
+                locked.outbox.addLast(new Outgoing(List.copyOf(locked.connections), envelope.id(), envelope.update()));
+            }
+        });
+        drain(envelope.userId(), stream);
+    }
+
+    /**
+     * Sends a stream's queued updates in order without holding its lock, so a slow client never blocks
+     * publishers or other subscribers. Only one thread drains a stream at a time; others just queue.
+     */
+    private void drain(Long userId, UserStream stream) {
+        synchronized (stream) {
+            if (stream.draining || stream.outbox.isEmpty()) {
+                return;
+            }
+            stream.draining = true;
+        }
+        while (true) {
+            Outgoing next;
+            synchronized (stream) {
+                next = stream.outbox.pollFirst();
+                if (next == null) {
+                    stream.draining = false;
+                    return;
+                }
+            }
+            for (SseEmitter target : next.targets()) {
+                if (!send(target, next.id(), next.update())) {
+                    removeConnection(userId, target);
+                }
+            }
+        }
+    }
+
+    private List<Buffered> missedSince(UserStream stream, String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return List.of();
+        }
+        long lastId;
+        try {
+            lastId = Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return List.of();
+        }
+
+        // IDs from different nodes are only roughly ordered, so arrival order is used when the last ID is known here
+        boolean known = stream.recent.stream().anyMatch(buffered -> buffered.id() == lastId);
+        boolean missed = false;
+        List<Buffered> result = new ArrayList<>();
+        for (Buffered buffered : stream.recent) {
+            if (known ? missed : buffered.id() > lastId) {
+                result.add(buffered);
+            }
+            missed |= buffered.id() == lastId;
+        }
+        return result;
+    }
+
+    SseEmitter createEmitter() {
+        return new SseEmitter(timeout.toMillis());
+    }
+
+    private boolean send(SseEmitter emitter, long id, StatusUpdate update) {
+        try {
+            emitter.send(SseEmitter.event().id(Long.toString(id)).data(update, MediaType.APPLICATION_JSON));
+            return true;
+        } catch (Exception e) {
+            log.debug("Dropping status stream connection: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void removeConnection(Long userId, SseEmitter emitter) {
+        UserStream stream = streams.get(userId);
+        if (stream != null) {
+            synchronized (stream) {
+                stream.connections.remove(emitter);
+            }
+        }
+    }
+
+    private UserStream withStream(Long userId, Consumer<UserStream> action) {
+        while (true) {
+            UserStream stream = streams.computeIfAbsent(userId, id -> new UserStream());
+            synchronized (stream) {
+                // A stream closed by the heartbeat sweep has left the map; the next lookup creates a fresh one
+                if (!stream.closed) {
+                    action.accept(stream);
+                    return stream;
+                }
+            }
+        }
+    }
+
+    // Guarded by the instance itself
+    private static final class UserStream {
+        private final Deque<SseEmitter> connections = new ArrayDeque<>();
+        private final Deque<Buffered> recent = new ArrayDeque<>();
+        private final Deque<Outgoing> outbox = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+    }
+
+    private record Outgoing(List<SseEmitter> targets, long id, StatusUpdate update) {
+    }
+
+    private record Buffered(long id, StatusUpdate update, Instant receivedAt) {
+    }
+
+    // Package-private so Jackson can bind it
+    record Envelope(long id, Long userId, StatusUpdate update) {
+    }
+}
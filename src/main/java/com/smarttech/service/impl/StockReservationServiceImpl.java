@@ -0,0 +1,129 @@
+package com.smarttech.service.impl;
+
+import com.smarttech.config.CacheConfig;
+import com.smarttech.entity.Order;
+import com.smarttech.entity.OrderItem;
+import com.smarttech.event.StockChangedEvent;
+import com.smarttech.exception.InsufficientStockException;
+import com.smarttech.repository.ProductRepository;
+import com.smarttech.service.HotStockService;
+import com.smarttech.service.StockReservationService;
+import com.smarttech.util.AfterTransaction;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reserves and releases order stock with conditional UPDATE statements instead of
+ * read-modify-write, so concurrent checkouts can neither oversell nor lose updates.
+ * Lines for flash-sale products are reserved against Redis counters through {@link HotStockService}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class StockReservationServiceImpl implements StockReservationService {
+
+    private final ProductRepository productRepository;
+    private final HotStockService hotStockService;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Shortfalls are compensated below, so they must not mark a caller's transaction rollback-only
+    @Override
+    @Transactional(noRollbackFor = InsufficientStockException.class)
+    public void reserveStock(Order order) {
+        if (order.isStockReserved()) {
+            return;
+        }
+
+        Map<Long, Integer> quantities = new TreeMap<>();
+        Map<Long, Integer> hotQuantities = new TreeMap<>();
+        splitByStockMode(order, quantities, hotQuantities);
+
+        // Hot products are tried first; if their counters are gone the flash sale ended and the database decides
+        if (!hotQuantities.isEmpty() && !hotStockService.reserve(hotQuantities)) {
+            hotQuantities.forEach((productId, quantity) -> quantities.merge(productId, quantity, Integer::sum));
+            hotQuantities.clear();
+        }
+
+        List<Map.Entry<Long, Integer>> reserved = new ArrayList<>(quantities.size());
+
+        // Rows are locked in product ID order so concurrent multi-item orders cannot deadlock
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            if (productRepository.decrementStock(line.getKey(), line.getValue()) == 0) {
+                // Undo lines already taken so the caller sees consistent stock even if it handles the exception
+                reserved.forEach(taken -> productRepository.incrementStock(taken.getKey(), taken.getValue()));
+                evictProducts(reserved);
+                if (!hotQuantities.isEmpty()) {
+                    hotStockService.release(hotQuantities);
+                }
+                throw new InsufficientStockException("Insufficient stock for product ID: " + line.getKey());
+            }
+            reserved.add(line);
+        }
+
+        if (!hotQuantities.isEmpty()) {
+            // Redis is not part of the database transaction, so give the units back if it rolls back
+            AfterTransaction.onRollback(() -> hotStockService.release(hotQuantities));
+        }
+
+        order.setStockReserved(true);
+        evictProducts(reserved);
+        publishStockChanged(quantities.keySet());
+        log.info("Reserved stock for {} product(s) on order {}", reserved.size() + hotQuantities.size(), order.getOrderNumber());
+    }
+
+    @Override
+    public void releaseStock(Order order) {
+        if (!order.isStockReserved()) {
+            return;
+        }
+
+        Map<Long, Integer> quantities = new TreeMap<>();
+        Map<Long, Integer> hotQuantities = new TreeMap<>();
+        splitByStockMode(order, quantities, hotQuantities);
+
+        quantities.forEach(productRepository::incrementStock);
+        if (!hotQuantities.isEmpty()) {
+            // Only hand units back to the flash sale once the release is committed
+            AfterTransaction.onCommit(() -> hotStockService.release(hotQuantities));
+        }
+
+        order.setStockReserved(false);
+        evictProducts(new ArrayList<>(quantities.entrySet()));
+        publishStockChanged(quantities.keySet());
+        log.info("Released stock for {} product(s) on order {}", quantities.size() + hotQuantities.size(), order.getOrderNumber());
+    }
+
+    private void splitByStockMode(Order order, Map<Long, Integer> quantities, Map<Long, Integer> hotQuantities) {
+        for (OrderItem item : order.getOrderItems()) {
+            Map<Long, Integer> target = item.getProduct().isFlashSale() ? hotQuantities : quantities;
+            target.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+        }
+    }
+
+    private void publishStockChanged(Collection<Long> productIds) {
+        // Flash-sale products are reported when their Redis counters are flushed to the database
+        if (!productIds.isEmpty()) {
+            eventPublisher.publishEvent(new StockChangedEvent(new ArrayList<>(productIds)));
+        }
+    }
+
+    private void evictProducts(List<Map.Entry<Long, Integer>> lines) {
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS);
+        if (cache != null) {
+            lines.forEach(line -> cache.evict(line.getKey()));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.smarttech.service.impl;
+
+import com.smarttech.config.CacheConfig;
+import com.smarttech.dto.response.TopProductResponse;
+import com.smarttech.enums.OrderStatus;
+import com.smarttech.enums.TopProductMetric;
+import com.smarttech.repository.OrderItemRepository;
+import com.smarttech.service.TopProductService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Ranks products by aggregating {@code order_items} in the database, so only the top rows leave it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class TopProductServiceImpl implements TopProductService {
+
+    // Orders that have been paid for; pending, failed, cancelled and refunded orders are not sales
+    private static final Set<OrderStatus> SOLD_STATUSES =
+            EnumSet.of(OrderStatus.CONFIRMED, OrderStatus.PROCESSING, OrderStatus.SHIPPED, OrderStatus.DELIVERED);
+
+    private final OrderItemRepository orderItemRepository;
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.TOP_PRODUCTS,
+            key = "#startDate + ':' + #endDate + ':' + #categoryId + ':' + #metric + ':' + #limit")
+    public List<TopProductResponse> getTopProducts(LocalDateTime startDate, LocalDateTime endDate, Long categoryId,
+                                                   TopProductMetric metric, int limit) {
+        PageRequest top = PageRequest.of(0, limit);
+        List<OrderItemRepository.ProductSales> rows = metric == TopProductMetric.UNITS
+                ? orderItemRepository.findTopProductsByUnits(SOLD_STATUSES, startDate, endDate, categoryId, top)
+                : orderItemRepository.findTopProductsByRevenue(SOLD_STATUSES, startDate, endDate, categoryId, top);
+
+        // A mutable list, so the cached value round-trips through the Redis serializer
+        List<TopProductResponse> topProducts = new ArrayList<>(rows.size());
+        for (OrderItemRepository.ProductSales row : rows) {
+            topProducts.add(TopProductResponse.builder()
+                    .productId(row.getProductId())
+                    .productName(row.getProductName())
+                    .totalSold(row.getTotalSold())
+                    .totalRevenue(row.getTotalRevenue())
+                    .build());
+        }
+        return topProducts;
+    }
+}
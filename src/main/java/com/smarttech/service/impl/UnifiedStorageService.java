@@ -10,6 +10,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.List;
 
 @Service
@@ -105,6 +106,74 @@ public class UnifiedStorageService implements StorageService {
         }
     }
 
+    @Override
+    public void uploadPrivate(Path source, String key, String contentType) {
+        try {
+            if (isS3Primary()) {
+                s3FileStorageService.uploadPrivate(source, key, contentType);
+            } else {
+                localFileStorageService.uploadPrivate(source, key);
+            }
+        } catch (Exception e) {
+            log.error("Primary storage ({}) failed for private upload: {}",
+                    storageProperties.getType(), e.getMessage());
+
+            if (storageProperties.getFallback().isEnabled()) {
+                handleFallback(() -> {
+                    if ("local".equals(storageProperties.getFallback().getType())) {
+                        localFileStorageService.uploadPrivate(source, key);
+                    } else {
+                        s3FileStorageService.uploadPrivate(source, key, contentType);
+                    }
+                    return null;
+                });
+            } else {
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public InputStream openPrivate(String key) {
+        try {
+            return isS3Primary()
+                    ? s3FileStorageService.openPrivate(key)
+                    : localFileStorageService.openPrivate(key);
+        } catch (Exception e) {
+            // The object may have been written to the fallback while the primary was down
+            if (storageProperties.getFallback().isEnabled()) {
+                try {
+                    return "local".equals(storageProperties.getFallback().getType())
+                            ? localFileStorageService.openPrivate(key)
+                            : s3FileStorageService.openPrivate(key);
+                } catch (Exception fallbackException) {
+                    e.addSuppressed(fallbackException);
+                }
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void deletePrivate(String key) {
+        if (isS3Primary()) {
+            s3FileStorageService.deletePrivate(key);
+        } else {
+            localFileStorageService.deletePrivate(key);
+        }
+        if (storageProperties.getFallback().isEnabled()) {
+            try {
+                if ("local".equals(storageProperties.getFallback().getType())) {
+                    localFileStorageService.deletePrivate(key);
+                } else {
+                    s3FileStorageService.deletePrivate(key);
+                }
+            } catch (Exception e) {
+                log.warn("Fallback storage failed to delete private object {}: {}", key, e.getMessage());
+            }
+        }
+    }
+
     @Override
     public void deleteFile(String fileUrl) {
         FileStorageService primaryService = getPrimaryStorageService();
@@ -163,6 +232,10 @@ public class UnifiedStorageService implements StorageService {
         }
     }
 
+    private boolean isS3Primary() {
+        return "s3".equals(storageProperties.getType()) && storageProperties.getProviders().isS3Enabled();
+    }
+
     private FileStorageService getPrimaryStorageService() {
         String storageType = storageProperties.getType();
 
@@ -1,22 +1,30 @@
 package com.smarttech.service.impl;
 
 import com.smarttech.dto.request.UserRegistrationRequest;
+import com.smarttech.dto.response.CursorPageResponse;
 import com.smarttech.dto.response.UserResponse;
 import com.smarttech.entity.User;
 import com.smarttech.enums.CustomerTier;
 import com.smarttech.enums.UserRole;
+import com.smarttech.event.CustomerRegisteredEvent;
 import com.smarttech.exception.ResourceNotFoundException;
 import com.smarttech.exception.UserAlreadyExistsException;
 import com.smarttech.mapper.UserMapper;
 import com.smarttech.repository.UserRepository;
 import com.smarttech.service.UserService;
+import com.smarttech.util.CursorCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 
@@ -29,6 +37,11 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.customer-tier.recalculation-chunk-size:5000}")
+    private int recalculationChunkSize;
 
     @Override
     public UserResponse registerUser(UserRegistrationRequest request) {
@@ -60,6 +73,8 @@ public class UserServiceImpl implements UserService {
         User savedUser = userRepository.save(user);
         log.info("User registered successfully with ID: {}", savedUser.getId());
 
+        eventPublisher.publishEvent(new CustomerRegisteredEvent(savedUser.getId()));
+
         return userMapper.toResponse(savedUser);
     }
 
@@ -84,6 +99,21 @@ public class UserServiceImpl implements UserService {
         return users.map(userMapper::toResponse);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<UserResponse> getAllCustomersByCursor(String cursor, int size) {
+        Slice<User> users;
+        if (cursor == null || cursor.isBlank()) {
+            users = userRepository.findActiveUsersByRoleLatestFirst(UserRole.CUSTOMER, CursorCodec.limit(size));
+        } else {
+            CursorCodec.Cursor position = CursorCodec.decode(cursor);
+            users = userRepository.findActiveUsersByRoleLatestBefore(UserRole.CUSTOMER,
+                    position.sortKeyAsDateTime(), position.id(), CursorCodec.limit(size));
+        }
+        return CursorPageResponse.of(users, userMapper::toResponse,
+                user -> CursorCodec.encode(user.getCreatedAt(), user.getId()));
+    }
+
     @Override
     public UserResponse updateCustomerTier(Long userId, BigDecimal totalPurchases) {
         log.info("Updating customer tier for user ID: {} with total purchases: {}", userId, totalPurchases);
@@ -102,6 +132,36 @@ public class UserServiceImpl implements UserService {
         return userMapper.toResponse(savedUser);
     }
 
+    @Override
+    public void recordPurchase(Long userId, BigDecimal amount) {
+        // Single atomic UPDATE, so concurrent payments for one customer can't lose each other's amounts
+        int updated = userRepository.addPurchase(userId, amount, CustomerTier.SILVER.getMinAmount(),
+                CustomerTier.GOLD.getMinAmount(), CustomerTier.DIAMOND.getMinAmount());
+        if (updated == 0) {
+            throw new ResourceNotFoundException("User not found with ID: " + userId);
+        }
+        log.debug("Recorded purchase of {} for user ID: {}", amount, userId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int recalculateCustomerTiers() {
+        long maxId = userRepository.findMaxId();
+        int corrected = 0;
+
+        // One short transaction per ID range keeps row locks brief while payments keep flowing
+        for (long start = 1; start <= maxId; start += recalculationChunkSize) {
+            long fromId = start;
+            long toId = start + recalculationChunkSize - 1;
+            Integer changed = transactionTemplate.execute(status -> userRepository.recalculatePurchases(fromId, toId,
+                    CustomerTier.SILVER.getMinAmount(), CustomerTier.GOLD.getMinAmount(), CustomerTier.DIAMOND.getMinAmount()));
+            corrected += changed != null ? changed : 0;
+        }
+
+        log.info("Customer tier recalculation corrected {} user(s) up to ID {}", corrected, maxId);
+        return corrected;
+    }
+
     @Override
     public void verifyEmail(String email) {
         User user = findEntityByEmail(email);
@@ -0,0 +1,240 @@
+package com.smarttech.service.impl;
+
+import com.smarttech.dto.response.WarrantyCoverageResponse;
+import com.smarttech.entity.WarrantyRegistration;
+import com.smarttech.enums.OrderStatus;
+import com.smarttech.event.OrderStatusChangedEvent;
+import com.smarttech.repository.WarrantyRegistrationRepository;
+import com.smarttech.service.WarrantyService;
+import com.smarttech.util.BloomFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Answers warranty coverage from {@code warranty_registrations}, which is filled as orders are delivered.
+ * An in-memory Bloom filter of registered serials turns lookups for unknown serials into a miss without a
+ * query. The filter must never miss a registered serial, so serials are added only after their registration
+ * commits, a rebuild in progress receives them as well, and lookups go to the database while no filter is loaded.
+ * Serials registered on one node are published on a Redis channel and added to every other node's filter;
+ * the periodic sync covers any message that was lost.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class WarrantyServiceImpl implements WarrantyService, MessageListener {
+
+    private final WarrantyRegistrationRepository warrantyRegistrationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Value("${app.warranty.channel:smarttech:warranty:serials}")
+    private String channel;
+
+    @Value("${app.warranty.expected-serials:1000000}")
+    private long expectedSerials;
+
+    @Value("${app.warranty.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${app.warranty.load-batch-size:10000}")
+    private int loadBatchSize;
+
+    @Value("${app.warranty.backfill-chunk-size:5000}")
+    private int backfillChunkSize;
+
+    // Catches registrations whose Redis message was lost; the overlap absorbs clock skew
+    @Value("${app.warranty.sync-overlap-seconds:60}")
+    private long syncOverlapSeconds;
+
+    private volatile BloomFilter filter;
+    private volatile BloomFilter building;
+    private volatile LocalDateTime lastSync;
+
+    // Unknown serials are answered from the filter without a transaction or connection; a possible match is
+    // looked up in the repository's own read-only transaction
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public WarrantyCoverageResponse checkCoverage(String serialNumber) {
+        String serial = serialNumber != null ? serialNumber.trim() : "";
+        BloomFilter current = filter;
+        if (serial.isEmpty() || (current != null && !current.mightContain(serial))) {
+            return WarrantyCoverageResponse.builder()
+                    .serialNumber(serial)
+                    .registered(false)
+                    .covered(false)
+                    .build();
+        }
+
+        Optional<WarrantyRegistration> registration =
+                warrantyRegistrationRepository.findFirstBySerialNumberOrderByExpiresOnDesc(serial);
+        if (registration.isEmpty()) {
+            return WarrantyCoverageResponse.builder()
+                    .serialNumber(serial)
+                    .registered(false)
+                    .covered(false)
+                    .build();
+        }
+
+        WarrantyRegistration found = registration.get();
+        return WarrantyCoverageResponse.builder()
+                .serialNumber(serial)
+                .registered(true)
+                .covered(!found.getExpiresOn().isBefore(LocalDate.now()))
+                .productId(found.getProductId())
+                .orderId(found.getOrderId())
+                .purchaseDate(found.getPurchaseDate())
+                .warrantyMonths(found.getWarrantyMonths())
+                .expiresOn(found.getExpiresOn())
+                .build();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean isCovered(String serialNumber) {
+        return Boolean.TRUE.equals(checkCoverage(serialNumber).getCovered());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void applyStatusChange(OrderStatusChangedEvent event) {
+        if (event.getNewStatus() == OrderStatus.DELIVERED) {
+            Integer registered = transactionTemplate.execute(status ->
+                    warrantyRegistrationRepository.registerOrder(event.getOrderId()));
+            if (registered != null && registered > 0) {
+                List<String> serials = warrantyRegistrationRepository.findSerialNumbersByOrderId(event.getOrderId());
+                addToFilters(serials);
+                publishSerials(serials);
+                log.debug("Registered {} warranted item(s) for order ID: {}", registered, event.getOrderId());
+            }
+        } else if (event.getPreviousStatus() == OrderStatus.DELIVERED) {
+            // Stale filter bits only cost a query, so the filter is left alone
+            transactionTemplate.executeWithoutResult(status ->
+                    warrantyRegistrationRepository.deleteByOrderId(event.getOrderId()));
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int backfill() {
+        log.info("Backfilling warranty registrations from delivered orders");
+        long start = System.currentTimeMillis();
+
+        // Lookups go to the database until the filter has been rebuilt with the backfilled serials
+        filter = null;
+        int registered = 0;
+        long maxId = warrantyRegistrationRepository.findMaxOrderItemId();
+        for (long fromId = 1; fromId <= maxId; fromId += backfillChunkSize) {
+            long from = fromId;
+            long to = fromId + backfillChunkSize - 1;
+            Integer count = transactionTemplate.execute(status ->
+                    warrantyRegistrationRepository.registerOrderItemRange(from, to));
+            registered += count != null ? count : 0;
+        }
+        rebuildFilter();
+
+        log.info("Backfilled {} warranty registration(s) in {} ms", registered, System.currentTimeMillis() - start);
+        return registered;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuildFilter() {
+        long start = System.currentTimeMillis();
+        LocalDateTime startedAt = LocalDateTime.now();
+        long count = warrantyRegistrationRepository.count();
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedSerials, count * 2), falsePositiveRate);
+        building = rebuilt;
+
+        long loaded = 0;
+        long lastId = 0;
+        List<WarrantyRegistrationRepository.SerialEntry> batch;
+        do {
+            batch = warrantyRegistrationRepository.findSerialsAfter(lastId, PageRequest.of(0, loadBatchSize));
+            for (WarrantyRegistrationRepository.SerialEntry entry : batch) {
+                rebuilt.put(entry.getSerialNumber());
+                lastId = entry.getId();
+            }
+            loaded += batch.size();
+        } while (batch.size() == loadBatchSize);
+
+        // Rows whose IDs were allocated before the scan passed them but committed after it
+        LocalDateTime since = startedAt.minusSeconds(syncOverlapSeconds);
+        warrantyRegistrationRepository.findSerialNumbersCreatedSince(since).forEach(rebuilt::put);
+
+        filter = rebuilt;
+        building = null;
+        lastSync = startedAt;
+        log.info("Warranty serial filter loaded {} serial(s) in {} ms ({} bits, {} hashes)",
+                loaded, System.currentTimeMillis() - start, rebuilt.getBitCount(), rebuilt.getHashCount());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void syncFilter() {
+        LocalDateTime since = lastSync;
+        if (filter == null || since == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        addToFilters(warrantyRegistrationRepository.findSerialNumbersCreatedSince(since.minusSeconds(syncOverlapSeconds)));
+        lastSync = now;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onMessage(Message message, byte[] pattern) {
+        // Node ID on the first line, one serial per line after it
+        String[] lines = new String(message.getBody(), StandardCharsets.UTF_8).split("\n");
+        if (lines.length < 2 || nodeId.equals(lines[0])) {
+            return;
+        }
+        addToFilters(Arrays.asList(lines).subList(1, lines.length));
+    }
+
+    private void publishSerials(List<String> serials) {
+        if (serials.isEmpty()) {
+            return;
+        }
+        try {
+            stringRedisTemplate.convertAndSend(channel, nodeId + "\n" + String.join("\n", serials));
+        } catch (Exception e) {
+            log.warn("Failed to publish {} warranty serial(s), other nodes will pick them up on sync: {}",
+                    serials.size(), e.getMessage());
+        }
+    }
+
+    private void addToFilters(Collection<String> serials) {
+        // rebuildFilter publishes the new filter before clearing building, so reading building first means a
+        // swap in between leaves the serials in the new filter either way
+        BloomFilter next = building;
+        BloomFilter current = filter;
+        for (String serial : serials) {
+            if (current != null) {
+                current.put(serial);
+            }
+            if (next != null) {
+                next.put(serial);
+            }
+        }
+    }
+}
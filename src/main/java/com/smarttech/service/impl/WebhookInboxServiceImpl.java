@@ -0,0 +1,180 @@
+package com.smarttech.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smarttech.entity.WebhookInbox;
+import com.smarttech.enums.WebhookInboxStatus;
+import com.smarttech.exception.ResourceNotFoundException;
+import com.smarttech.repository.WebhookInboxRepository;
+import com.smarttech.service.ChapaService;
+import com.smarttech.service.PaymentService;
+import com.smarttech.service.WebhookInboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Durable inbox for Chapa webhooks. Deliveries are stored once per (tx_ref, event) and
+ * acknowledged straight away; {@link com.smarttech.scheduler.WebhookInboxWorker} claims due
+ * entries and processes them with retry, exponential backoff and a dead-letter state.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class WebhookInboxServiceImpl implements WebhookInboxService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final WebhookInboxRepository webhookInboxRepository;
+    private final PaymentService paymentService;
+    private final ChapaService chapaService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.webhook.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.webhook.backoff-base:5s}")
+    private Duration backoffBase;
+
+    @Value("${app.webhook.backoff-max:1h}")
+    private Duration backoffMax;
+
+    @Value("${app.webhook.claim-timeout:5m}")
+    private Duration claimTimeout;
+
+    @Value("${app.webhook.retention:30d}")
+    private Duration retention;
+
+    @Override
+    public boolean receive(String payload) {
+        JsonNode webhookData = parse(payload);
+        String event = webhookData.path("event").asText("");
+        // Payment webhooks carry tx_ref, transfer webhooks carry reference
+        String txRef = webhookData.hasNonNull("tx_ref")
+                ? webhookData.get("tx_ref").asText()
+                : webhookData.path("reference").asText("");
+
+        if (event.isBlank() || txRef.isBlank()) {
+            throw new IllegalArgumentException("Webhook payload is missing event or reference");
+        }
+
+        boolean inserted = webhookInboxRepository.insertIfAbsent(txRef, event, payload, LocalDateTime.now()) > 0;
+        if (inserted) {
+            log.info("Queued webhook - Event: {}, TxRef: {}", event, txRef);
+        } else {
+            log.info("Ignoring duplicate webhook - Event: {}, TxRef: {}", event, txRef);
+        }
+        return inserted;
+    }
+
+    @Override
+    public List<Long> claimDue(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime staleBefore = now.minus(claimTimeout);
+
+        List<Long> claimed = new ArrayList<>();
+        for (Long id : webhookInboxRepository.findDueIds(now, staleBefore, PageRequest.of(0, limit))) {
+            // Conditional update, so only one worker or node wins each entry
+            if (webhookInboxRepository.claim(id, now, staleBefore) == 1) {
+                claimed.add(id);
+            }
+        }
+        return claimed;
+    }
+
+    @Override
+    public int release(List<Long> inboxIds) {
+        return inboxIds.isEmpty() ? 0 : webhookInboxRepository.release(inboxIds);
+    }
+
+    @Override
+    public void process(Long inboxId) {
+        WebhookInbox entry = findEntityById(inboxId);
+        if (entry.getStatus() != WebhookInboxStatus.PROCESSING) {
+            return;
+        }
+
+        dispatch(entry);
+
+        entry.setStatus(WebhookInboxStatus.PROCESSED);
+        entry.setProcessedAt(LocalDateTime.now());
+        entry.setLastError(null);
+        webhookInboxRepository.save(entry);
+    }
+
+    @Override
+    public void recordFailure(Long inboxId, Exception error) {
+        WebhookInbox entry = findEntityById(inboxId);
+        String message = error.getClass().getSimpleName() + ": " + error.getMessage();
+        entry.setLastError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+
+        if (entry.getAttempts() >= maxAttempts) {
+            entry.setStatus(WebhookInboxStatus.DEAD_LETTER);
+            log.error("Webhook {} for {} moved to dead letter after {} attempts",
+                    entry.getEventType(), entry.getTxRef(), entry.getAttempts(), error);
+        } else {
+            entry.setStatus(WebhookInboxStatus.PENDING);
+            entry.setNextAttemptAt(LocalDateTime.now().plus(backoff(entry.getAttempts())));
+            log.warn("Webhook {} for {} failed on attempt {}, retrying at {}",
+                    entry.getEventType(), entry.getTxRef(), entry.getAttempts(), entry.getNextAttemptAt(), error);
+        }
+        webhookInboxRepository.save(entry);
+    }
+
+    @Override
+    public int purgeProcessed() {
+        return webhookInboxRepository.deleteProcessedBefore(LocalDateTime.now().minus(retention));
+    }
+
+    private void dispatch(WebhookInbox entry) {
+        JsonNode webhookData = parse(entry.getPayload());
+        String status = webhookData.path("status").asText("");
+
+        switch (entry.getEventType()) {
+            case "charge.success" -> {
+                if ("success".equalsIgnoreCase(status)) {
+                    paymentService.processPaymentSuccess(entry.getTxRef(), entry.getPayload());
+                }
+            }
+            case "charge.failed", "charge.cancelled" -> {
+                String reason = webhookData.hasNonNull("message") ? webhookData.get("message").asText() : "Payment failed";
+                paymentService.processPaymentFailure(entry.getTxRef(), reason);
+            }
+            case "payout.success", "payout.failed", "payout.cancelled" -> chapaService.processWebhookTransfer(entry.getPayload());
+            default -> log.info("Ignoring unsupported webhook event: {}", entry.getEventType());
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        // base * 2^(attempts - 1), capped
+        long factor = 1L << Math.min(attempts - 1, 20);
+        Duration delay = backoffBase.multipliedBy(factor);
+        return delay.compareTo(backoffMax) > 0 ? backoffMax : delay;
+    }
+
+    private JsonNode parse(String payload) {
+        if (payload == null || payload.isBlank()) {
+            throw new IllegalArgumentException("Webhook payload is empty");
+        }
+        try {
+            return objectMapper.readTree(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Webhook payload is not valid JSON", e);
+        }
+    }
+
+    private WebhookInbox findEntityById(Long inboxId) {
+        return webhookInboxRepository.findById(inboxId)
+                .orElseThrow(() -> new ResourceNotFoundException("Webhook inbox entry not found with ID: " + inboxId));
+    }
+}
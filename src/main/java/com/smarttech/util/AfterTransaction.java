@@ -0,0 +1,46 @@
+package com.smarttech.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers side effects that are not part of the database transaction, such as Redis writes, until the current
+ * transaction has committed or rolled back. Without an active transaction, commit actions run immediately and
+ * rollback actions never run.
+ */
+@Slf4j
+public class AfterTransaction {
+
+    private AfterTransaction() {
+    }
+
+    public static void onCommit(Runnable action) {
+        register(true, action);
+    }
+
+    public static void onRollback(Runnable action) {
+        register(false, action);
+    }
+
+    private static void register(boolean onCommit, Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (onCommit) {
+                action.run();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if ((status == STATUS_COMMITTED) == onCommit) {
+                    try {
+                        action.run();
+                    } catch (Exception e) {
+                        log.error("Failed to apply change after transaction {}", onCommit ? "commit" : "rollback", e);
+                    }
+                }
+            }
+        });
+    }
+}
@@ -1,21 +1,41 @@
 package com.smarttech.util;
 
-import java.time.LocalDateTime;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Locale;
 
+@Component
 public class MaintenanceNumberGenerator {
-    
+
     private static final String PREFIX = "MR";
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
-    
-    public static String generateRequestNumber() {
-        String datePart = LocalDateTime.now().format(DATE_FORMAT);
-        int randomPart = ThreadLocalRandom.current().nextInt(100, 999);
-        return PREFIX + datePart + randomPart;
+    private static final int TICKET_NUMBER_LENGTH = 8;
+
+    private final SnowflakeIdGenerator snowflakeIdGenerator;
+    private final SnowflakeIdGenerator ticketIdGenerator;
+
+    public MaintenanceNumberGenerator(SnowflakeIdGenerator snowflakeIdGenerator,
+                                      @Qualifier("ticketIdGenerator") SnowflakeIdGenerator ticketIdGenerator) {
+        this.snowflakeIdGenerator = snowflakeIdGenerator;
+        this.ticketIdGenerator = ticketIdGenerator;
     }
-    
-    public static String generateTicketNumber() {
-        return String.format("%08d", ThreadLocalRandom.current().nextInt(10000000, 99999999));
+
+    /**
+     * Format: MRyyyyMMdd + base-36 Snowflake ID
+     */
+    public String generateRequestNumber() {
+        return PREFIX + LocalDate.now().format(DATE_FORMAT)
+                + Long.toString(snowflakeIdGenerator.nextId(), 36).toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Fixed 8-character base-36 ticket number (the ticket_number column is 8 wide)
+     */
+    public String generateTicketNumber() {
+        String ticket = Long.toString(ticketIdGenerator.nextId(), 36).toUpperCase(Locale.ROOT);
+        return "0".repeat(TICKET_NUMBER_LENGTH - ticket.length()) + ticket;
     }
 }
@@ -1,17 +1,37 @@
 package com.smarttech.util;
 
-import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Locale;
 
+@Component
+@RequiredArgsConstructor
 public class OrderNumberGenerator {
-    
+
     private static final String PREFIX = "ST";
+    private static final String PAYMENT_PREFIX = "ST_PAY_";
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
-    
-    public static String generate() {
-        String datePart = LocalDateTime.now().format(DATE_FORMAT);
-        int randomPart = ThreadLocalRandom.current().nextInt(1000, 9999);
-        return PREFIX + datePart + randomPart;
+
+    private final SnowflakeIdGenerator snowflakeIdGenerator;
+
+    /**
+     * Format: STyyyyMMdd + base-36 Snowflake ID
+     */
+    public String generate() {
+        return PREFIX + LocalDate.now().format(DATE_FORMAT) + nextSuffix();
+    }
+
+    /**
+     * Format: ST_PAY_yyyyMMdd_ORDERNUM_ + base-36 Snowflake ID
+     */
+    public String generatePaymentReference(String orderNumber) {
+        return PAYMENT_PREFIX + LocalDate.now().format(DATE_FORMAT) + "_" + orderNumber + "_" + nextSuffix();
+    }
+
+    private String nextSuffix() {
+        return Long.toString(snowflakeIdGenerator.nextId(), 36).toUpperCase(Locale.ROOT);
     }
 }
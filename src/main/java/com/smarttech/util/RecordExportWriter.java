@@ -0,0 +1,113 @@
+package com.smarttech.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.smarttech.enums.ExportFormat;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.temporal.TemporalAccessor;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream of export records as NDJSON or CSV, one row at a time. CSV columns are the record
+ * components in declaration order. The target stream is flushed but never closed.
+ */
+public final class RecordExportWriter<T extends Record> {
+
+    private static final int FLUSH_EVERY = 500;
+
+    private final ObjectWriter jsonWriter;
+    private final ExportFormat format;
+    private final Method[] accessors;
+    private final String header;
+
+    public RecordExportWriter(Class<T> type, ExportFormat format, ObjectMapper objectMapper) {
+        this.jsonWriter = objectMapper.writerFor(type).without(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this.format = format;
+
+        RecordComponent[] components = type.getRecordComponents();
+        this.accessors = new Method[components.length];
+        StringBuilder names = new StringBuilder();
+        for (int i = 0; i < components.length; i++) {
+            accessors[i] = components[i].getAccessor();
+            names.append(i == 0 ? "" : ",").append(components[i].getName());
+        }
+        this.header = names.toString();
+    }
+
+    public long write(Stream<T> rows, OutputStream out) throws IOException {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(header);
+            writer.write('\n');
+        }
+
+        long count = 0;
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            T row = iterator.next();
+            if (format == ExportFormat.CSV) {
+                writeCsvRow(writer, row);
+            } else {
+                writer.write(jsonWriter.writeValueAsString(row));
+            }
+            writer.write('\n');
+
+            // Push completed chunks to the client instead of buffering the whole export
+            if (++count % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private void writeCsvRow(BufferedWriter writer, T row) throws IOException {
+        for (int i = 0; i < accessors.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvValue(read(accessors[i], row)));
+        }
+    }
+
+    private static Object read(Method accessor, Object row) {
+        try {
+            return accessor.invoke(row);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Cannot read export column " + accessor.getName(), e);
+        }
+    }
+
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Enum<?> || value instanceof TemporalAccessor) {
+            return value.toString();
+        }
+
+        String text = value.toString();
+        // Spreadsheet apps evaluate cells starting with these characters as formulas
+        if (!text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
@@ -0,0 +1,89 @@
+package com.smarttech.util;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free Snowflake-style ID generator: time tick, node ID and per-node sequence packed into a long.
+ * The last tick and sequence share one AtomicLong updated with CAS. When a tick's sequence is used up,
+ * or the wall clock moves backwards, the generator keeps counting on its own logical clock instead of
+ * blocking, so IDs are unique and strictly increasing per node. The logical clock may run at most
+ * maxTicksAhead ticks ahead of the wall clock; past that, callers wait for the wall clock to catch up,
+ * so a restarted node never reissues ticks its previous run had already borrowed.
+ */
+public class SnowflakeIdGenerator {
+
+    private final long epochMillis;
+    private final long tickMillis;
+    private final int sequenceBits;
+    private final int tickShift;
+    private final long sequenceMask;
+    private final long nodeId;
+    private final long maxTicksAhead;
+
+    // (last tick << sequenceBits) | last sequence
+    private final AtomicLong state = new AtomicLong();
+
+    public SnowflakeIdGenerator(Instant epoch, long tickMillis, int nodeBits, int sequenceBits, long nodeId) {
+        this(epoch, tickMillis, nodeBits, sequenceBits, nodeId, Long.MAX_VALUE);
+    }
+
+    public SnowflakeIdGenerator(Instant epoch, long tickMillis, int nodeBits, int sequenceBits, long nodeId,
+                                long maxTicksAhead) {
+        if (nodeId < 0 || nodeId >= (1L << nodeBits)) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + ((1L << nodeBits) - 1) + ", got " + nodeId);
+        }
+        if (maxTicksAhead < 0) {
+            throw new IllegalArgumentException("Max ticks ahead must not be negative, got " + maxTicksAhead);
+        }
+        this.epochMillis = epoch.toEpochMilli();
+        this.tickMillis = tickMillis;
+        this.sequenceBits = sequenceBits;
+        this.tickShift = nodeBits + sequenceBits;
+        this.sequenceMask = (1L << sequenceBits) - 1;
+        this.nodeId = nodeId;
+        this.maxTicksAhead = maxTicksAhead;
+    }
+
+    public long nextId() {
+        while (true) {
+            long current = state.get();
+            long lastTick = current >>> sequenceBits;
+            long now = (System.currentTimeMillis() - epochMillis) / tickMillis;
+
+            long next;
+            if (now > lastTick) {
+                next = now << sequenceBits;
+            } else if ((current & sequenceMask) < sequenceMask) {
+                next = current + 1;
+            } else {
+                // Sequence exhausted: borrow the next tick rather than wait for the clock
+                next = (lastTick + 1) << sequenceBits;
+            }
+
+            long tick = next >>> sequenceBits;
+            if (tick - now > maxTicksAhead) {
+                awaitTick(tick - maxTicksAhead);
+                continue;
+            }
+
+            if (state.compareAndSet(current, next)) {
+                long sequence = next & sequenceMask;
+                return (tick << tickShift) | (nodeId << sequenceBits) | sequence;
+            }
+        }
+    }
+
+    public long getNodeId() {
+        return nodeId;
+    }
+
+    private void awaitTick(long tick) {
+        long waitMillis = epochMillis + tick * tickMillis - System.currentTimeMillis();
+        if (waitMillis > 0) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(waitMillis));
+        }
+    }
+}
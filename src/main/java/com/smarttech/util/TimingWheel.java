@@ -0,0 +1,124 @@
+package com.smarttech.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel of keyed deadlines. Level 0 has one bucket per tick; each level above covers a
+ * whole rotation of the one below. Advancing the clock only visits the buckets whose interval just started or
+ * ended, and entries cascade to finer levels as their deadline nears, so the cost does not grow with the
+ * number of scheduled keys. Deadlines beyond the top level wait in its buckets and are re-placed each rotation.
+ */
+public class TimingWheel<K> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long[] spans;
+    private final List<List<Map<K, Long>>> levels;
+    private final Map<K, Slot> slots = new HashMap<>();
+
+    // Start of the current tick; deadlines before it have fired
+    private long currentTime;
+
+    public TimingWheel(long tickMillis, int wheelSize, int levelCount, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2 || levelCount < 1) {
+            throw new IllegalArgumentException("Tick must be positive, wheel size at least 2 and at least one level");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.spans = new long[levelCount];
+        this.levels = new ArrayList<>(levelCount);
+        long span = tickMillis;
+        for (int level = 0; level < levelCount; level++) {
+            spans[level] = span;
+            List<Map<K, Long>> buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new LinkedHashMap<>());
+            }
+            levels.add(buckets);
+            span = Math.multiplyExact(span, wheelSize);
+        }
+        this.currentTime = Math.floorDiv(startMillis, tickMillis) * tickMillis;
+    }
+
+    /**
+     * Schedules or reschedules a key. Returns false, without scheduling, when the deadline has already passed.
+     */
+    public synchronized boolean schedule(K key, long deadlineMillis) {
+        cancel(key);
+        return place(key, deadlineMillis);
+    }
+
+    public synchronized void cancel(K key) {
+        Slot slot = slots.remove(key);
+        if (slot != null) {
+            levels.get(slot.level).get(slot.bucket).remove(key);
+        }
+    }
+
+    /**
+     * Moves the clock forward to {@code nowMillis} and returns the keys whose deadline has passed, in deadline order
+     * per tick.
+     */
+    public synchronized List<K> advance(long nowMillis) {
+        List<K> expired = new ArrayList<>();
+        while (currentTime + tickMillis <= nowMillis) {
+            currentTime += tickMillis;
+            // The level-0 bucket of the tick that just ended holds only deadlines before the new current time
+            drain(0, bucketIndex(0, currentTime - tickMillis), expired);
+            // Coarser buckets whose interval starts now cascade down, top level first so entries can fall through
+            for (int level = spans.length - 1; level > 0; level--) {
+                if (currentTime % spans[level] == 0) {
+                    drain(level, bucketIndex(level, currentTime), expired);
+                }
+            }
+        }
+        return expired;
+    }
+
+    public synchronized int size() {
+        return slots.size();
+    }
+
+    private void drain(int level, int bucket, List<K> expired) {
+        Map<K, Long> entries = levels.get(level).get(bucket);
+        if (entries.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<K, Long>> drained = new ArrayList<>(entries.entrySet());
+        entries.clear();
+        drained.sort(Map.Entry.comparingByValue());
+        for (Map.Entry<K, Long> entry : drained) {
+            slots.remove(entry.getKey());
+            if (!place(entry.getKey(), entry.getValue())) {
+                expired.add(entry.getKey());
+            }
+        }
+    }
+
+    private boolean place(K key, long deadlineMillis) {
+        if (deadlineMillis < currentTime) {
+            return false;
+        }
+        int top = spans.length - 1;
+        int level = 0;
+        // A level can take the deadline if it falls within one rotation of the level's current interval
+        while (level < top && deadlineMillis >= Math.floorDiv(currentTime, spans[level]) * spans[level] + spans[level] * wheelSize) {
+            level++;
+        }
+        int bucket = bucketIndex(level, deadlineMillis);
+        levels.get(level).get(bucket).put(key, deadlineMillis);
+        slots.put(key, new Slot(level, bucket));
+        return true;
+    }
+
+    private int bucketIndex(int level, long millis) {
+        return (int) Math.floorMod(Math.floorDiv(millis, spans[level]), (long) wheelSize);
+    }
+
+    private record Slot(int level, int bucket) {
+    }
+}
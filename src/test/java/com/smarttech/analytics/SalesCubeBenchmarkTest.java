@@ -0,0 +1,107 @@
+package com.smarttech.analytics;
+
+import com.smarttech.enums.CubeDimension;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JMH benchmark of refunding an order (remove, then deliver again) and of a grouped query on a cube of up to
+ * 10M facts. The forked JVM gets a 4 GB heap so the 10M columns and their order index fit without GC
+ * dominating the measurement. Run with the performance-test profile.
+ */
+@Tag("performance")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SalesCubeBenchmarkTest {
+
+    private static final int LINES_PER_ORDER = 3;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 9, 0);
+    private static final CubeQuery BY_DAY_AND_CATEGORY = new CubeQuery(
+            Set.of(CubeDimension.DAY, CubeDimension.CATEGORY), null, null, null, null, null);
+
+    @Param({"100000", "1000000", "10000000"})
+    public int facts;
+
+    private SalesCube cube;
+    private int orders;
+    private long nextItemId;
+    private long nextOrder;
+
+    @Setup(Level.Trial)
+    public void load() {
+        cube = new SalesCube(0);
+        orders = facts / LINES_PER_ORDER;
+        SalesCube.Columns columns = SalesCube.newColumns(facts);
+        for (long orderId = 1; orderId <= orders; orderId++) {
+            for (int line = 0; line < LINES_PER_ORDER; line++) {
+                columns.add(fact(orderId));
+            }
+        }
+        cube.replace(columns);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        cube.shutdown();
+    }
+
+    @Benchmark
+    public int refundAndRedeliverOrder() {
+        long orderId = nextOrder++ % orders + 1;
+        int removed = cube.removeOrder(orderId);
+        cube.addAll(List.of(fact(orderId), fact(orderId), fact(orderId)));
+        return removed;
+    }
+
+    @Benchmark
+    public int queryByDayAndCategory() {
+        return cube.query(BY_DAY_AND_CATEGORY).size();
+    }
+
+    private SalesFact fact(long orderId) {
+        long itemId = ++nextItemId;
+        return SalesCubeTest.fact(itemId, orderId, START.plusDays(orderId % 365), itemId % 40 + 1,
+                "Category " + (itemId % 40 + 1), "49.99", 1);
+    }
+
+    @Test
+    void runBenchmarks() throws Exception {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(SalesCubeBenchmarkTest.class.getName() + "\\.")
+                .build())
+                .run();
+        assertThat(results).hasSize(6);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new SalesCubeBenchmarkTest().runBenchmarks();
+    }
+}
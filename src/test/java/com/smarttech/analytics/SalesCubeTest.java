@@ -0,0 +1,103 @@
+package com.smarttech.analytics;
+
+import com.smarttech.dto.response.SalesCubeRow;
+import com.smarttech.enums.CubeDimension;
+import com.smarttech.enums.CustomerTier;
+import com.smarttech.enums.ProductStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SalesCubeTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 3, 4, 10, 0);
+
+    private SalesCube cube;
+
+    @BeforeEach
+    void setUp() {
+        cube = new SalesCube(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cube.shutdown();
+    }
+
+    @Test
+    void removeOrderTombstonesOnlyThatOrdersLinesAcrossGrowth() {
+        // Enough facts to grow the columns and the order index several times, with orders interleaved
+        SalesCube.Columns columns = SalesCube.newColumns(16);
+        long item = 1;
+        for (int round = 0; round < 3; round++) {
+            for (long orderId = 1; orderId <= 2_000; orderId++) {
+                columns.add(fact(item++, orderId, MONDAY, 1L, "Laptops", "10.00", 1));
+            }
+        }
+        cube.replace(columns);
+
+        assertThat(cube.removeOrder(1_234)).isEqualTo(3);
+        assertThat(cube.removeOrder(1_234)).isZero();
+        assertThat(cube.removeOrder(99_999)).isZero();
+        assertThat(cube.size()).isEqualTo(5_997);
+        assertThat(total(cube.query(query(Set.of())))).isEqualByComparingTo("59970.00");
+    }
+
+    @Test
+    void orderDeliveredAgainAfterRefundCanBeRemovedAgain() {
+        cube.replace(SalesCube.newColumns(16));
+        cube.addAll(List.of(fact(1, 7, MONDAY, 1L, "Laptops", "100.00", 1)));
+        cube.removeOrder(7);
+        cube.addAll(List.of(fact(2, 7, MONDAY, 1L, "Laptops", "100.00", 1), fact(3, 8, MONDAY, 1L, "Laptops", "5.00", 1)));
+
+        assertThat(cube.size()).isEqualTo(2);
+        assertThat(cube.removeOrder(7)).isEqualTo(1);
+        assertThat(total(cube.query(query(Set.of())))).isEqualByComparingTo("5.00");
+    }
+
+    @Test
+    void queryGroupsAndFiltersLiveFacts() {
+        List<SalesFact> facts = new ArrayList<>();
+        facts.add(fact(1, 1, MONDAY, 1L, "Laptops", "1000.00", 1));
+        facts.add(fact(2, 1, MONDAY, 2L, "Phones", "300.00", 2));
+        facts.add(fact(3, 2, MONDAY.plusDays(1), 1L, "Laptops", "900.00", 1));
+        facts.add(fact(4, 3, MONDAY.plusDays(1), null, null, "20.00", 4));
+        cube.replace(SalesCube.newColumns(16));
+        cube.addAll(facts);
+        cube.removeOrder(2);
+
+        List<SalesCubeRow> byCategory = cube.query(query(Set.of(CubeDimension.CATEGORY)));
+        assertThat(byCategory).extracting(SalesCubeRow::getCategoryName)
+                .containsExactly("Uncategorized", "Laptops", "Phones");
+        assertThat(byCategory).extracting(SalesCubeRow::getRevenue)
+                .usingComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .containsExactly(new BigDecimal("20.00"), new BigDecimal("1000.00"), new BigDecimal("300.00"));
+
+        List<SalesCubeRow> tuesdayLaptops = cube.query(new CubeQuery(Set.of(CubeDimension.DAY),
+                LocalDate.of(2024, 3, 5), null, Set.of(1L), null, null));
+        assertThat(tuesdayLaptops).isEmpty();
+    }
+
+    private static CubeQuery query(Set<CubeDimension> groupBy) {
+        return new CubeQuery(groupBy, null, null, null, null, null);
+    }
+
+    private static BigDecimal total(List<SalesCubeRow> rows) {
+        return rows.stream().map(SalesCubeRow::getRevenue).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    static SalesFact fact(long itemId, long orderId, LocalDateTime createdAt, Long categoryId, String categoryName,
+                          String price, int quantity) {
+        return new SalesFact(itemId, orderId, createdAt, categoryId, categoryName, CustomerTier.BRONZE,
+                ProductStatus.ACTIVE, new BigDecimal(price), quantity);
+    }
+}
@@ -0,0 +1,260 @@
+package com.smarttech.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.smarttech.config.CacheConfig;
+import com.smarttech.dto.request.ProductCreateRequest;
+import com.smarttech.dto.response.ProductResponse;
+import com.smarttech.entity.Category;
+import com.smarttech.entity.Product;
+import com.smarttech.repository.CategoryRepository;
+import com.smarttech.service.ProductService;
+import com.smarttech.support.AbstractIntegrationTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.LongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Runs the application's cache manager as node A and a second {@link TwoTierCacheManager} on the same Redis and
+ * invalidation channel as node B, so product writes on A can be checked against B's near-cache.
+ */
+class TwoTierCacheIT extends AbstractIntegrationTest {
+
+    private static final String PROBE = "probe";
+
+    @Autowired
+    private TwoTierCacheManager cacheManager;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private RedisTemplate<String, Object> cacheRedisTemplate;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private RedisConnectionFactory redisConnectionFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.cache.redis.key-prefix:smarttech:cache:}")
+    private String keyPrefix;
+
+    @Value("${app.cache.redis.invalidation-channel:smarttech:cache:invalidation}")
+    private String invalidationChannel;
+
+    private TwoTierCacheManager nodeB;
+    private RedisMessageListenerContainer nodeBListener;
+
+    @BeforeEach
+    void startNodeB() {
+        nodeB = new TwoTierCacheManager(cacheRedisTemplate, stringRedisTemplate, List.of(CacheConfig.PRODUCTS),
+                1_000, Duration.ofMinutes(10), Duration.ofMinutes(30), keyPrefix, invalidationChannel);
+        nodeB.afterPropertiesSet();
+        nodeBListener = new RedisMessageListenerContainer();
+        nodeBListener.setConnectionFactory(redisConnectionFactory);
+        nodeBListener.addMessageListener(nodeB, new ChannelTopic(invalidationChannel));
+        nodeBListener.afterPropertiesSet();
+        nodeBListener.start();
+
+        // Node B is live once it acts on an eviction published by node A
+        awaitNodeBCaughtUp();
+    }
+
+    @AfterEach
+    void stopNodeB() throws Exception {
+        nodeBListener.stop();
+        nodeBListener.destroy();
+    }
+
+    @Test
+    void repeatedReadIsAnsweredByTheLocalTier() {
+        Long id = createProduct(10, new BigDecimal("25.00")).getId();
+        double localHits = tierGets("local", "hit");
+
+        ProductResponse loaded = productService.getProductById(id);
+        // Without the Redis copy only the local tier can answer
+        cacheRedisTemplate.delete(redisKey(id));
+        ProductResponse cached = productService.getProductById(id);
+
+        assertThat(cached).isSameAs(loaded);
+        assertThat(tierGets("local", "hit")).isEqualTo(localHits + 1);
+        assertThat(cacheRedisTemplate.hasKey(redisKey(id))).isFalse();
+    }
+
+    @Test
+    void redisMissFallsThroughAndRedisHitFillsTheOtherNode() {
+        Long id = createProduct(10, new BigDecimal("25.00")).getId();
+        TwoTierCache nodeBProducts = twoTierCache(nodeB);
+
+        assertThat(nodeBProducts.get(id)).isNull();
+        assertThat(nodeBProducts.getRemoteMisses()).isEqualTo(1);
+
+        ProductResponse loaded = productService.getProductById(id);
+        assertThat(cacheRedisTemplate.hasKey(redisKey(id))).isTrue();
+
+        assertThat(nodeBProducts.get(id).get()).isInstanceOf(ProductResponse.class)
+                .extracting("id").isEqualTo(loaded.getId());
+        assertThat(nodeBProducts.getRemoteHits()).isEqualTo(1);
+        assertThat(nodeBLocal().getIfPresent(id.toString())).isNotNull();
+    }
+
+    @Test
+    void updateProductEvictsOnTheOtherNode() {
+        Category category = categoryRepository.save(Category.builder().name("Category " + UUID.randomUUID()).build());
+        assertEvictedEverywhere(id -> productService.updateProduct(id, updateRequest(category)));
+    }
+
+    @Test
+    void updateStockEvictsOnTheOtherNode() {
+        assertEvictedEverywhere(id -> productService.updateStock(id, 3));
+    }
+
+    @Test
+    void deleteProductEvictsOnTheOtherNode() {
+        assertEvictedEverywhere(productService::deleteProduct);
+    }
+
+    @Test
+    void evictionWaitsForTheTransactionToCommit() {
+        Long id = warmBothNodes();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            productService.updateStock(id, 3);
+
+            // Another reader can still load the old row until commit, so the cached copy must stay until then
+            assertThat(nodeALocal().getIfPresent(id.toString())).isNotNull();
+            assertThat(cacheRedisTemplate.hasKey(redisKey(id))).isTrue();
+        });
+
+        assertThat(nodeALocal().getIfPresent(id.toString())).isNull();
+        assertThat(cacheRedisTemplate.hasKey(redisKey(id))).isFalse();
+        await().atMost(Duration.ofSeconds(5)).until(() -> nodeBLocal().getIfPresent(id.toString()) == null);
+    }
+
+    @Test
+    void rolledBackWriteEvictsNothing() {
+        Long id = warmBothNodes();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            productService.updateStock(id, 3);
+            status.setRollbackOnly();
+        });
+        awaitNodeBCaughtUp();
+
+        assertThat(nodeALocal().getIfPresent(id.toString())).isNotNull();
+        assertThat(cacheRedisTemplate.hasKey(redisKey(id))).isTrue();
+        assertThat(nodeBLocal().getIfPresent(id.toString())).isNotNull();
+    }
+
+    @Test
+    void hitMissAndEvictionMetersAreRegistered() {
+        for (String result : List.of("hit", "miss")) {
+            assertThat(meterRegistry.find("cache.gets").tag("cache", CacheConfig.PRODUCTS).tag("result", result)
+                    .functionCounter()).as("cache.gets result=%s", result).isNotNull();
+            for (String tier : List.of("local", "redis")) {
+                assertThat(meterRegistry.find("cache.tier.gets").tag("cache", CacheConfig.PRODUCTS)
+                        .tag("tier", tier).tag("result", result).functionCounter())
+                        .as("cache.tier.gets tier=%s result=%s", tier, result).isNotNull();
+            }
+        }
+        assertThat(meterRegistry.find("cache.evictions").tag("cache", CacheConfig.PRODUCTS).functionCounter()).isNotNull();
+        assertThat(meterRegistry.find("cache.puts").tag("cache", CacheConfig.PRODUCTS).functionCounter()).isNotNull();
+    }
+
+    private void assertEvictedEverywhere(LongConsumer write) {
+        Long id = warmBothNodes();
+
+        write.accept(id);
+
+        assertThat(nodeALocal().getIfPresent(id.toString())).isNull();
+        assertThat(cacheRedisTemplate.hasKey(redisKey(id))).isFalse();
+        await().atMost(Duration.ofSeconds(5)).until(() -> nodeBLocal().getIfPresent(id.toString()) == null);
+    }
+
+    private Long warmBothNodes() {
+        Product product = createProduct(10, new BigDecimal("25.00"));
+        productService.getProductById(product.getId());
+        nodeB.getCache(CacheConfig.PRODUCTS).get(product.getId());
+        assertThat(nodeALocal().getIfPresent(product.getId().toString())).isNotNull();
+        assertThat(nodeBLocal().getIfPresent(product.getId().toString())).isNotNull();
+        return product.getId();
+    }
+
+    // Eviction messages are delivered in order, so once node B drops the probe it has seen everything before it
+    private void awaitNodeBCaughtUp() {
+        nodeBLocal().put(PROBE, PROBE);
+        await().atMost(Duration.ofSeconds(10)).pollInterval(Duration.ofMillis(100)).until(() -> {
+            if (nodeBLocal().getIfPresent(PROBE) == null) {
+                return true;
+            }
+            cacheManager.publishEviction(CacheConfig.PRODUCTS, PROBE);
+            return false;
+        });
+    }
+
+    private Cache<String, Object> nodeALocal() {
+        return twoTierCache(cacheManager).getLocalCache();
+    }
+
+    private Cache<String, Object> nodeBLocal() {
+        return twoTierCache(nodeB).getLocalCache();
+    }
+
+    // Both managers are transaction aware, so their caches come wrapped
+    private static TwoTierCache twoTierCache(TwoTierCacheManager node) {
+        TransactionAwareCacheDecorator decorator = (TransactionAwareCacheDecorator) node.getCache(CacheConfig.PRODUCTS);
+        return (TwoTierCache) decorator.getTargetCache();
+    }
+
+    private double tierGets(String tier, String result) {
+        return meterRegistry.get("cache.tier.gets")
+                .tag("cache", CacheConfig.PRODUCTS)
+                .tag("tier", tier)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    private String redisKey(Long id) {
+        return keyPrefix + CacheConfig.PRODUCTS + "::" + id;
+    }
+
+    private static ProductCreateRequest updateRequest(Category category) {
+        ProductCreateRequest request = new ProductCreateRequest();
+        request.setName("Renamed " + UUID.randomUUID());
+        request.setDescription("Updated description");
+        request.setPrice(new BigDecimal("30.00"));
+        request.setStockQuantity(8);
+        request.setMinStockLevel(0);
+        request.setCategoryId(category.getId());
+        return request;
+    }
+}
@@ -0,0 +1,38 @@
+package com.smarttech.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdGeneratorConfigTest {
+
+    private final IdGeneratorConfig config = new IdGeneratorConfig();
+
+    @Test
+    void unsetNodeIdFailsStartup() {
+        ReflectionTestUtils.setField(config, "nodeId", "");
+
+        assertThatThrownBy(config::snowflakeIdGenerator)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("APP_NODE_ID");
+        assertThatThrownBy(config::ticketIdGenerator).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void singleNodeDeploymentMayLeaveNodeIdUnset() {
+        ReflectionTestUtils.setField(config, "nodeId", " ");
+        ReflectionTestUtils.setField(config, "singleNode", true);
+
+        assertThat(config.snowflakeIdGenerator().getNodeId()).isZero();
+    }
+
+    @Test
+    void configuredNodeIdIsUsed() {
+        ReflectionTestUtils.setField(config, "nodeId", "17");
+
+        assertThat(config.snowflakeIdGenerator().getNodeId()).isEqualTo(17);
+        assertThat(config.ticketIdGenerator().getNodeId()).isEqualTo(17);
+    }
+}
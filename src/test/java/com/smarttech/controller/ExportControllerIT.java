@@ -0,0 +1,46 @@
+package com.smarttech.controller;
+
+import com.smarttech.entity.User;
+import com.smarttech.enums.UserRole;
+import com.smarttech.security.JwtTokenProvider;
+import com.smarttech.support.AbstractIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+class ExportControllerIT extends AbstractIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Test
+    void streamedExportCompletesOnItsAsyncDispatch() throws Exception {
+        User admin = createUser(UserRole.ADMIN);
+        User customer = createCustomer();
+
+        MvcResult started = mockMvc.perform(get("/exports/customers")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtTokenProvider.generateTokenFromUsername(admin.getEmail())))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // The async dispatch carries no bearer token, so it must not be authorized again
+        MvcResult finished = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(finished.getResponse().getContentAsString()).contains(customer.getEmail());
+    }
+}
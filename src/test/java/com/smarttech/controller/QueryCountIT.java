@@ -0,0 +1,133 @@
+package com.smarttech.controller;
+
+import com.smarttech.dto.request.OrderCreateRequest;
+import com.smarttech.dto.response.OrderResponse;
+import com.smarttech.entity.Category;
+import com.smarttech.entity.MaintenanceRequest;
+import com.smarttech.entity.Product;
+import com.smarttech.entity.User;
+import com.smarttech.enums.MaintenanceStatus;
+import com.smarttech.enums.MaintenanceType;
+import com.smarttech.enums.UserRole;
+import com.smarttech.repository.CategoryRepository;
+import com.smarttech.repository.MaintenanceRequestRepository;
+import com.smarttech.security.JwtTokenProvider;
+import com.smarttech.service.OrderService;
+import com.smarttech.support.AbstractIntegrationTest;
+import com.smarttech.support.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Bounds the SQL each list and detail endpoint issues for a full page, so a mapper walking a lazy association
+ * row by row (N+1) fails the build. Counts include the JWT user lookup and the page count query.
+ */
+@AutoConfigureMockMvc
+class QueryCountIT extends AbstractIntegrationTest {
+
+    private static final int PAGE = 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private MaintenanceRequestRepository maintenanceRequestRepository;
+
+    private String adminToken;
+    private Long orderId;
+
+    @BeforeEach
+    void setUp() {
+        adminToken = "Bearer " + jwtTokenProvider.generateTokenFromUsername(createUser(UserRole.ADMIN).getEmail());
+        User customer = createCustomer();
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PAGE; i++) {
+            Category category = categoryRepository.save(Category.builder().name("Category " + UUID.randomUUID()).build());
+            Product product = createProduct(100, new BigDecimal("10.00"));
+            product.setCategory(category);
+            product.setImageUrls(new ArrayList<>(List.of("a.png", "b.png")));
+            products.add(productRepository.save(product));
+        }
+
+        for (int i = 0; i < PAGE; i++) {
+            OrderCreateRequest request = orderRequest(products.get(i).getId(), 1);
+            request.getItems().add(orderRequest(products.get((i + 1) % PAGE).getId(), 2).getItems().get(0));
+            request.getItems().add(orderRequest(products.get((i + 2) % PAGE).getId(), 3).getItems().get(0));
+            OrderResponse order = orderService.createOrder(request, customer.getId());
+            orderId = order.getId();
+
+            maintenanceRequestRepository.save(MaintenanceRequest.builder()
+                    .requestNumber("MR-" + UUID.randomUUID())
+                    .customer(customer)
+                    .deviceType("Laptop")
+                    .issueDescription("Does not boot")
+                    .maintenanceType(MaintenanceType.PAID_SERVICE)
+                    .status(MaintenanceStatus.PENDING)
+                    .imageUrls(new ArrayList<>(List.of("issue.png")))
+                    .build());
+        }
+    }
+
+    @Test
+    void orderDetailLoadsInAFixedNumberOfQueries() throws Exception {
+        assertThat(statementsFor(get("/orders/" + orderId).header(HttpHeaders.AUTHORIZATION, adminToken))).isLessThanOrEqualTo(5);
+    }
+
+    @Test
+    void orderPageLoadsInAFixedNumberOfQueries() throws Exception {
+        assertThat(pageStatementsFor(get("/orders").header(HttpHeaders.AUTHORIZATION, adminToken))).isLessThanOrEqualTo(8);
+    }
+
+    @Test
+    void productPageLoadsInAFixedNumberOfQueries() throws Exception {
+        assertThat(pageStatementsFor(get("/products"))).isLessThanOrEqualTo(5);
+    }
+
+    @Test
+    void maintenancePageLoadsInAFixedNumberOfQueries() throws Exception {
+        assertThat(pageStatementsFor(get("/maintenance/requests").header(HttpHeaders.AUTHORIZATION, adminToken)))
+                .isLessThanOrEqualTo(5);
+    }
+
+    private int pageStatementsFor(MockHttpServletRequestBuilder request) throws Exception {
+        return statementsFor(request.param("size", String.valueOf(PAGE)), true);
+    }
+
+    private int statementsFor(MockHttpServletRequestBuilder request) throws Exception {
+        return statementsFor(request, false);
+    }
+
+    private int statementsFor(MockHttpServletRequestBuilder request, boolean fullPage) throws Exception {
+        return SqlStatementCounter.record(() -> {
+            var result = mockMvc.perform(request).andExpect(status().isOk());
+            if (fullPage) {
+                result.andExpect(jsonPath("$.content.length()").value(PAGE));
+            }
+        }).count();
+    }
+}
@@ -0,0 +1,85 @@
+package com.smarttech.controller;
+
+import com.smarttech.config.StorageProperties;
+import com.smarttech.dto.response.ReportJobResponse;
+import com.smarttech.entity.ReportJob;
+import com.smarttech.entity.User;
+import com.smarttech.enums.ReportJobStatus;
+import com.smarttech.enums.UserRole;
+import com.smarttech.repository.ReportJobRepository;
+import com.smarttech.security.JwtTokenProvider;
+import com.smarttech.service.ReportJobService;
+import com.smarttech.support.AbstractIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+class ReportDownloadIT extends AbstractIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private ReportJobService reportJobService;
+
+    @Autowired
+    private ReportJobRepository reportJobRepository;
+
+    @Autowired
+    private StorageProperties storageProperties;
+
+    @Test
+    void reportFilesAreOnlyServedToAdmins() throws Exception {
+        User admin = createUser(UserRole.ADMIN);
+        User customer = createCustomer();
+        ReportJobResponse submitted = reportJobService.submitSalesReport(
+                LocalDateTime.of(2019, 3, 1, 0, 0), LocalDateTime.of(2019, 3, 31, 23, 59));
+        await().atMost(Duration.ofSeconds(30)).untilAsserted(() ->
+                assertThat(reportJobService.getJob(submitted.getId()).getStatus()).isEqualTo(ReportJobStatus.COMPLETED));
+
+        ReportJob job = reportJobRepository.findById(submitted.getId()).orElseThrow();
+        // Random key in private storage: nothing under the publicly served upload folders, no job ID or period in it
+        assertThat(job.getStorageKey()).doesNotContain(job.getId() + "-").doesNotContain("2019");
+        assertThat(Files.exists(Paths.get(storageProperties.getLocal().getBaseDirectory(), job.getStorageKey()))).isFalse();
+        assertThat(Files.exists(Paths.get(storageProperties.getLocal().getPrivateDirectory(), job.getStorageKey()))).isTrue();
+
+        mockMvc.perform(get("/analytics/report-jobs/{id}", job.getId()).header(HttpHeaders.AUTHORIZATION, bearer(admin)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fileUrl").doesNotExist());
+
+        mockMvc.perform(get("/analytics/report-jobs/{id}/download", job.getId()).header(HttpHeaders.AUTHORIZATION, bearer(customer)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/analytics/report-jobs/{id}/download", job.getId()))
+                .andExpect(status().isUnauthorized());
+
+        String body = mockMvc.perform(get("/analytics/report-jobs/{id}/download", job.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearer(admin)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + job.getFileName() + "\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(body).startsWith("{");
+    }
+
+    private String bearer(User user) {
+        return "Bearer " + jwtTokenProvider.generateTokenFromUsername(user.getEmail());
+    }
+}
@@ -0,0 +1,65 @@
+package com.smarttech.controller;
+
+import com.smarttech.dto.response.StatusUpdate;
+import com.smarttech.entity.User;
+import com.smarttech.enums.StatusUpdateType;
+import com.smarttech.security.JwtTokenProvider;
+import com.smarttech.service.StatusStreamService;
+import com.smarttech.support.AbstractIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+class StatusStreamControllerIT extends AbstractIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private StatusStreamService statusStreamService;
+
+    @Value("${app.sse.max-connections-per-user:3}")
+    private int maxConnectionsPerUser;
+
+    @Test
+    void streamReceivesUpdatesAndCompletesOnItsAsyncDispatch() throws Exception {
+        User customer = createCustomer();
+        String token = "Bearer " + jwtTokenProvider.generateTokenFromUsername(customer.getEmail());
+
+        MvcResult started = mockMvc.perform(get("/events/stream").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        statusStreamService.publish(customer.getId(), StatusUpdate.builder()
+                .type(StatusUpdateType.ORDER).entityId(42L).status("CONFIRMED").build());
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!started.getResponse().getContentAsString().contains("\"entityId\":42")
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(started.getResponse().getContentAsString()).contains("\"entityId\":42");
+
+        // Opening more streams than allowed completes the oldest one
+        for (int i = 0; i < maxConnectionsPerUser; i++) {
+            mockMvc.perform(get("/events/stream").header(HttpHeaders.AUTHORIZATION, token))
+                    .andExpect(request().asyncStarted());
+        }
+
+        // The async dispatch carries no bearer token, so it must not be authorized again
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,98 @@
+package com.smarttech.controller;
+
+import com.smarttech.dto.response.OrderResponse;
+import com.smarttech.entity.Order;
+import com.smarttech.entity.Payment;
+import com.smarttech.entity.Product;
+import com.smarttech.entity.User;
+import com.smarttech.entity.WebhookInbox;
+import com.smarttech.enums.OrderStatus;
+import com.smarttech.enums.PaymentStatus;
+import com.smarttech.enums.WebhookInboxStatus;
+import com.smarttech.repository.OrderRepository;
+import com.smarttech.repository.PaymentRepository;
+import com.smarttech.repository.WebhookInboxRepository;
+import com.smarttech.service.OrderService;
+import com.smarttech.support.AbstractIntegrationTest;
+import com.smarttech.support.Concurrently;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+class WebhookControllerIT extends AbstractIntegrationTest {
+
+    private static final int REPLAYS = 100;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private WebhookInboxRepository webhookInboxRepository;
+
+    @Test
+    void webhookReplayedConcurrentlyIsAppliedOnce() {
+        Product product = createProduct(5, new BigDecimal("100.00"));
+        User customer = createCustomer();
+        OrderResponse created = orderService.createOrder(orderRequest(product.getId(), 1), customer.getId());
+        Payment payment = paymentRepository.save(Payment.builder()
+                .order(orderRepository.getReferenceById(created.getId()))
+                .paymentReference("TX-" + UUID.randomUUID())
+                .amount(created.getTotalAmount())
+                .status(PaymentStatus.PENDING)
+                .build());
+        String payload = "{\"event\":\"charge.success\",\"status\":\"success\",\"tx_ref\":\""
+                + payment.getPaymentReference() + "\"}";
+
+        replay(payload);
+
+        assertThat(inboxEntries(payment.getPaymentReference())).hasSize(1);
+        await().atMost(Duration.ofSeconds(30)).until(() ->
+                inboxEntries(payment.getPaymentReference()).get(0).getStatus() == WebhookInboxStatus.PROCESSED);
+
+        // Replays after processing are acknowledged but change nothing
+        replay(payload);
+
+        assertThat(inboxEntries(payment.getPaymentReference())).hasSize(1);
+        Order order = orderRepository.findById(created.getId()).orElseThrow();
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.CONFIRMED);
+        assertThat(order.getPaidAmount()).isEqualByComparingTo(created.getTotalAmount());
+        assertThat(stockOf(product.getId())).isEqualTo(4);
+        assertThat(paymentRepository.findByPaymentReference(payment.getPaymentReference()).orElseThrow().getStatus())
+                .isEqualTo(PaymentStatus.SUCCESS);
+    }
+
+    private void replay(String payload) {
+        Concurrently.run(REPLAYS, i -> mockMvc.perform(post("/webhooks/chapa/payment")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isOk()));
+    }
+
+    private List<WebhookInbox> inboxEntries(String txRef) {
+        return webhookInboxRepository.findAll().stream()
+                .filter(entry -> txRef.equals(entry.getTxRef()))
+                .toList();
+    }
+}
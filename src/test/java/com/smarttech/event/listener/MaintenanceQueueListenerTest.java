@@ -0,0 +1,101 @@
+package com.smarttech.event.listener;
+
+import com.smarttech.enums.MaintenanceStatus;
+import com.smarttech.event.MaintenanceRequestUpdatedEvent;
+import com.smarttech.event.MaintenanceStatusChangedEvent;
+import com.smarttech.service.MaintenanceQueueService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class MaintenanceQueueListenerTest {
+
+    private static final String CHANNEL = "smarttech:maintenance:queue";
+
+    @Mock
+    private MaintenanceQueueService queueA;
+
+    @Mock
+    private MaintenanceQueueService queueB;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    private MaintenanceQueueListener nodeA;
+    private MaintenanceQueueListener nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = listener(queueA);
+        nodeB = listener(queueB);
+    }
+
+    @Test
+    void committedChangeRefreshesEveryNode() {
+        nodeA.handleMaintenanceStatusChanged(new MaintenanceStatusChangedEvent(5L, MaintenanceStatus.PENDING, MaintenanceStatus.IN_PROGRESS, 9L));
+        String published = publishedMessage();
+
+        nodeA.onMessage(message(published), null);
+        nodeB.onMessage(message(published), null);
+
+        verify(queueA).refresh(5L);
+        verify(queueB).refresh(5L);
+    }
+
+    @Test
+    void sameStatusUpdateIsPublishedToo() {
+        nodeA.handleMaintenanceRequestUpdated(new MaintenanceRequestUpdatedEvent(5L));
+
+        assertThat(publishedMessage()).endsWith("|5");
+        verify(queueA).refresh(5L);
+    }
+
+    @Test
+    void malformedMessageIsIgnored() {
+        nodeB.onMessage(message("other-node|not-a-number"), null);
+        nodeB.onMessage(message("garbage"), null);
+
+        verifyNoInteractions(queueB);
+    }
+
+    @Test
+    void failedLocalRefreshStillReachesOtherNodes() {
+        doThrow(new IllegalStateException("Database unavailable")).when(queueA).refresh(5L);
+
+        nodeA.handleMaintenanceRequestUpdated(new MaintenanceRequestUpdatedEvent(5L));
+        nodeB.onMessage(message(publishedMessage()), null);
+
+        verify(queueB).refresh(5L);
+    }
+
+    private MaintenanceQueueListener listener(MaintenanceQueueService queue) {
+        MaintenanceQueueListener listener = new MaintenanceQueueListener(queue, stringRedisTemplate);
+        ReflectionTestUtils.setField(listener, "channel", CHANNEL);
+        return listener;
+    }
+
+    private String publishedMessage() {
+        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(stringRedisTemplate).convertAndSend(eq(CHANNEL), captor.capture());
+        return captor.getValue();
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+}
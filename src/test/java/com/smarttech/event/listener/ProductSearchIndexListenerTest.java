@@ -0,0 +1,137 @@
+package com.smarttech.event.listener;
+
+import com.smarttech.event.ProductChangedEvent;
+import com.smarttech.repository.ProductRepository;
+import com.smarttech.search.ProductSearchDocument;
+import com.smarttech.search.ProductSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSearchIndexListenerTest {
+
+    private static final String CHANNEL = "smarttech:search:products";
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    private final ProductSearchIndex indexA = new ProductSearchIndex();
+    private final ProductSearchIndex indexB = new ProductSearchIndex();
+    private ProductSearchIndexListener nodeA;
+    private ProductSearchIndexListener nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = listener(indexA);
+        nodeB = listener(indexB);
+    }
+
+    @Test
+    void localChangeIsIndexedAndPublished() {
+        when(productRepository.findSearchDocumentById(1L)).thenReturn(Optional.of(document(1L, "Lenovo ThinkPad")));
+
+        nodeA.handleProductChanged(new ProductChangedEvent(1L, ProductChangedEvent.ChangeType.CREATED));
+
+        assertThat(indexA.search("thinkpad", 0, 10).getProductIds()).containsExactly(1L);
+        assertThat(publishedMessage()).endsWith("|1");
+    }
+
+    @Test
+    void changeOnAnotherNodeReachesThisIndex() {
+        when(productRepository.findSearchDocumentById(1L)).thenReturn(Optional.of(document(1L, "Lenovo ThinkPad")));
+        nodeA.handleProductChanged(new ProductChangedEvent(1L, ProductChangedEvent.ChangeType.CREATED));
+
+        nodeB.onMessage(message(publishedMessage()), null);
+
+        assertThat(indexB.search("thinkpad", 0, 10).getProductIds()).containsExactly(1L);
+    }
+
+    @Test
+    void deletionOnAnotherNodeRemovesTheProduct() {
+        when(productRepository.findSearchDocumentById(1L)).thenReturn(Optional.of(document(1L, "Lenovo ThinkPad")));
+        nodeB.onMessage(message("other-node|1"), null);
+        assertThat(indexB.search("thinkpad", 0, 10).getProductIds()).containsExactly(1L);
+
+        when(productRepository.findSearchDocumentById(1L)).thenReturn(Optional.empty());
+        nodeB.onMessage(message("other-node|1"), null);
+
+        assertThat(indexB.search("thinkpad", 0, 10).getProductIds()).isEmpty();
+    }
+
+    @Test
+    void ownMessagesAreIgnored() {
+        when(productRepository.findSearchDocumentById(1L)).thenReturn(Optional.of(document(1L, "Lenovo ThinkPad")));
+        nodeA.handleProductChanged(new ProductChangedEvent(1L, ProductChangedEvent.ChangeType.UPDATED));
+
+        nodeA.onMessage(message(publishedMessage()), null);
+
+        verify(productRepository, times(1)).findSearchDocumentById(1L);
+    }
+
+    @Test
+    void malformedMessagesAreIgnored() {
+        nodeB.onMessage(message("other-node|not-a-number"), null);
+        nodeB.onMessage(message("garbage"), null);
+
+        assertThat(indexB.size()).isZero();
+    }
+
+    private ProductSearchIndexListener listener(ProductSearchIndex target) {
+        ProductSearchIndexListener listener = new ProductSearchIndexListener(productRepository, target, stringRedisTemplate);
+        ReflectionTestUtils.setField(listener, "channel", CHANNEL);
+        return listener;
+    }
+
+    private String publishedMessage() {
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(stringRedisTemplate).convertAndSend(eq(CHANNEL), message.capture());
+        return message.getValue();
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ProductSearchDocument document(Long id, String name) {
+        return new ProductSearchDocument() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getDescription() {
+                return "Business laptop";
+            }
+
+            @Override
+            public String getCategoryName() {
+                return "Laptops";
+            }
+        };
+    }
+}
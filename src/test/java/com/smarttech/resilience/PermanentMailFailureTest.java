@@ -0,0 +1,66 @@
+package com.smarttech.resilience;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.InternetAddress;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailSendException;
+
+import java.net.ConnectException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PermanentMailFailureTest {
+
+    private final PermanentMailFailure permanentMailFailure = new PermanentMailFailure();
+
+    @Test
+    void rejectedRecipientIsPermanent() throws Exception {
+        assertThat(permanentMailFailure.test(rejectedRecipient())).isTrue();
+        assertThat(permanentMailFailure.test(new MailParseException("Bad address"))).isTrue();
+    }
+
+    @Test
+    void unreachableServerIsNot() {
+        assertThat(permanentMailFailure.test(unreachableServer())).isFalse();
+        assertThat(permanentMailFailure.test(new MailSendException("Mail server connection failed"))).isFalse();
+        assertThat(permanentMailFailure.test(new IllegalStateException("Unexpected"))).isFalse();
+    }
+
+    @Test
+    void rejectedRecipientsNeverOpenTheBreakerButAnOutageDoes() throws Exception {
+        CircuitBreaker breaker = CircuitBreaker.of("smtp", CircuitBreakerConfig.custom()
+                .slidingWindowSize(20)
+                .minimumNumberOfCalls(10)
+                .failureRateThreshold(50)
+                .ignoreException(permanentMailFailure)
+                .build());
+
+        MailSendException rejected = rejectedRecipient();
+        for (int i = 0; i < 50; i++) {
+            breaker.onError(0, TimeUnit.MILLISECONDS, rejected);
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        for (int i = 0; i < 10; i++) {
+            breaker.onError(0, TimeUnit.MILLISECONDS, unreachableServer());
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    private static MailSendException rejectedRecipient() throws Exception {
+        SendFailedException refused = new SendFailedException("550 5.1.1 User unknown", null, new InternetAddress[0],
+                new InternetAddress[0], new InternetAddress[] {new InternetAddress("nobody@example.com")});
+        return new MailSendException(Map.of(new Object(), refused));
+    }
+
+    private static MailSendException unreachableServer() {
+        return new MailSendException(Map.of(new Object(),
+                new MessagingException("Couldn't connect to host", new ConnectException("Connection refused"))));
+    }
+}
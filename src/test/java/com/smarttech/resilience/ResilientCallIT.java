@@ -0,0 +1,85 @@
+package com.smarttech.resilience;
+
+import com.smarttech.support.AbstractIntegrationTest;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.InternetAddress;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mail.MailSendException;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResilientCallIT extends AbstractIntegrationTest {
+
+    @Autowired
+    private ResilientCall resilientCall;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void breakerAndBulkheadMetricsAreExportedForEveryProvider() throws Exception {
+        Map<String, Integer> bulkheadLimits = Map.of(
+                ResilientCall.CHAPA, 20,
+                ResilientCall.AFROMESSAGE, 10,
+                ResilientCall.SMTP, 5,
+                ResilientCall.S3, 20);
+
+        for (Map.Entry<String, Integer> entry : bulkheadLimits.entrySet()) {
+            String provider = entry.getKey();
+            int limit = entry.getValue();
+            assertThat(resilientCall.call(provider, () -> "ok")).isEqualTo("ok");
+
+            assertThat(stateGauge(provider, "closed")).as(provider).isEqualTo(1);
+            assertThat(meterRegistry.get("resilience4j.circuitbreaker.calls").tag("name", provider).meters())
+                    .as(provider).isNotEmpty();
+            assertThat(meterRegistry.get("resilience4j.bulkhead.max.allowed.concurrent.calls")
+                    .tag("name", provider).gauge().value()).as(provider).isEqualTo(limit);
+            assertThat(meterRegistry.get("resilience4j.bulkhead.available.concurrent.calls")
+                    .tag("name", provider).gauge().value()).as(provider).isEqualTo(limit);
+        }
+
+        CircuitBreaker chapa = circuitBreakerRegistry.circuitBreaker(ResilientCall.CHAPA);
+        try {
+            chapa.transitionToOpenState();
+            assertThat(stateGauge(ResilientCall.CHAPA, "open")).isEqualTo(1);
+            assertThat(stateGauge(ResilientCall.CHAPA, "closed")).isZero();
+        } finally {
+            chapa.reset();
+        }
+    }
+
+    @Test
+    void smtpBreakerIgnoresRejectedRecipients() throws Exception {
+        CircuitBreaker breaker = circuitBreakerRegistry.circuitBreaker(ResilientCall.SMTP);
+        breaker.reset();
+        MailSendException rejected = new MailSendException(Map.of(new Object(), new SendFailedException("550 5.1.1 User unknown",
+                null, new InternetAddress[0], new InternetAddress[0], new InternetAddress[] {new InternetAddress("nobody@example.com")})));
+
+        for (int i = 0; i < 30; i++) {
+            assertThatThrownBy(() -> resilientCall.run(ResilientCall.SMTP, () -> {
+                throw rejected;
+            })).isSameAs(rejected);
+        }
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.getMetrics().getNumberOfFailedCalls()).isZero();
+    }
+
+    private double stateGauge(String provider, String state) {
+        return meterRegistry.get("resilience4j.circuitbreaker.state")
+                .tag("name", provider)
+                .tag("state", state)
+                .gauge()
+                .value();
+    }
+}
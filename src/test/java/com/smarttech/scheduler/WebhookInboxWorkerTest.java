@@ -0,0 +1,75 @@
+package com.smarttech.scheduler;
+
+import com.smarttech.service.WebhookInboxService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WebhookInboxWorkerTest {
+
+    @Mock
+    private WebhookInboxService webhookInboxService;
+
+    @InjectMocks
+    private WebhookInboxWorker worker;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // One worker and a one-slot queue, with the worker held busy until the test lets it go
+        ReflectionTestUtils.setField(worker, "workers", 1);
+        ReflectionTestUtils.setField(worker, "batchSize", 1);
+        worker.init();
+        doAnswer(invocation -> {
+            release.await();
+            return null;
+        }).when(webhookInboxService).process(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        worker.shutdown();
+    }
+
+    @Test
+    void claimsThePoolRejectsAreReleased() throws Exception {
+        when(webhookInboxService.claimDue(anyInt())).thenReturn(List.of(1L, 2L, 3L, 4L));
+
+        worker.drain();
+
+        verify(webhookInboxService).release(List.of(3L, 4L));
+        release.countDown();
+        verify(webhookInboxService, timeout(5_000)).process(2L);
+        verify(webhookInboxService, never()).process(3L);
+    }
+
+    @Test
+    void nothingIsReleasedWhenEveryClaimFits() throws Exception {
+        when(webhookInboxService.claimDue(anyInt())).thenReturn(List.of(1L, 2L));
+
+        worker.drain();
+
+        release.countDown();
+        verify(webhookInboxService, timeout(5_000)).process(2L);
+        verify(webhookInboxService, never()).release(anyList());
+    }
+}
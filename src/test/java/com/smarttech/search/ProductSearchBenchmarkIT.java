@@ -0,0 +1,100 @@
+package com.smarttech.search;
+
+import com.smarttech.event.listener.ProductSearchIndexListener;
+import com.smarttech.repository.ProductRepository;
+import com.smarttech.service.ProductService;
+import com.smarttech.support.AbstractIntegrationTest;
+import com.smarttech.support.Latencies;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Search latency of the in-memory index (including loading the page of products) against the JPQL LIKE query it
+ * replaced, at 10k and 100k products.
+ */
+@Slf4j
+@Tag("performance")
+class ProductSearchBenchmarkIT extends AbstractIntegrationTest {
+
+    private static final String[] BRANDS = {"lenovo", "dell", "hp", "asus", "acer", "apple", "samsung", "msi", "toshiba", "huawei"};
+    private static final String[] TYPES = {"laptop", "desktop", "monitor", "printer", "router", "tablet", "phone", "keyboard", "mouse", "speaker"};
+    private static final String[] TRAITS = {"gaming", "business", "portable", "wireless", "refurbished", "ultra", "compact", "pro", "slim", "rugged"};
+    private static final long FIRST_ID = 50_000_000L;
+    private static final int INSERT_BATCH = 5_000;
+    private static final Pageable PAGE = PageRequest.of(0, 20);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductSearchIndexListener productSearchIndexListener;
+
+    @Test
+    void indexBeatsJpqlAtTenAndHundredThousandProducts() throws Exception {
+        insertProducts(0, 10_000);
+        compare(10_000);
+
+        insertProducts(10_000, 100_000);
+        compare(100_000);
+    }
+
+    private void compare(int products) throws Exception {
+        productSearchIndexListener.buildIndex();
+        List<String> queries = queries();
+
+        Latencies index = Latencies.measure(200, 1_000, i ->
+                productService.searchProducts(queries.get(i % queries.size()), PAGE));
+        Latencies jpql = Latencies.measure(20, 200, i ->
+                productRepository.searchProducts(queries.get(i % queries.size()), PAGE));
+
+        log.info("{} products: index {}; JPQL {}", products, index, jpql);
+        assertThat(index.p99()).as("index p99 at %d products", products).isLessThan(jpql.p99());
+    }
+
+    private void insertProducts(int from, int to) {
+        Random random = new Random(from);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int start = from; start < to; start += INSERT_BATCH) {
+            List<Object[]> rows = new ArrayList<>(INSERT_BATCH);
+            for (int i = start; i < Math.min(to, start + INSERT_BATCH); i++) {
+                String brand = BRANDS[random.nextInt(BRANDS.length)];
+                String type = TYPES[random.nextInt(TYPES.length)];
+                String trait = TRAITS[random.nextInt(TRAITS.length)];
+                rows.add(new Object[] {FIRST_ID + i, brand + " " + trait + " " + type + " " + i,
+                        "A " + trait + " " + type + " from " + brand, 100 + random.nextInt(900), now, now});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO products (id, name, description, price, stock_quantity, min_stock_level, " +
+                    "status, flash_sale, created_at, updated_at) VALUES (?, ?, ?, ?, 10, 1, 'ACTIVE', false, ?, ?)", rows);
+        }
+    }
+
+    private static List<String> queries() {
+        List<String> queries = new ArrayList<>();
+        for (String brand : BRANDS) {
+            queries.add(brand);
+        }
+        for (String type : TYPES) {
+            queries.add(type);
+        }
+        for (String trait : TRAITS) {
+            queries.add(trait);
+        }
+        return queries;
+    }
+}
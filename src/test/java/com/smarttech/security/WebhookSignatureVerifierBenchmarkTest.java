@@ -0,0 +1,137 @@
+package com.smarttech.security;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JMH benchmark of webhook signature checks: the pooled verifier against the previous per-request
+ * Mac.getInstance and hex-string comparison. Reports throughput and, through the GC profiler, bytes
+ * allocated per check. Run with the performance-test profile.
+ */
+@Tag("performance")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class WebhookSignatureVerifierBenchmarkTest {
+
+    private static final String SECRET = "benchmark-secret";
+
+    @Param({"512", "8192"})
+    public int payloadBytes;
+
+    private WebhookSignatureVerifier verifier;
+    private String payload;
+    private String signature;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        verifier = WebhookSignatureVerifierTest.verifier(SECRET);
+        payload = "{\"data\":\"" + "x".repeat(payloadBytes) + "\"}";
+        signature = "sha256=" + WebhookSignatureVerifierTest.sign(payload, SECRET);
+    }
+
+    @Benchmark
+    public boolean pooledVerifier() {
+        return verifier.isValid(payload, signature, null);
+    }
+
+    @Benchmark
+    public boolean perRequestMac() throws Exception {
+        return perRequestIsValid(payload, signature, null);
+    }
+
+    // The check as it was done before the verifier: a new Mac and a hex string per request
+    private static boolean perRequestIsValid(String payload, String chapaSignature, String xChapaSignature)
+            throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        byte[] hash = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        StringBuilder hexString = new StringBuilder();
+        for (byte b : hash) {
+            String hex = Integer.toHexString(0xff & b);
+            if (hex.length() == 1) {
+                hexString.append('0');
+            }
+            hexString.append(hex);
+        }
+        String expected = hexString.toString();
+
+        for (String header : new String[] {chapaSignature, xChapaSignature}) {
+            if (header != null && !header.trim().isEmpty()) {
+                String clean = header.startsWith("sha256=") ? header.substring(7) : header;
+                if (MessageDigest.isEqual(clean.getBytes(StandardCharsets.UTF_8),
+                        expected.getBytes(StandardCharsets.UTF_8))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Test
+    void runBenchmarks() throws Exception {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(WebhookSignatureVerifierBenchmarkTest.class.getName() + "\\.")
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+        assertThat(results).hasSize(4);
+
+        for (String size : new String[] {"512", "8192"}) {
+            Map<String, RunResult> bySize = results.stream()
+                    .filter(result -> size.equals(result.getParams().getParam("payloadBytes")))
+                    .collect(Collectors.toMap(result -> method(result), result -> result));
+            RunResult pooled = bySize.get("pooledVerifier");
+            RunResult perRequest = bySize.get("perRequestMac");
+
+            assertThat(pooled.getPrimaryResult().getScore())
+                    .isGreaterThan(perRequest.getPrimaryResult().getScore());
+            assertThat(allocatedBytesPerOp(pooled)).isLessThan(allocatedBytesPerOp(perRequest));
+        }
+    }
+
+    private static String method(RunResult result) {
+        String benchmark = result.getParams().getBenchmark();
+        return benchmark.substring(benchmark.lastIndexOf('.') + 1);
+    }
+
+    private static double allocatedBytesPerOp(RunResult result) {
+        return result.getSecondaryResults().get("gc.alloc.rate.norm").getScore();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new WebhookSignatureVerifierBenchmarkTest().runBenchmarks();
+    }
+}
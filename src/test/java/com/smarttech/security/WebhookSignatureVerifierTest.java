@@ -0,0 +1,86 @@
+package com.smarttech.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WebhookSignatureVerifierTest {
+
+    private static final String PAYLOAD = "{\"tx_ref\":\"TX-1\",\"status\":\"success\"}";
+
+    @Test
+    void acceptsSignatureInEitherHeaderWithOrWithoutPrefix() {
+        WebhookSignatureVerifier verifier = verifier("current");
+        String signature = sign(PAYLOAD, "current");
+
+        assertThat(verifier.isValid(PAYLOAD, signature, null)).isTrue();
+        assertThat(verifier.isValid(PAYLOAD, null, signature)).isTrue();
+        assertThat(verifier.isValid(PAYLOAD, "sha256=" + signature.toUpperCase(), null)).isTrue();
+        assertThat(verifier.isValid(PAYLOAD, "malformed", " " + signature + " ")).isTrue();
+    }
+
+    @Test
+    void rejectsMissingMalformedOrForeignSignatures() {
+        WebhookSignatureVerifier verifier = verifier("current");
+        String signature = sign(PAYLOAD, "current");
+
+        assertThat(verifier.isValid(PAYLOAD, null, "")).isFalse();
+        assertThat(verifier.isValid(PAYLOAD, signature.substring(2), null)).isFalse();
+        assertThat(verifier.isValid(PAYLOAD, "zz" + signature.substring(2), null)).isFalse();
+        assertThat(verifier.isValid(PAYLOAD, sign(PAYLOAD, "someone-else"), null)).isFalse();
+        assertThat(verifier.isValid(PAYLOAD + " ", signature, null)).isFalse();
+    }
+
+    @Test
+    void acceptsPreviousSecretsDuringRotation() {
+        WebhookSignatureVerifier verifier = verifier("current", "older", "oldest");
+
+        assertThat(verifier.isValid(PAYLOAD, sign(PAYLOAD, "older"), null)).isTrue();
+        assertThat(verifier.isValid(PAYLOAD, null, sign(PAYLOAD, "oldest"))).isTrue();
+        assertThat(verifier.isValid(PAYLOAD, sign(PAYLOAD, "retired"), null)).isFalse();
+    }
+
+    @Test
+    void reusedMacsStayCorrectAcrossRequests() {
+        WebhookSignatureVerifier verifier = verifier("current", "older");
+
+        // A rejected request runs every Mac to completion; the next one must not see leftover state
+        assertThat(verifier.isValid(PAYLOAD, sign(PAYLOAD, "retired"), null)).isFalse();
+        for (int i = 0; i < 100; i++) {
+            String payload = PAYLOAD + i;
+            assertThat(verifier.isValid(payload, sign(payload, i % 2 == 0 ? "current" : "older"), null)).isTrue();
+        }
+    }
+
+    @Test
+    void skipsValidationWhenNoSecretIsConfigured() {
+        WebhookSignatureVerifier verifier = verifier("");
+
+        assertThat(verifier.isValid(PAYLOAD, null, null)).isTrue();
+    }
+
+    static WebhookSignatureVerifier verifier(String secret, String... previousSecrets) {
+        WebhookSignatureVerifier verifier = new WebhookSignatureVerifier();
+        ReflectionTestUtils.setField(verifier, "webhookSecret", secret);
+        ReflectionTestUtils.setField(verifier, "previousSecrets", List.of(previousSecrets));
+        verifier.init();
+        return verifier;
+    }
+
+    static String sign(String payload, String secret) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
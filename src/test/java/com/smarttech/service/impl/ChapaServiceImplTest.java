@@ -0,0 +1,263 @@
+package com.smarttech.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import com.smarttech.dto.request.PaymentRequestDTO;
+import com.smarttech.exception.GlobalExceptionHandler;
+import com.smarttech.exception.ProviderUnavailableException;
+import com.smarttech.repository.AccountInfoRepository;
+import com.smarttech.resilience.ResilientCall;
+import com.smarttech.support.ResilienceFixture;
+import com.yaphet.chapa.Chapa;
+import com.yaphet.chapa.model.InitializeResponseData;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import kong.unirest.HttpResponse;
+import kong.unirest.Unirest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.serverError;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Fault injection against the gateway: errors and latency from a WireMock Chapa must open the chapa breaker,
+ * an open breaker or full bulkhead must fail fast without reaching the gateway, and half-open probes must
+ * close it again once the gateway recovers.
+ */
+@ExtendWith(MockitoExtension.class)
+class ChapaServiceImplTest {
+
+    private static final String INITIALIZE = "/v1/transaction/initialize";
+    private static final Duration READ_TIMEOUT = Duration.ofMillis(300);
+
+    @Mock
+    private AccountInfoRepository accountInfoRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private final WireMockServer gateway = new WireMockServer(options().dynamicPort());
+
+    private ResilienceFixture resilience;
+    private ChapaServiceImpl chapaService;
+
+    @BeforeEach
+    void setUp() throws Throwable {
+        gateway.start();
+        resilience = new ResilienceFixture();
+        chapaService = new ChapaServiceImpl(accountInfoRepository, eventPublisher, new ObjectMapper(), restTemplate,
+                resilience.resilientCall());
+        ReflectionTestUtils.setField(chapaService, "chapaSecretKey", "CHASECK_TEST-key");
+        ReflectionTestUtils.setField(chapaService, "gatewayTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(chapaService, "maxConcurrentCalls", 4);
+        ReflectionTestUtils.setField(chapaService, "connectTimeout", Duration.ofMillis(500));
+        ReflectionTestUtils.setField(chapaService, "readTimeout", READ_TIMEOUT);
+        chapaService.init();
+        useGatewayStandIn();
+    }
+
+    @AfterEach
+    void tearDown() {
+        chapaService.shutdown();
+        gateway.stop();
+        Unirest.config().reset();
+    }
+
+    @Test
+    void gatewayErrorsOpenTheBreakerAndHalfOpenProbesCloseIt() throws Exception {
+        gateway.stubFor(post(urlEqualTo(INITIALIZE)).willReturn(serverError()));
+
+        for (int i = 0; i < ResilienceFixture.WINDOW; i++) {
+            assertThatThrownBy(() -> chapaService.initializePayment(request()))
+                    .isInstanceOf(RuntimeException.class)
+                    .isNotInstanceOf(ProviderUnavailableException.class);
+        }
+        assertThat(breaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(resilience.stateGauge(ResilientCall.CHAPA, CircuitBreaker.State.OPEN)).isEqualTo(1);
+
+        assertRejectedWithoutReachingTheGateway(ResilienceFixture.WINDOW);
+        assertThat(resilience.notPermittedCalls(ResilientCall.CHAPA)).isEqualTo(1);
+
+        gateway.stubFor(post(urlEqualTo(INITIALIZE)).willReturn(okJson("{\"status\":\"success\"}")));
+        resilience.waitForHalfOpen();
+
+        assertThat(chapaService.initializePayment(request())).isNotNull();
+        assertThat(breaker().getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(resilience.stateGauge(ResilientCall.CHAPA, CircuitBreaker.State.HALF_OPEN)).isEqualTo(1);
+
+        assertThat(chapaService.initializePayment(request())).isNotNull();
+        assertThat(breaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(resilience.stateGauge(ResilientCall.CHAPA, CircuitBreaker.State.CLOSED)).isEqualTo(1);
+    }
+
+    @Test
+    void stalledGatewayTimesOutAtTheReadTimeoutAndOpensTheBreaker() {
+        gateway.stubFor(post(urlEqualTo(INITIALIZE)).willReturn(okJson("{}").withFixedDelay(5_000)));
+
+        for (int i = 0; i < ResilienceFixture.WINDOW; i++) {
+            long start = System.nanoTime();
+            assertThatThrownBy(() -> chapaService.initializePayment(request())).isInstanceOf(RuntimeException.class);
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        }
+
+        assertThat(breaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertRejectedWithoutReachingTheGateway(ResilienceFixture.WINDOW);
+    }
+
+    @Test
+    void failedHalfOpenProbeReopensTheBreaker() throws Exception {
+        gateway.stubFor(post(urlEqualTo(INITIALIZE))
+                .willReturn(aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER)));
+        for (int i = 0; i < ResilienceFixture.WINDOW; i++) {
+            assertThatThrownBy(() -> chapaService.initializePayment(request())).isInstanceOf(RuntimeException.class);
+        }
+        assertThat(breaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        resilience.waitForHalfOpen();
+        // Still broken: one probe recovers, the next fails, so the half-open window fails at 50%
+        gateway.stubFor(post(urlEqualTo(INITIALIZE)).inScenario("probe")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(okJson("{}"))
+                .willSetStateTo("broken"));
+        gateway.stubFor(post(urlEqualTo(INITIALIZE)).inScenario("probe")
+                .whenScenarioStateIs("broken")
+                .willReturn(aResponse().withFault(Fault.EMPTY_RESPONSE)));
+
+        chapaService.initializePayment(request());
+        assertThatThrownBy(() -> chapaService.initializePayment(request())).isInstanceOf(RuntimeException.class);
+
+        assertThat(breaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertRejectedWithoutReachingTheGateway(ResilienceFixture.WINDOW + ResilienceFixture.HALF_OPEN_PROBES);
+    }
+
+    @Test
+    void fullBulkheadFailsFastWithServiceUnavailable() throws Throwable {
+        // A slow but healthy gateway: calls complete, they just hold their permits for a while
+        chapaService.shutdown();
+        ReflectionTestUtils.setField(chapaService, "readTimeout", Duration.ofSeconds(2));
+        chapaService.init();
+        useGatewayStandIn();
+        gateway.stubFor(post(urlEqualTo(INITIALIZE)).willReturn(okJson("{}").withFixedDelay(600)));
+
+        List<CompletableFuture<InitializeResponseData>> inFlight = new ArrayList<>();
+        for (int i = 0; i < ResilienceFixture.MAX_CONCURRENT_CALLS; i++) {
+            inFlight.add(CompletableFuture.supplyAsync(() -> chapaService.initializePayment(request())));
+        }
+        await().atMost(Duration.ofSeconds(2)).until(() ->
+                resilience.availableBulkheadPermits(ResilientCall.CHAPA) == 0);
+
+        long start = System.nanoTime();
+        ProviderUnavailableException rejected = catchProviderUnavailable();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(100));
+        assertThat(new GlobalExceptionHandler().handleProviderUnavailableException(rejected).getStatusCode().value())
+                .isEqualTo(503);
+
+        for (CompletableFuture<InitializeResponseData> call : inFlight) {
+            assertThat(call.get()).isNotNull();
+        }
+        gateway.verify(ResilienceFixture.MAX_CONCURRENT_CALLS, postRequestedFor(urlEqualTo(INITIALIZE)));
+        // Bulkhead rejections say nothing about the gateway's health
+        assertThat(breaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker().getMetrics().getNumberOfFailedCalls()).isZero();
+        assertThat(resilience.availableBulkheadPermits(ResilientCall.CHAPA)).isEqualTo(ResilienceFixture.MAX_CONCURRENT_CALLS);
+    }
+
+    @Test
+    void hungSdkCallIsAbandonedAtTheGatewayTimeout() throws Throwable {
+        Chapa hung = mock(Chapa.class);
+        when(hung.initialize(any())).thenAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return null;
+        });
+        ReflectionTestUtils.setField(chapaService, "chapa", hung);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> chapaService.initializePayment(request()))
+                .hasCauseInstanceOf(TimeoutException.class);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(3));
+    }
+
+    private void assertRejectedWithoutReachingTheGateway(int gatewayCalls) {
+        assertThat(catchProviderUnavailable()).hasMessageContaining(ResilientCall.CHAPA);
+        gateway.verify(gatewayCalls, postRequestedFor(urlEqualTo(INITIALIZE)));
+    }
+
+    private ProviderUnavailableException catchProviderUnavailable() {
+        try {
+            chapaService.initializePayment(request());
+        } catch (ProviderUnavailableException e) {
+            return e;
+        }
+        throw new AssertionError("Expected the call to be rejected");
+    }
+
+    private CircuitBreaker breaker() {
+        return resilience.breaker(ResilientCall.CHAPA);
+    }
+
+    /**
+     * The Chapa SDK posts to a fixed api.chapa.co URL through the shared Unirest client. This stand-in makes the
+     * same call through that client against WireMock, so the service's timeouts and pool limits apply to it.
+     */
+    private void useGatewayStandIn() throws Throwable {
+        Chapa standIn = mock(Chapa.class);
+        lenient().when(standIn.initialize(any())).thenAnswer(invocation -> {
+            HttpResponse<String> response = Unirest.post(gateway.url(INITIALIZE))
+                    .header("Authorization", "Bearer CHASECK_TEST-key")
+                    .asString();
+            if (response.getParsingError().isPresent()) {
+                throw response.getParsingError().get();
+            }
+            if (response.getStatus() >= 500) {
+                throw new IOException("Chapa returned HTTP " + response.getStatus());
+            }
+            return mock(InitializeResponseData.class);
+        });
+        ReflectionTestUtils.setField(chapaService, "chapa", standIn);
+    }
+
+    private static PaymentRequestDTO request() {
+        PaymentRequestDTO request = new PaymentRequestDTO();
+        request.setAmount(new BigDecimal("100.00"));
+        request.setCurrency("ETB");
+        request.setEmail("buyer@example.com");
+        request.setFirstName("Abebe");
+        request.setLastName("Kebede");
+        request.setTxRef("TX-1");
+        request.setCallbackUrl("https://example.com/callback");
+        return request;
+    }
+}
@@ -0,0 +1,129 @@
+package com.smarttech.service.impl;
+
+import com.smarttech.enums.CustomerTier;
+import com.smarttech.service.UserService;
+import com.smarttech.support.AbstractIntegrationTest;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Nightly customer tier recalculation over one million payments from 100k customers: time for the first run,
+ * which corrects every customer, and for a second run with nothing left to correct.
+ */
+@Slf4j
+@Tag("performance")
+class CustomerTierRecalculationBenchmarkIT extends AbstractIntegrationTest {
+
+    private static final int CUSTOMERS = 100_000;
+    private static final int PAYMENTS_PER_CUSTOMER = 10;
+    private static final int INSERT_BATCH = 10_000;
+    // Far above anything the pooled generators hand out during the test run
+    private static final long FIRST_ID = 900_000_000L;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void recalculatesOneMillionPayments() {
+        String prefix = "tier-" + UUID.randomUUID() + "-";
+        List<Long> customerIds = insertCustomers(prefix);
+        long[] expectedCents = insertOrdersAndPayments(customerIds);
+
+        long start = System.currentTimeMillis();
+        int corrected = userService.recalculateCustomerTiers();
+        long firstRun = System.currentTimeMillis() - start;
+
+        start = System.currentTimeMillis();
+        int correctedAgain = userService.recalculateCustomerTiers();
+        long secondRun = System.currentTimeMillis() - start;
+
+        log.info("Recalculated {} payments for {} customers: first run corrected {} in {} ms, second run corrected {} in {} ms",
+                CUSTOMERS * PAYMENTS_PER_CUSTOMER, CUSTOMERS, corrected, firstRun, correctedAgain, secondRun);
+
+        long customersWithPurchases = Arrays.stream(expectedCents).filter(cents -> cents > 0).count();
+        assertThat(corrected).isGreaterThanOrEqualTo((int) customersWithPurchases);
+        assertThat(correctedAgain).isZero();
+
+        for (int i = 0; i < CUSTOMERS; i += 101) {
+            Map<String, Object> row = jdbcTemplate.queryForMap(
+                    "SELECT total_purchases, customer_tier FROM users WHERE id = ?", customerIds.get(i));
+            BigDecimal expected = BigDecimal.valueOf(expectedCents[i], 2);
+            assertThat((BigDecimal) row.get("total_purchases")).as("customer %d total", i).isEqualByComparingTo(expected);
+            assertThat(row.get("customer_tier")).as("customer %d tier", i).isEqualTo(CustomerTier.calculateTier(expected).name());
+        }
+    }
+
+    private List<Long> insertCustomers(String prefix) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int start = 0; start < CUSTOMERS; start += INSERT_BATCH) {
+            List<Object[]> rows = new ArrayList<>(INSERT_BATCH);
+            for (int i = start; i < start + INSERT_BATCH; i++) {
+                rows.add(new Object[] {prefix + i + "@test.smarttech.local", "+2519" + i, now, now});
+            }
+            // Drifted on purpose: every customer starts at zero whatever they have paid
+            jdbcTemplate.batchUpdate("INSERT INTO users (email, password, first_name, last_name, phone_number, role, " +
+                    "customer_tier, total_purchases, is_active, email_verified, phone_verified, otp_attempts, created_at, updated_at) " +
+                    "VALUES (?, '{noop}secret', 'Bench', 'Customer', ?, 'CUSTOMER', 'BRONZE', 0, 1, 1, 1, 0, ?, ?)", rows);
+        }
+        return jdbcTemplate.queryForList("SELECT id FROM users WHERE email LIKE ? ORDER BY id", Long.class, prefix + "%");
+    }
+
+    private long[] insertOrdersAndPayments(List<Long> customerIds) {
+        Random random = new Random(42);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long[] expectedCents = new long[customerIds.size()];
+
+        for (int start = 0; start < CUSTOMERS; start += INSERT_BATCH) {
+            List<Object[]> orders = new ArrayList<>(INSERT_BATCH);
+            for (int i = start; i < start + INSERT_BATCH; i++) {
+                orders.add(new Object[] {FIRST_ID + i, "TB-" + (FIRST_ID + i), customerIds.get(i), now, now});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO orders (id, order_number, customer_id, subtotal, vat_amount, total_amount, " +
+                    "paid_amount, status, stock_reserved, created_at, updated_at) " +
+                    "VALUES (?, ?, ?, 0, 0, 0, 0, 'DELIVERED', 0, ?, ?)", orders);
+        }
+
+        List<Object[]> payments = new ArrayList<>(INSERT_BATCH);
+        for (int p = 0; p < CUSTOMERS * PAYMENTS_PER_CUSTOMER; p++) {
+            int customer = p / PAYMENTS_PER_CUSTOMER;
+            long cents = 100 + random.nextInt(6_000_000);
+            boolean success = random.nextInt(10) != 0;
+            if (success) {
+                expectedCents[customer] += cents;
+            }
+            payments.add(new Object[] {FIRST_ID + p, FIRST_ID + customer, "TBP-" + (FIRST_ID + p),
+                    BigDecimal.valueOf(cents, 2), success ? "SUCCESS" : "FAILED", now, now});
+            if (payments.size() == INSERT_BATCH) {
+                insertPayments(payments);
+                payments.clear();
+            }
+        }
+        insertPayments(payments);
+        return expectedCents;
+    }
+
+    private void insertPayments(List<Object[]> payments) {
+        if (!payments.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO payments (id, order_id, payment_reference, amount, status, created_at, updated_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?)", payments);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.smarttech.service.impl;
+
+import com.smarttech.dto.response.DashboardStatsResponse;
+import com.smarttech.entity.Product;
+import com.smarttech.entity.User;
+import com.smarttech.service.DashboardSnapshotService;
+import com.smarttech.service.OrderService;
+import com.smarttech.support.AbstractIntegrationTest;
+import com.smarttech.support.Latencies;
+import com.smarttech.support.SqlStatementCounter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dashboard reads against the snapshot: a rebuild runs a handful of grouped queries, a warm read runs none and is
+ * much faster, and committed orders move the counters without a rebuild.
+ */
+@Slf4j
+class DashboardSnapshotIT extends AbstractIntegrationTest {
+
+    @Autowired
+    private DashboardSnapshotService dashboardSnapshotService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Test
+    void warmReadsRunNoQueriesAndRebuildsRunAHandful() throws Exception {
+        Product product = createProduct(10, new BigDecimal("30.00"));
+        User customer = createCustomer();
+        orderService.createOrder(orderRequest(product.getId(), 1), customer.getId());
+
+        SqlStatementCounter.Statements rebuild = SqlStatementCounter.record(dashboardSnapshotService::refresh);
+        SqlStatementCounter.Statements warm = SqlStatementCounter.record(dashboardSnapshotService::getDashboardStats);
+
+        // The per-request path used to run about a dozen queries
+        assertThat(rebuild.count()).isLessThanOrEqualTo(6);
+        assertThat(warm.count()).isZero();
+
+        Latencies rebuilds = Latencies.measure(5, 50, i -> dashboardSnapshotService.refresh());
+        Latencies reads = Latencies.measure(1_000, 10_000, i -> dashboardSnapshotService.getDashboardStats());
+        log.info("Dashboard: {} statements per rebuild ({}); warm reads {}", rebuild.count(), rebuilds, reads);
+        assertThat(reads.p99()).isLessThan(rebuilds.p50());
+    }
+
+    @Test
+    void committedOrdersMoveTheCountersWithoutARebuild() throws Exception {
+        Product product = createProduct(10, new BigDecimal("30.00"));
+        User customer = createCustomer();
+        dashboardSnapshotService.refresh();
+        DashboardStatsResponse before = dashboardSnapshotService.getDashboardStats();
+
+        orderService.createOrder(orderRequest(product.getId(), 1), customer.getId());
+
+        AtomicReference<DashboardStatsResponse> after = new AtomicReference<>();
+        SqlStatementCounter.Statements read = SqlStatementCounter.record(() ->
+                after.set(dashboardSnapshotService.getDashboardStats()));
+        assertThat(read.count()).isZero();
+        assertThat(after.get().getTotalOrders()).isEqualTo(before.getTotalOrders() + 1);
+        assertThat(after.get().getPendingOrders()).isEqualTo(before.getPendingOrders() + 1);
+    }
+}
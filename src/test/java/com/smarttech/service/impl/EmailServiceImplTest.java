@@ -0,0 +1,148 @@
+package com.smarttech.service.impl;
+
+import com.smarttech.dto.report.LowStockItem;
+import com.smarttech.resilience.ResilientCall;
+import com.smarttech.support.FakeSmtpServer;
+import com.smarttech.support.FakeSmtpServer.Behaviour;
+import com.smarttech.support.ResilienceFixture;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thymeleaf.TemplateEngine;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Fault injection against the SMTP server: refused and stalled sessions trip the smtp breaker, rejected
+ * recipients do not, and an open breaker or full bulkhead drops mail without opening a connection.
+ */
+@ExtendWith(MockitoExtension.class)
+class EmailServiceImplTest {
+
+    private static final List<LowStockItem> DIGEST = List.of(new LowStockItem(1L, "Laptop", 1, 5));
+
+    @Mock
+    private TemplateEngine templateEngine;
+
+    private FakeSmtpServer smtp;
+    private ResilienceFixture resilience;
+    private JavaMailSenderImpl mailSender;
+    private EmailServiceImpl emailService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        smtp = new FakeSmtpServer();
+        resilience = new ResilienceFixture();
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtp.port());
+        useTimeout(Duration.ofMillis(500));
+        emailService = new EmailServiceImpl(mailSender, templateEngine, resilience.resilientCall());
+        ReflectionTestUtils.setField(emailService, "businessName", "Smart Tech");
+        ReflectionTestUtils.setField(emailService, "fromEmail", "admin@smarttech.test");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        smtp.close();
+    }
+
+    @Test
+    void refusedSessionsOpenTheBreakerAndHalfOpenProbesCloseIt() throws Exception {
+        smtp.behave(Behaviour.UNAVAILABLE);
+        for (int i = 0; i < ResilienceFixture.WINDOW; i++) {
+            assertThat(emailService.sendLowStockDigest(DIGEST)).isFalse();
+        }
+        assertThat(breaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(resilience.stateGauge(ResilientCall.SMTP, CircuitBreaker.State.OPEN)).isEqualTo(1);
+
+        assertThat(emailService.sendLowStockDigest(DIGEST)).isFalse();
+        assertThat(smtp.connections()).isEqualTo(ResilienceFixture.WINDOW);
+        assertThat(resilience.notPermittedCalls(ResilientCall.SMTP)).isEqualTo(1);
+
+        smtp.behave(Behaviour.ACCEPT);
+        resilience.waitForHalfOpen();
+        for (int i = 0; i < ResilienceFixture.HALF_OPEN_PROBES; i++) {
+            assertThat(emailService.sendLowStockDigest(DIGEST)).isTrue();
+        }
+
+        assertThat(smtp.delivered()).isEqualTo(ResilienceFixture.HALF_OPEN_PROBES);
+        assertThat(breaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(resilience.stateGauge(ResilientCall.SMTP, CircuitBreaker.State.CLOSED)).isEqualTo(1);
+    }
+
+    @Test
+    void stalledServerTimesOutAndOpensTheBreaker() {
+        smtp.behave(Behaviour.STALL);
+
+        for (int i = 0; i < ResilienceFixture.WINDOW; i++) {
+            long start = System.nanoTime();
+            assertThat(emailService.sendLowStockDigest(DIGEST)).isFalse();
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(3));
+        }
+
+        assertThat(breaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(emailService.sendLowStockDigest(DIGEST)).isFalse();
+        assertThat(smtp.connections()).isEqualTo(ResilienceFixture.WINDOW);
+    }
+
+    @Test
+    void rejectedRecipientsDoNotCountAgainstTheServer() {
+        smtp.behave(Behaviour.REJECT_RECIPIENTS);
+
+        for (int i = 0; i < ResilienceFixture.WINDOW * 2; i++) {
+            assertThat(emailService.sendLowStockDigest(DIGEST)).isFalse();
+        }
+
+        assertThat(smtp.connections()).isEqualTo(ResilienceFixture.WINDOW * 2);
+        assertThat(breaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker().getMetrics().getNumberOfFailedCalls()).isZero();
+    }
+
+    @Test
+    void fullBulkheadDropsMailWithoutConnecting() throws Exception {
+        useTimeout(Duration.ofSeconds(2));
+        smtp.behave(Behaviour.SLOW);
+
+        List<CompletableFuture<Boolean>> inFlight = new ArrayList<>();
+        for (int i = 0; i < ResilienceFixture.MAX_CONCURRENT_CALLS; i++) {
+            inFlight.add(CompletableFuture.supplyAsync(() -> emailService.sendLowStockDigest(DIGEST)));
+        }
+        await().atMost(Duration.ofSeconds(2)).until(() ->
+                resilience.availableBulkheadPermits(ResilientCall.SMTP) == 0);
+
+        assertThat(emailService.sendLowStockDigest(DIGEST)).isFalse();
+
+        for (CompletableFuture<Boolean> send : inFlight) {
+            assertThat(send.get()).isTrue();
+        }
+        assertThat(smtp.connections()).isEqualTo(ResilienceFixture.MAX_CONCURRENT_CALLS);
+        assertThat(breaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker().getMetrics().getNumberOfFailedCalls()).isZero();
+    }
+
+    private void useTimeout(Duration timeout) {
+        Properties properties = new Properties();
+        properties.put("mail.smtp.connectiontimeout", String.valueOf(timeout.toMillis()));
+        properties.put("mail.smtp.timeout", String.valueOf(timeout.toMillis()));
+        properties.put("mail.smtp.writetimeout", String.valueOf(timeout.toMillis()));
+        mailSender.setJavaMailProperties(properties);
+    }
+
+    private CircuitBreaker breaker() {
+        return resilience.breaker(ResilientCall.SMTP);
+    }
+}
@@ -0,0 +1,92 @@
+package com.smarttech.service.impl;
+
+import com.smarttech.dto.request.OrderCreateRequest;
+import com.smarttech.entity.Product;
+import com.smarttech.entity.User;
+import com.smarttech.exception.InsufficientStockException;
+import com.smarttech.service.HotStockService;
+import com.smarttech.service.OrderService;
+import com.smarttech.service.ProductService;
+import com.smarttech.support.AbstractIntegrationTest;
+import com.smarttech.support.Concurrently;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checkout throughput for one contended product, reserved against its Redis counter (flash sale) versus its
+ * products row. Both runs sell out without overselling; the timings are logged for comparison.
+ */
+@Slf4j
+@Tag("performance")
+class FlashSaleThroughputIT extends AbstractIntegrationTest {
+
+    private static final int STOCK = 2_000;
+    private static final int ATTEMPTS = 2_400;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private HotStockService hotStockService;
+
+    @Test
+    void comparesRedisCounterWithDatabaseRowUnderContention() {
+        User customer = createCustomer();
+
+        Product rowProduct = createProduct(STOCK, new BigDecimal("50.00"));
+        double rowThroughput = sellOut("database row", rowProduct, customer);
+
+        Product hotProduct = createProduct(STOCK, new BigDecimal("50.00"));
+        productService.setFlashSale(hotProduct.getId(), true);
+        double hotThroughput = sellOut("redis counter", hotProduct, customer);
+        hotStockService.flushDirtyStock();
+
+        assertThat(stockOf(rowProduct.getId())).isZero();
+        assertThat(stockOf(hotProduct.getId())).isZero();
+        log.info("Flash-sale checkout throughput: {} orders/s via Redis vs {} orders/s via the products row ({}x)",
+                Math.round(hotThroughput), Math.round(rowThroughput), String.format("%.2f", hotThroughput / rowThroughput));
+    }
+
+    private double sellOut(String mode, Product product, User customer) {
+        AtomicInteger placed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        long start = System.nanoTime();
+        Concurrently.run(ATTEMPTS, THREADS, i -> {
+            try {
+                orderService.createOrder(request(product.getId()), customer.getId());
+                placed.incrementAndGet();
+            } catch (InsufficientStockException e) {
+                rejected.incrementAndGet();
+            }
+        });
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        assertThat(placed.get()).as("orders placed via %s", mode).isEqualTo(STOCK);
+        assertThat(rejected.get()).as("orders rejected via %s", mode).isEqualTo(ATTEMPTS - STOCK);
+        double throughput = ATTEMPTS / seconds;
+        log.info("{}: {} attempts in {} ms ({} orders/s)", mode, ATTEMPTS, Math.round(seconds * 1000), Math.round(throughput));
+        return throughput;
+    }
+
+    private static OrderCreateRequest request(Long productId) {
+        OrderCreateRequest.OrderItemRequest item = new OrderCreateRequest.OrderItemRequest();
+        item.setProductId(productId);
+        item.setQuantity(1);
+        OrderCreateRequest request = new OrderCreateRequest();
+        request.setItems(new ArrayList<>(List.of(item)));
+        return request;
+    }
+}
@@ -0,0 +1,139 @@
+package com.smarttech.service.impl;
+
+import com.smarttech.dto.report.LowStockItem;
+import com.smarttech.entity.Product;
+import com.smarttech.service.EmailService;
+import com.smarttech.service.LowStockService;
+import com.smarttech.service.ProductService;
+import com.smarttech.support.AbstractIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LowStockIT extends AbstractIntegrationTest {
+
+    private static final int MIN_STOCK = 5;
+
+    @Autowired
+    private LowStockService lowStockService;
+
+    @Autowired
+    private ProductService productService;
+
+    @MockBean
+    private EmailService emailService;
+
+    @BeforeEach
+    void setUp() {
+        when(emailService.sendLowStockDigest(anyList())).thenReturn(true);
+        // Start from an empty digest so only this test's products are pending
+        lowStockService.sendDigest();
+        clearInvocations(emailService);
+    }
+
+    @Test
+    void stockChangesMaintainTheLowStockSet() {
+        Product product = createProduct(20, MIN_STOCK);
+        long before = lowStockService.getLowStockCount();
+
+        productService.updateStock(product.getId(), MIN_STOCK - 2);
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                assertThat(lowStockService.getLowStockCount()).isEqualTo(before + 1));
+        assertThat(productRepository.findLowStockIds()).contains(product.getId());
+
+        productService.updateStock(product.getId(), MIN_STOCK - 1);
+        await().pollDelay(Duration.ofMillis(500)).atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                assertThat(lowStockService.getLowStockCount()).isEqualTo(before + 1));
+
+        productService.updateStock(product.getId(), 50);
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                assertThat(lowStockService.getLowStockCount()).isEqualTo(before));
+        assertThat(productRepository.findLowStockIds()).doesNotContain(product.getId());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void digestListsOnlyNewlyLowProductsOnce() {
+        Product crossed = createProduct(20, MIN_STOCK);
+        Product healthy = createProduct(20, MIN_STOCK);
+
+        productService.updateStock(crossed.getId(), 1);
+        productService.updateStock(healthy.getId(), MIN_STOCK + 1);
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                assertThat(productRepository.findLowStockIds()).contains(crossed.getId()));
+
+        assertThat(lowStockService.sendDigest()).isEqualTo(1);
+        // Still low, but already reported
+        productService.updateStock(crossed.getId(), 0);
+        assertThat(lowStockService.sendDigest()).isZero();
+
+        ArgumentCaptor<List<LowStockItem>> digest = ArgumentCaptor.forClass(List.class);
+        verify(emailService, times(1)).sendLowStockDigest(digest.capture());
+        assertThat(digest.getValue()).extracting(LowStockItem::productId).containsExactly(crossed.getId());
+
+        // Restocking and dropping again makes it news again
+        productService.updateStock(crossed.getId(), 50);
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                assertThat(productRepository.findLowStockIds()).doesNotContain(crossed.getId()));
+        productService.updateStock(crossed.getId(), 2);
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                assertThat(productRepository.findPendingLowStockAlerts())
+                        .extracting(LowStockItem::productId).containsExactly(crossed.getId()));
+        assertThat(lowStockService.sendDigest()).isEqualTo(1);
+    }
+
+    @Test
+    void failedDigestIsRetriedNextWindow() {
+        Product product = createProduct(20, MIN_STOCK);
+        productService.updateStock(product.getId(), 1);
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                assertThat(productRepository.findPendingLowStockAlerts())
+                        .extracting(LowStockItem::productId).contains(product.getId()));
+
+        when(emailService.sendLowStockDigest(anyList())).thenReturn(false);
+        assertThat(lowStockService.sendDigest()).isZero();
+
+        when(emailService.sendLowStockDigest(anyList())).thenReturn(true);
+        assertThat(lowStockService.sendDigest()).isEqualTo(1);
+        verify(emailService, times(2)).sendLowStockDigest(List.of(
+                new LowStockItem(product.getId(), product.getName(), 1, MIN_STOCK)));
+    }
+
+    @Test
+    void writesThatBypassStockEventsAreCaughtByTheDigest() {
+        Product product = createProduct(20, MIN_STOCK);
+        long before = lowStockService.getLowStockCount();
+
+        saveStockWithoutEvent(product.getId(), 0);
+
+        assertThat(lowStockService.sendDigest()).isEqualTo(1);
+        assertThat(lowStockService.getLowStockCount()).isEqualTo(before + 1);
+    }
+
+    private Product createProduct(int stock, int minStock) {
+        Product product = createProduct(stock, new BigDecimal("25.00"));
+        product.setMinStockLevel(minStock);
+        return productRepository.save(product);
+    }
+
+    private void saveStockWithoutEvent(Long productId, int stock) {
+        productRepository.findById(productId).ifPresent(product -> {
+            product.setStockQuantity(stock);
+            productRepository.save(product);
+        });
+    }
+}
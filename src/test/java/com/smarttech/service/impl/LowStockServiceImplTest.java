@@ -0,0 +1,120 @@
+package com.smarttech.service.impl;
+
+import com.smarttech.dto.report.LowStockItem;
+import com.smarttech.repository.ProductRepository;
+import com.smarttech.service.EmailService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LowStockServiceImplTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LowStockServiceImpl lowStockService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        lowStockService = new LowStockServiceImpl(productRepository, emailService, new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    void refreshTracksOnlyTheProductsItWasGiven() {
+        when(productRepository.findLowStockIds()).thenReturn(List.of(1L, 2L));
+        lowStockService.reload();
+
+        // Product 2 is restocked and product 3 drops below its minimum; product 1 is not touched
+        when(productRepository.findLowStockIdsIn(List.of(2L, 3L))).thenReturn(List.of(3L));
+        lowStockService.refresh(List.of(2L, 3L));
+
+        verify(productRepository).refreshLowStockFlags(List.of(2L, 3L));
+        assertThat(lowStockService.getLowStockCount()).isEqualTo(2);
+
+        when(productRepository.findLowStockIds()).thenReturn(List.of(1L, 3L));
+        lowStockService.reload();
+        assertThat(lowStockService.getLowStockCount()).isEqualTo(2);
+    }
+
+    @Test
+    void emptyRefreshRunsNoQueries() {
+        lowStockService.refresh(List.of());
+
+        verifyNoInteractions(productRepository);
+        assertThat(lowStockService.getLowStockCount()).isZero();
+    }
+
+    @Test
+    void reloadDropsProductsRestockedOnAnotherNode() {
+        when(productRepository.findLowStockIdsIn(List.of(1L, 2L))).thenReturn(List.of(1L, 2L));
+        lowStockService.refresh(List.of(1L, 2L));
+
+        when(productRepository.findLowStockIds()).thenReturn(List.of(2L));
+        lowStockService.reload();
+
+        assertThat(lowStockService.getLowStockCount()).isEqualTo(1);
+    }
+
+    @Test
+    void digestReconcilesFirstAndSendsPendingProductsOnce() {
+        List<LowStockItem> pending = List.of(new LowStockItem(4L, "Router", 1, 5), new LowStockItem(9L, "Cable", 3, 10));
+        when(productRepository.findPendingLowStockAlerts()).thenReturn(pending);
+        when(productRepository.findLowStockIds()).thenReturn(List.of(4L, 9L));
+        when(emailService.sendLowStockDigest(pending)).thenReturn(true);
+
+        assertThat(lowStockService.sendDigest()).isEqualTo(2);
+
+        InOrder order = inOrder(productRepository, emailService);
+        order.verify(productRepository).reconcileLowStockFlags();
+        order.verify(productRepository).findPendingLowStockAlerts();
+        order.verify(emailService).sendLowStockDigest(pending);
+        order.verify(productRepository).clearLowStockAlertPending(List.of(4L, 9L));
+        assertThat(lowStockService.getLowStockCount()).isEqualTo(2);
+    }
+
+    @Test
+    void failedDigestKeepsProductsPending() {
+        List<LowStockItem> pending = List.of(new LowStockItem(4L, "Router", 1, 5));
+        when(productRepository.findPendingLowStockAlerts()).thenReturn(pending);
+        when(emailService.sendLowStockDigest(pending)).thenReturn(false);
+
+        assertThat(lowStockService.sendDigest()).isZero();
+
+        verify(productRepository, never()).clearLowStockAlertPending(anyCollection());
+    }
+
+    @Test
+    void nothingNewlyLowSendsNoEmail() {
+        when(productRepository.findPendingLowStockAlerts()).thenReturn(List.of());
+
+        assertThat(lowStockService.sendDigest()).isZero();
+
+        verifyNoInteractions(emailService);
+    }
+}
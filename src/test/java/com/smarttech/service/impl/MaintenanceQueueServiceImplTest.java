@@ -0,0 +1,169 @@
+package com.smarttech.service.impl;
+
+import com.smarttech.dto.response.MaintenanceRequestResponse;
+import com.smarttech.entity.MaintenanceRequest;
+import com.smarttech.entity.User;
+import com.smarttech.enums.MaintenanceStatus;
+import com.smarttech.enums.MaintenanceType;
+import com.smarttech.event.MaintenanceOverdueEvent;
+import com.smarttech.mapper.MaintenanceMapper;
+import com.smarttech.repository.MaintenanceRequestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MaintenanceQueueServiceImplTest {
+
+    @Mock
+    private MaintenanceRequestRepository maintenanceRequestRepository;
+
+    @Mock
+    private MaintenanceMapper maintenanceMapper;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private MaintenanceQueueServiceImpl maintenanceQueueService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(maintenanceQueueService, "responseSlaHours", 24L);
+        ReflectionTestUtils.setField(maintenanceQueueService, "tickMillis", 10L);
+        ReflectionTestUtils.setField(maintenanceQueueService, "wheelSize", 64);
+        ReflectionTestUtils.setField(maintenanceQueueService, "wheelLevels", 4);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(maintenanceMapper.toResponse(any())).thenAnswer(invocation -> {
+            MaintenanceRequest request = invocation.getArgument(0);
+            MaintenanceRequestResponse response = new MaintenanceRequestResponse();
+            response.setId(request.getId());
+            response.setRequestNumber(request.getRequestNumber());
+            return response;
+        });
+    }
+
+    @Test
+    void passedDeadlinePublishesOneOverdueEvent() throws Exception {
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        MaintenanceRequest request = inProgress(1L, LocalDateTime.now().plusNanos(50_000_000));
+        when(maintenanceRequestRepository.findByStatusIn(any())).thenReturn(List.of(request));
+        maintenanceQueueService.rebuild();
+
+        maintenanceQueueService.advance();
+        verify(eventPublisher, never()).publishEvent(any());
+
+        Thread.sleep(100);
+        maintenanceQueueService.advance();
+        maintenanceQueueService.advance();
+
+        ArgumentCaptor<Object> published = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher).publishEvent(published.capture());
+        assertThat(published.getValue()).isEqualTo(
+                new MaintenanceOverdueEvent(1L, "MR-1", MaintenanceStatus.IN_PROGRESS, 9L));
+        assertThat(maintenanceQueueService.getOverdueRequests().orElseThrow())
+                .extracting(MaintenanceRequestResponse::getId).containsExactly(1L);
+    }
+
+    @Test
+    void overdueEventClaimedByAnotherNodeIsNotRepeated() {
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+        when(maintenanceRequestRepository.findByStatusIn(any()))
+                .thenReturn(List.of(inProgress(1L, LocalDateTime.now().minusHours(1))));
+
+        maintenanceQueueService.rebuild();
+
+        verify(eventPublisher, never()).publishEvent(any());
+        assertThat(maintenanceQueueService.getOverdueRequests().orElseThrow()).hasSize(1);
+    }
+
+    @Test
+    void requestAlreadyLateWhenLoadedIsAnnouncedOnceAcrossRebuilds() {
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true, false);
+        when(maintenanceRequestRepository.findByStatusIn(any()))
+                .thenReturn(List.of(inProgress(1L, LocalDateTime.now().minusHours(1))));
+
+        maintenanceQueueService.rebuild();
+        maintenanceQueueService.rebuild();
+
+        verify(eventPublisher, times(1)).publishEvent(any(MaintenanceOverdueEvent.class));
+        verify(valueOperations, times(2)).setIfAbsent(startsWith("smarttech:maintenance:overdue:1:IN_PROGRESS:"), eq("1"), any(Duration.class));
+    }
+
+    @Test
+    void pendingRequestsAreOrderedByDeadlineThenWarrantyThenType() {
+        LocalDateTime now = LocalDateTime.now();
+        MaintenanceRequest newest = pending(1L, now, false, MaintenanceType.WARRANTY);
+        MaintenanceRequest paidService = pending(2L, now.minusHours(2), true, MaintenanceType.PAID_SERVICE);
+        MaintenanceRequest warranty = pending(3L, now.minusHours(2), true, MaintenanceType.WARRANTY);
+        MaintenanceRequest uncovered = pending(4L, now.minusHours(2), false, MaintenanceType.WARRANTY);
+        when(maintenanceRequestRepository.findByStatusIn(any())).thenReturn(List.of(newest, paidService, warranty, uncovered));
+
+        maintenanceQueueService.rebuild();
+
+        assertThat(maintenanceQueueService.getPendingRequests().orElseThrow())
+                .extracting(MaintenanceRequestResponse::getId).containsExactly(3L, 2L, 4L, 1L);
+    }
+
+    private static MaintenanceRequest inProgress(Long id, LocalDateTime estimatedCompletion) {
+        MaintenanceRequest request = base(id, LocalDateTime.now().minusDays(3));
+        request.setStatus(MaintenanceStatus.IN_PROGRESS);
+        request.setEstimatedCompletionDate(estimatedCompletion);
+        return request;
+    }
+
+    private static MaintenanceRequest pending(Long id, LocalDateTime createdAt, boolean warranty, MaintenanceType type) {
+        MaintenanceRequest request = base(id, createdAt);
+        request.setIsWarrantyCovered(warranty);
+        request.setMaintenanceType(type);
+        return request;
+    }
+
+    private static MaintenanceRequest base(Long id, LocalDateTime createdAt) {
+        return MaintenanceRequest.builder()
+                .id(id)
+                .requestNumber("MR-" + id)
+                .customer(User.builder().id(9L).build())
+                .status(MaintenanceStatus.PENDING)
+                .isWarrantyCovered(false)
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,59 @@
+package com.smarttech.service.impl;
+
+import com.smarttech.dto.request.OrderCreateRequest;
+import com.smarttech.dto.response.OrderResponse;
+import com.smarttech.entity.Product;
+import com.smarttech.entity.User;
+import com.smarttech.repository.OrderItemRepository;
+import com.smarttech.service.OrderService;
+import com.smarttech.support.AbstractIntegrationTest;
+import com.smarttech.support.SqlStatementCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderBatchInsertIT extends AbstractIntegrationTest {
+
+    private static final int LINES = 20;
+
+    // Customer lookup, then a product lookup and a conditional stock UPDATE per line, then one batched INSERT
+    // each for orders and order_items
+    private static final int EXPECTED_STATEMENTS = 1 + 2 * LINES + 2;
+
+    // A select and an update on the id table for each of the two table generators, when a block runs out
+    private static final int ID_ALLOCATION_STATEMENTS = 4;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Test
+    void twentyLineOrderIsWrittenWithOneInsertPerTable() throws Exception {
+        User customer = createCustomer();
+        OrderCreateRequest request = orderRequest(createProduct(10, new BigDecimal("25.00")).getId(), 1);
+        for (int i = 1; i < LINES; i++) {
+            Product product = createProduct(10, new BigDecimal("25.00"));
+            request.getItems().add(orderRequest(product.getId(), 1).getItems().get(0));
+        }
+
+        AtomicReference<OrderResponse> created = new AtomicReference<>();
+        SqlStatementCounter.Statements statements = SqlStatementCounter.record(() ->
+                created.set(orderService.createOrder(request, customer.getId())));
+
+        // With IDENTITY ids this was one INSERT for the order plus one per line
+        assertThat(statements.insertsInto("orders")).isEqualTo(1);
+        assertThat(statements.insertsInto("order_items")).isEqualTo(1);
+        assertThat(statements.count())
+                .as("statements: %s", statements.sql())
+                .isBetween(EXPECTED_STATEMENTS, EXPECTED_STATEMENTS + ID_ALLOCATION_STATEMENTS);
+        assertThat(orderItemRepository.findAll().stream()
+                .filter(item -> item.getOrder().getId().equals(created.get().getId())))
+                .hasSize(LINES);
+    }
+}
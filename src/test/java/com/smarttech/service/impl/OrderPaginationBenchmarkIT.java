@@ -0,0 +1,96 @@
+package com.smarttech.service.impl;
+
+import com.smarttech.dto.response.CursorPageResponse;
+import com.smarttech.dto.response.OrderResponse;
+import com.smarttech.entity.User;
+import com.smarttech.service.OrderService;
+import com.smarttech.support.AbstractIntegrationTest;
+import com.smarttech.support.Latencies;
+import com.smarttech.support.SqlStatementCounter;
+import com.smarttech.util.CursorCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Page 1000 of the admin order list over 200k orders: offset pagination (plus its COUNT query) against the keyset
+ * cursor, which seeks straight to the page.
+ */
+@Slf4j
+@Tag("performance")
+class OrderPaginationBenchmarkIT extends AbstractIntegrationTest {
+
+    private static final int ORDERS = 200_000;
+    private static final int INSERT_BATCH = 10_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int PAGE = 1_000;
+    // Far above anything the pooled generators hand out during the test run
+    private static final long FIRST_ID = 600_000_000L;
+    private static final LocalDateTime FIRST_CREATED = LocalDateTime.of(2021, 1, 1, 0, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Test
+    void cursorBeatsOffsetAtPageOneThousand() throws Exception {
+        insertOrders(createCustomer());
+
+        Pageable offsetPage = PageRequest.of(PAGE, PAGE_SIZE,
+                Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id")));
+        // The cursor a client holds after reading the previous page: the last row of page 999
+        String cursor = jdbcTemplate.queryForObject(
+                "SELECT created_at, id FROM orders ORDER BY created_at DESC, id DESC LIMIT 1 OFFSET ?",
+                (rs, row) -> CursorCodec.encode(rs.getTimestamp("created_at").toLocalDateTime(), rs.getLong("id")),
+                PAGE * PAGE_SIZE - 1);
+
+        List<Long> offsetIds = orderService.getAllOrders(offsetPage).getContent().stream().map(OrderResponse::getId).toList();
+        CursorPageResponse<OrderResponse> cursorPage = orderService.getAllOrdersByCursor(cursor, PAGE_SIZE);
+        assertThat(cursorPage.getContent()).extracting(OrderResponse::getId).containsExactlyElementsOf(offsetIds);
+
+        SqlStatementCounter.Statements cursorSql = SqlStatementCounter.record(() ->
+                orderService.getAllOrdersByCursor(cursor, PAGE_SIZE));
+        assertThat(cursorSql.sql()).noneMatch(sql -> sql.contains("count("));
+
+        Latencies offset = Latencies.measure(5, 50, i -> orderService.getAllOrders(offsetPage));
+        Latencies keyset = Latencies.measure(5, 50, i -> orderService.getAllOrdersByCursor(cursor, PAGE_SIZE));
+        log.info("Page {} of {} orders: offset {}; cursor {}", PAGE, ORDERS, offset, keyset);
+        assertThat(keyset.p50()).isLessThan(offset.p50());
+    }
+
+    private void insertOrders(User customer) {
+        List<Object[]> rows = new ArrayList<>(INSERT_BATCH);
+        for (int o = 0; o < ORDERS; o++) {
+            // Whole seconds, so the cursor's sort key round-trips exactly
+            Timestamp createdAt = Timestamp.valueOf(FIRST_CREATED.plusSeconds(o * 60L));
+            rows.add(new Object[] {FIRST_ID + o, "PB-" + (FIRST_ID + o), customer.getId(), createdAt, createdAt});
+            if (rows.size() == INSERT_BATCH) {
+                insert(rows);
+            }
+        }
+        insert(rows);
+    }
+
+    private void insert(List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO orders (id, order_number, customer_id, subtotal, vat_amount, total_amount, " +
+                    "paid_amount, status, stock_reserved, created_at, updated_at) " +
+                    "VALUES (?, ?, ?, 86.96, 13.04, 100.00, 0, 'PENDING', 0, ?, ?)", rows);
+            rows.clear();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.smarttech.service.impl;
+
+import com.smarttech.entity.Order;
+import com.smarttech.enums.OrderStatus;
+import com.smarttech.exception.InsufficientStockException;
+import com.smarttech.repository.OrderRepository;
+import com.smarttech.service.StockReservationService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderServiceImplTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private StockReservationService stockReservationService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private OrderServiceImpl orderService;
+
+    @Test
+    void confirmingAnUnreservedOrderWithoutStockIsRefused() {
+        Order order = Order.builder().id(1L).orderNumber("ORD-1").status(OrderStatus.PAYMENT_FAILED).build();
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        doThrow(new InsufficientStockException("Insufficient stock for product ID: 5"))
+                .when(stockReservationService).reserveStock(order);
+
+        assertThatThrownBy(() -> orderService.updateOrderStatus(1L, OrderStatus.CONFIRMED))
+                .isInstanceOf(InsufficientStockException.class);
+
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PAYMENT_FAILED);
+        verify(orderRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+}
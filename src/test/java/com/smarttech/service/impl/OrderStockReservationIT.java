@@ -0,0 +1,190 @@
+package com.smarttech.service.impl;
+
+import com.smarttech.dto.request.OrderCreateRequest;
+import com.smarttech.dto.response.OrderResponse;
+import com.smarttech.entity.Order;
+import com.smarttech.entity.Payment;
+import com.smarttech.entity.Product;
+import com.smarttech.entity.User;
+import com.smarttech.enums.OrderStatus;
+import com.smarttech.enums.PaymentStatus;
+import com.smarttech.exception.InsufficientStockException;
+import com.smarttech.repository.OrderRepository;
+import com.smarttech.repository.PaymentRepository;
+import com.smarttech.service.OrderService;
+import com.smarttech.service.PaymentService;
+import com.smarttech.support.AbstractIntegrationTest;
+import com.smarttech.support.Concurrently;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderStockReservationIT extends AbstractIntegrationTest {
+
+    private static final BigDecimal PRICE = new BigDecimal("100.00");
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Test
+    void concurrentCheckoutsNeverOversell() {
+        int stock = 20;
+        int buyers = 64;
+        Product product = createProduct(stock, PRICE);
+        User customer = createCustomer();
+
+        AtomicInteger placed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        Concurrently.run(buyers, i -> {
+            try {
+                orderService.createOrder(request(product.getId(), 1), customer.getId());
+                placed.incrementAndGet();
+            } catch (InsufficientStockException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertThat(placed.get()).isEqualTo(stock);
+        assertThat(rejected.get()).isEqualTo(buyers - stock);
+        assertThat(stockOf(product.getId())).isZero();
+    }
+
+    @Test
+    void concurrentMultiItemCheckoutsNeitherDeadlockNorOversell() {
+        int stock = 30;
+        Product first = createProduct(stock, PRICE);
+        Product second = createProduct(stock, PRICE);
+        User customer = createCustomer();
+
+        AtomicInteger placed = new AtomicInteger();
+        Concurrently.run(80, i -> {
+            // Half the orders list the products in the opposite order
+            Long a = i % 2 == 0 ? first.getId() : second.getId();
+            Long b = i % 2 == 0 ? second.getId() : first.getId();
+            try {
+                orderService.createOrder(request(a, 1, b, 1), customer.getId());
+                placed.incrementAndGet();
+            } catch (InsufficientStockException e) {
+                // Expected once either product runs out
+            }
+        });
+
+        assertThat(placed.get()).isEqualTo(stock);
+        assertThat(stockOf(first.getId())).isZero();
+        assertThat(stockOf(second.getId())).isZero();
+    }
+
+    @Test
+    void confirmingAnOrderWhoseStockIsGoneIsRefused() {
+        Product product = createProduct(1, PRICE);
+        User customer = createCustomer();
+        OrderResponse cancelled = orderService.createOrder(request(product.getId(), 1), customer.getId());
+        orderService.updateOrderStatus(cancelled.getId(), OrderStatus.CANCELLED);
+        orderService.createOrder(request(product.getId(), 1), customer.getId());
+
+        assertThatThrownBy(() -> orderService.updateOrderStatus(cancelled.getId(), OrderStatus.CONFIRMED))
+                .isInstanceOf(InsufficientStockException.class);
+
+        Order order = orderRepository.findById(cancelled.getId()).orElseThrow();
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(order.isStockReserved()).isFalse();
+        assertThat(stockOf(product.getId())).isZero();
+    }
+
+    @Test
+    void paymentFailureAfterConfirmationKeepsTheReservation() {
+        Product product = createProduct(5, PRICE);
+        User customer = createCustomer();
+        OrderResponse created = orderService.createOrder(request(product.getId(), 2), customer.getId());
+        Payment paid = createPendingPayment(created.getId(), created.getTotalAmount());
+        Payment abandoned = createPendingPayment(created.getId(), created.getTotalAmount());
+
+        paymentService.processPaymentSuccess(paid.getPaymentReference(), "{}");
+        paymentService.processPaymentFailure(abandoned.getPaymentReference(), "Declined");
+
+        Order order = orderRepository.findById(created.getId()).orElseThrow();
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.CONFIRMED);
+        assertThat(order.isStockReserved()).isTrue();
+        assertThat(stockOf(product.getId())).isEqualTo(3);
+        assertThat(paymentRepository.findByPaymentReference(abandoned.getPaymentReference()).orElseThrow().getStatus())
+                .isEqualTo(PaymentStatus.FAILED);
+    }
+
+    @Test
+    void racingSuccessAndFailureNoticesReserveStockExactlyOnce() {
+        int orders = 20;
+        Product product = createProduct(orders, PRICE);
+        User customer = createCustomer();
+
+        List<Payment[]> pairs = new ArrayList<>();
+        for (int i = 0; i < orders; i++) {
+            OrderResponse created = orderService.createOrder(request(product.getId(), 1), customer.getId());
+            pairs.add(new Payment[] {
+                    createPendingPayment(created.getId(), created.getTotalAmount()),
+                    createPendingPayment(created.getId(), created.getTotalAmount())});
+        }
+
+        Concurrently.run(orders * 2, i -> {
+            Payment[] pair = pairs.get(i / 2);
+            if (i % 2 == 0) {
+                paymentService.processPaymentSuccess(pair[0].getPaymentReference(), "{}");
+            } else {
+                paymentService.processPaymentFailure(pair[1].getPaymentReference(), "Declined");
+            }
+        });
+
+        // Whichever notice wins, every paid order ends confirmed and holding exactly its own unit
+        for (Payment[] pair : pairs) {
+            Order order = orderRepository.findById(pair[0].getOrder().getId()).orElseThrow();
+            assertThat(order.getStatus()).isEqualTo(OrderStatus.CONFIRMED);
+            assertThat(order.isStockReserved()).isTrue();
+        }
+        assertThat(stockOf(product.getId())).isZero();
+    }
+
+    private Payment createPendingPayment(Long orderId, BigDecimal amount) {
+        return paymentRepository.save(Payment.builder()
+                .order(orderRepository.getReferenceById(orderId))
+                .paymentReference("TX-" + UUID.randomUUID())
+                .amount(amount)
+                .status(PaymentStatus.PENDING)
+                .build());
+    }
+
+    private static OrderCreateRequest request(Long productId, int quantity) {
+        OrderCreateRequest request = new OrderCreateRequest();
+        request.setItems(new ArrayList<>(List.of(item(productId, quantity))));
+        request.setShippingAddress("Addis Ababa");
+        return request;
+    }
+
+    private static OrderCreateRequest request(Long firstId, int firstQuantity, Long secondId, int secondQuantity) {
+        OrderCreateRequest request = request(firstId, firstQuantity);
+        request.getItems().add(item(secondId, secondQuantity));
+        return request;
+    }
+
+    private static OrderCreateRequest.OrderItemRequest item(Long productId, int quantity) {
+        OrderCreateRequest.OrderItemRequest item = new OrderCreateRequest.OrderItemRequest();
+        item.setProductId(productId);
+        item.setQuantity(quantity);
+        return item;
+    }
+}
@@ -0,0 +1,95 @@
+package com.smarttech.service.impl;
+
+import com.smarttech.dto.response.OrderResponse;
+import com.smarttech.entity.Order;
+import com.smarttech.entity.Payment;
+import com.smarttech.entity.Product;
+import com.smarttech.entity.User;
+import com.smarttech.enums.OrderStatus;
+import com.smarttech.enums.PaymentStatus;
+import com.smarttech.repository.OrderRepository;
+import com.smarttech.repository.PaymentRepository;
+import com.smarttech.service.OrderService;
+import com.smarttech.service.PaymentService;
+import com.smarttech.support.AbstractIntegrationTest;
+import com.smarttech.support.Concurrently;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PartialPaymentIT extends AbstractIntegrationTest {
+
+    private static final int ORDERS = 20;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Test
+    void twoSimultaneousHalfPaymentsSettleTheOrderExactlyOnce() {
+        Product product = createProduct(ORDERS, new BigDecimal("200.00"));
+        User customer = createCustomer();
+
+        List<Payment[]> halves = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            OrderResponse created = orderService.createOrder(orderRequest(product.getId(), 1), customer.getId());
+            BigDecimal half = created.getTotalAmount().divide(BigDecimal.valueOf(2), 2, RoundingMode.UNNECESSARY);
+            halves.add(new Payment[] {pendingPayment(created.getId(), half), pendingPayment(created.getId(), half)});
+        }
+
+        // Both halves of each order land at the same moment
+        Concurrently.run(ORDERS * 2, i ->
+                paymentService.processPaymentSuccess(halves.get(i / 2)[i % 2].getPaymentReference(), "{}"));
+
+        for (Payment[] pair : halves) {
+            Long orderId = pair[0].getOrder().getId();
+            Order order = orderRepository.findById(orderId).orElseThrow();
+            assertThat(order.getPaidAmount()).isEqualByComparingTo(order.getTotalAmount());
+            assertThat(order.getStatus()).isEqualTo(OrderStatus.CONFIRMED);
+            assertThat(order.isStockReserved()).isTrue();
+            assertThat(paymentService.isOrderFullyPaid(orderId)).isTrue();
+        }
+        assertThat(stockOf(product.getId())).isZero();
+    }
+
+    @Test
+    void oneOfTwoHalvesLeavesTheOrderUnpaid() {
+        Product product = createProduct(1, new BigDecimal("200.00"));
+        User customer = createCustomer();
+        OrderResponse created = orderService.createOrder(orderRequest(product.getId(), 1), customer.getId());
+        Payment half = pendingPayment(created.getId(), new BigDecimal("100.00"));
+
+        paymentService.processPaymentSuccess(half.getPaymentReference(), "{}");
+        // A duplicate success notice for the same payment must not count twice
+        paymentService.processPaymentSuccess(half.getPaymentReference(), "{}");
+
+        Order order = orderRepository.findById(created.getId()).orElseThrow();
+        assertThat(order.getPaidAmount()).isEqualByComparingTo("100.00");
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PENDING);
+        assertThat(paymentService.isOrderFullyPaid(created.getId())).isFalse();
+    }
+
+    private Payment pendingPayment(Long orderId, BigDecimal amount) {
+        return paymentRepository.save(Payment.builder()
+                .order(orderRepository.getReferenceById(orderId))
+                .paymentReference("TX-" + UUID.randomUUID())
+                .amount(amount)
+                .status(PaymentStatus.PENDING)
+                .build());
+    }
+}
@@ -0,0 +1,140 @@
+package com.smarttech.service.impl;
+
+import com.smarttech.entity.Order;
+import com.smarttech.entity.Payment;
+import com.smarttech.entity.User;
+import com.smarttech.enums.OrderStatus;
+import com.smarttech.enums.PaymentStatus;
+import com.smarttech.exception.InsufficientStockException;
+import com.smarttech.mapper.PaymentMapper;
+import com.smarttech.repository.OrderRepository;
+import com.smarttech.repository.PaymentRepository;
+import com.smarttech.service.OrderService;
+import com.smarttech.service.StockReservationService;
+import com.smarttech.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentServiceImplTest {
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private PaymentMapper paymentMapper;
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private StockReservationService stockReservationService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private PaymentServiceImpl paymentService;
+
+    private Order order;
+    private Payment payment;
+
+    @BeforeEach
+    void setUp() {
+        order = Order.builder()
+                .id(7L)
+                .orderNumber("ORD-7")
+                .customer(User.builder().id(3L).build())
+                .totalAmount(new BigDecimal("200.00"))
+                .build();
+        payment = Payment.builder()
+                .order(order)
+                .paymentReference("TX-1")
+                .amount(new BigDecimal("200.00"))
+                .status(PaymentStatus.PENDING)
+                .build();
+        when(paymentRepository.findByPaymentReferenceForUpdate("TX-1")).thenReturn(Optional.of(payment));
+        when(orderRepository.findByIdForUpdate(7L)).thenReturn(Optional.of(order));
+        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void failureNoticeForConfirmedOrderLeavesOrderAndStockAlone() {
+        order.setStatus(OrderStatus.CONFIRMED);
+
+        paymentService.processPaymentFailure("TX-1", "Declined");
+
+        assertThat(payment.getStatus()).isEqualTo(PaymentStatus.FAILED);
+        verify(orderService, never()).updateOrderStatus(any(), any());
+    }
+
+    @Test
+    void failureNoticeForUnpaidOrderFailsTheOrder() {
+        order.setStatus(OrderStatus.PENDING);
+
+        paymentService.processPaymentFailure("TX-1", "Declined");
+
+        verify(orderService).updateOrderStatus(7L, OrderStatus.PAYMENT_FAILED);
+    }
+
+    @Test
+    void paidOrderWithoutStockIsNotConfirmed() {
+        order.setStatus(OrderStatus.PAYMENT_FAILED);
+        when(orderRepository.addPaidAmount(7L, payment.getAmount())).thenReturn(1);
+        when(orderRepository.findPaymentTotalsById(7L)).thenReturn(Optional.of(totals("200.00", "200.00")));
+        doThrow(new InsufficientStockException("Insufficient stock for product ID: 1"))
+                .when(stockReservationService).reserveStock(order);
+
+        paymentService.processPaymentSuccess("TX-1", "{}");
+
+        assertThat(payment.getStatus()).isEqualTo(PaymentStatus.SUCCESS);
+        verify(orderService, never()).updateOrderStatus(any(), any());
+    }
+
+    @Test
+    void paidOrderWithStockIsConfirmed() {
+        order.setStatus(OrderStatus.PENDING);
+        when(orderRepository.addPaidAmount(7L, payment.getAmount())).thenReturn(1);
+        when(orderRepository.findPaymentTotalsById(7L)).thenReturn(Optional.of(totals("200.00", "200.00")));
+
+        paymentService.processPaymentSuccess("TX-1", "{}");
+
+        verify(stockReservationService).reserveStock(order);
+        verify(orderService).updateOrderStatus(7L, OrderStatus.CONFIRMED);
+    }
+
+    private static OrderRepository.PaymentTotals totals(String total, String paid) {
+        return new OrderRepository.PaymentTotals() {
+            @Override
+            public BigDecimal getTotalAmount() {
+                return new BigDecimal(total);
+            }
+
+            @Override
+            public BigDecimal getPaidAmount() {
+                return new BigDecimal(paid);
+            }
+        };
+    }
+}
@@ -0,0 +1,130 @@
+package com.smarttech.service.impl;
+
+import com.smarttech.entity.Product;
+import com.smarttech.enums.ProductStatus;
+import com.smarttech.mapper.ProductMapper;
+import com.smarttech.repository.ProductRepository;
+import com.smarttech.service.HotStockService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductServiceImplTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductMapper productMapper;
+
+    @Mock
+    private HotStockService hotStockService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ProductServiceImpl productService;
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.initSynchronization();
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void flashSaleCounterIsSeededOnlyAfterCommit() {
+        Product product = product(false, 40);
+        when(productRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(product));
+
+        productService.setFlashSale(1L, true);
+        verify(hotStockService, never()).enable(anyLong(), anyInt());
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        verify(hotStockService).enable(1L, 40);
+    }
+
+    @Test
+    void rolledBackEnableLeavesRedisUntouched() {
+        when(productRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(product(false, 40)));
+
+        productService.setFlashSale(1L, true);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(hotStockService, never()).enable(anyLong(), anyInt());
+    }
+
+    @Test
+    void rolledBackDisableRestoresTheCounter() {
+        Product product = product(true, 0);
+        when(productRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(product));
+        when(hotStockService.disable(1L)).thenReturn(12);
+
+        productService.setFlashSale(1L, false);
+        assertThat(product.getStockQuantity()).isEqualTo(12);
+        assertThat(product.isFlashSale()).isFalse();
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        verify(hotStockService).enable(1L, 12);
+    }
+
+    @Test
+    void stockOverrideReachesRedisOnlyAfterCommit() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(true, 5)));
+
+        productService.updateStock(1L, 25);
+        verify(hotStockService, never()).setStock(anyLong(), anyInt());
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        verify(hotStockService).setStock(1L, 25);
+    }
+
+    @Test
+    void rolledBackStockOverrideLeavesRedisUntouched() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(true, 5)));
+
+        productService.updateStock(1L, 25);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(hotStockService, never()).setStock(anyLong(), anyInt());
+    }
+
+    private static Product product(boolean flashSale, int stock) {
+        return Product.builder()
+                .id(1L)
+                .name("Phone")
+                .stockQuantity(stock)
+                .status(ProductStatus.ACTIVE)
+                .flashSale(flashSale)
+                .build();
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
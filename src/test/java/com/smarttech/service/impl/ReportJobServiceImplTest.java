@@ -0,0 +1,161 @@
+package com.smarttech.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smarttech.config.StorageProperties;
+import com.smarttech.entity.ReportJob;
+import com.smarttech.enums.ReportJobStatus;
+import com.smarttech.enums.ReportJobType;
+import com.smarttech.exception.ResourceNotFoundException;
+import com.smarttech.repository.OrderRepository;
+import com.smarttech.repository.ReportJobRepository;
+import com.smarttech.service.AnalyticsService;
+import com.smarttech.service.EmailService;
+import com.smarttech.service.StorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReportJobServiceImplTest {
+
+    @Mock
+    private ReportJobRepository reportJobRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private AnalyticsService analyticsService;
+
+    @Mock
+    private StorageService storageService;
+
+    @Mock
+    private StorageProperties storageProperties;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<TransactionDefinition> transactions = new ArrayList<>();
+    private ReportJobServiceImpl reportJobService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            transactions.add(invocation.getArgument(0));
+            return new SimpleTransactionStatus();
+        });
+        reportJobService = new ReportJobServiceImpl(reportJobRepository, orderRepository, analyticsService,
+                storageService, storageProperties, emailService, new ObjectMapper(), new TransactionTemplate(transactionManager));
+        reportJobService.init();
+    }
+
+    @Test
+    void progressIsCommittedInItsOwnTransaction() throws Exception {
+        ReportJob job = ReportJob.builder()
+                .id(11L)
+                .type(ReportJobType.MONTHLY_TAX_REPORT)
+                .parameters("2026-09")
+                .status(ReportJobStatus.RUNNING)
+                .build();
+        when(reportJobRepository.findById(11L)).thenReturn(Optional.of(job));
+        when(orderRepository.findDataVersion(any(), any())).thenReturn(dataVersion(200L));
+
+        List<Integer> progressPropagation = new ArrayList<>();
+        when(reportJobRepository.updateProgress(eq(11L), anyLong(), anyInt(), any())).thenAnswer(invocation -> {
+            progressPropagation.add(transactions.get(transactions.size() - 1).getPropagationBehavior());
+            return 1;
+        });
+        when(analyticsService.writeMonthlyTaxReport(eq(2026), eq(9), any(), any())).thenAnswer(invocation -> {
+            LongConsumer progress = invocation.getArgument(3);
+            progress.accept(50);
+            progress.accept(100);
+            return 200L;
+        });
+
+        reportJobService.run(11L);
+
+        assertThat(progressPropagation).containsExactly(
+                TransactionDefinition.PROPAGATION_REQUIRES_NEW, TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        verify(reportJobRepository).updateProgress(eq(11L), eq(50L), eq(25), any(LocalDateTime.class));
+        assertThat(job.getStatus()).isEqualTo(ReportJobStatus.COMPLETED);
+    }
+
+    @Test
+    void artifactIsStoredPrivatelyUnderARandomKey() throws Exception {
+        ReportJob job = ReportJob.builder()
+                .id(12L)
+                .type(ReportJobType.MONTHLY_TAX_REPORT)
+                .parameters("2026-08")
+                .status(ReportJobStatus.RUNNING)
+                .build();
+        when(reportJobRepository.findById(12L)).thenReturn(Optional.of(job));
+        when(orderRepository.findDataVersion(any(), any())).thenReturn(dataVersion(0L));
+
+        reportJobService.run(12L);
+
+        ArgumentCaptor<String> key = ArgumentCaptor.forClass(String.class);
+        verify(storageService).uploadPrivate(any(), key.capture(), anyString());
+        assertThat(key.getValue()).matches("reports/[0-9a-f-]{36}\\.xlsx");
+        assertThat(job.getStorageKey()).isEqualTo(key.getValue());
+        assertThat(job.getFileName()).isEqualTo("Monthly_Tax_Report_2026_08.xlsx");
+    }
+
+    @Test
+    void unfinishedJobHasNoArtifactToOpen() {
+        when(reportJobRepository.findById(13L)).thenReturn(Optional.of(ReportJob.builder()
+                .id(13L)
+                .status(ReportJobStatus.RUNNING)
+                .build()));
+
+        assertThatThrownBy(() -> reportJobService.openArtifact(13L)).isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(storageService);
+    }
+
+    private static OrderRepository.DataVersion dataVersion(Long delivered) {
+        return new OrderRepository.DataVersion() {
+            @Override
+            public long getOrderCount() {
+                return delivered;
+            }
+
+            @Override
+            public Long getDeliveredCount() {
+                return delivered;
+            }
+
+            @Override
+            public LocalDateTime getLastUpdatedAt() {
+                return null;
+            }
+        };
+    }
+}
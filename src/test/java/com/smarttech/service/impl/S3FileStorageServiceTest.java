@@ -0,0 +1,173 @@
+package com.smarttech.service.impl;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.smarttech.config.StorageProperties;
+import com.smarttech.exception.FileStorageException;
+import com.smarttech.exception.ProviderUnavailableException;
+import com.smarttech.exception.ResourceNotFoundException;
+import com.smarttech.resilience.ResilientCall;
+import com.smarttech.support.ResilienceFixture;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Fault injection against S3, with WireMock standing in for the bucket endpoint: server errors and stalled
+ * reads trip the s3 breaker, missing objects do not, and an open breaker or full bulkhead rejects reads
+ * without a request reaching the bucket.
+ */
+class S3FileStorageServiceTest {
+
+    private static final String KEY = "reports/3f1c9a52.xlsx";
+    private static final String OBJECT = "/smart-tech-files/" + KEY;
+
+    private final WireMockServer bucket = new WireMockServer(options().dynamicPort());
+
+    private ResilienceFixture resilience;
+    private S3Client s3Client;
+    private S3FileStorageService storageService;
+
+    @BeforeEach
+    void setUp() {
+        bucket.start();
+        resilience = new ResilienceFixture();
+        useSocketTimeout(Duration.ofMillis(500));
+    }
+
+    @AfterEach
+    void tearDown() {
+        s3Client.close();
+        bucket.stop();
+    }
+
+    @Test
+    void serverErrorsOpenTheBreakerAndHalfOpenProbesCloseIt() throws Exception {
+        bucket.stubFor(get(urlPathEqualTo(OBJECT)).willReturn(s3Error(500, "InternalError")));
+
+        for (int i = 0; i < ResilienceFixture.WINDOW; i++) {
+            assertThatThrownBy(() -> storageService.openPrivate(KEY)).isInstanceOf(FileStorageException.class);
+        }
+        assertThat(breaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(resilience.stateGauge(ResilientCall.S3, CircuitBreaker.State.OPEN)).isEqualTo(1);
+
+        assertThatThrownBy(() -> storageService.openPrivate(KEY)).isInstanceOf(ProviderUnavailableException.class);
+        bucket.verify(ResilienceFixture.WINDOW, getRequestedFor(urlPathEqualTo(OBJECT)));
+        assertThat(resilience.notPermittedCalls(ResilientCall.S3)).isEqualTo(1);
+
+        bucket.stubFor(get(urlPathEqualTo(OBJECT)).willReturn(aResponse().withStatus(200).withBody("report")));
+        resilience.waitForHalfOpen();
+        for (int i = 0; i < ResilienceFixture.HALF_OPEN_PROBES; i++) {
+            try (InputStream artifact = storageService.openPrivate(KEY)) {
+                assertThat(new String(artifact.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("report");
+            }
+        }
+
+        assertThat(breaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(resilience.stateGauge(ResilientCall.S3, CircuitBreaker.State.CLOSED)).isEqualTo(1);
+    }
+
+    @Test
+    void stalledReadsTimeOutAndOpenTheBreaker() {
+        bucket.stubFor(get(urlPathEqualTo(OBJECT)).willReturn(aResponse().withStatus(200).withFixedDelay(5_000)));
+
+        for (int i = 0; i < ResilienceFixture.WINDOW; i++) {
+            long start = System.nanoTime();
+            assertThatThrownBy(() -> storageService.openPrivate(KEY)).isInstanceOf(FileStorageException.class);
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(3));
+        }
+
+        assertThat(breaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> storageService.openPrivate(KEY)).isInstanceOf(ProviderUnavailableException.class);
+    }
+
+    @Test
+    void missingObjectsDoNotCountAgainstS3() {
+        bucket.stubFor(get(urlPathEqualTo(OBJECT)).willReturn(s3Error(404, "NoSuchKey")));
+
+        for (int i = 0; i < ResilienceFixture.WINDOW * 2; i++) {
+            assertThatThrownBy(() -> storageService.openPrivate(KEY)).isInstanceOf(ResourceNotFoundException.class);
+        }
+
+        assertThat(breaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker().getMetrics().getNumberOfFailedCalls()).isZero();
+    }
+
+    @Test
+    void fullBulkheadRejectsWithoutReachingTheBucket() throws Exception {
+        s3Client.close();
+        useSocketTimeout(Duration.ofSeconds(2));
+        bucket.stubFor(get(urlPathEqualTo(OBJECT)).willReturn(aResponse().withStatus(200).withBody("report")
+                .withFixedDelay(600)));
+
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>();
+        for (int i = 0; i < ResilienceFixture.MAX_CONCURRENT_CALLS; i++) {
+            inFlight.add(CompletableFuture.runAsync(() -> storageService.openPrivate(KEY)));
+        }
+        await().atMost(Duration.ofSeconds(2)).until(() ->
+                resilience.availableBulkheadPermits(ResilientCall.S3) == 0);
+
+        assertThatThrownBy(() -> storageService.openPrivate(KEY)).isInstanceOf(ProviderUnavailableException.class);
+
+        for (CompletableFuture<Void> read : inFlight) {
+            read.get();
+        }
+        bucket.verify(ResilienceFixture.MAX_CONCURRENT_CALLS, getRequestedFor(urlPathEqualTo(OBJECT)));
+        assertThat(breaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker().getMetrics().getNumberOfFailedCalls()).isZero();
+    }
+
+    private void useSocketTimeout(Duration socketTimeout) {
+        // Same client shape as AwsConfig, pointed at WireMock with SDK retries off so each call is one request
+        s3Client = S3Client.builder()
+                .region(Region.US_EAST_1)
+                .endpointOverride(URI.create(bucket.baseUrl()))
+                .forcePathStyle(true)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")))
+                .httpClientBuilder(ApacheHttpClient.builder()
+                        .connectionTimeout(Duration.ofMillis(500))
+                        .socketTimeout(socketTimeout))
+                .overrideConfiguration(ClientOverrideConfiguration.builder()
+                        .retryPolicy(RetryPolicy.none())
+                        .build())
+                .build();
+        storageService = new S3FileStorageService(s3Client, new StorageProperties(), resilience.resilientCall());
+    }
+
+    private static ResponseDefinitionBuilder s3Error(int status, String code) {
+        return aResponse()
+                .withStatus(status)
+                .withHeader("Content-Type", "application/xml")
+                .withBody("<?xml version=\"1.0\" encoding=\"UTF-8\"?><Error><Code>" + code + "</Code>"
+                        + "<Message>" + code + "</Message></Error>");
+    }
+
+    private CircuitBreaker breaker() {
+        return resilience.breaker(ResilientCall.S3);
+    }
+}
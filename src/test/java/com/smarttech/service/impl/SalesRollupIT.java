@@ -0,0 +1,102 @@
+package com.smarttech.service.impl;
+
+import com.smarttech.dto.response.OrderResponse;
+import com.smarttech.entity.Product;
+import com.smarttech.entity.User;
+import com.smarttech.enums.OrderStatus;
+import com.smarttech.event.OrderStatusChangedEvent;
+import com.smarttech.repository.SalesDailyRollupRepository;
+import com.smarttech.service.OrderService;
+import com.smarttech.service.SalesRollupService;
+import com.smarttech.support.AbstractIntegrationTest;
+import com.smarttech.support.Concurrently;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class SalesRollupIT extends AbstractIntegrationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private SalesDailyRollupRepository salesDailyRollupRepository;
+
+    @Test
+    void statusChangesRacingTheNightlyRebuildAreCountedExactlyOnce() {
+        Product product = createProduct(1_000, new BigDecimal("100.00"));
+        User customer = createCustomer();
+        List<OrderResponse> orders = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            orders.add(orderService.createOrder(orderRequest(product.getId(), 1), customer.getId()));
+        }
+        for (OrderResponse order : orders) {
+            orderService.updateOrderStatus(order.getId(), OrderStatus.CONFIRMED);
+        }
+
+        LocalDate today = LocalDate.now();
+        // Every order's delta is replayed while rebuilds of its day run, as a late async delivery would be
+        Concurrently.run(orders.size() + 4, i -> {
+            if (i < 4) {
+                salesRollupService.rebuild(today, today);
+            } else {
+                OrderResponse order = orders.get(i - 4);
+                salesRollupService.applyStatusChange(new OrderStatusChangedEvent(order.getId(), OrderStatus.PENDING,
+                        OrderStatus.CONFIRMED, order.getTotalAmount(), order.getCreatedAt(), customer.getId()));
+            }
+        });
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                assertThat(rollup(today)).isEqualTo(fromOrders(today)));
+    }
+
+    @Test
+    void repeatedStatusChangeEventDoesNotCountTheOrderTwice() {
+        Product product = createProduct(10, new BigDecimal("100.00"));
+        User customer = createCustomer();
+        OrderResponse order = orderService.createOrder(orderRequest(product.getId(), 1), customer.getId());
+        orderService.updateOrderStatus(order.getId(), OrderStatus.CONFIRMED);
+        LocalDate today = LocalDate.now();
+        salesRollupService.rebuild(today, today);
+
+        OrderStatusChangedEvent event = new OrderStatusChangedEvent(order.getId(), OrderStatus.PENDING,
+                OrderStatus.CONFIRMED, order.getTotalAmount(), order.getCreatedAt(), customer.getId());
+        salesRollupService.applyStatusChange(event);
+        salesRollupService.applyStatusChange(event);
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                assertThat(rollup(today)).isEqualTo(fromOrders(today)));
+    }
+
+    private List<String> rollup(LocalDate day) {
+        return describe(salesDailyRollupRepository.sumBetween(day, day));
+    }
+
+    private List<String> fromOrders(LocalDate day) {
+        LocalDateTime start = day.atStartOfDay();
+        return describe(salesDailyRollupRepository.sumOrdersBetween(start, start.plusDays(1).minusNanos(1000)));
+    }
+
+    private static List<String> describe(List<SalesDailyRollupRepository.StatusTotals> rows) {
+        // Deltas can leave a row at zero where a rebuild would have none
+        return rows.stream()
+                .filter(row -> row.getOrderCount() != null && row.getOrderCount() > 0)
+                .sorted(Comparator.comparing(SalesDailyRollupRepository.StatusTotals::getStatus))
+                .map(row -> row.getStatus() + " orders=" + row.getOrderCount()
+                        + " total=" + row.getTotalAmount().stripTrailingZeros().toPlainString() + " items=" + row.getItemCount())
+                .toList();
+    }
+}
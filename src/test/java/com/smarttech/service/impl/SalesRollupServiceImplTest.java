@@ -0,0 +1,97 @@
+package com.smarttech.service.impl;
+
+import com.smarttech.enums.OrderStatus;
+import com.smarttech.event.OrderStatusChangedEvent;
+import com.smarttech.repository.SalesDailyRollupRepository;
+import com.smarttech.repository.SalesRollupOrderRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SalesRollupServiceImplTest {
+
+    private static final LocalDateTime PLACED = LocalDateTime.of(2026, 10, 16, 14, 30);
+
+    @Mock
+    private SalesDailyRollupRepository salesDailyRollupRepository;
+
+    @Mock
+    private SalesRollupOrderRepository salesRollupOrderRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private SalesRollupServiceImpl salesRollupService;
+
+    @Test
+    void changeMovesTheOrderFromItsCountedStatusToItsCurrentOne() {
+        when(salesRollupOrderRepository.findCountedStatusForUpdate(7L)).thenReturn(Optional.of("PENDING"));
+        when(salesRollupOrderRepository.findOrderStatusForShare(7L)).thenReturn(Optional.of("CONFIRMED"));
+
+        salesRollupService.applyStatusChange(event(OrderStatus.PENDING, OrderStatus.CONFIRMED));
+
+        verify(salesDailyRollupRepository).applyOrderDelta(7L, "PENDING", -1);
+        verify(salesDailyRollupRepository).applyOrderDelta(7L, "CONFIRMED", 1);
+        verify(salesRollupOrderRepository).markCounted(7L, "CONFIRMED");
+        LocalDate day = PLACED.toLocalDate();
+        verify(salesDailyRollupRepository).refreshCustomerCounts(day, day.atStartOfDay(), day.plusDays(1).atStartOfDay(),
+                List.of("PENDING", "CONFIRMED"));
+    }
+
+    @Test
+    void changeAlreadyCountedByARebuildIsNotAppliedAgain() {
+        when(salesRollupOrderRepository.findCountedStatusForUpdate(7L)).thenReturn(Optional.of("CONFIRMED"));
+        when(salesRollupOrderRepository.findOrderStatusForShare(7L)).thenReturn(Optional.of("CONFIRMED"));
+
+        salesRollupService.applyStatusChange(event(OrderStatus.PENDING, OrderStatus.CONFIRMED));
+
+        verifyNoInteractions(salesDailyRollupRepository);
+        verify(salesRollupOrderRepository, never()).markCounted(eq(7L), anyString());
+    }
+
+    @Test
+    void lateEventCountsTheOrderUnderItsCurrentStatusOnly() {
+        // The PENDING -> CONFIRMED event arrives after the order has already shipped and been counted so
+        when(salesRollupOrderRepository.findCountedStatusForUpdate(7L)).thenReturn(Optional.of("SHIPPED"));
+        when(salesRollupOrderRepository.findOrderStatusForShare(7L)).thenReturn(Optional.of("SHIPPED"));
+
+        salesRollupService.applyStatusChange(event(OrderStatus.PENDING, OrderStatus.CONFIRMED));
+
+        verify(salesDailyRollupRepository, never()).applyOrderDelta(eq(7L), anyString(), anyInt());
+    }
+
+    @Test
+    void newOrderIsAddedWithoutRemovingAnything() {
+        when(salesRollupOrderRepository.findCountedStatusForUpdate(7L)).thenReturn(Optional.empty());
+        when(salesRollupOrderRepository.findOrderStatusForShare(7L)).thenReturn(Optional.of("PENDING"));
+
+        salesRollupService.applyStatusChange(event(null, OrderStatus.PENDING));
+
+        verify(salesDailyRollupRepository).applyOrderDelta(7L, "PENDING", 1);
+        verify(salesDailyRollupRepository, never()).applyOrderDelta(eq(7L), anyString(), eq(-1));
+        verify(salesRollupOrderRepository).markCounted(7L, "PENDING");
+    }
+
+    private static OrderStatusChangedEvent event(OrderStatus previous, OrderStatus next) {
+        return new OrderStatusChangedEvent(7L, previous, next, new BigDecimal("100.00"), PLACED, 3L);
+    }
+}
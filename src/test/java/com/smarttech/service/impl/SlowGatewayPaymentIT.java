@@ -0,0 +1,89 @@
+package com.smarttech.service.impl;
+
+import com.smarttech.dto.response.PaymentResponse;
+import com.smarttech.entity.Product;
+import com.smarttech.entity.User;
+import com.smarttech.enums.PaymentStatus;
+import com.smarttech.service.ChapaService;
+import com.smarttech.service.OrderService;
+import com.smarttech.service.PaymentService;
+import com.smarttech.support.AbstractIntegrationTest;
+import com.smarttech.support.Concurrently;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+class SlowGatewayPaymentIT extends AbstractIntegrationTest {
+
+    private static final int INITIALIZATIONS = 50;
+
+    @MockBean
+    private ChapaService chapaService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void initializationsWaitingOnTheGatewayHoldNoConnections() throws Exception {
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        assertThat(pool.getMaximumPoolSize()).isLessThan(INITIALIZATIONS);
+
+        Product product = createProduct(INITIALIZATIONS, new BigDecimal("50.00"));
+        User customer = createCustomer();
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < INITIALIZATIONS; i++) {
+            orderIds.add(orderService.createOrder(orderRequest(product.getId(), 1), customer.getId()).getId());
+        }
+
+        // The gateway holds every call until the test has checked the pool
+        CountDownLatch entered = new CountDownLatch(INITIALIZATIONS);
+        CountDownLatch respond = new CountDownLatch(1);
+        when(chapaService.initializePayment(any())).thenAnswer(invocation -> {
+            entered.countDown();
+            respond.await(1, TimeUnit.MINUTES);
+            return null;
+        });
+
+        CompletableFuture<Void> initializations = CompletableFuture.runAsync(() ->
+                Concurrently.run(INITIALIZATIONS, INITIALIZATIONS, i -> paymentService.initializePayment(orderIds.get(i))));
+        try {
+            assertThat(entered.await(1, TimeUnit.MINUTES)).as("all initializations reached the gateway").isTrue();
+
+            assertThat(pool.getHikariPoolMXBean().getThreadsAwaitingConnection()).isZero();
+            assertThat(pool.getHikariPoolMXBean().getActiveConnections()).isLessThan(pool.getMaximumPoolSize());
+            // Unrelated requests still get a connection straight away
+            assertTimeoutPreemptively(Duration.ofSeconds(2), () -> productRepository.findById(product.getId()));
+        } finally {
+            respond.countDown();
+        }
+        initializations.get(1, TimeUnit.MINUTES);
+
+        for (Long orderId : orderIds) {
+            List<PaymentResponse> payments = paymentService.getOrderPayments(orderId);
+            assertThat(payments).hasSize(1);
+            assertThat(payments.get(0).getStatus()).isEqualTo(PaymentStatus.PENDING);
+            assertThat(payments.get(0).getChapaReference()).isEqualTo(payments.get(0).getPaymentReference());
+        }
+    }
+}
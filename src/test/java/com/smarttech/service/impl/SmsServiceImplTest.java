@@ -0,0 +1,157 @@
+package com.smarttech.service.impl;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.smarttech.exception.ProviderUnavailableException;
+import com.smarttech.repository.UserRepository;
+import com.smarttech.resilience.ResilientCall;
+import com.smarttech.support.ResilienceFixture;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.serverError;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Fault injection against AfroMessage: 5xx responses and timeouts trip the afromessage breaker, client errors do
+ * not, and an open breaker or full bulkhead rejects sends without reaching the API.
+ */
+@ExtendWith(MockitoExtension.class)
+class SmsServiceImplTest {
+
+    private static final String SEND = "/api/send";
+    private static final String PHONE = "+251911223344";
+    private static final String ACCEPTED = "{\"acknowledge\":\"success\",\"response\":{\"message_id\":\"m-1\"}}";
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final WireMockServer afroMessage = new WireMockServer(options().dynamicPort());
+
+    private ResilienceFixture resilience;
+    private SmsServiceImpl smsService;
+
+    @BeforeEach
+    void setUp() {
+        afroMessage.start();
+        resilience = new ResilienceFixture();
+        smsService = new SmsServiceImpl(userRepository, resilience.resilientCall(), 500);
+        ReflectionTestUtils.setField(smsService, "afroMessageBaseUrl", afroMessage.baseUrl());
+        ReflectionTestUtils.setField(smsService, "afroMessageToken", "test-token");
+        ReflectionTestUtils.setField(smsService, "afroMessageSenderName", "SmartTech");
+        ReflectionTestUtils.setField(smsService, "afroMessageTimeout", 1_000);
+        ReflectionTestUtils.setField(smsService, "afroMessageEnabled", true);
+        ReflectionTestUtils.setField(smsService, "smsEnabled", true);
+        ReflectionTestUtils.setField(smsService, "mockMode", false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        afroMessage.stop();
+    }
+
+    @Test
+    void serverErrorsOpenTheBreakerAndHalfOpenProbesCloseIt() throws Exception {
+        afroMessage.stubFor(post(urlEqualTo(SEND)).willReturn(serverError()));
+
+        for (int i = 0; i < ResilienceFixture.WINDOW; i++) {
+            assertThatThrownBy(() -> smsService.sendSms(PHONE, "hello"))
+                    .hasMessage("SMS delivery failed")
+                    .hasRootCauseMessage("AfroMessage API error: HTTP 500 - ");
+        }
+        assertThat(breaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(resilience.stateGauge(ResilientCall.AFROMESSAGE, CircuitBreaker.State.OPEN)).isEqualTo(1);
+
+        assertThatThrownBy(() -> smsService.sendSms(PHONE, "hello"))
+                .hasCauseInstanceOf(ProviderUnavailableException.class);
+        afroMessage.verify(ResilienceFixture.WINDOW, postRequestedFor(urlEqualTo(SEND)));
+        assertThat(resilience.notPermittedCalls(ResilientCall.AFROMESSAGE)).isEqualTo(1);
+
+        afroMessage.stubFor(post(urlEqualTo(SEND)).willReturn(okJson(ACCEPTED)));
+        resilience.waitForHalfOpen();
+
+        for (int i = 0; i < ResilienceFixture.HALF_OPEN_PROBES; i++) {
+            smsService.sendSms(PHONE, "hello");
+        }
+        assertThat(breaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(resilience.stateGauge(ResilientCall.AFROMESSAGE, CircuitBreaker.State.CLOSED)).isEqualTo(1);
+    }
+
+    @Test
+    void slowOrDroppedResponsesTimeOutAndOpenTheBreaker() {
+        afroMessage.stubFor(post(urlEqualTo(SEND)).willReturn(okJson(ACCEPTED).withFixedDelay(5_000)));
+        for (int i = 0; i < ResilienceFixture.WINDOW / 2; i++) {
+            long start = System.nanoTime();
+            assertThatThrownBy(() -> smsService.sendSms(PHONE, "hello"))
+                    .hasRootCauseInstanceOf(HttpTimeoutException.class);
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(3));
+        }
+
+        afroMessage.stubFor(post(urlEqualTo(SEND)).willReturn(aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER)));
+        for (int i = 0; i < ResilienceFixture.WINDOW / 2; i++) {
+            assertThatThrownBy(() -> smsService.sendSms(PHONE, "hello")).hasMessage("SMS delivery failed");
+        }
+
+        assertThat(breaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void clientErrorsDoNotCountAgainstTheProvider() {
+        afroMessage.stubFor(post(urlEqualTo(SEND)).willReturn(aResponse().withStatus(400).withBody("bad number")));
+
+        for (int i = 0; i < ResilienceFixture.WINDOW * 2; i++) {
+            assertThatThrownBy(() -> smsService.sendSms(PHONE, "hello"))
+                    .hasRootCauseMessage("AfroMessage API error: HTTP 400 - bad number");
+        }
+
+        assertThat(breaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker().getMetrics().getNumberOfFailedCalls()).isZero();
+    }
+
+    @Test
+    void fullBulkheadRejectsWithoutReachingTheApi() throws Exception {
+        ReflectionTestUtils.setField(smsService, "afroMessageTimeout", 2_000);
+        afroMessage.stubFor(post(urlEqualTo(SEND)).willReturn(okJson(ACCEPTED).withFixedDelay(600)));
+
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>();
+        for (int i = 0; i < ResilienceFixture.MAX_CONCURRENT_CALLS; i++) {
+            inFlight.add(CompletableFuture.runAsync(() -> smsService.sendSms(PHONE, "hello")));
+        }
+        await().atMost(Duration.ofSeconds(2)).until(() ->
+                resilience.availableBulkheadPermits(ResilientCall.AFROMESSAGE) == 0);
+
+        assertThatThrownBy(() -> smsService.sendSms(PHONE, "hello"))
+                .hasCauseInstanceOf(ProviderUnavailableException.class);
+
+        for (CompletableFuture<Void> call : inFlight) {
+            call.get();
+        }
+        afroMessage.verify(ResilienceFixture.MAX_CONCURRENT_CALLS, postRequestedFor(urlEqualTo(SEND)));
+        assertThat(breaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker().getMetrics().getNumberOfFailedCalls()).isZero();
+    }
+
+    private CircuitBreaker breaker() {
+        return resilience.breaker(ResilientCall.AFROMESSAGE);
+    }
+}
@@ -0,0 +1,169 @@
+package com.smarttech.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smarttech.dto.response.StatusUpdate;
+import com.smarttech.enums.StatusUpdateType;
+import com.smarttech.util.SnowflakeIdGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+
+@ExtendWith(MockitoExtension.class)
+class StatusStreamServiceImplTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    private final Deque<RecordingEmitter> nextEmitters = new ArrayDeque<>();
+
+    private StatusStreamServiceImpl statusStreamService;
+
+    @BeforeEach
+    void setUp() {
+        // Redis is down, so every publish is delivered straight to this node's connections
+        doThrow(new IllegalStateException("Redis unavailable")).when(stringRedisTemplate).convertAndSend(anyString(), anyString());
+        SnowflakeIdGenerator ids = new SnowflakeIdGenerator(Instant.parse("2024-01-01T00:00:00Z"), 1, 5, 12, 1);
+        statusStreamService = new StatusStreamServiceImpl(stringRedisTemplate, new ObjectMapper(), ids) {
+            @Override
+            SseEmitter createEmitter() {
+                return nextEmitters.isEmpty() ? new RecordingEmitter() : nextEmitters.pollFirst();
+            }
+        };
+        ReflectionTestUtils.setField(statusStreamService, "channel", "smarttech:sse:status");
+        ReflectionTestUtils.setField(statusStreamService, "timeout", Duration.ofMinutes(30));
+        ReflectionTestUtils.setField(statusStreamService, "maxConnectionsPerUser", 3);
+        ReflectionTestUtils.setField(statusStreamService, "replaySize", 50);
+        ReflectionTestUtils.setField(statusStreamService, "replayTtl", Duration.ofMinutes(10));
+    }
+
+    @Test
+    void slowClientHoldsUpNeitherPublishersNorOtherUsers() throws Exception {
+        RecordingEmitter stalled = new RecordingEmitter();
+        stalled.stall();
+        nextEmitters.add(stalled);
+        statusStreamService.subscribe(1L, null);
+        RecordingEmitter otherUser = (RecordingEmitter) statusStreamService.subscribe(2L, null);
+
+        CompletableFuture<Void> stuckPublisher = CompletableFuture.runAsync(() -> statusStreamService.publish(1L, update(1)));
+        assertThat(stalled.sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Each of these used to wait for the stalled send to finish
+        CompletableFuture<Void> others = CompletableFuture.runAsync(() -> {
+            statusStreamService.publish(1L, update(2));
+            statusStreamService.subscribe(1L, null);
+            statusStreamService.publish(2L, update(3));
+            statusStreamService.sendHeartbeats();
+        });
+        others.get(5, TimeUnit.SECONDS);
+        assertThat(otherUser.entities()).containsExactly(3L);
+        assertThat(stuckPublisher).isNotDone();
+
+        stalled.resume();
+        stuckPublisher.get(5, TimeUnit.SECONDS);
+        assertThat(stalled.entities()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void reconnectReceivesMissedUpdatesBeforeLiveOnes() {
+        RecordingEmitter first = (RecordingEmitter) statusStreamService.subscribe(1L, null);
+        statusStreamService.publish(1L, update(1));
+        statusStreamService.publish(1L, update(2));
+        statusStreamService.publish(1L, update(3));
+        String lastSeen = first.ids.peek();
+
+        RecordingEmitter reconnected = (RecordingEmitter) statusStreamService.subscribe(1L, lastSeen);
+        statusStreamService.publish(1L, update(4));
+
+        assertThat(reconnected.entities()).containsExactly(2L, 3L, 4L);
+        assertThat(first.entities()).containsExactly(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void failedConnectionIsDropped() {
+        RecordingEmitter broken = (RecordingEmitter) statusStreamService.subscribe(1L, null);
+        broken.fail = true;
+        statusStreamService.publish(1L, update(1));
+        broken.fail = false;
+
+        statusStreamService.publish(1L, update(2));
+
+        assertThat(broken.entities()).isEmpty();
+    }
+
+    private static StatusUpdate update(long entityId) {
+        return StatusUpdate.builder().type(StatusUpdateType.ORDER).entityId(entityId).status("CONFIRMED").build();
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final Queue<String> ids = new ConcurrentLinkedQueue<>();
+        private final Queue<Long> entities = new ConcurrentLinkedQueue<>();
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private volatile CountDownLatch gate;
+        private volatile boolean fail;
+
+        void stall() {
+            gate = new CountDownLatch(1);
+        }
+
+        void resume() {
+            gate.countDown();
+        }
+
+        List<Long> entities() {
+            return List.copyOf(entities);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (fail) {
+                throw new IOException("Broken pipe");
+            }
+            String id = null;
+            Long entity = null;
+            for (DataWithMediaType item : builder.build()) {
+                if (item.getData() instanceof StatusUpdate update) {
+                    entity = update.getEntityId();
+                } else if (item.getData() instanceof String text && text.startsWith("id:")) {
+                    id = text.substring(3, text.indexOf('\n'));
+                }
+            }
+            if (entity == null) {
+                // Heartbeat
+                return;
+            }
+            sending.countDown();
+            CountDownLatch current = gate;
+            if (current != null) {
+                try {
+                    current.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            ids.add(id);
+            entities.add(entity);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.smarttech.service.impl;
+
+import com.smarttech.entity.User;
+import com.smarttech.service.AnalyticsService;
+import com.smarttech.support.AbstractIntegrationTest;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Writes the monthly tax report for 500k delivered orders inside the failsafe heap (-Xmx2048m), and checks that
+ * the heap still live after a GC stays flat as rows are written, where an in-memory workbook grows with every row.
+ */
+@Slf4j
+@Tag("performance")
+class TaxReportMemoryIT extends AbstractIntegrationTest {
+
+    private static final int ORDERS = 500_000;
+    private static final int INSERT_BATCH = 10_000;
+    private static final int SAMPLE_EVERY = 50_000;
+    private static final long MAX_RETAINED_GROWTH = 128L * 1024 * 1024;
+    // Far above anything the pooled generators hand out during the test run
+    private static final long FIRST_ID = 700_000_000L;
+    // A month no other test writes orders into
+    private static final LocalDateTime MONTH = LocalDateTime.of(2022, 2, 1, 0, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Test
+    void fiveHundredThousandOrdersStreamInConstantMemory() throws Exception {
+        insertOrders(createCustomer());
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long baseline = liveHeap(memory);
+        AtomicLong maxGrowth = new AtomicLong();
+        CountingOutputStream out = new CountingOutputStream();
+
+        long start = System.currentTimeMillis();
+        long written = analyticsService.writeMonthlyTaxReport(MONTH.getYear(), MONTH.getMonthValue(), out, rows -> {
+            if (rows > 0 && rows % SAMPLE_EVERY == 0) {
+                long growth = liveHeap(memory) - baseline;
+                maxGrowth.accumulateAndGet(growth, Math::max);
+                log.info("Tax report at {} rows: live heap {} MB above baseline", rows, growth >> 20);
+            }
+        });
+        log.info("Tax report for {} orders: {} bytes in {} ms, peak live heap growth {} MB",
+                written, out.count, System.currentTimeMillis() - start, maxGrowth.get() >> 20);
+
+        assertThat(written).isEqualTo(ORDERS);
+        assertThat(out.count).isPositive();
+        assertThat(maxGrowth.get()).isLessThan(MAX_RETAINED_GROWTH);
+    }
+
+    private static long liveHeap(MemoryMXBean memory) {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private void insertOrders(User customer) {
+        List<Object[]> rows = new ArrayList<>(INSERT_BATCH);
+        for (int o = 0; o < ORDERS; o++) {
+            Timestamp createdAt = Timestamp.valueOf(MONTH.plusSeconds(o * 4L));
+            rows.add(new Object[] {FIRST_ID + o, "TR-" + (FIRST_ID + o), customer.getId(), createdAt, createdAt});
+            if (rows.size() == INSERT_BATCH) {
+                insert(rows);
+            }
+        }
+        insert(rows);
+    }
+
+    private void insert(List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO orders (id, order_number, customer_id, subtotal, vat_amount, total_amount, " +
+                    "paid_amount, status, stock_reserved, created_at, updated_at) " +
+                    "VALUES (?, ?, ?, 86.96, 13.04, 100.00, 100.00, 'DELIVERED', 1, ?, ?)", rows);
+            rows.clear();
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
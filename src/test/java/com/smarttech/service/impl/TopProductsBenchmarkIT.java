@@ -0,0 +1,166 @@
+package com.smarttech.service.impl;
+
+import com.smarttech.dto.response.TopProductResponse;
+import com.smarttech.entity.Category;
+import com.smarttech.entity.Product;
+import com.smarttech.entity.User;
+import com.smarttech.enums.OrderStatus;
+import com.smarttech.enums.TopProductMetric;
+import com.smarttech.repository.CategoryRepository;
+import com.smarttech.repository.OrderItemRepository;
+import com.smarttech.service.TopProductService;
+import com.smarttech.support.AbstractIntegrationTest;
+import com.smarttech.support.Latencies;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Top products aggregated in the database over one million order items in one month: results checked against
+ * totals computed while seeding, and latency of the GROUP BY against the cached answer.
+ */
+@Slf4j
+@Tag("performance")
+class TopProductsBenchmarkIT extends AbstractIntegrationTest {
+
+    private static final int PRODUCTS = 1_000;
+    private static final int CATEGORIES = 20;
+    private static final int ORDERS = 250_000;
+    private static final int ITEMS_PER_ORDER = 4;
+    private static final int INSERT_BATCH = 10_000;
+    private static final int LIMIT = 10;
+    // Far above anything the pooled generators hand out during the test run
+    private static final long FIRST_ID = 800_000_000L;
+    // A month no other test writes orders into
+    private static final LocalDateTime FROM = LocalDateTime.of(2023, 6, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2023, 6, 30, 23, 59, 59);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private TopProductService topProductService;
+
+    private final long[] revenueCents = new long[PRODUCTS];
+    private final long[] units = new long[PRODUCTS];
+
+    @Test
+    void aggregatesOneMillionOrderItems() throws Exception {
+        List<Category> categories = new ArrayList<>();
+        for (int c = 0; c < CATEGORIES; c++) {
+            categories.add(categoryRepository.save(Category.builder().name("Bench " + UUID.randomUUID()).build()));
+        }
+        List<Product> products = new ArrayList<>();
+        for (int p = 0; p < PRODUCTS; p++) {
+            Product product = createProduct(1_000, new BigDecimal("10.00"));
+            product.setCategory(categories.get(p % CATEGORIES));
+            products.add(productRepository.save(product));
+        }
+        insertOrders(createCustomer(), products);
+
+        List<TopProductResponse> byRevenue = topProductService.getTopProducts(FROM, TO, null, TopProductMetric.REVENUE, LIMIT);
+        assertThat(byRevenue).extracting(TopProductResponse::getProductId)
+                .containsExactlyElementsOf(expectedTop(products, revenueCents, -1));
+        for (TopProductResponse top : byRevenue) {
+            int index = indexOf(products, top.getProductId());
+            assertThat(top.getTotalRevenue()).isEqualByComparingTo(BigDecimal.valueOf(revenueCents[index], 2));
+            assertThat(top.getTotalSold()).isEqualTo(units[index]);
+        }
+
+        Category category = categories.get(3);
+        List<TopProductResponse> byUnits = topProductService.getTopProducts(FROM, TO, category.getId(), TopProductMetric.UNITS, LIMIT);
+        assertThat(byUnits).extracting(TopProductResponse::getProductId)
+                .containsExactlyElementsOf(expectedTop(products, units, 3));
+
+        PageRequest top = PageRequest.of(0, LIMIT);
+        EnumSet<OrderStatus> sold = EnumSet.of(OrderStatus.DELIVERED);
+        Latencies database = Latencies.measure(2, 10, i ->
+                orderItemRepository.findTopProductsByRevenue(sold, FROM, TO, null, top));
+        Latencies cached = Latencies.measure(100, 1_000, i ->
+                topProductService.getTopProducts(FROM, TO, null, TopProductMetric.REVENUE, LIMIT));
+        log.info("Top {} products over {} order items: GROUP BY {}; cached {}", LIMIT, ORDERS * ITEMS_PER_ORDER, database, cached);
+        assertThat(cached.p99()).isLessThan(database.p50());
+    }
+
+    private void insertOrders(User customer, List<Product> products) {
+        Random random = new Random(7);
+        long seconds = Duration.between(FROM, TO).toSeconds();
+        List<Object[]> orders = new ArrayList<>(INSERT_BATCH);
+        List<Object[]> items = new ArrayList<>(INSERT_BATCH * ITEMS_PER_ORDER);
+        for (int o = 0; o < ORDERS; o++) {
+            long orderId = FIRST_ID + o;
+            Timestamp createdAt = Timestamp.valueOf(FROM.plusSeconds(random.nextLong(seconds)));
+            orders.add(new Object[] {orderId, "TP-" + orderId, customer.getId(), createdAt, createdAt});
+            for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+                // Skewed towards low indexes so the top of the ranking is well separated
+                int product = (int) (Math.pow(random.nextDouble(), 3) * PRODUCTS);
+                int quantity = 1 + random.nextInt(5);
+                long unitCents = 500 + random.nextInt(200_000);
+                revenueCents[product] += unitCents * quantity;
+                units[product] += quantity;
+                items.add(new Object[] {orderId * ITEMS_PER_ORDER + i, orderId, products.get(product).getId(), quantity,
+                        BigDecimal.valueOf(unitCents, 2), BigDecimal.valueOf(unitCents * quantity, 2)});
+            }
+            if (orders.size() == INSERT_BATCH) {
+                flush(orders, items);
+            }
+        }
+        flush(orders, items);
+    }
+
+    private void flush(List<Object[]> orders, List<Object[]> items) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO orders (id, order_number, customer_id, subtotal, vat_amount, total_amount, " +
+                "paid_amount, status, stock_reserved, created_at, updated_at) " +
+                "VALUES (?, ?, ?, 0, 0, 0, 0, 'DELIVERED', 1, ?, ?)", orders);
+        jdbcTemplate.batchUpdate("INSERT INTO order_items (id, order_id, product_id, quantity, unit_price, total_price) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", items);
+        orders.clear();
+        items.clear();
+    }
+
+    private static List<Long> expectedTop(List<Product> products, long[] measure, int categoryIndex) {
+        return IntStream.range(0, PRODUCTS)
+                .filter(p -> categoryIndex < 0 || p % CATEGORIES == categoryIndex)
+                .boxed()
+                .sorted(Comparator.<Integer>comparingLong(p -> measure[p]).reversed()
+                        .thenComparing(p -> products.get(p).getId()))
+                .limit(LIMIT)
+                .map(p -> products.get(p).getId())
+                .toList();
+    }
+
+    private static int indexOf(List<Product> products, Long productId) {
+        for (int p = 0; p < products.size(); p++) {
+            if (products.get(p).getId().equals(productId)) {
+                return p;
+            }
+        }
+        throw new AssertionError("Unknown product " + productId);
+    }
+}
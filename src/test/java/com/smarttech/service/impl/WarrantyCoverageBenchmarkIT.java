@@ -0,0 +1,97 @@
+package com.smarttech.service.impl;
+
+import com.smarttech.service.WarrantyService;
+import com.smarttech.support.AbstractIntegrationTest;
+import com.smarttech.support.Latencies;
+import com.smarttech.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Coverage lookups against one million registered serials: the Bloom filter's false-positive rate, its load
+ * time, and lookup latency for unknown serials with and without the filter.
+ */
+@Slf4j
+@Tag("performance")
+class WarrantyCoverageBenchmarkIT extends AbstractIntegrationTest {
+
+    private static final int SERIALS = 1_000_000;
+    private static final int INSERT_BATCH = 10_000;
+    private static final int PROBES = 100_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private WarrantyService warrantyService;
+
+    @Test
+    void filterAnswersUnknownSerialsWithoutTheDatabaseAtOneMillionSerials() throws Exception {
+        insertRegistrations();
+
+        long start = System.currentTimeMillis();
+        warrantyService.rebuildFilter();
+        log.info("Loaded {} serials into the filter in {} ms", SERIALS, System.currentTimeMillis() - start);
+
+        for (int i = 0; i < SERIALS; i += 997) {
+            assertThat(warrantyService.checkCoverage(registered(i)).getRegistered()).as(registered(i)).isTrue();
+        }
+
+        WarrantyServiceImpl target = AopTestUtils.getTargetObject(warrantyService);
+        BloomFilter filter = (BloomFilter) ReflectionTestUtils.getField(target, "filter");
+        int falsePositives = 0;
+        for (int i = 0; i < PROBES; i++) {
+            if (filter.mightContain(unknown(i))) {
+                falsePositives++;
+            }
+        }
+        double rate = (double) falsePositives / PROBES;
+        log.info("False-positive rate over {} unknown serials: {}", PROBES, rate);
+        assertThat(rate).isLessThan(0.02);
+
+        Latencies withFilter = Latencies.measure(1_000, 10_000, i -> warrantyService.checkCoverage(unknown(i)));
+        ReflectionTestUtils.setField(target, "filter", null);
+        Latencies withoutFilter = Latencies.measure(200, 2_000, i -> warrantyService.checkCoverage(unknown(i)));
+        ReflectionTestUtils.setField(target, "filter", filter);
+
+        log.info("Unknown serials at {} registrations: filter {}; database {}", SERIALS, withFilter, withoutFilter);
+        assertThat(withFilter.p99()).isLessThan(withoutFilter.p99());
+    }
+
+    private void insertRegistrations() {
+        Date purchased = Date.valueOf(LocalDate.now());
+        Date expires = Date.valueOf(LocalDate.now().plusYears(1));
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int start = 0; start < SERIALS; start += INSERT_BATCH) {
+            List<Object[]> rows = new ArrayList<>(INSERT_BATCH);
+            for (int i = start; i < start + INSERT_BATCH; i++) {
+                rows.add(new Object[] {registered(i), 10_000_000L + i, 10_000_000L + i / 2, purchased, expires, now});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO warranty_registrations (serial_number, order_item_id, order_id, " +
+                    "product_id, customer_id, purchase_date, warranty_months, expires_on, created_at) " +
+                    "VALUES (?, ?, ?, 1, 1, ?, 12, ?, ?)", rows);
+        }
+    }
+
+    private static String registered(int i) {
+        return "SN-" + i;
+    }
+
+    private static String unknown(int i) {
+        return "XX-" + i;
+    }
+}
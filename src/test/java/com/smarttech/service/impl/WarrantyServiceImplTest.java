@@ -0,0 +1,143 @@
+package com.smarttech.service.impl;
+
+import com.smarttech.entity.WarrantyRegistration;
+import com.smarttech.enums.OrderStatus;
+import com.smarttech.event.OrderStatusChangedEvent;
+import com.smarttech.repository.WarrantyRegistrationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WarrantyServiceImplTest {
+
+    private static final String CHANNEL = "smarttech:warranty:serials";
+
+    @Mock
+    private WarrantyRegistrationRepository warrantyRegistrationRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    private WarrantyServiceImpl nodeA;
+    private WarrantyServiceImpl nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = node();
+        nodeB = node();
+        // Both filters start out empty
+        when(warrantyRegistrationRepository.findSerialsAfter(any(), any())).thenReturn(List.of());
+        nodeA.rebuildFilter();
+        nodeB.rebuildFilter();
+    }
+
+    @Test
+    void serialRegisteredOnOneNodeIsCoveredOnTheOtherBeforeTheNextSync() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(warrantyRegistrationRepository.registerOrder(7L)).thenReturn(2);
+        when(warrantyRegistrationRepository.findSerialNumbersByOrderId(7L)).thenReturn(List.of("SN-1", "SN-2"));
+        when(warrantyRegistrationRepository.findFirstBySerialNumberOrderByExpiresOnDesc("SN-2"))
+                .thenReturn(Optional.of(registration("SN-2")));
+
+        nodeA.applyStatusChange(delivered(7L));
+        nodeB.onMessage(message(publishedMessage()), null);
+
+        assertThat(nodeB.isCovered("SN-2")).isTrue();
+    }
+
+    @Test
+    void unknownSerialIsAnsweredWithoutAQuery() {
+        assertThat(nodeB.checkCoverage("SN-404").getRegistered()).isFalse();
+
+        verify(warrantyRegistrationRepository, never()).findFirstBySerialNumberOrderByExpiresOnDesc(anyString());
+    }
+
+    @Test
+    void serialArrivingDuringARebuildSurvivesTheSwap() {
+        String otherNode = (String) ReflectionTestUtils.getField(nodeA, "nodeId");
+        when(warrantyRegistrationRepository.findSerialNumbersCreatedSince(any())).thenAnswer(invocation -> {
+            // Delivered on another node while this one is catching up, before the rebuilt filter goes live
+            nodeB.onMessage(message(otherNode + "\nSN-9"), null);
+            return List.of();
+        });
+        when(warrantyRegistrationRepository.findFirstBySerialNumberOrderByExpiresOnDesc("SN-9"))
+                .thenReturn(Optional.of(registration("SN-9")));
+
+        nodeB.rebuildFilter();
+
+        assertThat(nodeB.isCovered("SN-9")).isTrue();
+    }
+
+    @Test
+    void nodeIgnoresItsOwnMessages() {
+        String ownNodeId = (String) ReflectionTestUtils.getField(nodeB, "nodeId");
+
+        nodeB.onMessage(message(ownNodeId + "\nSN-1"), null);
+
+        assertThat(nodeB.checkCoverage("SN-1").getRegistered()).isFalse();
+    }
+
+    private WarrantyServiceImpl node() {
+        WarrantyServiceImpl node = new WarrantyServiceImpl(warrantyRegistrationRepository, transactionTemplate, stringRedisTemplate);
+        ReflectionTestUtils.setField(node, "channel", CHANNEL);
+        ReflectionTestUtils.setField(node, "expectedSerials", 1_000L);
+        ReflectionTestUtils.setField(node, "falsePositiveRate", 0.001);
+        ReflectionTestUtils.setField(node, "loadBatchSize", 100);
+        ReflectionTestUtils.setField(node, "syncOverlapSeconds", 60L);
+        return node;
+    }
+
+    private String publishedMessage() {
+        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(stringRedisTemplate).convertAndSend(eq(CHANNEL), captor.capture());
+        return captor.getValue();
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static OrderStatusChangedEvent delivered(Long orderId) {
+        return new OrderStatusChangedEvent(orderId, OrderStatus.SHIPPED, OrderStatus.DELIVERED,
+                new BigDecimal("100.00"), LocalDateTime.now(), 3L);
+    }
+
+    private static WarrantyRegistration registration(String serial) {
+        return WarrantyRegistration.builder()
+                .serialNumber(serial)
+                .orderId(7L)
+                .productId(1L)
+                .purchaseDate(LocalDate.now())
+                .warrantyMonths(12)
+                .expiresOn(LocalDate.now().plusMonths(12))
+                .build();
+    }
+}
@@ -0,0 +1,98 @@
+package com.smarttech.support;
+
+import com.smarttech.dto.request.OrderCreateRequest;
+import com.smarttech.entity.Product;
+import com.smarttech.entity.User;
+import com.smarttech.enums.CustomerTier;
+import com.smarttech.enums.ProductStatus;
+import com.smarttech.enums.UserRole;
+import com.smarttech.repository.ProductRepository;
+import com.smarttech.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Base for tests that run the whole application against real MySQL and Redis. The containers are started once
+ * and shared by every integration test, so the Spring context is cached between test classes.
+ */
+@SpringBootTest
+@ActiveProfiles("integration-test")
+public abstract class AbstractIntegrationTest {
+
+    @ServiceConnection
+    protected static final MySQLContainer<?> MYSQL = new MySQLContainer<>(DockerImageName.parse("mysql:8.0.33"))
+            .withUrlParam("rewriteBatchedStatements", "true")
+            .withCommand("--max-connections=500");
+
+    @ServiceConnection(name = "redis")
+    protected static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7.2-alpine"))
+            .withExposedPorts(6379);
+
+    static {
+        MYSQL.start();
+        REDIS.start();
+    }
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @Autowired
+    protected ProductRepository productRepository;
+
+    protected User createCustomer() {
+        return createUser(UserRole.CUSTOMER);
+    }
+
+    protected User createUser(UserRole role) {
+        String suffix = UUID.randomUUID().toString();
+        return userRepository.save(User.builder()
+                .email(suffix + "@test.smarttech.local")
+                .password("{noop}secret")
+                .firstName("Test")
+                .lastName(role.name())
+                .phoneNumber("+2519" + Math.abs(suffix.hashCode() % 100_000_000))
+                .role(role)
+                .customerTier(CustomerTier.BRONZE)
+                .totalPurchases(BigDecimal.ZERO)
+                .isActive(true)
+                .emailVerified(true)
+                .phoneVerified(true)
+                .otpAttempts(0)
+                .build());
+    }
+
+    protected Product createProduct(int stock, BigDecimal price) {
+        return productRepository.save(Product.builder()
+                .name("Product " + UUID.randomUUID())
+                .price(price)
+                .stockQuantity(stock)
+                .minStockLevel(0)
+                .status(ProductStatus.ACTIVE)
+                .warrantyMonths(12)
+                .build());
+    }
+
+    protected int stockOf(Long productId) {
+        return productRepository.findById(productId).orElseThrow().getStockQuantity();
+    }
+
+    protected static OrderCreateRequest orderRequest(Long productId, int quantity) {
+        OrderCreateRequest.OrderItemRequest item = new OrderCreateRequest.OrderItemRequest();
+        item.setProductId(productId);
+        item.setQuantity(quantity);
+        OrderCreateRequest request = new OrderCreateRequest();
+        request.setItems(new ArrayList<>(List.of(item)));
+        request.setShippingAddress("Addis Ababa");
+        return request;
+    }
+}
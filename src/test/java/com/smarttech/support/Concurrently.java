@@ -0,0 +1,61 @@
+package com.smarttech.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs indexed tasks on a thread pool, releasing them together so they actually contend, and rethrows the first
+ * failure on the calling thread.
+ */
+public final class Concurrently {
+
+    private static final int MAX_THREADS = 32;
+
+    private Concurrently() {
+    }
+
+    public static void run(int tasks, IndexedTask task) {
+        run(tasks, Math.min(tasks, MAX_THREADS), task);
+    }
+
+    public static void run(int tasks, int threads, IndexedTask task) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>(tasks);
+            for (int i = 0; i < tasks; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(index);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } catch (ExecutionException e) {
+            throw new AssertionError("Concurrent task failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new AssertionError("Concurrent tasks did not finish in time", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError("Interrupted while waiting for concurrent tasks", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    public interface IndexedTask {
+        void run(int index) throws Exception;
+    }
+}
@@ -0,0 +1,134 @@
+package com.smarttech.support;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A minimal SMTP server for fault injection, speaking just enough of the protocol for JavaMail to deliver a
+ * message. Its {@link Behaviour} can be switched between sessions to make the next connection stall, refuse
+ * service or reject recipients.
+ */
+public final class FakeSmtpServer implements AutoCloseable {
+
+    public enum Behaviour {
+        /** Accepts every message. */
+        ACCEPT,
+        /** Accepts every message after holding the greeting back for {@link #SLOW_GREETING_MILLIS}. */
+        SLOW,
+        /** Accepts the connection but never greets, so the client's read times out. */
+        STALL,
+        /** Greets with 421 and hangs up, as an overloaded server does. */
+        UNAVAILABLE,
+        /** Rejects every recipient with 550. */
+        REJECT_RECIPIENTS
+    }
+
+    public static final long SLOW_GREETING_MILLIS = 600;
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService sessions = Executors.newCachedThreadPool();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger delivered = new AtomicInteger();
+    private volatile Behaviour behaviour = Behaviour.ACCEPT;
+
+    public FakeSmtpServer() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        sessions.submit(this::acceptLoop);
+    }
+
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    public void behave(Behaviour behaviour) {
+        this.behaviour = behaviour;
+    }
+
+    public int connections() {
+        return connections.get();
+    }
+
+    public int delivered() {
+        return delivered.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        sessions.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.incrementAndGet();
+                sessions.submit(() -> session(socket, behaviour));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void session(Socket socket, Behaviour behaviour) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII)) {
+            switch (behaviour) {
+                case STALL -> {
+                    in.read();
+                    return;
+                }
+                case UNAVAILABLE -> {
+                    reply(out, "421 localhost Service not available");
+                    return;
+                }
+                case SLOW -> Thread.sleep(SLOW_GREETING_MILLIS);
+                default -> {
+                }
+            }
+            reply(out, "220 localhost ESMTP");
+
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.toUpperCase(Locale.ROOT);
+                if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+                    reply(out, "250 localhost");
+                } else if (command.startsWith("RCPT") && behaviour == Behaviour.REJECT_RECIPIENTS) {
+                    reply(out, "550 5.1.1 No such user");
+                } else if (command.startsWith("DATA")) {
+                    reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                    while ((line = in.readLine()) != null && !line.equals(".")) {
+                        // discard the message body
+                    }
+                    delivered.incrementAndGet();
+                    reply(out, "250 OK");
+                } else if (command.startsWith("QUIT")) {
+                    reply(out, "221 Bye");
+                    return;
+                } else {
+                    reply(out, "250 OK");
+                }
+            }
+        } catch (IOException e) {
+            // the client hung up or the server is closing
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void reply(PrintWriter out, String line) {
+        out.print(line + "\r\n");
+        out.flush();
+    }
+}
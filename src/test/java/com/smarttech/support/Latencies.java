@@ -0,0 +1,53 @@
+package com.smarttech.support;
+
+import java.util.Arrays;
+
+/**
+ * Times repeated calls and reports latency percentiles in milliseconds.
+ */
+public final class Latencies {
+
+    private final long[] samples;
+    private int count;
+
+    private Latencies(int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    public static Latencies measure(int warmups, int iterations, IndexedCall call) throws Exception {
+        for (int i = 0; i < warmups; i++) {
+            call.call(i);
+        }
+        Latencies latencies = new Latencies(iterations);
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            call.call(i);
+            latencies.samples[latencies.count++] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies.samples, 0, latencies.count);
+        return latencies;
+    }
+
+    public double p50() {
+        return percentile(50);
+    }
+
+    public double p99() {
+        return percentile(99);
+    }
+
+    public double percentile(double percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return samples[Math.max(0, Math.min(count - 1, index))] / 1e6;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("p50 %.2f ms, p99 %.2f ms over %d calls", p50(), p99(), count);
+    }
+
+    @FunctionalInterface
+    public interface IndexedCall {
+        void call(int index) throws Exception;
+    }
+}
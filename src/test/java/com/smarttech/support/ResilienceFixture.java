@@ -0,0 +1,103 @@
+package com.smarttech.support;
+
+import com.smarttech.resilience.PermanentMailFailure;
+import com.smarttech.resilience.ResilientCall;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * A {@link ResilientCall} over the same breaker and bulkhead rules as application.yml, scaled down so tests can
+ * walk a provider through CLOSED, OPEN and HALF_OPEN in well under a second. Breaker and bulkhead metrics are
+ * bound to a meter registry with the binders the actuator uses.
+ */
+public class ResilienceFixture {
+
+    public static final int WINDOW = 4;
+    public static final int HALF_OPEN_PROBES = 2;
+    public static final int MAX_CONCURRENT_CALLS = 2;
+    public static final Duration OPEN_WAIT = Duration.ofMillis(300);
+
+    private static final List<String> PROVIDERS =
+            List.of(ResilientCall.CHAPA, ResilientCall.AFROMESSAGE, ResilientCall.SMTP, ResilientCall.S3);
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    public ResilienceFixture() {
+        CircuitBreakerConfig defaults = CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(WINDOW)
+                .minimumNumberOfCalls(WINDOW)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(OPEN_WAIT)
+                .permittedNumberOfCallsInHalfOpenState(HALF_OPEN_PROBES)
+                .ignoreExceptions(BulkheadFullException.class)
+                .build();
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(defaults);
+        circuitBreakerRegistry.circuitBreaker(ResilientCall.CHAPA);
+        circuitBreakerRegistry.circuitBreaker(ResilientCall.AFROMESSAGE);
+        circuitBreakerRegistry.circuitBreaker(ResilientCall.SMTP, CircuitBreakerConfig.from(defaults)
+                .ignoreException(new PermanentMailFailure())
+                .build());
+        circuitBreakerRegistry.circuitBreaker(ResilientCall.S3, CircuitBreakerConfig.from(defaults)
+                .ignoreExceptions(BulkheadFullException.class, NoSuchKeyException.class)
+                .build());
+
+        bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(MAX_CONCURRENT_CALLS)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        PROVIDERS.forEach(bulkheadRegistry::bulkhead);
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+    }
+
+    public ResilientCall resilientCall() {
+        return new ResilientCall(circuitBreakerRegistry, bulkheadRegistry);
+    }
+
+    public CircuitBreaker breaker(String provider) {
+        return circuitBreakerRegistry.circuitBreaker(provider);
+    }
+
+    // 1 for the breaker's current state, 0 for every other
+    public double stateGauge(String provider, CircuitBreaker.State state) {
+        return meterRegistry.get("resilience4j.circuitbreaker.state")
+                .tag("name", provider)
+                .tag("state", state.name().toLowerCase())
+                .gauge()
+                .value();
+    }
+
+    public double notPermittedCalls(String provider) {
+        return meterRegistry.get("resilience4j.circuitbreaker.not.permitted.calls")
+                .tag("name", provider)
+                .counter()
+                .count();
+    }
+
+    public double availableBulkheadPermits(String provider) {
+        return meterRegistry.get("resilience4j.bulkhead.available.concurrent.calls")
+                .tag("name", provider)
+                .gauge()
+                .value();
+    }
+
+    public void waitForHalfOpen() throws InterruptedException {
+        Thread.sleep(OPEN_WAIT.toMillis() + 100);
+    }
+}
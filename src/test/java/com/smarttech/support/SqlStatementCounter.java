@@ -0,0 +1,56 @@
+package com.smarttech.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Records the SQL Hibernate prepares on the calling thread while {@link #record} runs. Registered for integration
+ * tests through hibernate.session_factory.statement_inspector; statements from scheduled jobs on other threads are
+ * not counted. A JDBC batch is prepared once, so batched inserts show up as a single statement.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> recorded = RECORDED.get();
+        if (recorded != null) {
+            recorded.add(sql.toLowerCase(Locale.ROOT).strip());
+        }
+        return sql;
+    }
+
+    public static Statements record(Action action) throws Exception {
+        RECORDED.set(new ArrayList<>());
+        try {
+            action.run();
+            return new Statements(List.copyOf(RECORDED.get()));
+        } finally {
+            RECORDED.remove();
+        }
+    }
+
+    public record Statements(List<String> sql) {
+
+        public int count() {
+            return sql.size();
+        }
+
+        public long selects() {
+            return sql.stream().filter(statement -> statement.startsWith("select")).count();
+        }
+
+        public long insertsInto(String table) {
+            return sql.stream().filter(statement -> statement.startsWith("insert into " + table + " ")).count();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+}
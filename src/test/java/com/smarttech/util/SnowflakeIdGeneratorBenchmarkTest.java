@@ -0,0 +1,85 @@
+package com.smarttech.util;
+
+import com.smarttech.config.IdGeneratorConfig;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JMH benchmark of nextId() on the production order-number generator at 1, 4 and 8 threads. Throughput is
+ * capped by the layout at 4096 IDs per millisecond plus the one second the generator may borrow ahead.
+ * Run with the performance-test profile.
+ */
+@Tag("performance")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SnowflakeIdGeneratorBenchmarkTest {
+
+    private static final int[] THREADS = {1, 4, 8};
+    private static final double IDS_PER_SECOND = 4096 * 1000;
+
+    private SnowflakeIdGenerator generator;
+
+    // Fresh generator per iteration, so the borrow allowance can inflate at most one iteration
+    @Setup(Level.Iteration)
+    public void setUp() {
+        IdGeneratorConfig config = new IdGeneratorConfig();
+        ReflectionTestUtils.setField(config, "nodeId", "1");
+        generator = config.snowflakeIdGenerator();
+    }
+
+    @Benchmark
+    public long nextId() {
+        return generator.nextId();
+    }
+
+    @Test
+    void runBenchmarks() throws Exception {
+        Map<Integer, Double> throughput = new LinkedHashMap<>();
+        for (int threads : THREADS) {
+            Collection<RunResult> results = new Runner(new OptionsBuilder()
+                    .include(SnowflakeIdGeneratorBenchmarkTest.class.getName() + "\\.")
+                    .threads(threads)
+                    .build())
+                    .run();
+            assertThat(results).hasSize(1);
+            throughput.put(threads, results.iterator().next().getPrimaryResult().getScore());
+        }
+
+        throughput.forEach((threads, idsPerSecond) -> {
+            // A 2s iteration may borrow at most 1s ahead, so the average stays within 1.5x of the layout's capacity
+            assertThat(idsPerSecond).isLessThanOrEqualTo(IDS_PER_SECOND * 1.5);
+            // Lock-free: contention must not collapse throughput below a quarter of the single-thread rate
+            assertThat(idsPerSecond).isGreaterThan(throughput.get(1) / 4);
+        });
+    }
+
+    public static void main(String[] args) throws Exception {
+        new SnowflakeIdGeneratorBenchmarkTest().runBenchmarks();
+    }
+}
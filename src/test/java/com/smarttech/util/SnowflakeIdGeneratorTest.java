@@ -0,0 +1,143 @@
+package com.smarttech.util;
+
+import com.smarttech.config.IdGeneratorConfig;
+import com.smarttech.support.Concurrently;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnowflakeIdGeneratorTest {
+
+    private static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+    private static final long TICK_MILLIS = 20;
+    private static final int NODE_BITS = 5;
+    private static final int SEQUENCE_BITS = 2;
+    private static final long NODE_ID = 7;
+
+    @Test
+    void generatorThatMayNotBorrowNeverIssuesAFutureTick() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(EPOCH, TICK_MILLIS, NODE_BITS, SEQUENCE_BITS, 3, 0);
+
+        long previous = -1;
+        for (int i = 0; i < 60; i++) {
+            long id = generator.nextId();
+            long clockTick = (System.currentTimeMillis() - EPOCH.toEpochMilli()) / TICK_MILLIS;
+
+            assertThat(tickOf(id)).isLessThanOrEqualTo(clockTick);
+            assertThat(id).isGreaterThan(previous);
+            assertThat((id >>> SEQUENCE_BITS) & ((1L << NODE_BITS) - 1)).isEqualTo(3);
+            previous = id;
+        }
+    }
+
+    @Test
+    void unlimitedGeneratorBorrowsAheadInsteadOfWaiting() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(EPOCH, 60_000, NODE_BITS, SEQUENCE_BITS, 0);
+        long clockTick = (System.currentTimeMillis() - EPOCH.toEpochMilli()) / 60_000;
+
+        long last = 0;
+        for (int i = 0; i < 40; i++) {
+            last = generator.nextId();
+        }
+
+        assertThat(tickOf(last)).isGreaterThan(clockTick);
+    }
+
+    @Test
+    void concurrentCallersGetUniqueIdsWithinTheBorrowLimit() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(EPOCH, TICK_MILLIS, NODE_BITS, SEQUENCE_BITS, 1, 2);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        Concurrently.run(8, i -> {
+            for (int n = 0; n < 25; n++) {
+                long id = generator.nextId();
+                long clockTick = (System.currentTimeMillis() - EPOCH.toEpochMilli()) / TICK_MILLIS;
+                assertThat(tickOf(id)).isLessThanOrEqualTo(clockTick + 2);
+                ids.add(id);
+            }
+        });
+
+        assertThat(ids).hasSize(200);
+    }
+
+    @Test
+    void millionsOfOrderNumbersAcrossThreadsAreUniqueAndIncreasing() {
+        int threads = 8;
+        int perThread = 500_000;
+        OrderNumberGenerator orderNumbers = new OrderNumberGenerator(productionConfig(NODE_ID).snowflakeIdGenerator());
+        long[][] generated = new long[threads][perThread];
+
+        Concurrently.run(threads, i -> {
+            long[] ids = generated[i];
+            for (int n = 0; n < perThread; n++) {
+                // ST + yyyyMMdd, then the base-36 Snowflake ID
+                ids[n] = Long.parseLong(orderNumbers.generate().substring(10), 36);
+                if (n > 0 && ids[n] <= ids[n - 1]) {
+                    throw new AssertionError("ID went backwards on thread " + i + ": " + ids[n - 1] + " then " + ids[n]);
+                }
+            }
+        });
+
+        long[] all = new long[threads * perThread];
+        for (int i = 0; i < threads; i++) {
+            System.arraycopy(generated[i], 0, all, i * perThread, perThread);
+        }
+        Arrays.sort(all);
+        for (int n = 1; n < all.length; n++) {
+            assertThat(all[n]).as("duplicate ID").isNotEqualTo(all[n - 1]);
+        }
+        // 41-bit millisecond tick, 5-bit node, 12-bit sequence; never more than a second ahead of the clock
+        long clockTick = System.currentTimeMillis() - EPOCH.toEpochMilli();
+        assertThat((all[0] >>> 12) & 31).isEqualTo(NODE_ID);
+        assertThat(all[all.length - 1] >>> 17).isLessThanOrEqualTo(clockTick + 1000);
+    }
+
+    @Test
+    void concurrentTicketNumbersAreUniqueIncreasingAndNeverAhead() {
+        int threads = 8;
+        int perThread = 12;
+        SnowflakeIdGenerator ticketIds = productionConfig(NODE_ID).ticketIdGenerator();
+        MaintenanceNumberGenerator maintenanceNumbers = new MaintenanceNumberGenerator(ticketIds, ticketIds);
+        Set<String> tickets = ConcurrentHashMap.newKeySet();
+
+        // 5-bit sequence per second, so 96 tickets take three seconds without borrowing
+        Concurrently.run(threads, i -> {
+            String previous = "";
+            for (int n = 0; n < perThread; n++) {
+                String ticket = maintenanceNumbers.generateTicketNumber();
+                long clockSecond = (System.currentTimeMillis() - EPOCH.toEpochMilli()) / 1000;
+
+                assertThat(ticket).hasSize(8).isGreaterThan(previous);
+                assertThat(Long.parseLong(ticket, 36) >>> 10).isLessThanOrEqualTo(clockSecond);
+                assertThat((Long.parseLong(ticket, 36) >>> 5) & 31).isEqualTo(NODE_ID);
+                tickets.add(ticket);
+                previous = ticket;
+            }
+        });
+
+        assertThat(tickets).hasSize(threads * perThread);
+    }
+
+    @Test
+    void negativeBorrowLimitIsRejected() {
+        assertThatThrownBy(() -> new SnowflakeIdGenerator(EPOCH, TICK_MILLIS, NODE_BITS, SEQUENCE_BITS, 0, -1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static IdGeneratorConfig productionConfig(long nodeId) {
+        IdGeneratorConfig config = new IdGeneratorConfig();
+        ReflectionTestUtils.setField(config, "nodeId", String.valueOf(nodeId));
+        return config;
+    }
+
+    private static long tickOf(long id) {
+        return id >>> (NODE_BITS + SEQUENCE_BITS);
+    }
+}